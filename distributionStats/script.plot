@@ -0,0 +1,9 @@
+set terminal png size 800,500
+set output ARG1.'.png'
+set datafile separator ','
+set xlabel 'game time [s]'
+set ylabel 'assigned deliveries per second'
+set y2label 'latency [ms]'
+set y2tics
+set ytics nomirror
+plot ARG1 using 1:2 with lines title 'deliveries', ARG1 using 1:3 axes x1y2 with lines title 'average latency', ARG1 using 1:4 axes x1y2 with lines title 'max latency'
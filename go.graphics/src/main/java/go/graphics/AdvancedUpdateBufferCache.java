@@ -15,12 +15,30 @@ public class AdvancedUpdateBufferCache {
 	private BitSet[] updated;
 	private int line_width;
 
+	/**
+	 * Dirty regions that are at most this many entries apart are uploaded with one call. The entries in between are uploaded again, which is
+	 * cheaper than an additional call as long as the gap is small.
+	 */
+	private final int merge_gap;
+	private int pending_start = -1;
+	private int pending_end = -1;
+
+	private long uploaded_spans = 0;
+	private long upload_calls = 0;
+	private long uploaded_bytes = 0;
+
+	/**
+	 * The number of bytes that may be uploaded again to merge two dirty regions.
+	 */
+	public static final int MERGE_GAP_BYTES = 16*1024;
+
 	public AdvancedUpdateBufferCache(ByteBuffer buffer, int bfr_data_steps, Supplier<GLDrawContext> ctx_supp, Supplier<BufferHandle> bfr_supp, int line_width) {
 		this.bfr_data_steps = bfr_data_steps;
 		this.line_width = line_width;
 		this.ctx_supp = ctx_supp;
 		this.bfr_supp = bfr_supp;
 		this.buffer = buffer;
+		this.merge_gap = Math.max(1, MERGE_GAP_BYTES / bfr_data_steps);
 
 		int lines = buffer.capacity()/bfr_data_steps/line_width;
 		updated = new BitSet[lines];
@@ -72,14 +90,22 @@ public class AdvancedUpdateBufferCache {
 			buffer.position(0);
 			buffer.limit(buffer.capacity());
 			if(start.size() > 0) {
+				uploaded_spans += start.size();
+				upload_calls++;
+				for(int regionSize : size) uploaded_bytes += regionSize;
 				((VkDrawContext) dc).updateBufferAt(bfr_supp.get(), start, size, buffer);
 				for(int i = 0;i != updated.length; i++) updated[i].clear();
 			}
 		} else {
 			for(int i = 0; i != updated.length; i++) clearCacheRegion(i, 0, line_width);
+			flush();
 		}
 	}
 
+	/**
+	 * Uploads the dirty parts of a region of a line. Regions close to each other are merged, so the upload may only happen on the next call or
+	 * on {@link #flush()}.
+	 */
 	public void clearCacheRegion(int line, int start, int end) throws IllegalBufferException {
 		int urEnd = start;
 		while(urEnd < end) {
@@ -95,10 +121,61 @@ public class AdvancedUpdateBufferCache {
 	private void updateRegion(int line, int start, int end) throws IllegalBufferException {
 		start += line*line_width;
 		end += line*line_width;
+		uploaded_spans++;
+
+		if(pending_start != -1 && start >= pending_end && start - pending_end <= merge_gap) {
+			pending_end = end;
+			return;
+		}
+
+		flush();
+		pending_start = start;
+		pending_end = end;
+	}
+
+	/**
+	 * Uploads the merged regions that have not been uploaded yet.
+	 */
+	public void flush() throws IllegalBufferException {
+		if(pending_start == -1) return;
+
+		int start = pending_start;
+		int end = pending_end;
+		pending_start = -1;
+
+		// the entries between merged regions are uploaded as well, they don't need to be uploaded again
+		for(int line = start / line_width; line <= (end - 1) / line_width; line++) {
+			int lineStart = line*line_width;
+			updated[line].clear(Math.max(start - lineStart, 0), Math.min(end - lineStart, line_width));
+		}
 
 		buffer.limit(end * bfr_data_steps);
 		buffer.position(start * bfr_data_steps);
 		ctx_supp.get().updateBufferAt(bfr_supp.get(), start * bfr_data_steps, buffer);
 		buffer.limit(buffer.capacity());
+
+		upload_calls++;
+		uploaded_bytes += (long) (end - start) * bfr_data_steps;
+	}
+
+	/**
+	 * @return The number of dirty regions that have been uploaded since this cache was created.
+	 */
+	public long getUploadedSpans() {
+		return uploaded_spans;
+	}
+
+	/**
+	 * @return The number of upload calls since this cache was created.
+	 */
+	public long getUploadCalls() {
+		return upload_calls;
+	}
+
+	/**
+	 * @return The number of bytes uploaded since this cache was created.
+	 */
+	public long getUploadedBytes() {
+		return uploaded_bytes;
 	}
 }
@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package go.graphics.headless;
+
+/**
+ * The work a {@link HeadlessDrawContext} recorded for one frame.
+ */
+public class FrameStatistics {
+	private int drawCalls;
+	private long vertices;
+	private int backgroundDrawCalls;
+	private int multiDrawCalls;
+	private long multiDrawInstances;
+	private int maxMultiDrawBatch;
+	private int bufferUploads;
+	private long bufferUploadBytes;
+	private int textureUploads;
+	private long textureUploadBytes;
+
+	void reset() {
+		drawCalls = 0;
+		vertices = 0;
+		backgroundDrawCalls = 0;
+		multiDrawCalls = 0;
+		multiDrawInstances = 0;
+		maxMultiDrawBatch = 0;
+		bufferUploads = 0;
+		bufferUploadBytes = 0;
+		textureUploads = 0;
+		textureUploadBytes = 0;
+	}
+
+	void addDrawCall(long vertices) {
+		this.drawCalls++;
+		this.vertices += vertices;
+	}
+
+	void addBackgroundDrawCall(long vertices) {
+		addDrawCall(vertices);
+		backgroundDrawCalls++;
+	}
+
+	void addMultiDrawCall(int instances, int verticesPerInstance) {
+		addDrawCall((long) instances * verticesPerInstance);
+		multiDrawCalls++;
+		multiDrawInstances += instances;
+		maxMultiDrawBatch = Math.max(maxMultiDrawBatch, instances);
+	}
+
+	void addBufferUpload(long bytes) {
+		bufferUploads++;
+		bufferUploadBytes += bytes;
+	}
+
+	void addTextureUpload(long bytes) {
+		textureUploads++;
+		textureUploadBytes += bytes;
+	}
+
+	/**
+	 * @return The number of draw calls of all kinds, including background and multi draw calls.
+	 */
+	public int getDrawCalls() {
+		return drawCalls;
+	}
+
+	/**
+	 * @return The number of vertices submitted by all draw calls.
+	 */
+	public long getVertices() {
+		return vertices;
+	}
+
+	public int getBackgroundDrawCalls() {
+		return backgroundDrawCalls;
+	}
+
+	public int getMultiDrawCalls() {
+		return multiDrawCalls;
+	}
+
+	/**
+	 * @return The number of instances drawn by all multi draw calls. Divided by {@link #getMultiDrawCalls()} this is the average batch size.
+	 */
+	public long getMultiDrawInstances() {
+		return multiDrawInstances;
+	}
+
+	public int getMaxMultiDrawBatch() {
+		return maxMultiDrawBatch;
+	}
+
+	public int getBufferUploads() {
+		return bufferUploads;
+	}
+
+	public long getBufferUploadBytes() {
+		return bufferUploadBytes;
+	}
+
+	public int getTextureUploads() {
+		return textureUploads;
+	}
+
+	public long getTextureUploadBytes() {
+		return textureUploadBytes;
+	}
+
+	@Override
+	public String toString() {
+		return "FrameStatistics{drawCalls=" + drawCalls + ", vertices=" + vertices + ", backgroundDrawCalls=" + backgroundDrawCalls + ", multiDrawCalls="
+				+ multiDrawCalls + ", multiDrawInstances=" + multiDrawInstances + ", maxMultiDrawBatch=" + maxMultiDrawBatch + ", bufferUploads="
+				+ bufferUploads + ", bufferUploadBytes=" + bufferUploadBytes + ", textureUploads=" + textureUploads + ", textureUploadBytes="
+				+ textureUploadBytes + "}";
+	}
+}
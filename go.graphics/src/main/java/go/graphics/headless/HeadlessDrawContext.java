@@ -0,0 +1,161 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package go.graphics.headless;
+
+import java.nio.ByteBuffer;
+import java.nio.ShortBuffer;
+
+import go.graphics.AbstractColor;
+import go.graphics.BackgroundDrawHandle;
+import go.graphics.BufferHandle;
+import go.graphics.GLDrawContext;
+import go.graphics.ManagedHandle;
+import go.graphics.MultiDrawHandle;
+import go.graphics.TextureHandle;
+import go.graphics.UnifiedDrawHandle;
+
+/**
+ * A {@link GLDrawContext} that needs no GPU. Nothing is drawn, instead every draw call and upload is counted in the {@link FrameStatistics} of the
+ * current frame. This allows to measure the renderer in environments without a display.
+ * <p />
+ * The context behaves like a desktop OpenGL context that supports instanced drawing, so managed handles are drawn with {@link #drawMulti(MultiDrawHandle)}.
+ */
+public class HeadlessDrawContext extends GLDrawContext {
+	private static final int MAX_TEXTURE_SIZE = 8192;
+	private static final int MAX_UNIFORM_BLOCK_SIZE = 64 * 1024;
+
+	private final FrameStatistics statistics = new FrameStatistics();
+	private int nextId = 1;
+	private int width;
+	private int height;
+
+	public HeadlessDrawContext() {
+		maxTextureSize = MAX_TEXTURE_SIZE;
+		maxUniformBlockSize = MAX_UNIFORM_BLOCK_SIZE;
+
+		textDrawer = new HeadlessTextDrawer(this);
+	}
+
+	/**
+	 * Gets the statistics of the current frame. They are reset by {@link #startFrame()}, so they should be read after {@link #finishFrame()}.
+	 *
+	 * @return The live statistics object of this context.
+	 */
+	public FrameStatistics getFrameStatistics() {
+		return statistics;
+	}
+
+	@Override
+	public void startFrame() {
+		super.startFrame();
+		statistics.reset();
+	}
+
+	@Override
+	public void setShadowDepthOffset(float depth) {
+	}
+
+	@Override
+	public TextureHandle generateTexture(int width, int height, ShortBuffer data, String name) {
+		return resizeTexture(new TextureHandle(this, nextId++), width, height, data);
+	}
+
+	@Override
+	public TextureHandle resizeTexture(TextureHandle textureIndex, int width, int height, ShortBuffer data) {
+		if (data != null) {
+			statistics.addTextureUpload(width * height * 2L);
+		}
+		return textureIndex;
+	}
+
+	@Override
+	public void updateTexture(TextureHandle textureIndex, int left, int bottom, int width, int height, ShortBuffer data) {
+		statistics.addTextureUpload(width * height * 2L);
+	}
+
+	@Override
+	public void updateBufferAt(BufferHandle handle, int pos, ByteBuffer data) {
+		statistics.addBufferUpload(data.remaining());
+	}
+
+	@Override
+	protected void drawMulti(MultiDrawHandle call) {
+		statistics.addMultiDrawCall(call.used, 4);
+	}
+
+	@Override
+	protected void drawUnifiedArray(UnifiedDrawHandle call, int primitive, int vertexCount, float[] trans, float[] colors, int array_len) {
+		statistics.addDrawCall((long) vertexCount * array_len);
+	}
+
+	@Override
+	protected void drawUnified(UnifiedDrawHandle call, int primitive, int vertices, int mode, float x, float y, float z, float sx, float sy, AbstractColor color,
+			float intensity) {
+		statistics.addDrawCall(vertices);
+	}
+
+	@Override
+	public void drawBackground(BackgroundDrawHandle call) {
+		int firstLine = call.offset < 0 ? (int) Math.ceil(-call.offset / (float) call.stride) : 0;
+		int lines = Math.max(call.lines - firstLine, 0);
+		statistics.addBackgroundDrawCall((long) lines * call.width * 3);
+	}
+
+	@Override
+	public void setHeightMatrix(float[] matrix) {
+	}
+
+	@Override
+	public void setGlobalAttributes(float x, float y, float z, float sx, float sy, float sz) {
+		finishFrame();
+	}
+
+	@Override
+	public BackgroundDrawHandle createBackgroundDrawCall(int vertices, TextureHandle texture) {
+		return new BackgroundDrawHandle(this, nextId++, texture, new BufferHandle(this, nextId++), new BufferHandle(this, nextId++));
+	}
+
+	@Override
+	public UnifiedDrawHandle createUnifiedDrawCall(int vertices, String name, TextureHandle texture, float[] data) {
+		if (data != null) {
+			statistics.addBufferUpload(data.length * 4L);
+		}
+		return new UnifiedDrawHandle(this, nextId++, 0, vertices, texture, new BufferHandle(this, nextId++));
+	}
+
+	@Override
+	protected MultiDrawHandle createMultiDrawCall(String name, ManagedHandle source) {
+		return new MultiDrawHandle(this, nextId++, MultiDrawHandle.MAX_CACHE_ENTRIES, source, new BufferHandle(this, nextId++));
+	}
+
+	@Override
+	public void clearDepthBuffer() {
+		finishFrame();
+	}
+
+	@Override
+	public void resize(int width, int height) {
+		this.width = width;
+		this.height = height;
+	}
+
+	public int getWidth() {
+		return width;
+	}
+
+	public int getHeight() {
+		return height;
+	}
+}
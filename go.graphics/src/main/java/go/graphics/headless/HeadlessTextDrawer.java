@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package go.graphics.headless;
+
+import java.util.Arrays;
+
+import go.graphics.GLDrawContext;
+import go.graphics.text.AbstractTextDrawer;
+import go.graphics.text.EFontSize;
+
+/**
+ * A text drawer that does not need a font renderer. All characters have the same size and the font texture stays empty, but the draw calls are the same
+ * as with a real font.
+ */
+final class HeadlessTextDrawer extends AbstractTextDrawer<GLDrawContext> {
+	private static final int CHAR_WIDTH = TEXTURE_GENERATION_SIZE / 2;
+	private static final int LINE_HEIGHT = TEXTURE_GENERATION_SIZE * 6 / 5;
+	private static final int DESCENT = TEXTURE_GENERATION_SIZE / 4;
+
+	HeadlessTextDrawer(GLDrawContext drawContext) {
+		super(drawContext, 1);
+	}
+
+	@Override
+	protected float calculateScalingFactor() {
+		return 1;
+	}
+
+	@Override
+	protected int init() {
+		Arrays.fill(char_widths, CHAR_WIDTH);
+		gentex_line_height = LINE_HEIGHT;
+
+		EFontSize[] values = EFontSize.values();
+		for (int i = 0; i != values.length; i++) {
+			heightPerSize[i] = Math.round(values[i].getSize() * 6 / 5);
+		}
+		return DESCENT;
+	}
+
+	@Override
+	protected int[] getRGB() {
+		return new int[tex_width * tex_height];
+	}
+
+	@Override
+	protected void setupBitmapDraw() {
+	}
+
+	@Override
+	protected void drawChar(char[] character, int x, int y) {
+	}
+
+	@Override
+	protected void endDraw() {
+	}
+}
@@ -79,6 +79,18 @@ public abstract class CommonConstants {
 	 */
 	public static final boolean ENABLE_GRAPHICS_TIMES_DEBUG_OUTPUT = false;
 
+	/**
+	 * The number of threads that generate the draw commands for the map objects and settlers. With more than one thread, the visible lines
+	 * are split into bands that are generated in parallel.
+	 */
+	public static int MAP_DRAW_THREADS = 1;
+
+	/**
+	 * Lets the map drawing switch to aggregated impostors for trees, stones, buildings, stacks and borders and skip tiny settlers when it is
+	 * zoomed out far.
+	 */
+	public static boolean MAP_DRAW_LEVEL_OF_DETAIL = true;
+
 	/**
 	 * This is the default address the network game connects to.
 	 */
@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright (c) 2015
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.common.logging;
+
+/**
+ * This class implements a stop watch that counts its measurements in a histogram with buckets of exponentially growing size. In contrast to the
+ * {@link StatisticsStopWatch}, it needs constant memory and time per measurement. Median and max are reported in milliseconds like the ones of
+ * the {@link StatisticsStopWatch}.
+ */
+public class HistogramStopWatch extends StopWatch {
+	private static final int NUMBER_OF_BUCKETS = 40;
+
+	// bucket i counts the measurements of at least 2^(i-1) and less than 2^i microseconds, bucket 0 the ones of 0 microseconds
+	private final long[] buckets = new long[NUMBER_OF_BUCKETS];
+	private long numberOfMeasurements;
+	private long sum;
+	private long max;
+
+	@Override
+	public long now() {
+		return System.nanoTime() / 1000;
+	}
+
+	@Override
+	protected String getUnit() {
+		return "us";
+	}
+
+	@Override
+	public void stop(String leadingText) {
+		addMeasurement(getDiff());
+	}
+
+	/**
+	 * Adds the given measurement to the histogram.
+	 *
+	 * @param microseconds
+	 *            the measured time in microseconds
+	 */
+	public synchronized void addMeasurement(long microseconds) {
+		int bucket = Math.min(64 - Long.numberOfLeadingZeros(microseconds), NUMBER_OF_BUCKETS - 1);
+		buckets[bucket]++;
+		numberOfMeasurements++;
+		sum += microseconds;
+		max = Math.max(max, microseconds);
+	}
+
+	public synchronized long getNumberOfMeasurements() {
+		return numberOfMeasurements;
+	}
+
+	/**
+	 * @param percentile
+	 *            the percentile between 0 and 1
+	 * @return the upper bound of the bucket containing the given percentile of the measurements in microseconds.
+	 */
+	public synchronized long getPercentile(double percentile) {
+		long rank = Math.max(1, (long) Math.ceil(percentile * numberOfMeasurements));
+		long counted = 0;
+		for (int bucket = 0; bucket < NUMBER_OF_BUCKETS; bucket++) {
+			counted += buckets[bucket];
+			if (counted >= rank) {
+				return Math.min((1L << bucket) - 1, max);
+			}
+		}
+		return max;
+	}
+
+	/**
+	 * @return the upper bound of the bucket containing the median in milliseconds.
+	 */
+	public long getMedian() {
+		return getPercentile(0.5) / 1000;
+	}
+
+	/**
+	 * @return the longest measurement in milliseconds.
+	 */
+	public synchronized long getMax() {
+		return max / 1000;
+	}
+
+	@Override
+	public synchronized String toString() {
+		if (numberOfMeasurements == 0) {
+			return " -> no measurements taken yet";
+		}
+		return " -> number of measurements: " + numberOfMeasurements
+				+ ", average: " + (sum / numberOfMeasurements) + " " + getUnit()
+				+ ", median: " + getPercentile(0.5) + " " + getUnit()
+				+ ", 99th percentile: " + getPercentile(0.99) + " " + getUnit()
+				+ ", max: " + max + " " + getUnit();
+	}
+}
@@ -9,7 +9,15 @@ public interface IDirectGridProvider {
 	IMapObject[] getObjectArray();
 	IGraphicsMovable[] getMovableArray();
 	BitSet getBorderArray();
-	byte[][] getVisibleStatusArray();
+	byte[] getVisibleStatusArray();
 	byte[][] getHeightArray();
 	boolean isFoWEnabled();
+
+	/**
+	 * Sets the listener that's informed about changed map objects and borders. Passing null removes the current listener.
+	 *
+	 * @param objectsListener
+	 *            listener to be set or null.
+	 */
+	void setObjectsListener(IGraphicsObjectsListener objectsListener);
 }
@@ -59,6 +59,6 @@ public class EmptyDatFile implements DatFileReader {
 
 	@Override
 	public ByteReader getReaderForLandscape(int index) throws IOException {
-		throw new UnsupportedOperationException();
+		throw new IOException("The landscape " + index + " is not available without the original graphics.");
 	}
 }
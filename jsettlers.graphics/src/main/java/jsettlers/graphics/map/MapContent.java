@@ -14,14 +14,18 @@
  *******************************************************************************/
 package jsettlers.graphics.map;
 
+import java.util.ArrayList;
 import java.util.BitSet;
+import java.util.List;
 
 import go.graphics.EPrimitiveType;
 import java.util.Optional;
 
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.BiFunction;
 
 import go.graphics.GLDrawContext;
@@ -89,8 +93,12 @@ import jsettlers.graphics.localization.Labels;
 import jsettlers.graphics.map.controls.IControls;
 import jsettlers.graphics.map.controls.original.OriginalControls;
 import jsettlers.graphics.map.draw.Background;
+import jsettlers.graphics.map.draw.DrawCommandBuffer;
+import jsettlers.graphics.map.draw.EMapDetailLevel;
 import jsettlers.graphics.map.draw.ImageProvider;
 import jsettlers.graphics.map.draw.MapObjectDrawer;
+import jsettlers.graphics.map.draw.MapObjectImpostors;
+import jsettlers.graphics.map.draw.StaticObjectChunks;
 import jsettlers.graphics.messages.Messenger;
 import jsettlers.graphics.sound.BackgroundSound;
 import jsettlers.graphics.sound.MusicManager;
@@ -171,7 +179,15 @@ public final class MapContent implements RegionContent, IMapInterfaceListener, A
 	private final IGraphicsMovable[] movableGrid;
 	private final BitSet borderGrid;
 	private final byte[][] heightGrid;
-	private final byte[][] visibleGrid;
+	private final byte[] visibleGrid;
+	private final StaticObjectChunks staticObjects;
+	private final MapObjectImpostors impostors;
+	/**
+	 * The drawers for the bands the visible lines are split into. The first one draws directly on the render thread, the others record on
+	 * {@link #drawWorkers}.
+	 */
+	private final MapLineDrawer[] lineDrawers;
+	private final ExecutorService drawWorkers;
 	private final short width, height;
 	private final boolean isVisibleGridAvailable;
 
@@ -260,6 +276,7 @@ public final class MapContent implements RegionContent, IMapInterfaceListener, A
 			heightGrid = dgp.getHeightArray();
 			visibleGrid = dgp.getVisibleStatusArray();
 			isVisibleGridAvailable = true;
+			staticObjects = new StaticObjectChunks(objectsGrid, borderGrid, map.getWidth(), map.getHeight());
 		} else {
 			objectsGrid = null;
 			movableGrid = null;
@@ -267,6 +284,7 @@ public final class MapContent implements RegionContent, IMapInterfaceListener, A
 			heightGrid = null;
 			visibleGrid = null;
 			isVisibleGridAvailable = false;
+			staticObjects = null;
 		}
 		width = map.getWidth();
 		height = map.getHeight();
@@ -277,11 +295,41 @@ public final class MapContent implements RegionContent, IMapInterfaceListener, A
 		this.messenger = new Messenger(this.gameTimeProvider);
 		this.textDrawer = new ReplaceableTextDrawer();
 		this.context = new MapDrawContext(map);
+		if (staticObjects != null) {
+			StaticObjectChunks chunks = staticObjects;
+			MapObjectImpostors objectImpostors = new MapObjectImpostors(context, objectsGrid, borderGrid, visibleGrid);
+			((IDirectGridProvider) map).setObjectsListener((x, y) -> {
+				chunks.objectsChangedAt(x, y);
+				objectImpostors.objectsChangedAt(x, y);
+			});
+			impostors = objectImpostors;
+		} else {
+			impostors = null;
+		}
 		this.soundmanager = new SoundManager(soundPlayer);
 		this.musicManager = new MusicManager(soundPlayer, localPlayer.getCivilisation());
 		this.background = new Background(context);
 
 		objectDrawer = new MapObjectDrawer(context, soundmanager, localPlayer);
+		if (staticObjects != null) {
+			lineDrawers = new MapLineDrawer[Math.max(1, CommonConstants.MAP_DRAW_THREADS)];
+			for (int i = 0; i < lineDrawers.length; i++) {
+				DrawCommandBuffer commands = i == 0 ? null : new DrawCommandBuffer();
+				MapObjectDrawer drawer = i == 0 ? objectDrawer : new MapObjectDrawer(context, soundmanager, localPlayer, commands);
+				lineDrawers[i] = new MapLineDrawer(map, objectsGrid, movableGrid, borderGrid, visibleGrid, staticObjects, drawer, commands);
+			}
+		} else {
+			lineDrawers = new MapLineDrawer[0];
+		}
+		if (lineDrawers.length > 1) {
+			drawWorkers = Executors.newFixedThreadPool(lineDrawers.length - 1, runnable -> {
+				Thread thread = new Thread(runnable, "map draw worker");
+				thread.setDaemon(true);
+				return thread;
+			});
+		} else {
+			drawWorkers = null;
+		}
 		backgroundSound = new BackgroundSound(context, soundmanager);
 		backgroundSound.start();
 		musicManager.startMusic();
@@ -319,7 +367,13 @@ public final class MapContent implements RegionContent, IMapInterfaceListener, A
 				textDrawer.setTextDrawerFactory(new FontDrawerFactory());
 			}
 
-			if(isVisibleGridAvailable) objectDrawer.setVisibleGrid(((IDirectGridProvider)map).isFoWEnabled()?((IDirectGridProvider)map).getVisibleStatusArray():null);
+			if(isVisibleGridAvailable) {
+				byte[] objectsVisibleGrid = ((IDirectGridProvider)map).isFoWEnabled()?((IDirectGridProvider)map).getVisibleStatusArray():null;
+				objectDrawer.setVisibleGrid(objectsVisibleGrid);
+				for (MapLineDrawer lineDrawer : lineDrawers) {
+					lineDrawer.getObjectDrawer().setVisibleGrid(objectsVisibleGrid);
+				}
+			}
 
 			if (newWidth != windowWidth || newHeight != windowHeight) {
 				resizeTo(newWidth, newHeight);
@@ -327,6 +381,9 @@ public final class MapContent implements RegionContent, IMapInterfaceListener, A
 
 			adaptScreenSize();
 			this.objectDrawer.nextFrame();
+			for (int i = 1; i < lineDrawers.length; i++) {
+				lineDrawers[i].getObjectDrawer().nextFrame();
+			}
 
 			this.context.begin(gl);
 			long start = System.nanoTime();
@@ -365,7 +422,8 @@ public final class MapContent implements RegionContent, IMapInterfaceListener, A
 			long uiTime = System.nanoTime() - start;
 
 			if (CommonConstants.ENABLE_GRAPHICS_TIMES_DEBUG_OUTPUT) {
-				System.out.println("Background: " + backgroundDuration/1000 + "µs, Foreground: " + foregroundDuration/1000 + "µs, UI: " + uiTime/1000 + "µs");
+				System.out.println("Background: " + backgroundDuration/1000 + "µs (" + background.getUploadedSpans() + " spans, " + background.getUploadedBytes()
+						+ " bytes uploaded in total), Foreground: " + foregroundDuration/1000 + "µs, UI: " + uiTime/1000 + "µs");
 			}
 		} catch (Throwable t) {
 			System.err.println("Main draw handler cought throwable:");
@@ -553,8 +611,6 @@ public final class MapContent implements RegionContent, IMapInterfaceListener, A
 		drawer.drawString(x, y, string);
 	}
 	
-	//private final ExecutorService multiworker = Executors.newFixedThreadPool(2);
-
 	/**
 	 * Draws the main content (buildings, settlers, ...), assuming the context is set up.
 	 */
@@ -564,6 +620,10 @@ public final class MapContent implements RegionContent, IMapInterfaceListener, A
 		double bottomDrawY = screen.getMinY() - OVERDRAW_BOTTOM_PX;
 		final BiFunction<Integer, Integer, Integer> fromHeightGrid = heightGrid == null ? this.context::getHeight : (x, y) -> (int) heightGrid[x][y];
 
+		boolean fowEnabled = visibleGrid != null && ((IDirectGridProvider) map).isFoWEnabled();
+
+		int firstLine = -1;
+		int lastLine = -1;
 		boolean linePartiallyVisible = true;
 		for(int line = 0; line < area.getHeight() + 50 && linePartiallyVisible; line++) {
 			int y = area.getLineY(line);
@@ -573,19 +633,34 @@ public final class MapContent implements RegionContent, IMapInterfaceListener, A
 			if (y >= height) {
 				break;
 			}
-			linePartiallyVisible = false;
 
 			int endX = Math.min(area.getLineEndX(line), width - 1);
 			int startX = Math.max(area.getLineStartX(line), 0);
-			for(int x = startX; x <= endX; x++) {
-				drawTile(x, y);
-				if(!linePartiallyVisible) {
-					double drawSpaceY = this.context.getConverter().getViewY(x, y, fromHeightGrid.apply(x, y));
-					if (drawSpaceY > bottomDrawY) {
-						linePartiallyVisible = true;
-					}
+			if (firstLine < 0) {
+				firstLine = line;
+			}
+			lastLine = line;
+			if (staticObjects == null) {
+				for (int x = startX; x <= endX; x++) {
+					drawTile(x, y);
 				}
 			}
+
+			linePartiallyVisible = false;
+			for (int x = startX; x <= endX && !linePartiallyVisible; x++) {
+				double drawSpaceY = this.context.getConverter().getViewY(x, y, fromHeightGrid.apply(x, y));
+				if (drawSpaceY > bottomDrawY) {
+					linePartiallyVisible = true;
+				}
+			}
+		}
+
+		if (staticObjects != null && firstLine >= 0) {
+			EMapDetailLevel detail = EMapDetailLevel.forZoom(context.getScreen().getZoom());
+			if (detail.aggregateObjects) {
+				impostors.draw(area, firstLine, lastLine, fowEnabled);
+			}
+			drawLines(area, firstLine, lastLine, fowEnabled, detail);
 		}
 
 		if(placementBuilding != null) {
@@ -604,36 +679,92 @@ public final class MapContent implements RegionContent, IMapInterfaceListener, A
 		}
 	}
 
-	private void drawTile(int x, int y) {
-		int tileIndex = x+y*width;
+	/**
+	 * Draws the given lines of the area. With more than one line drawer, the lines are split into bands of whole chunk rows. The first band is
+	 * drawn on the render thread while the other bands are recorded by the draw workers. The recorded bands are replayed in order afterwards, so
+	 * everything is drawn in the same order as if the lines were drawn one after another.
+	 */
+	private void drawLines(MapRectangle area, int firstLine, int lastLine, boolean fowEnabled, EMapDetailLevel detail) {
+		int lines = lastLine - firstLine + 1;
+		int linesPerBand = (lines + lineDrawers.length - 1) / lineDrawers.length;
+
+		int[] bandStarts = new int[lineDrawers.length + 1];
+		int bands = 0;
+		int bandStart = firstLine;
+		while (bandStart <= lastLine) {
+			bandStarts[bands++] = bandStart;
+			int bandEnd = Math.min(lastLine + 1, bandStart + Math.max(linesPerBand, StaticObjectChunks.CHUNK_SIZE));
+			// two bands must not share a chunk row, because the chunks are rebuilt by the band using them
+			while (bandEnd <= lastLine && area.getLineY(bandEnd) % StaticObjectChunks.CHUNK_SIZE != 0) {
+				bandEnd++;
+			}
+			if (bands == lineDrawers.length) {
+				bandEnd = lastLine + 1;
+			}
+			bandStart = bandEnd;
+		}
+		bandStarts[bands] = lastLine + 1;
+
+		List<Future<?>> recordedBands = new ArrayList<>(bands - 1);
+		for (int band = 1; band < bands; band++) {
+			MapLineDrawer lineDrawer = lineDrawers[band];
+			int start = bandStarts[band];
+			int end = bandStarts[band + 1];
+			recordedBands.add(drawWorkers.submit(() -> {
+				lineDrawer.getCommands().clear();
+				drawBand(lineDrawer, area, start, end, fowEnabled, detail);
+			}));
+		}
+
+		drawBand(lineDrawers[0], area, bandStarts[0], bandStarts[1], fowEnabled, detail);
+
+		GLDrawContext gl = context.getGl();
+		for (int band = 1; band < bands; band++) {
+			try {
+				recordedBands.get(band - 1).get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			} catch (ExecutionException e) {
+				throw new RuntimeException(e.getCause());
+			}
+			lineDrawers[band].getCommands().replay(gl, soundmanager);
+		}
+	}
 
-		byte fow = visibleGrid != null && ((IDirectGridProvider)map).isFoWEnabled() ? visibleGrid[x][y] : map.getVisibleStatus(x, y);
-		boolean fogClear = fow > CommonConstants.FOG_OF_WAR_EXPLORED;
+	private void drawBand(MapLineDrawer lineDrawer, MapRectangle area, int startLine, int endLine, boolean fowEnabled, EMapDetailLevel detail) {
+		for (int line = startLine; line < endLine; line++) {
+			int y = area.getLineY(line);
+			int endX = Math.min(area.getLineEndX(line), width - 1);
+			int startX = Math.max(area.getLineStartX(line), 0);
+			lineDrawer.drawLine(y, startX, endX, fowEnabled, detail);
+		}
+	}
 
-		IMapObject object = objectsGrid != null && fogClear ? objectsGrid[tileIndex] : map.getVisibleMapObjectsAt(x, y);
-		if(object != null) {
+	/**
+	 * Draws a single position of a map that doesn't provide direct access to its grids.
+	 */
+	private void drawTile(int x, int y) {
+		IMapObject object = map.getVisibleMapObjectsAt(x, y);
+		if (object != null) {
 			this.objectDrawer.drawMapObject(x, y, object);
 		}
 
-		if(y < height - 3) {
-			object = objectsGrid != null && fogClear ? objectsGrid[tileIndex+3*width] : map.getVisibleMapObjectsAt(x, y + 3);
-			if(object != null) {
-				EMapObjectType type = object.getObjectType();
-				if(type == EMapObjectType.DOCK) {
-					this.objectDrawer.drawDock(x, y + 3, object);
-				}
+		if (y < height - 3) {
+			object = map.getVisibleMapObjectsAt(x, y + 3);
+			if (object != null && object.getObjectType() == EMapObjectType.DOCK) {
+				this.objectDrawer.drawDock(x, y + 3, object);
 			}
 		}
 
-		if(fogClear) {
-			IGraphicsMovable movable = movableGrid != null ? movableGrid[tileIndex] : map.getMovableAt(x, y);
+		if (map.getVisibleStatus(x, y) > CommonConstants.FOG_OF_WAR_EXPLORED) {
+			IGraphicsMovable movable = map.getMovableAt(x, y);
 			if (movable != null) {
 				this.objectDrawer.draw(movable);
 			}
 
-			if (borderGrid != null ? borderGrid.get(tileIndex) : map.isBorder(x, y)) {
-				IPlayer player = map.getPlayerAt(x, y);
-				objectDrawer.drawPlayerBorderObject(x, y, player);
+			if (map.isBorder(x, y)) {
+				objectDrawer.drawPlayerBorderObject(x, y, map.getPlayerAt(x, y));
 			}
 		}
 	}
@@ -1091,6 +1222,12 @@ public final class MapContent implements RegionContent, IMapInterfaceListener, A
 	}
 
 	public void stop() {
+		if (staticObjects != null) {
+			((IDirectGridProvider) map).setObjectsListener(null);
+		}
+		if (drawWorkers != null) {
+			drawWorkers.shutdown();
+		}
 		musicManager.stopMusic();
 		backgroundSound.stop();
 		controls.stop();
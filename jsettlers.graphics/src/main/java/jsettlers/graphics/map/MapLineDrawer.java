@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.graphics.map;
+
+import java.util.BitSet;
+import java.util.Set;
+
+import jsettlers.common.CommonConstants;
+import jsettlers.common.map.IGraphicsGrid;
+import jsettlers.common.mapobject.EMapObjectType;
+import jsettlers.common.mapobject.IMapObject;
+import jsettlers.common.movable.IGraphicsMovable;
+import jsettlers.graphics.map.draw.DrawCommandBuffer;
+import jsettlers.graphics.map.draw.EMapDetailLevel;
+import jsettlers.graphics.map.draw.MapObjectDrawer;
+import jsettlers.graphics.map.draw.MapObjectImpostors;
+import jsettlers.graphics.map.draw.StaticObjectChunks;
+
+/**
+ * Draws the objects, movables and borders of single map lines of a map that provides direct access to its grids.
+ * <p>
+ * The positions with map objects, docks or borders are taken from the {@link StaticObjectChunks}, the movables and the positions hidden by the
+ * fog of war are drawn in a second pass over the whole line. If the {@link MapObjectDrawer} records to a {@link DrawCommandBuffer}, lines can be
+ * drawn on any thread as long as no other drawer works on the same chunk row at the same time.
+ * <p>
+ * With an aggregating {@link EMapDetailLevel}, the objects and borders drawn by the {@link MapObjectImpostors} are skipped.
+ */
+final class MapLineDrawer {
+	private final IGraphicsGrid map;
+	private final IMapObject[] objectsGrid;
+	private final IGraphicsMovable[] movableGrid;
+	private final BitSet borderGrid;
+	private final byte[] visibleGrid;
+	private final StaticObjectChunks staticObjects;
+	private final int width;
+	private final int height;
+	private final MapObjectDrawer objectDrawer;
+	private final DrawCommandBuffer commands;
+	private final int[] lineBuffer;
+
+	MapLineDrawer(IGraphicsGrid map, IMapObject[] objectsGrid, IGraphicsMovable[] movableGrid, BitSet borderGrid, byte[] visibleGrid,
+			StaticObjectChunks staticObjects, MapObjectDrawer objectDrawer, DrawCommandBuffer commands) {
+		this.map = map;
+		this.objectsGrid = objectsGrid;
+		this.movableGrid = movableGrid;
+		this.borderGrid = borderGrid;
+		this.visibleGrid = visibleGrid;
+		this.staticObjects = staticObjects;
+		this.width = map.getWidth();
+		this.height = map.getHeight();
+		this.objectDrawer = objectDrawer;
+		this.commands = commands;
+		this.lineBuffer = new int[width];
+	}
+
+	MapObjectDrawer getObjectDrawer() {
+		return objectDrawer;
+	}
+
+	/**
+	 * @return The buffer the drawn images are recorded to or null if they are drawn directly.
+	 */
+	DrawCommandBuffer getCommands() {
+		return commands;
+	}
+
+	void drawLine(int y, int startX, int endX, boolean fowEnabled, EMapDetailLevel detail) {
+		int lineOffset = y * width;
+		Set<EMapObjectType> skippedTypes = detail.aggregateObjects ? MapObjectImpostors.AGGREGATED_TYPES : null;
+
+		int count = staticObjects.collectLine(y, startX, endX, lineBuffer);
+		for (int i = 0; i < count; i++) {
+			int x = lineBuffer[i];
+			if (!fowEnabled || visibleGrid[lineOffset + x] > CommonConstants.FOG_OF_WAR_EXPLORED) {
+				drawStaticContent(x, y, lineOffset + x, skippedTypes);
+			}
+		}
+
+		for (int x = startX; x <= endX; x++) {
+			int tileIndex = lineOffset + x;
+			if (fowEnabled && visibleGrid[tileIndex] <= CommonConstants.FOG_OF_WAR_EXPLORED) {
+				drawHiddenContent(x, y, skippedTypes);
+			} else {
+				IGraphicsMovable movable = movableGrid[tileIndex];
+				if (movable != null && (detail.drawMovables || movable.isSelected())) {
+					objectDrawer.draw(movable);
+				}
+			}
+		}
+	}
+
+	private void drawStaticContent(int x, int y, int tileIndex, Set<EMapObjectType> skippedTypes) {
+		IMapObject object = objectsGrid[tileIndex];
+		if (object != null) {
+			objectDrawer.drawMapObject(x, y, object, skippedTypes);
+		}
+
+		if (y < height - 3) {
+			object = objectsGrid[tileIndex + 3 * width];
+			if (object != null && object.getObjectType() == EMapObjectType.DOCK) {
+				objectDrawer.drawDock(x, y + 3, object);
+			}
+		}
+
+		if (skippedTypes == null && borderGrid.get(tileIndex)) {
+			objectDrawer.drawPlayerBorderObject(x, y, map.getPlayerAt(x, y));
+		}
+	}
+
+	private void drawHiddenContent(int x, int y, Set<EMapObjectType> skippedTypes) {
+		IMapObject object = map.getVisibleMapObjectsAt(x, y);
+		if (object != null) {
+			objectDrawer.drawMapObject(x, y, object, skippedTypes);
+		}
+
+		if (y < height - 3) {
+			object = map.getVisibleMapObjectsAt(x, y + 3);
+			if (object != null && object.getObjectType() == EMapObjectType.DOCK) {
+				objectDrawer.drawDock(x, y + 3, object);
+			}
+		}
+	}
+}
@@ -991,11 +991,18 @@ public class Background implements IGraphicsBackgroundListener {
 		shape_bfr2 = ByteBuffer.allocateDirect(BYTES_PER_FIELD_SHAPE*bufferHeight*bufferWidth).order(ByteOrder.nativeOrder());
 		color_cache2 = new AdvancedUpdateBufferCache(color_bfr2, BYTES_PER_FIELD_COLOR, context::getGl, () -> backgroundHandle.colors, bufferWidth);
 		shape_cache2 = new AdvancedUpdateBufferCache(shape_bfr2, BYTES_PER_FIELD_SHAPE, context::getGl, () -> backgroundHandle.vertices, bufferWidth);
+		dirtyTiles = new DirtyTileBitSet(bufferWidth, bufferHeight);
 		asyncAccessContext = context;
 	}
 
 	private MapDrawContext asyncAccessContext;
 
+	/**
+	 * The tiles changed by the listeners. They are regenerated and uploaded by the render thread once per frame.
+	 */
+	private final DirtyTileBitSet dirtyTiles;
+	private final DirtyTileBitSet.DirtySpanConsumer updateLine = this::updateLine;
+
 	private final TextureIntersections[] borderTextures = new TextureIntersections[] {
 			new TextureIntersections(ELandscapeType.SAND, ELandscapeType.WATER1, 37),
 
@@ -1138,6 +1145,7 @@ public class Background implements IGraphicsBackgroundListener {
 
 	private void updateGeometry(MapDrawContext context, MapRectangle screen) {
 		fowEnabled = hasdgp && dgp.isFoWEnabled();
+		dirtyTiles.drain(updateLine);
 
 		try {
 			int height = screen.getHeight();
@@ -1152,48 +1160,33 @@ public class Background implements IGraphicsBackgroundListener {
 
 
 			if(context.getGl() instanceof VkDrawContext) {
-				synchronized (color_bfr2) {
-					color_cache2.clearCache();
-				}
-				synchronized (shape_bfr2) {
-					shape_cache2.clearCache();
-				}
+				color_cache2.clearCache();
+				shape_cache2.clearCache();
 			} else {
-				synchronized (color_bfr2) {
-					synchronized (shape_bfr2) {
-						for (int y = miny; y < maxy; y++) {
-							int lineStartX = linestart + (y / 2);
-
-							int linewidth = (width + lineStartX);
-							if (linewidth >= bufferWidth) {
-								linewidth = bufferWidth;
-							}
+				for (int y = miny; y < maxy; y++) {
+					int lineStartX = linestart + (y / 2);
 
-							int linex = lineStartX;
-							if (linex < 0) {
-								linex = 0;
-							}
-
-							color_cache2.clearCacheRegion(y, linex, linewidth);
-							shape_cache2.clearCacheRegion(y, linex, linewidth);
-						}
+					int linewidth = (width + lineStartX);
+					if (linewidth >= bufferWidth) {
+						linewidth = bufferWidth;
+					}
 
+					int linex = lineStartX;
+					if (linex < 0) {
+						linex = 0;
 					}
+
+					color_cache2.clearCacheRegion(y, linex, linewidth);
+					shape_cache2.clearCacheRegion(y, linex, linewidth);
 				}
+				color_cache2.flush();
+				shape_cache2.flush();
 			}
 		} catch (IllegalBufferException e) {
 			e.printStackTrace();
 		}
 	}
 
-	private synchronized void invalidateShapePoint(int x, int y) {
-		if(x >= bufferWidth || y >= bufferHeight || x < 0 || y < 0) return;
-		synchronized (shape_bfr2) {
-			shape_cache2.gotoLine(y, x, 1);
-			addTrianglesToGeometry(asyncAccessContext, shape_bfr2, x, y);
-		}
-	}
-
 	/**
 	 * Adds the two triangles for a point to the list of verteces
 	 */
@@ -1334,19 +1327,18 @@ public class Background implements IGraphicsBackgroundListener {
 		}
 	}
 
+	/**
+	 * Regenerates the geometry of a line. This must only be called by the render thread.
+	 */
 	private void updateLine(int y, int x1, int x2) {
-		synchronized (color_bfr2) {
-			color_cache2.gotoLine(y,x1, x2 - x1);
-			for (int i = x1; i != x2; i++) {
-				addColorTrianglesToGeometry(asyncAccessContext, color_bfr2, i, y);
-			}
+		color_cache2.gotoLine(y,x1, x2 - x1);
+		for (int i = x1; i != x2; i++) {
+			addColorTrianglesToGeometry(asyncAccessContext, color_bfr2, i, y);
 		}
 
-		synchronized (shape_bfr2) {
-			shape_cache2.gotoLine(y, x1, x2 - x1);
-			for(int i = x1; i != x2; i++) {
-				addTrianglesToGeometry(asyncAccessContext, shape_bfr2, i, y);
-			}
+		shape_cache2.gotoLine(y, x1, x2 - x1);
+		for(int i = x1; i != x2; i++) {
+			addTrianglesToGeometry(asyncAccessContext, shape_bfr2, i, y);
 		}
 	}
 
@@ -1359,9 +1351,23 @@ public class Background implements IGraphicsBackgroundListener {
 		if(x2 < bufferWidth) x2 = x2+1;
 		if(x2 > bufferWidth) x2 = bufferWidth;
 
-		updateLine(y, x, x2);
-		if(y > 0) updateLine(y-1, x, x2);
-		if(y < bufferHeight-1) updateLine(y+1, x, x2);
+		dirtyTiles.markLine(y, x, x2);
+		if(y > 0) dirtyTiles.markLine(y-1, x, x2);
+		if(y < bufferHeight-1) dirtyTiles.markLine(y+1, x, x2);
+	}
+
+	/**
+	 * @return The number of dirty regions of the background uploaded since this background was created.
+	 */
+	public long getUploadedSpans() {
+		return color_cache2.getUploadedSpans() + shape_cache2.getUploadedSpans();
+	}
+
+	/**
+	 * @return The number of bytes of the background uploaded since this background was created.
+	 */
+	public long getUploadedBytes() {
+		return color_cache2.getUploadedBytes() + shape_cache2.getUploadedBytes();
 	}
 
 	@Override
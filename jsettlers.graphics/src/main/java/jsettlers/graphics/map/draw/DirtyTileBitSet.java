@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.graphics.map.draw;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A bit set of tiles that can be marked from any thread without locking and is drained by a single thread.
+ * <p>
+ * The tiles are stored line by line, so consecutive dirty tiles of a line are consecutive bits.
+ */
+final class DirtyTileBitSet {
+	private static final int WORD_SHIFT = 6;
+	private static final int WORD_BITS = 1 << WORD_SHIFT;
+	private static final long ALL_BITS = -1L;
+
+	private final AtomicLongArray words;
+	private final int lineWidth;
+
+	DirtyTileBitSet(int lineWidth, int lines) {
+		this.lineWidth = lineWidth;
+		this.words = new AtomicLongArray((lineWidth * lines + WORD_BITS - 1) >> WORD_SHIFT);
+	}
+
+	/**
+	 * Marks the tiles x1 (inclusive) to x2 (exclusive) of the given line as dirty.
+	 */
+	void markLine(int y, int x1, int x2) {
+		if (x1 >= x2) {
+			return;
+		}
+		int start = y * lineWidth + x1;
+		int end = y * lineWidth + x2;
+
+		int startWord = start >> WORD_SHIFT;
+		int endWord = (end - 1) >> WORD_SHIFT;
+		for (int word = startWord; word <= endWord; word++) {
+			long mask = ALL_BITS;
+			if (word == startWord) {
+				mask &= ALL_BITS << (start & (WORD_BITS - 1));
+			}
+			if (word == endWord) {
+				mask &= ALL_BITS >>> (WORD_BITS - 1 - ((end - 1) & (WORD_BITS - 1)));
+			}
+			setBits(word, mask);
+		}
+	}
+
+	private void setBits(int word, long mask) {
+		long current;
+		do {
+			current = words.get(word);
+			if ((current & mask) == mask) {
+				return;
+			}
+		} while (!words.compareAndSet(word, current, current | mask));
+	}
+
+	/**
+	 * Removes all dirty tiles from this set and reports them as spans of consecutive tiles. A span never crosses a line. Tiles marked while this
+	 * method runs are either reported or stay in the set.
+	 * 
+	 * @param consumer
+	 *            Receives the spans.
+	 */
+	void drain(DirtySpanConsumer consumer) {
+		int wordCount = words.length();
+		for (int word = 0; word < wordCount; word++) {
+			if (words.get(word) == 0) {
+				continue;
+			}
+			long bits = words.getAndSet(word, 0);
+			int wordStart = word << WORD_SHIFT;
+			while (bits != 0) {
+				int bit = Long.numberOfTrailingZeros(bits);
+				int length = Long.numberOfTrailingZeros(~(bits >>> bit));
+				bits &= length + bit >= WORD_BITS ? 0 : (ALL_BITS << (bit + length));
+
+				int tile = wordStart + bit;
+				int end = tile + length;
+				while (tile < end) {
+					int y = tile / lineWidth;
+					int x = tile - y * lineWidth;
+					int spanEnd = Math.min(end, (y + 1) * lineWidth);
+					consumer.dirtySpan(y, x, x + spanEnd - tile);
+					tile = spanEnd;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Receives the dirty spans of {@link DirtyTileBitSet#drain(DirtySpanConsumer)}.
+	 */
+	interface DirtySpanConsumer {
+		/**
+		 * @param y
+		 *            The line of the span.
+		 * @param x1
+		 *            The first dirty tile, inclusive.
+		 * @param x2
+		 *            The last dirty tile, exclusive.
+		 */
+		void dirtySpan(int y, int x1, int x2);
+	}
+}
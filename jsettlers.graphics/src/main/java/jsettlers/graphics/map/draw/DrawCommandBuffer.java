@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.graphics.map.draw;
+
+import java.util.Arrays;
+
+import go.graphics.GLDrawContext;
+import jsettlers.common.Color;
+import jsettlers.graphics.image.Image;
+import jsettlers.graphics.image.SingleImage;
+import jsettlers.graphics.sound.SoundManager;
+
+/**
+ * Records the images a {@link MapObjectDrawer} draws and the sounds it plays, so they can be generated on a worker thread and replayed on the
+ * render thread later.
+ * <p>
+ * Replaying draws everything in the order it was recorded. Nothing in here is thread safe, every buffer is meant to be filled by one thread at
+ * a time.
+ */
+public final class DrawCommandBuffer {
+	private static final byte DRAW_AT = 0;
+	private static final byte DRAW_ONLY_IMAGE = 1;
+	private static final byte DRAW_ONLY_SHADOW = 2;
+	private static final byte DRAW_PROGRESS_QUAD = 3;
+	private static final byte DRAW_PROGRESS_TRIANGLE = 4;
+	private static final byte PLAY_SOUND = 5;
+
+	private static final int FLOATS_PER_COMMAND = 8;
+	private static final int INITIAL_CAPACITY = 1024;
+
+	private byte[] types = new byte[INITIAL_CAPACITY];
+	private Image[] images = new Image[INITIAL_CAPACITY];
+	private Color[] colors = new Color[INITIAL_CAPACITY];
+	private float[] values = new float[INITIAL_CAPACITY * FLOATS_PER_COMMAND];
+	private int size = 0;
+
+	void drawAt(Image image, float x, float y, float z, Color torsoColor, float fow) {
+		int offset = add(DRAW_AT, image, torsoColor);
+		values[offset] = x;
+		values[offset + 1] = y;
+		values[offset + 2] = z;
+		values[offset + 3] = fow;
+	}
+
+	void drawOnlyImageAt(Image image, float x, float y, float z, Color torsoColor, float fow) {
+		int offset = add(DRAW_ONLY_IMAGE, image, torsoColor);
+		values[offset] = x;
+		values[offset + 1] = y;
+		values[offset + 2] = z;
+		values[offset + 3] = fow;
+	}
+
+	void drawOnlyShadowAt(Image image, float x, float y, float z) {
+		int offset = add(DRAW_ONLY_SHADOW, image, null);
+		values[offset] = x;
+		values[offset + 1] = y;
+		values[offset + 2] = z;
+	}
+
+	void drawOnlyImageWithProgressAt(SingleImage image, float x, float y, float z, float u1, float v1, float u2, float v2, float fow, boolean triangle) {
+		int offset = add(triangle ? DRAW_PROGRESS_TRIANGLE : DRAW_PROGRESS_QUAD, image, null);
+		values[offset] = x;
+		values[offset + 1] = y;
+		values[offset + 2] = z;
+		values[offset + 3] = fow;
+		values[offset + 4] = u1;
+		values[offset + 5] = v1;
+		values[offset + 6] = u2;
+		values[offset + 7] = v2;
+	}
+
+	void playSound(int soundId, int x, int y) {
+		int offset = add(PLAY_SOUND, null, null);
+		values[offset] = soundId;
+		values[offset + 1] = x;
+		values[offset + 2] = y;
+	}
+
+	private int add(byte type, Image image, Color color) {
+		if (size == types.length) {
+			int capacity = size * 2;
+			types = Arrays.copyOf(types, capacity);
+			images = Arrays.copyOf(images, capacity);
+			colors = Arrays.copyOf(colors, capacity);
+			values = Arrays.copyOf(values, capacity * FLOATS_PER_COMMAND);
+		}
+		types[size] = type;
+		images[size] = image;
+		colors[size] = color;
+		return size++ * FLOATS_PER_COMMAND;
+	}
+
+	/**
+	 * Draws the recorded images and plays the recorded sounds in the order they were recorded. The buffer is empty afterwards.
+	 * 
+	 * @param gl
+	 *            The context to draw on.
+	 * @param sound
+	 *            The sound manager to play the sounds with.
+	 */
+	public void replay(GLDrawContext gl, SoundManager sound) {
+		for (int i = 0; i < size; i++) {
+			int offset = i * FLOATS_PER_COMMAND;
+			float x = values[offset];
+			float y = values[offset + 1];
+			float z = values[offset + 2];
+			switch (types[i]) {
+				case DRAW_AT:
+					images[i].drawAt(gl, x, y, z, colors[i], values[offset + 3]);
+					break;
+				case DRAW_ONLY_IMAGE:
+					images[i].drawOnlyImageAt(gl, x, y, z, colors[i], values[offset + 3]);
+					break;
+				case DRAW_ONLY_SHADOW:
+					images[i].drawOnlyShadowAt(gl, x, y, z);
+					break;
+				case DRAW_PROGRESS_QUAD:
+				case DRAW_PROGRESS_TRIANGLE:
+					((SingleImage) images[i]).drawOnlyImageWithProgressAt(gl, x, y, z, values[offset + 4], values[offset + 5], values[offset + 6],
+							values[offset + 7], values[offset + 3], types[i] == DRAW_PROGRESS_TRIANGLE);
+					break;
+				case PLAY_SOUND:
+					sound.playSound((int) x, 1, (int) y, (int) z);
+					break;
+			}
+		}
+		clear();
+	}
+
+	/**
+	 * Removes all recorded commands.
+	 */
+	public void clear() {
+		Arrays.fill(images, 0, size, null);
+		Arrays.fill(colors, 0, size, null);
+		size = 0;
+	}
+
+	/**
+	 * @return The number of recorded commands.
+	 */
+	public int size() {
+		return size;
+	}
+}
@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.graphics.map.draw;
+
+import jsettlers.common.CommonConstants;
+
+/**
+ * The level of detail the map objects and settlers are drawn with. It only depends on the zoom, so everything on the screen uses the same
+ * level.
+ */
+public enum EMapDetailLevel {
+	/**
+	 * Everything is drawn with its own images.
+	 */
+	FULL(false, true),
+	/**
+	 * Trees, stones, buildings, stacks and borders are drawn from the impostor textures of {@link MapObjectImpostors}. Settlers and all other
+	 * objects are drawn with their own images.
+	 */
+	AGGREGATED_OBJECTS(true, true),
+	/**
+	 * Like {@link #AGGREGATED_OBJECTS}, but settlers are too small to be recognized and only the selected ones are drawn.
+	 */
+	AGGREGATED(true, false);
+
+	/**
+	 * Objects are aggregated as soon as a tile is narrower than this many pixels on the screen.
+	 */
+	private static final float MIN_TILE_PIXELS = 5;
+	/**
+	 * Settlers are skipped as soon as they are smaller than this many pixels on the screen.
+	 */
+	private static final float MIN_MOVABLE_PIXELS = 6;
+	/**
+	 * The approximate height of a settler image.
+	 */
+	private static final float MOVABLE_HEIGHT = 3 * DrawConstants.DISTANCE_Y;
+
+	public final boolean aggregateObjects;
+	public final boolean drawMovables;
+
+	EMapDetailLevel(boolean aggregateObjects, boolean drawMovables) {
+		this.aggregateObjects = aggregateObjects;
+		this.drawMovables = drawMovables;
+	}
+
+	/**
+	 * @param zoom
+	 *            The zoom of the map, the number of pixels per draw space unit.
+	 * @return The level of detail to draw the map with.
+	 */
+	public static EMapDetailLevel forZoom(float zoom) {
+		if (!CommonConstants.MAP_DRAW_LEVEL_OF_DETAIL || DrawConstants.DISTANCE_X * zoom >= MIN_TILE_PIXELS) {
+			return FULL;
+		} else if (MOVABLE_HEIGHT * zoom >= MIN_MOVABLE_PIXELS) {
+			return AGGREGATED_OBJECTS;
+		} else {
+			return AGGREGATED;
+		}
+	}
+}
@@ -18,6 +18,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.ConcurrentModificationException;
 import java.util.List;
+import java.util.Set;
 
 import go.graphics.GLDrawContext;
 import jsettlers.common.Color;
@@ -203,7 +204,12 @@ public class MapObjectDrawer {
 	private static final int FLAG_FILE = 13;
 	private final SoundManager   sound;
 	private final MapDrawContext context;
-	private byte[][] visibleGrid = null;
+	private final int mapWidth;
+	/**
+	 * If not null, images and sounds are recorded to this buffer instead of being drawn and played directly.
+	 */
+	private final DrawCommandBuffer commands;
+	private byte[] visibleGrid = null;
 
 	/**
 	 * An animation counter, used for trees and other waving/animated things.
@@ -226,10 +232,26 @@ public class MapObjectDrawer {
 	 * @param localPlayer
 	 */
 	public MapObjectDrawer(MapDrawContext context, SoundManager sound, IInGamePlayer localPlayer) {
+		this(context, sound, localPlayer, null);
+	}
+
+	/**
+	 * Creates a new {@link MapObjectDrawer} that records what it draws instead of drawing it. This allows to use it outside of the render
+	 * thread.
+	 * @param context
+	 * 		The context to use for computing the positions.
+	 * @param sound
+	 * @param localPlayer
+	 * @param commands
+	 * 		The buffer the images and sounds are recorded to or null to draw them directly.
+	 */
+	public MapObjectDrawer(MapDrawContext context, SoundManager sound, IInGamePlayer localPlayer, DrawCommandBuffer commands) {
 		this.localPlayer = localPlayer;
 		this.context = context;
 		this.sound = sound;
+		this.commands = commands;
 
+		mapWidth = context.getMap().getWidth();
 		z_per_y = 1f/(context.getMap().getHeight()*100);
 		shadow_offset = 20 * z_per_y;
 		construction_offset = z_per_y;
@@ -237,7 +259,7 @@ public class MapObjectDrawer {
 		tower_front_offset = z_per_y / 2;
 	}
 
-	public void setVisibleGrid(byte[][] visibleGrid) {
+	public void setVisibleGrid(byte[] visibleGrid) {
 		this.visibleGrid = visibleGrid;
 	}
 
@@ -252,16 +274,32 @@ public class MapObjectDrawer {
 	 * 		The object (tree, ...) to draw.
 	 */
 	public void drawMapObject(int x, int y, IMapObject object) {
-		byte fogStatus = visibleGrid != null ? visibleGrid[x][y] : CommonConstants.FOG_OF_WAR_VISIBLE;
+		drawMapObject(x, y, object, null);
+	}
+
+	/**
+	 * Draws the map objects at a given position, except the ones of the given types.
+	 *
+	 * @param x
+	 * 		THe position to draw the object.
+	 * @param y
+	 * 		THe position to draw the object.
+	 * @param object
+	 * 		The first object at the position.
+	 * @param skippedTypes
+	 * 		The types of the objects that are not drawn or null to draw all objects.
+	 */
+	public void drawMapObject(int x, int y, IMapObject object, Set<EMapObjectType> skippedTypes) {
+		byte fogStatus = visibleGrid != null ? visibleGrid[x + y * mapWidth] : CommonConstants.FOG_OF_WAR_VISIBLE;
 		if (fogStatus == 0) {
 			return; // break
 		}
 		float color = getColor(fogStatus);
 
-		drawObject(x, y, object, color);
-
-		if (object.getNextObject() != null) {
-			drawMapObject(x, y, object.getNextObject());
+		for (IMapObject current = object; current != null; current = current.getNextObject()) {
+			if (skippedTypes == null || !skippedTypes.contains(current.getObjectType())) {
+				drawObject(x, y, current, color);
+			}
 		}
 	}
 
@@ -277,14 +315,14 @@ public class MapObjectDrawer {
 
 	private void drawShipInConstruction(int x, int y, IShipInConstruction ship) {
 		EMovableType shipType = ship.getObjectType() == EMapObjectType.FERRY ? EMovableType.FERRY : EMovableType.CARGO_SHIP;
-		float shade = getColor(visibleGrid != null ? visibleGrid[x][y] : CommonConstants.FOG_OF_WAR_VISIBLE);
+		float shade = getColor(visibleGrid != null ? visibleGrid[x + y * mapWidth] : CommonConstants.FOG_OF_WAR_VISIBLE);
 		float state = ship.getStateProgress();
 		Image image = imageMap.getImageForSettler(ship.getPlayer().getCivilisation(), shipType, EMovableAction.NO_ACTION, EMaterialType.TREE, ship.getDirection(), 0);
 		drawWithConstructionMask(x, y, state, image, shade);
 	}
 
 	private void drawShip(IGraphicsMovable ship, int x, int y) {
-		byte fogOfWarVisibleStatus = visibleGrid != null ? visibleGrid[x][y] : CommonConstants.FOG_OF_WAR_VISIBLE;
+		byte fogOfWarVisibleStatus = visibleGrid != null ? visibleGrid[x + y * mapWidth] : CommonConstants.FOG_OF_WAR_VISIBLE;
 		if (fogOfWarVisibleStatus == 0) {
 			return;
 		}
@@ -297,7 +335,6 @@ public class MapObjectDrawer {
 		IGraphicsCargoShip cargoShip = (shipType == EMovableType.CARGO_SHIP) ? (IGraphicsCargoShip)ship : null;
 		IGraphicsFerry ferryShip = (shipType == EMovableType.FERRY) ? (IGraphicsFerry) ship : null;
 
-		GLDrawContext glDrawContext = context.getGl();
 		MapCoordinateConverter mapCoordinateConverter = context.getConverter();
 
 		// get drawing position
@@ -312,7 +349,7 @@ public class MapObjectDrawer {
 			viewY += mapCoordinateConverter.getViewY(x, y, height);
 		}
 		// draw ship body
-		drawShipLink(ship, EMaterialType.IRON, glDrawContext, viewX, viewY, y, color, shade);
+		drawShipLink(ship, EMaterialType.IRON, viewX, viewY, y, color, shade);
 		// prepare freight drawing
 		List<? extends IGraphicsMovable> passengerList = ferryShip!=null?ferryShip.getPassengers(): null;
 
@@ -365,7 +402,7 @@ public class MapObjectDrawer {
 					Image image = this.imageMap.getImageForSettler(passenger.getPlayer().getCivilisation(), passenger.getMovableType(), EMovableAction.NO_ACTION,
 						EMaterialType.NO_MATERIAL, getPassengerDirection(direction, shipPosition, i), 0
 					);
-					image.drawAt(glDrawContext, viewX + xShift, viewY + yShift + PASSENGER_DECK_HEIGHT, getZ(0, y), color, shade);
+					drawAt(image, viewX + xShift, viewY + yShift + PASSENGER_DECK_HEIGHT, getZ(0, y), color, shade);
 				}
 			}
 		} else {
@@ -380,13 +417,13 @@ public class MapObjectDrawer {
 					if (material != null && count > 0) {
 						Sequence<? extends Image> seq = this.imageProvider.getSettlerSequence(OBJECTS_FILE, material.getStackIndex());
 						Image image = seq.getImageSafe(count - 1, () -> Labels.getName(material, false));
-						image.drawAt(glDrawContext, viewX + xShift, viewY + yShift + CARGO_DECK_HEIGHT, getZ(0, y), color, shade);
+						drawAt(image, viewX + xShift, viewY + yShift + CARGO_DECK_HEIGHT, getZ(0, y), color, shade);
 					}
 				}
 			}
 		}
 		// draw sail
-		drawShipLink(ship, EMaterialType.TRUNK, glDrawContext, viewX, viewY, y, color, shade);
+		drawShipLink(ship, EMaterialType.TRUNK, viewX, viewY, y, color, shade);
 		if (shipType == EMovableType.FERRY) {
 			// draw passengers in front of the sail
 			for (int i = 0; i < numberOfFreight; i++) {
@@ -398,7 +435,7 @@ public class MapObjectDrawer {
 					Image image = this.imageMap.getImageForSettler(passenger.getPlayer().getCivilisation(), passenger.getMovableType(), EMovableAction.NO_ACTION,
 						EMaterialType.NO_MATERIAL, getPassengerDirection(direction, shipPosition, i), 0
 					);
-					image.drawAt(glDrawContext, viewX + xShift, viewY + yShift + PASSENGER_DECK_HEIGHT, getZ(0, y), color, shade);
+					drawAt(image, viewX + xShift, viewY + yShift + PASSENGER_DECK_HEIGHT, getZ(0, y), color, shade);
 				}
 			}
 		} else if(shipType == EMovableType.CARGO_SHIP) {
@@ -413,13 +450,13 @@ public class MapObjectDrawer {
 					if (material != null && count > 0) {
 						Sequence<? extends Image> seq = this.imageProvider.getSettlerSequence(OBJECTS_FILE, material.getStackIndex());
 						Image image = seq.getImageSafe(count - 1, () -> Labels.getName(material, false));
-						image.drawAt(glDrawContext, viewX + xShift, viewY + yShift + CARGO_DECK_HEIGHT, getZ(0, y), color, shade);
+						drawAt(image, viewX + xShift, viewY + yShift + CARGO_DECK_HEIGHT, getZ(0, y), color, shade);
 					}
 				}
 			}
 		}
 		// draw ship front
-		drawShipLink(ship, EMaterialType.PLANK, glDrawContext, viewX, viewY, y, color, shade);
+		drawShipLink(ship, EMaterialType.PLANK, viewX, viewY, y, color, shade);
 		if (ship.isSelected()) {
 			drawSettlerMark(viewX, viewY, ship);
 		}
@@ -432,9 +469,9 @@ public class MapObjectDrawer {
 		return shipDirection.getNeighbor(((x + seatIndex + slowerAnimationStep) / 8 + (y + seatIndex + slowerAnimationStep) / 11 + seatIndex) % 3 - 1);
 	}
 
-	private void drawShipLink(IGraphicsMovable ship, EMaterialType fakeMat, GLDrawContext gl, float viewX, float viewY, float y, Color color, float shade) {
+	private void drawShipLink(IGraphicsMovable ship, EMaterialType fakeMat, float viewX, float viewY, float y, Color color, float shade) {
 		Image image = imageMap.getImageForSettler(ship.getPlayer().getCivilisation(), ship.getMovableType(), ship.getAction(), fakeMat, ship.getDirection(), 0);
-		image.drawAt(gl, viewX, viewY, getZ(0, y), color, shade);
+		drawAt(image, viewX, viewY, getZ(0, y), color, shade);
 	}
 
 	private void drawObject(int x, int y, IMapObject object, float color) {
@@ -855,13 +892,13 @@ public class MapObjectDrawer {
 
 		}
 		if (soundNumber >= 0) {
-			sound.playSound(soundNumber, 1, movable.getPosition());
+			playSound(soundNumber, movable.getPosition().x, movable.getPosition().y);
 			movable.setSoundPlayed();
 		}
 	}
 
 	private void drawMovableAt(IGraphicsMovable movable, int x, int y) {
-		byte fogStatus = visibleGrid != null ? visibleGrid[x][y] : CommonConstants.FOG_OF_WAR_VISIBLE;
+		byte fogStatus = visibleGrid != null ? visibleGrid[x + y * mapWidth] : CommonConstants.FOG_OF_WAR_VISIBLE;
 		if (fogStatus <= CommonConstants.FOG_OF_WAR_EXPLORED) {
 			return; // break
 		}
@@ -916,7 +953,7 @@ public class MapObjectDrawer {
 
 				ImageLink link = new OriginalImageLink(EImageLinkType.SETTLER, movable.getPlayer().getCivilisation().getFileIndex()*10 + 3, metal, number > 24 ? 24 : number);
 				image = imageProvider.getImage(link);
-				image.drawAt(context.getGl(), viewX, viewY, getZ(molten_metal_offset, position.y), color, shade);
+				drawAt(image, viewX, viewY, getZ(molten_metal_offset, position.y), color, shade);
 			}
 		}
 
@@ -929,7 +966,7 @@ public class MapObjectDrawer {
 		}
 
 		image = this.imageMap.getImageForSettler(movable, moveProgress, isUndercover?movablePlayer.getCivilisation():null);
-		image.drawAt(context.getGl(), viewX, viewY, getZ(0, y), color, shade);
+		drawAt(image, viewX, viewY, getZ(0, y), color, shade);
 
 		drawSettlerMark(viewX, viewY, movable);
 	}
@@ -946,14 +983,14 @@ public class MapObjectDrawer {
 	private void drawSettlerMark(float viewX, float viewY, IGraphicsMovable movable) {
 		if(movable.isSelected()) {
 			Image image = ImageProvider.getInstance().getSettlerSequence(4, 7).getImageSafe(0, () -> "settler-selection-indicator");
-			image.drawAt(context.getGl(), viewX, viewY + 20, MOVABLE_SELECTION_MARKER_Z, Color.BLACK, 1);
+			drawAt(image, viewX, viewY + 20, MOVABLE_SELECTION_MARKER_Z, Color.BLACK, 1);
 
 			float healthPercentage = (movable.getHealth() / movable.getMovableType().getHealth());
 
 			Sequence<? extends Image> sequence = ImageProvider.getInstance().getSettlerSequence(4, 6);
 			int healthId = Math.min((int) ((1 - healthPercentage) * sequence.length()), sequence.length() - 1);
 			Image healthImage = sequence.getImageSafe(healthId, () -> "settler-health-indicator");
-			healthImage.drawAt(context.getGl(), viewX, viewY + 38, MOVABLE_SELECTION_MARKER_Z, Color.BLACK, 1);
+			drawAt(healthImage, viewX, viewY + 38, MOVABLE_SELECTION_MARKER_Z, Color.BLACK, 1);
 		}
 
 		int i = 1;
@@ -965,7 +1002,7 @@ public class MapObjectDrawer {
 				@SuppressWarnings("IntegerDivisionInFloatingPointContext")
 				float y = viewY - (i/3)*10;
 
-				ImageProvider.getInstance().getImage(effect.getImageLink()).drawAt(context.getGl(), x, y+20, MOVABLE_SELECTION_MARKER_Z, Color.BLACK, 1);
+				drawAt(ImageProvider.getInstance().getImage(effect.getImageLink()), x, y+20, MOVABLE_SELECTION_MARKER_Z, Color.BLACK, 1);
 				i++;
 			}
 		}
@@ -975,11 +1012,11 @@ public class MapObjectDrawer {
 		if(soundId == -1) return;
 
 		if (object instanceof IBuilding.ISoundRequestable) {
-			sound.playSound(soundId, 1, x, y);
+			playSound(soundId, x, y);
 		} else if (object instanceof ISoundable) {
 			ISoundable soundable = (ISoundable) object;
 			if (!soundable.isSoundPlayed()) {
-				sound.playSound(soundId, 1, x, y);
+				playSound(soundId, x, y);
 				soundable.setSoundPlayed();
 			}
 		}
@@ -1037,7 +1074,7 @@ public class MapObjectDrawer {
 		float viewY = converter.getViewY(x, y, h);
 
 		Image image = this.imageProvider.getSettlerSequence(OBJECTS_FILE, sequence).getImageSafe(index, () -> "arrow-" + object.getDirection() + "-" + index);
-		image.drawAt(context.getGl(), viewX, viewY + 20 * progress * (1 - progress) + 20, getZ(onGround?BACKGROUND_Z:0, y), null, color);
+		drawAt(image, viewX, viewY + 20 * progress * (1 - progress) + 20, getZ(onGround?BACKGROUND_Z:0, y), null, color);
 	}
 
 	private void drawStones(int x, int y, int availableStones, float color) {
@@ -1049,8 +1086,8 @@ public class MapObjectDrawer {
 	private void drawWaves(int x, int y, float color) {
 		Sequence<? extends Image> seq = this.imageProvider.getSettlerSequence(OBJECTS_FILE, WAVES);
 		int len = seq.length();
-		int step = (animationStep / 2 + x / 2 + y / 2) % len;
-		if (step < len) {
+		if (len > 0) {
+			int step = (animationStep / 2 + x / 2 + y / 2) % len;
 			draw(seq.getImageSafe(step, () -> "wave"), x, y, BACKGROUND_Z, color); // waves must not be drawn on top of other things than water
 		}
 	}
@@ -1125,14 +1162,18 @@ public class MapObjectDrawer {
 
 	private void drawGrowingHive(int x, int y, float color) {
 		Sequence<? extends Image> seq = this.imageProvider.getSettlerSequence(ANIMALS_FILE, HIVE_GROW[0]);
-		int step = getAnimationStep(x, y) % seq.length();
-		draw(seq.getImageSafe(step, () -> "growing-hive"), x, y, 0, color);
+		if (seq.length() > 0) {
+			int step = getAnimationStep(x, y) % seq.length();
+			draw(seq.getImageSafe(step, () -> "growing-hive"), x, y, 0, color);
+		}
 	}
 
 	private void drawHarvestableHive(int x, int y, float color) {
 		Sequence<? extends Image> seq = this.imageProvider.getSettlerSequence(ANIMALS_FILE, HIVE_LAST);
-		int step = getAnimationStep(x, y) % seq.length();
-		draw(seq.getImageSafe(step, () -> "grown-hive"), x, y, 0, color);
+		if (seq.length() > 0) {
+			int step = getAnimationStep(x, y) % seq.length();
+			draw(seq.getImageSafe(step, () -> "grown-hive"), x, y, 0, color);
+		}
 	}
 
 	//Tree
@@ -1184,15 +1225,18 @@ public class MapObjectDrawer {
 		int treeType = getTreeType(x, y);
 		Sequence<? extends Image> seq = this.imageProvider.getSettlerSequence(OBJECTS_FILE, TREE_SEQUENCES[treeType]);
 
-		int step = getAnimationStep(x, y) % seq.length();
-		draw(seq.getImageSafe(step, () -> "grown-tree"), x, y, 0, color);
+		if (seq.length() > 0) {
+			int step = getAnimationStep(x, y) % seq.length();
+			draw(seq.getImageSafe(step, () -> "grown-tree"), x, y, 0, color);
+		}
 	}
 
 	private void drawBurningTree(int x, int y, float color) {
 		Sequence<? extends Image> seq = this.imageProvider.getSettlerSequence(OBJECTS_FILE, 124);
-		int step = (getAnimationStep(x, y)*5) % seq.length();
-
-		draw(seq.getImageSafe(step, () -> "burning-tree"), x, y, 0, color);
+		if (seq.length() > 0) {
+			int step = (getAnimationStep(x, y)*5) % seq.length();
+			draw(seq.getImageSafe(step, () -> "burning-tree"), x, y, 0, color);
+		}
 	}
 
 	/**
@@ -1206,7 +1250,7 @@ public class MapObjectDrawer {
 	 * 		The player.
 	 */
 	public void drawPlayerBorderObject(int x, int y, IPlayer player) {
-		byte fogStatus = visibleGrid != null ? visibleGrid[x][y] : CommonConstants.FOG_OF_WAR_VISIBLE;
+		byte fogStatus = visibleGrid != null ? visibleGrid[x + y * mapWidth] : CommonConstants.FOG_OF_WAR_VISIBLE;
 		if (fogStatus <= CommonConstants.FOG_OF_WAR_EXPLORED) {
 			return; // break
 		}
@@ -1342,7 +1386,7 @@ public class MapObjectDrawer {
 					draw(image, x, y, building.getBuildingVariant().isVariantOf(EBuildingType.MARKET_PLACE) ? BACKGROUND_Z : 0, null, color);
 				}
 
-				byte fow = visibleGrid != null ? visibleGrid[x][y] : CommonConstants.FOG_OF_WAR_VISIBLE;
+				byte fow = visibleGrid != null ? visibleGrid[x + y * mapWidth] : CommonConstants.FOG_OF_WAR_VISIBLE;
 
 				if (building instanceof IOccupied && fow > CommonConstants.FOG_OF_WAR_EXPLORED) {
 					drawOccupiers(x, y, (IOccupied) building, color);
@@ -1403,7 +1447,6 @@ public class MapObjectDrawer {
 			int height = context.getHeight(x, y);
 			float towerX = context.getConverter().getViewX(x, y, height);
 			float towerY = context.getConverter().getViewY(x, y, height);
-			GLDrawContext gl = context.getGl();
 
 			for (IBuildingOccupier occupier : building.getOccupiers()) {
 				OccupierPlace place = occupier.getPlace();
@@ -1425,7 +1468,7 @@ public class MapObjectDrawer {
 				}
 				float viewX = towerX + place.getOffsetX();
 				float viewY = towerY + place.getOffsetY();
-				image.drawAt(gl, viewX, viewY, getZ(0, y), color, baseColor);
+				drawAt(image, viewX, viewY, getZ(0, y), color, baseColor);
 
 				if (place.getSoldierClass() == ESoldierClass.BOWMAN) {
 					playMovableSound(movable);
@@ -1457,10 +1500,10 @@ public class MapObjectDrawer {
 		float topLineBottom = 1 - maskState;
 		float topLineTop = Math.max(0, topLineBottom - .1f);
 
-		image.drawOnlyImageWithProgressAt(context.getGl(), viewX, viewY, getZ(construction_offset, y), 1, 1, 0, topLineBottom, color, false);
+		drawOnlyImageWithProgressAt(image, viewX, viewY, getZ(construction_offset, y), 1, 1, 0, topLineBottom, color, false);
 
 		for (int i = 0; i < tiles; i++) {
-			image.drawOnlyImageWithProgressAt(context.getGl(), viewX, viewY, getZ(construction_offset, y), i/(float)tiles, topLineBottom, (i+1)/(float)tiles, topLineTop, color, true);
+			drawOnlyImageWithProgressAt(image, viewX, viewY, getZ(construction_offset, y), i/(float)tiles, topLineBottom, (i+1)/(float)tiles, topLineTop, color, true);
 		}
 	}
 
@@ -1484,9 +1527,11 @@ public class MapObjectDrawer {
 
 	private void drawPlayerableWaving(int x, int y, float z, int sequenceIndex, IMapObject object, float baseColor, String at) {
 		Sequence<? extends Image> sequence = this.imageProvider.getSettlerSequence(FLAG_FILE, sequenceIndex);
-		int index = animationStep % sequence.length();
-		Color color = getColor(object);
-		draw(sequence.getImageSafe(index, () -> "flag-" + at), x, y, z, color, baseColor);
+		if (sequence.length() > 0) {
+			int index = animationStep % sequence.length();
+			Color color = getColor(object);
+			draw(sequence.getImageSafe(index, () -> "flag-" + at), x, y, z, color, baseColor);
+		}
 	}
 
 	private void drawByProgress(int x, int y, float z, int file, int sequenceIndex, float progress, float color) {
@@ -1521,7 +1566,7 @@ public class MapObjectDrawer {
 		float viewX = context.getConverter().getViewX(x, y, height);
 		float viewY = context.getConverter().getViewY(x, y, height);
 
-		image.drawAt(context.getGl(), viewX, viewY, getZ(z, y), color, fowDim);
+		drawAt(image, viewX, viewY, getZ(z, y), color, fowDim);
 	}
 
 	private void draw(Image image, int x, int y, float z, float fowDim) {
@@ -1532,14 +1577,14 @@ public class MapObjectDrawer {
 		int height = context.getHeight(x, y);
 		float viewX = context.getConverter().getViewX(x, y, height);
 		float viewY = context.getConverter().getViewY(x, y, height);
-		image.drawOnlyImageAt(context.getGl(), viewX, viewY, getZ(z, y), torsoColor, color);
+		drawOnlyImageAt(image, viewX, viewY, getZ(z, y), torsoColor, color);
 	}
 
 	private void drawOnlyShadow(Image image, int x, int y) {
 		int height = context.getHeight(x, y);
 		float viewX = context.getConverter().getViewX(x, y, height);
 		float viewY = context.getConverter().getViewY(x, y, height);
-		image.drawOnlyShadowAt(context.getGl(), viewX, viewY, getZ(0, y));
+		drawOnlyShadowAt(image, viewX, viewY, getZ(0, y));
 	}
 
 	private void drawWithHeight(Image image, int x, int y, int height, float color) {
@@ -1547,7 +1592,7 @@ public class MapObjectDrawer {
 		float viewX = context.getConverter().getViewX(x, y, baseHeight + height);
 		float viewY = context.getConverter().getViewY(x, y, baseHeight + height);
 
-		image.drawAt(context.getGl(), viewX, viewY, getZ(0, y), null, color);
+		drawAt(image, viewX, viewY, getZ(0, y), null, color);
 	}
 
 	public void drawMoveToMarker(ShortPoint2D moveToMarker, float progress) {
@@ -1561,4 +1606,44 @@ public class MapObjectDrawer {
 	private float getZ(float offset, float y) {
 		return y*z_per_y+offset;
 	}
+
+	private void drawAt(Image image, float viewX, float viewY, float z, Color torsoColor, float fow) {
+		if (commands != null) {
+			commands.drawAt(image, viewX, viewY, z, torsoColor, fow);
+		} else {
+			image.drawAt(context.getGl(), viewX, viewY, z, torsoColor, fow);
+		}
+	}
+
+	private void drawOnlyImageAt(Image image, float viewX, float viewY, float z, Color torsoColor, float fow) {
+		if (commands != null) {
+			commands.drawOnlyImageAt(image, viewX, viewY, z, torsoColor, fow);
+		} else {
+			image.drawOnlyImageAt(context.getGl(), viewX, viewY, z, torsoColor, fow);
+		}
+	}
+
+	private void drawOnlyShadowAt(Image image, float viewX, float viewY, float z) {
+		if (commands != null) {
+			commands.drawOnlyShadowAt(image, viewX, viewY, z);
+		} else {
+			image.drawOnlyShadowAt(context.getGl(), viewX, viewY, z);
+		}
+	}
+
+	private void drawOnlyImageWithProgressAt(SingleImage image, float viewX, float viewY, float z, float u1, float v1, float u2, float v2, float fow, boolean triangle) {
+		if (commands != null) {
+			commands.drawOnlyImageWithProgressAt(image, viewX, viewY, z, u1, v1, u2, v2, fow, triangle);
+		} else {
+			image.drawOnlyImageWithProgressAt(context.getGl(), viewX, viewY, z, u1, v1, u2, v2, fow, triangle);
+		}
+	}
+
+	private void playSound(int soundId, int x, int y) {
+		if (commands != null) {
+			commands.playSound(soundId, x, y);
+		} else {
+			sound.playSound(soundId, 1, x, y);
+		}
+	}
 }
@@ -0,0 +1,386 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.graphics.map.draw;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.ShortBuffer;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import go.graphics.EUnifiedMode;
+import go.graphics.GLDrawContext;
+import go.graphics.IllegalBufferException;
+import go.graphics.TextureHandle;
+import go.graphics.UnifiedDrawHandle;
+import jsettlers.common.Color;
+import jsettlers.common.CommonConstants;
+import jsettlers.common.buildings.BuildingVariant;
+import jsettlers.common.buildings.IBuilding;
+import jsettlers.common.map.IGraphicsGrid;
+import jsettlers.common.map.IGraphicsObjectsListener;
+import jsettlers.common.map.shapes.MapRectangle;
+import jsettlers.common.mapobject.EMapObjectType;
+import jsettlers.common.mapobject.IMapObject;
+import jsettlers.common.player.IPlayer;
+import jsettlers.common.position.RelativePoint;
+import jsettlers.graphics.map.MapDrawContext;
+import jsettlers.graphics.map.geometry.MapCoordinateConverter;
+
+/**
+ * Draws trees, stones, buildings, stacks and borders of a map that is zoomed out far as aggregated impostors instead of single images.
+ * <p>
+ * The impostors are a texture with one texel per map position: forests, stones and stacks get a fixed color, the area blocked by a building
+ * and the borders get the color of their player. The map is divided into cells of {@link #CELL_SIZE} * {@link #CELL_SIZE} positions. Each cell
+ * is one textured quad whose corners follow the heights of the map. A cell is only painted and uploaded again after an
+ * {@link IGraphicsObjectsListener} notification touched it. With the fog of war enabled, the visible cells are repainted every
+ * {@link #FOW_REFRESH_FRAMES} frames as well, because visibility changes are not notified.
+ */
+public final class MapObjectImpostors implements IGraphicsObjectsListener {
+	/**
+	 * The map objects that are drawn by the impostors. Objects of these types are not drawn with their own images while the impostors are used.
+	 */
+	public static final Set<EMapObjectType> AGGREGATED_TYPES = EnumSet.of(
+			EMapObjectType.TREE_GROWING,
+			EMapObjectType.TREE_ADULT,
+			EMapObjectType.TREE_DEAD,
+			EMapObjectType.STONE,
+			EMapObjectType.CUT_OFF_STONE,
+			EMapObjectType.STACK_OBJECT,
+			EMapObjectType.BUILDING,
+			EMapObjectType.FLAG_DOOR,
+			EMapObjectType.FLAG_ROOF,
+			EMapObjectType.PLANT_DECORATION,
+			EMapObjectType.DESERT_DECORATION,
+			EMapObjectType.SWAMP_DECORATION);
+
+	private static final int CELL_SHIFT = 5;
+	private static final int CELL_SIZE = 1 << CELL_SHIFT;
+	/**
+	 * How far the blocked area of a building reaches from the position of the building.
+	 */
+	private static final int BUILDING_REACH = 12;
+	private static final int FOW_REFRESH_FRAMES = 16;
+	/**
+	 * The impostors are drawn like the borders, behind everything standing on the map.
+	 */
+	private static final float IMPOSTOR_Z = -0.1f;
+
+	private static final short TRANSPARENT = 0;
+	private static final short FOREST_COLOR = new Color(0xFF1F4A1A).toShortColor(1);
+	private static final short STONE_COLOR = new Color(0xFF9A9A96).toShortColor(1);
+	private static final short STACK_COLOR = new Color(0xFFB07C3C).toShortColor(1);
+	private static final float BUILDING_BRIGHTNESS = .6f;
+
+	private static final int FLOATS_PER_CELL = 4 * 4;
+
+	private final MapDrawContext context;
+	private final IGraphicsGrid map;
+	private final IMapObject[] objectsGrid;
+	private final BitSet borderGrid;
+	private final byte[] visibleGrid;
+	private final int width;
+	private final int height;
+	private final int cellsX;
+	private final int cellsY;
+
+	/**
+	 * 1 if the cell needs to be painted again before it is drawn.
+	 */
+	private final AtomicIntegerArray dirty;
+	private final boolean[] hasContent;
+	private final float[] geometry;
+
+	private final short[] texels = new short[CELL_SIZE * CELL_SIZE];
+	private final ShortBuffer texelUpload = ByteBuffer.allocateDirect(CELL_SIZE * CELL_SIZE * 2).order(ByteOrder.nativeOrder()).asShortBuffer();
+	private final float[] cellGeometry = new float[FLOATS_PER_CELL];
+	private final ByteBuffer geometryUpload = ByteBuffer.allocateDirect(FLOATS_PER_CELL * 4).order(ByteOrder.nativeOrder());
+	private final int[] rowStartCellX;
+	private final int[] rowEndCellX;
+
+	private TextureHandle texture = null;
+	private UnifiedDrawHandle cellHandle = null;
+	private boolean paintedWithFoW;
+	private int frame = 0;
+
+	public MapObjectImpostors(MapDrawContext context, IMapObject[] objectsGrid, BitSet borderGrid, byte[] visibleGrid) {
+		this.context = context;
+		this.map = context.getMap();
+		this.objectsGrid = objectsGrid;
+		this.borderGrid = borderGrid;
+		this.visibleGrid = visibleGrid;
+		this.width = map.getWidth();
+		this.height = map.getHeight();
+		this.cellsX = (width + CELL_SIZE - 1) >> CELL_SHIFT;
+		this.cellsY = (height + CELL_SIZE - 1) >> CELL_SHIFT;
+
+		int cells = cellsX * cellsY;
+		this.dirty = new AtomicIntegerArray(cells);
+		this.hasContent = new boolean[cells];
+		this.geometry = new float[cells * FLOATS_PER_CELL];
+		this.rowStartCellX = new int[cellsY];
+		this.rowEndCellX = new int[cellsY];
+		markAllDirty();
+	}
+
+	@Override
+	public void objectsChangedAt(int x, int y) {
+		int minCellX = Math.max(x - BUILDING_REACH, 0) >> CELL_SHIFT;
+		int maxCellX = Math.min(x + BUILDING_REACH, width - 1) >> CELL_SHIFT;
+		int minCellY = Math.max(y - BUILDING_REACH, 0) >> CELL_SHIFT;
+		int maxCellY = Math.min(y + BUILDING_REACH, height - 1) >> CELL_SHIFT;
+		for (int cellY = minCellY; cellY <= maxCellY; cellY++) {
+			for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+				dirty.set(cellX + cellY * cellsX, 1);
+			}
+		}
+	}
+
+	private void markAllDirty() {
+		for (int cell = 0; cell < dirty.length(); cell++) {
+			dirty.set(cell, 1);
+		}
+	}
+
+	/**
+	 * Draws the impostors of the given lines of the area. This must be called by the render thread while the context is set up.
+	 *
+	 * @param area
+	 *            The area that is drawn.
+	 * @param firstLine
+	 *            The first line of the area that is on the screen.
+	 * @param lastLine
+	 *            The last line of the area that is on the screen.
+	 * @param fowEnabled
+	 *            If the fog of war hides parts of the map.
+	 */
+	public void draw(MapRectangle area, int firstLine, int lastLine, boolean fowEnabled) {
+		GLDrawContext gl = context.getGl();
+		frame++;
+		try {
+			if (texture == null || !texture.isValid() || cellHandle == null || !cellHandle.isValid()) {
+				createHandles(gl);
+			}
+			if (fowEnabled != paintedWithFoW) {
+				paintedWithFoW = fowEnabled;
+				markAllDirty();
+			}
+
+			Arrays.fill(rowStartCellX, Integer.MAX_VALUE);
+			Arrays.fill(rowEndCellX, -1);
+			for (int line = firstLine; line <= lastLine; line++) {
+				int y = area.getLineY(line);
+				if (y < 0 || y >= height) {
+					continue;
+				}
+				int startX = Math.max(area.getLineStartX(line), 0);
+				int endX = Math.min(area.getLineEndX(line), width - 1);
+				if (startX > endX) {
+					continue;
+				}
+				int cellY = y >> CELL_SHIFT;
+				rowStartCellX[cellY] = Math.min(rowStartCellX[cellY], startX >> CELL_SHIFT);
+				rowEndCellX[cellY] = Math.max(rowEndCellX[cellY], endX >> CELL_SHIFT);
+			}
+
+			for (int cellY = 0; cellY < cellsY; cellY++) {
+				for (int cellX = rowStartCellX[cellY]; cellX <= rowEndCellX[cellY]; cellX++) {
+					int cell = cellX + cellY * cellsX;
+					if (fowEnabled && (cell + frame) % FOW_REFRESH_FRAMES == 0) {
+						dirty.set(cell, 1);
+					}
+					if (dirty.get(cell) != 0) {
+						paint(gl, cell, cellX << CELL_SHIFT, cellY << CELL_SHIFT, fowEnabled);
+					}
+					if (hasContent[cell]) {
+						cellHandle.offset = cell * 4;
+						cellHandle.drawComplexQuad(EUnifiedMode.TEXTURE, 0, 0, IMPOSTOR_Z, 1, 1, null, 1);
+					}
+				}
+			}
+		} catch (IllegalBufferException e) {
+			// create everything again on the next frame
+			e.printStackTrace();
+			texture = null;
+		}
+	}
+
+	private void createHandles(GLDrawContext gl) {
+		int textureWidth = cellsX * CELL_SIZE;
+		int textureHeight = cellsY * CELL_SIZE;
+		ShortBuffer data = ByteBuffer.allocateDirect(textureWidth * textureHeight * 2).order(ByteOrder.nativeOrder()).asShortBuffer();
+		texture = gl.generateTexture(textureWidth, textureHeight, data, "map-object-impostors");
+
+		for (int cellY = 0; cellY < cellsY; cellY++) {
+			for (int cellX = 0; cellX < cellsX; cellX++) {
+				computeGeometry(cellX << CELL_SHIFT, cellY << CELL_SHIFT, geometry, (cellX + cellY * cellsX) * FLOATS_PER_CELL);
+			}
+		}
+		cellHandle = gl.createUnifiedDrawCall(cellsX * cellsY * 4, "map-object-impostors", texture, geometry);
+		cellHandle.forceNoCache();
+		markAllDirty();
+	}
+
+	/**
+	 * Computes the quad of a cell. The corners are half a position outside of the cell, so each position is in the middle of its texel.
+	 */
+	private void computeGeometry(int startX, int startY, float[] target, int offset) {
+		MapCoordinateConverter converter = context.getConverter();
+		int endX = startX + CELL_SIZE;
+		int endY = startY + CELL_SIZE;
+		float u1 = startX / (float) (cellsX * CELL_SIZE);
+		float u2 = endX / (float) (cellsX * CELL_SIZE);
+		float v1 = startY / (float) (cellsY * CELL_SIZE);
+		float v2 = endY / (float) (cellsY * CELL_SIZE);
+
+		int[] cornerX = { startX, endX, endX, startX };
+		int[] cornerY = { startY, startY, endY, endY };
+		float[] cornerU = { u1, u2, u2, u1 };
+		float[] cornerV = { v1, v1, v2, v2 };
+		for (int corner = 0; corner < 4; corner++) {
+			float mapX = cornerX[corner] - .5f;
+			float mapY = cornerY[corner] - .5f;
+			int cornerHeight = context.getHeight(Math.min(cornerX[corner], width - 1), Math.min(cornerY[corner], height - 1));
+			target[offset + corner * 4] = converter.getViewX(mapX, mapY, cornerHeight);
+			target[offset + corner * 4 + 1] = converter.getViewY(mapX, mapY, cornerHeight);
+			target[offset + corner * 4 + 2] = cornerU[corner];
+			target[offset + corner * 4 + 3] = cornerV[corner];
+		}
+	}
+
+	private void paint(GLDrawContext gl, int cell, int startX, int startY, boolean fowEnabled) throws IllegalBufferException {
+		// reset the flag first, so changes during the painting mark the cell again
+		dirty.set(cell, 0);
+
+		int endX = Math.min(startX + CELL_SIZE, width);
+		int endY = Math.min(startY + CELL_SIZE, height);
+		Arrays.fill(texels, TRANSPARENT);
+
+		for (int y = startY; y < endY; y++) {
+			for (int x = startX; x < endX; x++) {
+				int index = x + y * width;
+				byte visibility = fowEnabled ? visibleGrid[index] : CommonConstants.FOG_OF_WAR_VISIBLE;
+				if (visibility <= CommonConstants.FOG_OF_WAR_EXPLORED) {
+					if (visibility > 0) {
+						texels[texelIndex(x - startX, y - startY)] = getObjectColor(map.getVisibleMapObjectsAt(x, y));
+					}
+				} else if (borderGrid.get(index)) {
+					texels[texelIndex(x - startX, y - startY)] = getPlayerColor(map.getPlayerAt(x, y), 1);
+				} else {
+					texels[texelIndex(x - startX, y - startY)] = getObjectColor(objectsGrid[index]);
+				}
+			}
+		}
+
+		// buildings outside of the cell may block positions inside of it
+		int scanEndX = Math.min(endX + BUILDING_REACH, width);
+		int scanEndY = Math.min(endY + BUILDING_REACH, height);
+		for (int y = Math.max(startY - BUILDING_REACH, 0); y < scanEndY; y++) {
+			for (int x = Math.max(startX - BUILDING_REACH, 0); x < scanEndX; x++) {
+				IMapObject object = getVisibleObjects(x, y, fowEnabled);
+				IMapObject building = object != null ? object.getMapObject(EMapObjectType.BUILDING) : null;
+				if (building instanceof IBuilding) {
+					paintBuilding((IBuilding) building, x, y, startX, startY, endX, endY);
+				}
+			}
+		}
+
+		boolean content = false;
+		for (short texel : texels) {
+			if (texel != TRANSPARENT) {
+				content = true;
+				break;
+			}
+		}
+		hasContent[cell] = content;
+
+		texelUpload.position(0);
+		texelUpload.put(texels);
+		texelUpload.position(0);
+		gl.updateTexture(texture, startX, startY, CELL_SIZE, CELL_SIZE, texelUpload);
+
+		// the heights may have changed with the objects, e.g. when a building flattened the ground
+		int offset = cell * FLOATS_PER_CELL;
+		computeGeometry(startX, startY, cellGeometry, 0);
+		if (!Arrays.equals(geometry, offset, offset + FLOATS_PER_CELL, cellGeometry, 0, FLOATS_PER_CELL)) {
+			System.arraycopy(cellGeometry, 0, geometry, offset, FLOATS_PER_CELL);
+			FloatBuffer floats = geometryUpload.asFloatBuffer();
+			floats.put(cellGeometry);
+			gl.updateBufferAt(cellHandle.vertices, offset * 4, geometryUpload);
+		}
+	}
+
+	private IMapObject getVisibleObjects(int x, int y, boolean fowEnabled) {
+		int index = x + y * width;
+		if (!fowEnabled || visibleGrid[index] > CommonConstants.FOG_OF_WAR_EXPLORED) {
+			return objectsGrid[index];
+		} else if (visibleGrid[index] > 0) {
+			return map.getVisibleMapObjectsAt(x, y);
+		} else {
+			return null;
+		}
+	}
+
+	private void paintBuilding(IBuilding building, int x, int y, int startX, int startY, int endX, int endY) {
+		BuildingVariant variant = building.getBuildingVariant();
+		if (variant == null) {
+			return;
+		}
+		short color = getPlayerColor(building.getPlayer(), BUILDING_BRIGHTNESS);
+		for (RelativePoint blocked : variant.getBlockedTiles()) {
+			int blockedX = blocked.calculateX(x);
+			int blockedY = blocked.calculateY(y);
+			if (blockedX >= startX && blockedX < endX && blockedY >= startY && blockedY < endY) {
+				texels[texelIndex(blockedX - startX, blockedY - startY)] = color;
+			}
+		}
+	}
+
+	private static int texelIndex(int cellX, int cellY) {
+		return cellX + cellY * CELL_SIZE;
+	}
+
+	private static short getPlayerColor(IPlayer player, float brightness) {
+		return MapDrawContext.getPlayerColor(player != null ? player.getPlayerId() : -1).toShortColor(brightness);
+	}
+
+	private static short getObjectColor(IMapObject object) {
+		short color = TRANSPARENT;
+		for (IMapObject current = object; current != null; current = current.getNextObject()) {
+			switch (current.getObjectType()) {
+			case TREE_GROWING:
+			case TREE_ADULT:
+			case TREE_DEAD:
+				return FOREST_COLOR;
+			case STONE:
+			case CUT_OFF_STONE:
+				color = STONE_COLOR;
+				break;
+			case STACK_OBJECT:
+				if (color == TRANSPARENT) {
+					color = STACK_COLOR;
+				}
+				break;
+			default:
+				break;
+			}
+		}
+		return color;
+	}
+}
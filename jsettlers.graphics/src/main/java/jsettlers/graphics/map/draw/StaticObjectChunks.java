@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.graphics.map.draw;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import jsettlers.common.map.IGraphicsObjectsListener;
+import jsettlers.common.mapobject.EMapObjectType;
+import jsettlers.common.mapobject.IMapObject;
+
+/**
+ * Caches which positions of the map have static content to draw: map objects, docks drawn three lines above their position and borders.
+ * <p>
+ * The map is divided into chunks of {@link #CHUNK_SIZE} * {@link #CHUNK_SIZE} positions. Each chunk stores the positions with content row by
+ * row. A chunk is only scanned again after an {@link IGraphicsObjectsListener} notification touched it, so drawing a line only visits the
+ * positions that actually have something on them. The objects themselves are read when they are drawn, so their animations and states don't
+ * need to be tracked here.
+ */
+public final class StaticObjectChunks implements IGraphicsObjectsListener {
+	private static final int CHUNK_SHIFT = 4;
+	public static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+	private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+	private static final int DOCK_OFFSET = 3;
+
+	private final IMapObject[] objectsGrid;
+	private final BitSet borderGrid;
+	private final int width;
+	private final int height;
+	private final int chunksX;
+
+	/**
+	 * 1 if the chunk needs to be scanned again before it is used.
+	 */
+	private final AtomicIntegerArray dirty;
+	/**
+	 * The x offsets of the positions with content, ordered by row and x.
+	 */
+	private final byte[][] chunkColumns;
+	/**
+	 * For each chunk, the index in {@link #chunkColumns} where each row starts. Has {@link #CHUNK_SIZE} + 1 entries.
+	 */
+	private final short[][] chunkRowStarts;
+
+	public StaticObjectChunks(IMapObject[] objectsGrid, BitSet borderGrid, int width, int height) {
+		this.objectsGrid = objectsGrid;
+		this.borderGrid = borderGrid;
+		this.width = width;
+		this.height = height;
+		this.chunksX = (width + CHUNK_MASK) >> CHUNK_SHIFT;
+		int chunksY = (height + CHUNK_MASK) >> CHUNK_SHIFT;
+
+		int chunks = chunksX * chunksY;
+		this.dirty = new AtomicIntegerArray(chunks);
+		this.chunkColumns = new byte[chunks][];
+		this.chunkRowStarts = new short[chunks][CHUNK_SIZE + 1];
+		for (int chunk = 0; chunk < chunks; chunk++) {
+			dirty.set(chunk, 1);
+		}
+	}
+
+	@Override
+	public void objectsChangedAt(int x, int y) {
+		if (x < 0 || x >= width || y < 0 || y >= height) {
+			return;
+		}
+		markDirty(x, y);
+		if (y >= DOCK_OFFSET && ((y - DOCK_OFFSET) >> CHUNK_SHIFT) != (y >> CHUNK_SHIFT)) {
+			markDirty(x, y - DOCK_OFFSET);
+		}
+	}
+
+	private void markDirty(int x, int y) {
+		dirty.set((x >> CHUNK_SHIFT) + (y >> CHUNK_SHIFT) * chunksX, 1);
+	}
+
+	/**
+	 * Collects the positions of the given line that have static content.
+	 * 
+	 * @param y
+	 *            The line.
+	 * @param startX
+	 *            The first x coordinate, inclusive.
+	 * @param endX
+	 *            The last x coordinate, inclusive.
+	 * @param xs
+	 *            The array to store the x coordinates in. It needs to be able to hold endX - startX + 1 entries.
+	 * @return The number of x coordinates stored in xs, in ascending order.
+	 */
+	public int collectLine(int y, int startX, int endX, int[] xs) {
+		int count = 0;
+		int row = y & CHUNK_MASK;
+		int chunkY = y >> CHUNK_SHIFT;
+		for (int chunkX = startX >> CHUNK_SHIFT; chunkX <= endX >> CHUNK_SHIFT; chunkX++) {
+			int chunk = chunkX + chunkY * chunksX;
+			if (dirty.get(chunk) != 0) {
+				rebuild(chunk, chunkX << CHUNK_SHIFT, chunkY << CHUNK_SHIFT);
+			}
+
+			int chunkStartX = chunkX << CHUNK_SHIFT;
+			byte[] columns = chunkColumns[chunk];
+			short[] rowStarts = chunkRowStarts[chunk];
+			for (int i = rowStarts[row], end = rowStarts[row + 1]; i < end; i++) {
+				int x = chunkStartX + columns[i];
+				if (x >= startX && x <= endX) {
+					xs[count++] = x;
+				}
+			}
+		}
+		return count;
+	}
+
+	private void rebuild(int chunk, int startX, int startY) {
+		// reset the flag first, so changes during the scan mark the chunk again
+		dirty.set(chunk, 0);
+
+		int endX = Math.min(startX + CHUNK_SIZE, width);
+		int endY = Math.min(startY + CHUNK_SIZE, height);
+		byte[] columns = new byte[CHUNK_SIZE * CHUNK_SIZE];
+		short[] rowStarts = chunkRowStarts[chunk];
+		int count = 0;
+		for (int y = startY; y < endY; y++) {
+			rowStarts[y - startY] = (short) count;
+			for (int x = startX; x < endX; x++) {
+				if (hasStaticContent(x, y)) {
+					columns[count++] = (byte) (x - startX);
+				}
+			}
+		}
+		for (int row = endY - startY; row <= CHUNK_SIZE; row++) {
+			rowStarts[row] = (short) count;
+		}
+		chunkColumns[chunk] = count == columns.length ? columns : Arrays.copyOf(columns, count);
+	}
+
+	private boolean hasStaticContent(int x, int y) {
+		int index = x + y * width;
+		if (objectsGrid[index] != null || borderGrid.get(index)) {
+			return true;
+		}
+		if (y < height - DOCK_OFFSET) {
+			IMapObject dockCandidate = objectsGrid[index + DOCK_OFFSET * width];
+			return dockCandidate != null && dockCandidate.getObjectType() == EMapObjectType.DOCK;
+		}
+		return false;
+	}
+}
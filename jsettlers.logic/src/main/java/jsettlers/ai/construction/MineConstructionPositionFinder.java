@@ -14,18 +14,18 @@
  *******************************************************************************/
 package jsettlers.ai.construction;
 
+import jsettlers.ai.highlevel.AiDensityGrid;
 import jsettlers.common.buildings.BuildingVariant;
 import jsettlers.common.buildings.EBuildingType;
 import jsettlers.common.landscape.EResourceType;
-import jsettlers.common.position.RelativePoint;
 import jsettlers.common.position.ShortPoint2D;
-import jsettlers.logic.map.grid.landscape.LandscapeGrid;
 
 import java.util.ArrayList;
 import java.util.List;
 
 /**
- * Algorithm: find all possible construction points within the borders of the player - calculates a score based on the amount of resource
+ * Algorithm: find all possible construction points within the borders of the player - calculates a score based on the amount of resource below the
+ * blocked tiles, which is read from the resource density grid
  *
  * @author codingberlin
  */
@@ -34,34 +34,26 @@ public class MineConstructionPositionFinder extends ConstructionPositionFinder {
 
 	private final BuildingVariant building;
 	private final EResourceType resourceType;
+	private final AiDensityGrid.Area blockedArea;
 
 	public MineConstructionPositionFinder(Factory factory, EBuildingType buildingType, EResourceType resourceType) {
 		super(factory);
 
 		this.building = buildingType.getVariant(civilisation);
 		this.resourceType = resourceType;
+		this.blockedArea = new AiDensityGrid.Area(building.getBlockedTiles());
 	}
 
 	@Override
 	public ShortPoint2D findBestConstructionPosition() {
+		AiDensityGrid resourceDensityGrid = aiStatistics.getResourceDensityGrid(resourceType);
 		List<ScoredConstructionPosition> scoredConstructionPositions = new ArrayList<>();
 		for (ShortPoint2D point : aiStatistics.getLandForPlayer(playerId)) {
-			if (constructionMap.canConstructAt(point.x, point.y, building.getType(), playerId)) {
-				int resourceAmount = 0;
-				LandscapeGrid landscapeGrid = aiStatistics.getMainGrid().getLandscapeGrid();
-				for (RelativePoint relativePoint : building.getBlockedTiles()) {
-					int x = point.x + relativePoint.getDx();
-					int y = point.y + relativePoint.getDy();
-					if (landscapeGrid.getResourceTypeAt(x, y) == resourceType) {
-						resourceAmount += landscapeGrid.getResourceAmountAt(x, y);
-					}
-				}
-
-				if (resourceAmount != 0) {
-					int distanceToCenter = aiStatistics.getPositionOfPartition(playerId).getOnGridDistTo(point);
-					int score = resourceAmount - (int) (distanceToCenter * DISTANCE_PENALTY_FACTOR);
-					scoredConstructionPositions.add(new ScoredConstructionPosition(point, -score));
-				}
+			int resourceAmount = resourceDensityGrid.getSum(blockedArea, point.x, point.y);
+			if (resourceAmount != 0 && constructionMap.canConstructAt(point.x, point.y, building.getType(), playerId)) {
+				int distanceToCenter = aiStatistics.getPositionOfPartition(playerId).getOnGridDistTo(point);
+				int score = resourceAmount - (int) (distanceToCenter * DISTANCE_PENALTY_FACTOR);
+				scoredConstructionPositions.add(new ScoredConstructionPosition(point, -score));
 			}
 		}
 
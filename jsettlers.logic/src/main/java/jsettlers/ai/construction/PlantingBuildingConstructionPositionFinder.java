@@ -17,6 +17,7 @@ package jsettlers.ai.construction;
 import java.util.ArrayList;
 import java.util.List;
 
+import jsettlers.ai.highlevel.AiDensityGrid;
 import jsettlers.common.buildings.BuildingVariant;
 import jsettlers.common.buildings.EBuildingType;
 import jsettlers.common.position.RelativePoint;
@@ -24,29 +25,49 @@ import jsettlers.common.position.ShortPoint2D;
 import jsettlers.logic.map.grid.MainGrid;
 
 /**
+ * Algorithm: find all possible construction points within the land of the player - calculates a score based on the number of plantable positions of the
+ * player within the work area - the plantable positions are counted with a density grid that is kept up to date with the changes of the map
+ *
  * @author codingberlin
  */
 abstract public class PlantingBuildingConstructionPositionFinder extends ConstructionPositionFinder {
+	/**
+	 * Whether a position is plantable depends on the landscape, heights and objects up to this distance. Positions closer to the map border are
+	 * not counted, as the plantable checks do not test the bounds.
+	 */
+	private static final int PLANTABLE_INFLUENCE_RADIUS = 2;
 
-	private final RelativePoint[] workAreaPoints;
+	private final AiDensityGrid.Area workArea;
 	private final BuildingVariant building;
+	private final AiDensityGrid plantablePositions;
 
 	protected PlantingBuildingConstructionPositionFinder(Factory factory, EBuildingType type) {
 		super(factory);
 		this.building = type.getVariant(factory.civilisation);
 
-		workAreaPoints = calculateMyRelativeWorkAreaPoints();
+		workArea = new AiDensityGrid.Area(calculateMyRelativeWorkAreaPoints());
+		MainGrid mainGrid = aiStatistics.getMainGrid();
+		plantablePositions = new AiDensityGrid(mainGrid, PLANTABLE_INFLUENCE_RADIUS,
+				(x, y) -> isMyPlantablePosition(mainGrid, x, y) ? 1 : 0);
+	}
+
+	private boolean isMyPlantablePosition(MainGrid mainGrid, int x, int y) {
+		return x >= PLANTABLE_INFLUENCE_RADIUS && x < mainGrid.getWidth() - PLANTABLE_INFLUENCE_RADIUS
+				&& y >= PLANTABLE_INFLUENCE_RADIUS && y < mainGrid.getHeight() - PLANTABLE_INFLUENCE_RADIUS
+				&& mainGrid.getPartitionsGrid().getPlayerIdAt(x, y) == playerId
+				&& isMyPlantPlantable(mainGrid, new ShortPoint2D(x, y));
 	}
 
 	@Override
 	public ShortPoint2D findBestConstructionPosition() {
+		plantablePositions.refresh();
 
 		List<ScoredConstructionPosition> scoredConstructionPositions = new ArrayList<>();
 
 		for (ShortPoint2D point : aiStatistics.getLandForPlayer(playerId)) {
 			if (constructionMap.canConstructAt(point.x, point.y, building.getType(), playerId)
 					&& !aiStatistics.blocksWorkingAreaOfOtherBuilding(point.x, point.y, playerId, building)) {
-				int score = calculateScoreFor(point, aiStatistics.getMainGrid(), playerId);
+				int score = plantablePositions.getSum(workArea, point.x, point.y);
 				if (score > 0) {
 					scoredConstructionPositions.add(new ScoredConstructionPosition(point, -score));
 				}
@@ -56,19 +77,6 @@ abstract public class PlantingBuildingConstructionPositionFinder extends Constru
 		return ScoredConstructionPosition.detectPositionWithLowestScore(scoredConstructionPositions);
 	}
 
-	private int calculateScoreFor(ShortPoint2D point, MainGrid mainGrid, byte playerId) {
-		int score = 0;
-		for (RelativePoint relativePoint : workAreaPoints) {
-			ShortPoint2D workAreaPoint = relativePoint.calculatePoint(point);
-			if (mainGrid.isInBounds(workAreaPoint.x, workAreaPoint.y)
-					&& mainGrid.getPartitionsGrid().getPlayerIdAt(workAreaPoint.x, workAreaPoint.y) == playerId
-					&& isMyPlantPlantable(mainGrid, workAreaPoint)) {
-				score++;
-			}
-		}
-		return score;
-	}
-
 	protected RelativePoint[] calculateMyRelativeWorkAreaPoints() {
 		List<RelativePoint> workAreaPoints = new ArrayList<>();
 		RelativePoint center = building.getDefaultWorkcenter();
@@ -0,0 +1,171 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.ai.highlevel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+
+import jsettlers.common.position.RelativePoint;
+import jsettlers.logic.constants.Constants;
+import jsettlers.logic.map.grid.IGridChangedListener;
+import jsettlers.logic.map.grid.MainGrid;
+
+/**
+ * The AiDensityGrid stores the row wise prefix sums of a weight per position of the map, e.g. the amount of a resource. This allows to sum up the
+ * weights of an area in time linear to the number of rows of the area instead of the number of its positions.
+ * <p>
+ * The grid listens to the changes of the {@link MainGrid}. A change marks the rows within the influence radius of the changed position as dirty,
+ * they are recomputed with the next call of {@link #refresh()}.
+ */
+public class AiDensityGrid implements IGridChangedListener {
+
+	/**
+	 * Calculates the weight of a single position.
+	 */
+	public interface WeightFunction {
+		int getWeightAt(int x, int y);
+	}
+
+	private final short width;
+	private final short height;
+	private final int influenceRadius;
+	private final WeightFunction weightFunction;
+	private final int[] prefixSums; // prefixSums[x + y * width] is the sum of the weights from (0, y) to (x, y)
+	private final BitSet dirtyRows;
+
+	/**
+	 * @param mainGrid
+	 *            the grid whose changes invalidate the weights.
+	 * @param influenceRadius
+	 *            the distance up to which a change at a position changes the weights of other positions.
+	 * @param weightFunction
+	 *            the function calculating the weight of a position.
+	 */
+	public AiDensityGrid(MainGrid mainGrid, int influenceRadius, WeightFunction weightFunction) {
+		this.width = mainGrid.getWidth();
+		this.height = mainGrid.getHeight();
+		this.influenceRadius = influenceRadius;
+		this.weightFunction = weightFunction;
+		this.prefixSums = new int[width * height];
+		this.dirtyRows = new BitSet(height);
+		this.dirtyRows.set(0, height);
+
+		mainGrid.addGridChangedListener(this);
+	}
+
+	@Override
+	public synchronized void positionChangedAt(int x, int y) {
+		dirtyRows.set(Math.max(0, y - influenceRadius), Math.min(height, y + influenceRadius + 1));
+	}
+
+	@Override
+	public void partitionMerged(short oldPartitionId, short newPartitionId) {
+		// merged partitions keep their player, so the weights stay the same
+	}
+
+	/**
+	 * Recomputes the rows that have changed since the last refresh. This needs to be called before the sums are read.
+	 */
+	public synchronized void refresh() {
+		for (int y = dirtyRows.nextSetBit(0); y >= 0; y = dirtyRows.nextSetBit(y + 1)) {
+			computeRow(y, prefixSums);
+		}
+		dirtyRows.clear();
+
+		if (Constants.AI_STATISTICS_CONSISTENCY_CHECK) {
+			checkConsistency();
+		}
+	}
+
+	private void computeRow(int y, int[] prefixSums) {
+		int rowStart = y * width;
+		int sum = 0;
+		for (int x = 0; x < width; x++) {
+			sum += weightFunction.getWeightAt(x, y);
+			prefixSums[rowStart + x] = sum;
+		}
+	}
+
+	private void checkConsistency() {
+		int[] expectedPrefixSums = new int[prefixSums.length];
+		for (int y = 0; y < height; y++) {
+			computeRow(y, expectedPrefixSums);
+		}
+		if (!Arrays.equals(prefixSums, expectedPrefixSums)) {
+			throw new IllegalStateException("The density grid differs from a full recomputation.");
+		}
+	}
+
+	/**
+	 * @param area
+	 *            the area to sum up.
+	 * @param x
+	 *            x coordinate the area is relative to.
+	 * @param y
+	 *            y coordinate the area is relative to.
+	 * @return the sum of the weights of all positions of the area that are within the map.
+	 */
+	public int getSum(Area area, int x, int y) {
+		int sum = 0;
+		for (int i = 0; i < area.dys.length; i++) {
+			int row = y + area.dys[i];
+			int firstX = Math.max(0, x + area.firstDxs[i]);
+			int lastX = Math.min(width - 1, x + area.lastDxs[i]);
+			if (row < 0 || row >= height || firstX > lastX) {
+				continue;
+			}
+			int rowStart = row * width;
+			sum += prefixSums[rowStart + lastX] - (firstX > 0 ? prefixSums[rowStart + firstX - 1] : 0);
+		}
+		return sum;
+	}
+
+	/**
+	 * An area relative to a position, stored as horizontal runs of positions.
+	 */
+	public static final class Area {
+		private final int[] dys;
+		private final int[] firstDxs;
+		private final int[] lastDxs;
+
+		public Area(RelativePoint[] points) {
+			RelativePoint[] sortedPoints = Arrays.copyOf(points, points.length);
+			Arrays.sort(sortedPoints, Comparator.comparingInt(RelativePoint::getDy).thenComparingInt(RelativePoint::getDx));
+
+			List<int[]> runs = new ArrayList<>();
+			int[] run = null;
+			for (RelativePoint point : sortedPoints) {
+				if (run != null && run[0] == point.getDy() && run[2] + 1 >= point.getDx()) {
+					run[2] = Math.max(run[2], point.getDx());
+				} else {
+					run = new int[] { point.getDy(), point.getDx(), point.getDx() };
+					runs.add(run);
+				}
+			}
+
+			dys = new int[runs.size()];
+			firstDxs = new int[runs.size()];
+			lastDxs = new int[runs.size()];
+			for (int i = 0; i < runs.size(); i++) {
+				dys[i] = runs.get(i)[0];
+				firstDxs[i] = runs.get(i)[1];
+				lastDxs[i] = runs.get(i)[2];
+			}
+		}
+	}
+}
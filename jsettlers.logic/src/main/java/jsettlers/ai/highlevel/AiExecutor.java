@@ -15,32 +15,64 @@
 package jsettlers.ai.highlevel;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
-import jsettlers.common.logging.StatisticsStopWatch;
+import jsettlers.common.logging.HistogramStopWatch;
+import jsettlers.logic.constants.Constants;
+import jsettlers.logic.constants.GameContext;
 import jsettlers.logic.constants.MatchConstants;
 import jsettlers.logic.map.grid.MainGrid;
 import jsettlers.logic.player.PlayerSetting;
+import jsettlers.logic.timer.ESubsystem;
+import jsettlers.logic.timer.SubsystemTimes;
 import jsettlers.network.client.interfaces.ITaskScheduler;
+import jsettlers.network.client.task.packets.TaskPacket;
 import jsettlers.network.synchronic.timer.INetworkTimerable;
 
 /**
  * The AiExecutor holds all IWhatToDoAi high level KIs and executes them when NetworkTimer notifies it.
+ * <p>
+ * The light rules are applied every second. Every ten seconds, the statistics are updated and the heavy rules are started. Every tick applies
+ * {@link Constants#AI_HEAVY_RULE_STEPS_PER_TICK} steps of the heavy rules of every AI, so a tick never waits for all heavy rules of all AIs. The
+ * budget is counted in steps and not in CPU time, so every step sees the same game state on every machine. The tasks of the heavy rules are
+ * buffered and passed to the {@link ITaskScheduler} {@link #HEAVY_RULES_DEADLINE} milliseconds of game time after the start, ordered by player
+ * id. Thereby the AIs act the same way on every machine and multiplayer games and replays stay in sync.
  * 
  * @author codingberlin
  */
 public class AiExecutor implements INetworkTimerable {
 
-	private final List<Callable<Void>> lightWhatToDoAis;
-	private final List<Callable<Void>> heavyWhatToDoAis;
+	/**
+	 * Period in milliseconds the AiExecutor has to be scheduled with.
+	 */
+	public static final short TIMER_PERIOD = 100;
+	/**
+	 * Name of the histogram measuring the light rules in {@link #getRuleStopWatches(byte)}.
+	 */
+	public static final String LIGHT_RULES = "lightRules";
+
+	private static final int LIGHT_RULES_PERIOD = 1000;
+	private static final int HEAVY_RULES_PERIOD = 10 * 1000;
+	/**
+	 * Game time after the start of the heavy rules at which their tasks are scheduled. Steps that are not applied by then are all applied in the
+	 * tick of the deadline.
+	 */
+	private static final int HEAVY_RULES_DEADLINE = 1000;
+
+	private final List<ScheduledAi> scheduledAis;
+	private final ScheduledAi[] scheduledAisByPlayer;
+	private final ITaskScheduler taskScheduler;
 	private final AiStatistics aiStatistics;
-	private final StatisticsStopWatch updateStatisticsStopWatch = new StatisticsStopWatch();
-	private final StatisticsStopWatch applyLightRulesStopWatch = new StatisticsStopWatch();
-	private final StatisticsStopWatch applyHeavyRulesStopWatch = new StatisticsStopWatch();
+	private final HistogramStopWatch updateStatisticsStopWatch = new HistogramStopWatch();
 	private final ExecutorService statisticsUpdaterPool;
+	private final GameContext gameContext;
+	private int heavyRulesDeadline;
 
 	public AiExecutor(PlayerSetting[] playerSettings, MainGrid mainGrid, ITaskScheduler taskScheduler) {
 		ExecutorService re;
@@ -52,14 +84,17 @@ public class AiExecutor implements INetworkTimerable {
 		}
 		statisticsUpdaterPool = re;
 
+		this.taskScheduler = taskScheduler;
+		this.gameContext = mainGrid.getGameContext();
 		aiStatistics = new AiStatistics(mainGrid, statisticsUpdaterPool);
 		aiStatistics.updateStatistics();
-		this.lightWhatToDoAis = new ArrayList<>();
-		this.heavyWhatToDoAis = new ArrayList<>();
+		this.scheduledAis = new ArrayList<>();
+		this.scheduledAisByPlayer = new ScheduledAi[playerSettings.length];
 		WhatToDoAiFactory aiFactory = new WhatToDoAiFactory();
 		for (byte playerId = 0; playerId < playerSettings.length; playerId++) {
 			PlayerSetting playerSetting = playerSettings[playerId];
 			if (playerSetting.isAvailable() && playerSetting.getPlayerType().isAi()) {
+				BufferingTaskScheduler taskBuffer = new BufferingTaskScheduler();
 				IWhatToDoAi whatToDoAi = aiFactory.buildWhatToDoAi(
 						playerSettings[playerId].getPlayerType(),
 						playerSettings[playerId].getCivilisation(),
@@ -67,57 +102,158 @@ public class AiExecutor implements INetworkTimerable {
 						mainGrid.getPartitionsGrid().getPlayer(playerId),
 						mainGrid,
 						mainGrid.getMovableGrid(),
-						taskScheduler);
-
-				lightWhatToDoAis.add(() -> {
-					whatToDoAi.applyLightRules();
-					return null;
-				});
+						taskBuffer);
 
-				heavyWhatToDoAis.add(() -> {
-					whatToDoAi.applyHeavyRules();
-					return null;
-				});
+				ScheduledAi scheduledAi = new ScheduledAi(whatToDoAi, taskBuffer);
+				scheduledAis.add(scheduledAi);
+				scheduledAisByPlayer[playerId] = scheduledAi;
 			}
 		}
 	}
 
 	@Override
 	public void timerEvent() {
-		// every second
-		applyLightRulesStopWatch.restart();
-		try {
-			statisticsUpdaterPool.invokeAll(lightWhatToDoAis);
-		} catch (InterruptedException e) {
-			e.printStackTrace();
-		}
-		applyLightRulesStopWatch.stop("computerplayer:applyLightRules()");
+		long startNanos = SubsystemTimes.start();
+		int time = MatchConstants.clock().getTime();
+		boolean applyLightRules = isPeriodStart(time, LIGHT_RULES_PERIOD);
 
-		// every ten seconds
-		if((MatchConstants.clock().getTime()/1000)%10 == 0) {
+		if (isPeriodStart(time, HEAVY_RULES_PERIOD)) {
 			updateStatisticsStopWatch.restart();
 			aiStatistics.updateStatistics();
 			updateStatisticsStopWatch.stop("computerplayer:updateStatistics()");
 
-			applyHeavyRulesStopWatch.restart();
-			try {
-				statisticsUpdaterPool.invokeAll(heavyWhatToDoAis);
-			} catch (InterruptedException e) {
-				e.printStackTrace();
+			heavyRulesDeadline = time + HEAVY_RULES_DEADLINE;
+			for (ScheduledAi scheduledAi : scheduledAis) {
+				scheduledAi.startHeavyRules();
 			}
-			applyHeavyRulesStopWatch.stop("computerplayer:applyHeavyRules()");
 		}
+		boolean deadlineReached = time >= heavyRulesDeadline;
+
+		List<Callable<Void>> slices = new ArrayList<>(scheduledAis.size());
+		for (ScheduledAi scheduledAi : scheduledAis) {
+			slices.add(() -> {
+				gameContext.runBound(() -> scheduledAi.applyRules(applyLightRules, deadlineReached));
+				return null;
+			});
+		}
+		try {
+			statisticsUpdaterPool.invokeAll(slices);
+		} catch (InterruptedException e) {
+			e.printStackTrace();
+		}
+
+		for (ScheduledAi scheduledAi : scheduledAis) {
+			scheduledAi.scheduleBufferedTasks(taskScheduler, deadlineReached);
+		}
+		MatchConstants.subsystemTimes().stop(ESubsystem.AI, startNanos);
 	}
 
-	public StatisticsStopWatch getUpdateStatisticsStopWatch() {
+	private static boolean isPeriodStart(int time, int period) {
+		return Math.floorDiv(time, period) != Math.floorDiv(time - TIMER_PERIOD, period);
+	}
+
+	public HistogramStopWatch getUpdateStatisticsStopWatch() {
 		return updateStatisticsStopWatch;
 	}
 
-	public StatisticsStopWatch getApplyLightRulesStopWatch() {
-		return applyLightRulesStopWatch;
+	/**
+	 * @param playerId
+	 *            id of the player
+	 * @return the histograms of the rules of the given player by rule name. The light rules are measured as {@link #LIGHT_RULES}. If the player is
+	 *         not controlled by an AI, the map is empty.
+	 */
+	public Map<String, HistogramStopWatch> getRuleStopWatches(byte playerId) {
+		ScheduledAi scheduledAi = scheduledAisByPlayer[playerId];
+		return scheduledAi == null ? Collections.emptyMap() : Collections.unmodifiableMap(scheduledAi.ruleStopWatches);
 	}
 
-	public StatisticsStopWatch getApplyHeavyRulesStopWatch() {
-		return applyHeavyRulesStopWatch;
+	private static final class ScheduledAi {
+		private final IWhatToDoAi whatToDoAi;
+		private final BufferingTaskScheduler taskBuffer;
+		private final Map<String, HistogramStopWatch> ruleStopWatches = Collections.synchronizedMap(new LinkedHashMap<>());
+		private List<AiRule> heavyRules = Collections.emptyList();
+		private int nextHeavyRule;
+
+		ScheduledAi(IWhatToDoAi whatToDoAi, BufferingTaskScheduler taskBuffer) {
+			this.whatToDoAi = whatToDoAi;
+			this.taskBuffer = taskBuffer;
+		}
+
+		void startHeavyRules() {
+			while (nextHeavyRule < heavyRules.size()) { // can only happen if the clock jumped over the deadline
+				applyHeavyRule();
+			}
+			heavyRules = whatToDoAi.getHeavyRules();
+			nextHeavyRule = 0;
+		}
+
+		void applyRules(boolean applyLightRules, boolean deadlineReached) {
+			if (applyLightRules) {
+				taskBuffer.setBufferingHeavyRuleTasks(false);
+				HistogramStopWatch stopWatch = getStopWatch(LIGHT_RULES);
+				stopWatch.restart();
+				whatToDoAi.applyLightRules();
+				stopWatch.stop(LIGHT_RULES);
+			}
+
+			int appliedSteps = 0;
+			while (nextHeavyRule < heavyRules.size() && (deadlineReached || appliedSteps < Constants.AI_HEAVY_RULE_STEPS_PER_TICK)) {
+				applyHeavyRule();
+				appliedSteps++;
+			}
+		}
+
+		private void applyHeavyRule() {
+			AiRule rule = heavyRules.get(nextHeavyRule++);
+			taskBuffer.setBufferingHeavyRuleTasks(true);
+			HistogramStopWatch stopWatch = getStopWatch(rule.getName());
+			stopWatch.restart();
+			rule.run();
+			stopWatch.stop(rule.getName());
+		}
+
+		void scheduleBufferedTasks(ITaskScheduler taskScheduler, boolean deadlineReached) {
+			taskBuffer.scheduleLightRuleTasks(taskScheduler);
+			if (deadlineReached) {
+				taskBuffer.scheduleHeavyRuleTasks(taskScheduler);
+			}
+		}
+
+		private HistogramStopWatch getStopWatch(String ruleName) {
+			return ruleStopWatches.computeIfAbsent(ruleName, name -> new HistogramStopWatch());
+		}
+	}
+
+	/**
+	 * Buffers the tasks of one AI until the {@link AiExecutor} passes them to the real {@link ITaskScheduler} in a deterministic order.
+	 */
+	private static final class BufferingTaskScheduler implements ITaskScheduler {
+		private final List<TaskPacket> lightRuleTasks = new ArrayList<>();
+		private final List<TaskPacket> heavyRuleTasks = new ArrayList<>();
+		private boolean bufferingHeavyRuleTasks;
+
+		void setBufferingHeavyRuleTasks(boolean bufferingHeavyRuleTasks) {
+			this.bufferingHeavyRuleTasks = bufferingHeavyRuleTasks;
+		}
+
+		@Override
+		public void scheduleTask(TaskPacket task) {
+			(bufferingHeavyRuleTasks ? heavyRuleTasks : lightRuleTasks).add(task);
+		}
+
+		void scheduleLightRuleTasks(ITaskScheduler taskScheduler) {
+			scheduleTasks(lightRuleTasks, taskScheduler);
+		}
+
+		void scheduleHeavyRuleTasks(ITaskScheduler taskScheduler) {
+			scheduleTasks(heavyRuleTasks, taskScheduler);
+		}
+
+		private static void scheduleTasks(List<TaskPacket> tasks, ITaskScheduler taskScheduler) {
+			for (TaskPacket task : tasks) {
+				taskScheduler.scheduleTask(task);
+			}
+			tasks.clear();
+		}
 	}
 }
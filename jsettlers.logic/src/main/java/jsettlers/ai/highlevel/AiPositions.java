@@ -152,6 +152,23 @@ public class AiPositions implements IMapArea {
 		}
 	}
 
+	/**
+	 * Removes all positions accepted by the given filter in one pass. The order of the remaining positions is kept.
+	 *
+	 * @param filter
+	 */
+	public void removeAll(AiPositionFilter filter) {
+		int newSize = 0;
+		for (int i = 0; i < size; i++) {
+			int packedCoordinate = points[i];
+			if (!filter.contains(unpackX(packedCoordinate), unpackY(packedCoordinate))) {
+				points[newSize] = packedCoordinate;
+				newSize++;
+			}
+		}
+		size = newSize;
+	}
+
 	@Override
 	public boolean contains(ShortPoint2D position) {
 		return contains(position.x, position.y);
@@ -173,7 +190,7 @@ public class AiPositions implements IMapArea {
 		return new PositionsIterator();
 	}
 
-	private void ensureSorted() {
+	void ensureSorted() {
 		if (!sorted) {
 			Arrays.sort(points, 0, size);
 			sorted = true;
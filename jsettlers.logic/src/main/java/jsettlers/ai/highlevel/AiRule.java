@@ -0,0 +1,40 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.ai.highlevel;
+
+/**
+ * An AiRule is a named step of the heavy rules of an {@link IWhatToDoAi}. The {@link AiExecutor} applies
+ * {@link jsettlers.logic.constants.Constants#AI_HEAVY_RULE_STEPS_PER_TICK} steps per tick and continues with the next step in the following tick.
+ * The steps are counted instead of timed, so the AIs act the same way on every machine.
+ */
+final class AiRule implements Runnable {
+
+	private final String name;
+	private final Runnable rule;
+
+	AiRule(String name, Runnable rule) {
+		this.name = name;
+		this.rule = rule;
+	}
+
+	String getName() {
+		return name;
+	}
+
+	@Override
+	public void run() {
+		rule.run();
+	}
+}
@@ -16,6 +16,7 @@ package jsettlers.ai.highlevel;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.EnumSet;
@@ -54,6 +55,8 @@ import jsettlers.common.position.RelativePoint;
 import jsettlers.common.position.ShortPoint2D;
 import jsettlers.logic.buildings.Building;
 import jsettlers.logic.buildings.WorkAreaBuilding;
+import jsettlers.logic.constants.Constants;
+import jsettlers.logic.map.grid.IGridChangedListener;
 import jsettlers.logic.map.grid.MainGrid;
 import jsettlers.logic.map.grid.flags.FlagsGrid;
 import jsettlers.logic.map.grid.landscape.LandscapeGrid;
@@ -89,6 +92,31 @@ public class AiStatistics {
 
 	private static final int NEAR_STONE_DISTANCE = 5;
 
+	/**
+	 * The map statistics are kept per chunk of CHUNK_SIZE x CHUNK_SIZE positions. Only the chunks that changed since the last update are rescanned.
+	 */
+	private static final int CHUNK_SIZE_SHIFT = 4;
+	private static final int CHUNK_SIZE = 1 << CHUNK_SIZE_SHIFT;
+	/**
+	 * The statistics of a position depend on the players of the positions up to this distance (see {@link #updateNearStones(short, short, ChunkScan)}).
+	 */
+	private static final int CHANGED_CHUNKS_MARGIN = NEAR_STONE_DISTANCE;
+	private static final int CHUNKS_PER_UPDATER = 64;
+
+	// indexes of the positions in mapPositions: the resource types come first, followed by the free land and the positions of every player
+	private static final int FREE_TREES = EResourceType.VALUES.length;
+	private static final int FREE_STONES = FREE_TREES + 1;
+	private static final int FREE_RIVERS = FREE_TREES + 2;
+	private static final int FIRST_PLAYER_POSITIONS = FREE_TREES + 3;
+	private static final int STONES = 0;
+	private static final int STONES_NEAR_BY = 1;
+	private static final int TREES = 2;
+	private static final int RIVERS = 3;
+	private static final int LAND_TO_BUILD_ON = 4;
+	private static final int BORDER_INGESTIBLE_BY_PIONEERS = 5;
+	private static final int OTHER_PARTITION_BORDER = 6;
+	private static final int NUMBER_OF_PLAYER_POSITIONS = 7;
+
 	private final MainGrid mainGrid;
 	private final Queue<Building> buildings;
 	private final PlayerStatistic[] playerStatistics;
@@ -106,7 +134,17 @@ public class AiStatistics {
 	private final List<Player> players;
 
 	private final ExecutorService statisticsUpdaterPool;
-	private final Set<Callable<Void>> parallelStatisticsUpdater;
+
+	private final AiPositions[] mapPositions;
+	private final int numberOfChunksX;
+	private final int[][] chunkCounts;
+	private final short[][] chunkPartitionIds;
+	private final short[] scannedPartitionIdsToBuildOn;
+	private final short[] scannedBlockedPartitionIds;
+	private final AiDensityGrid[] resourceDensityGrids = new AiDensityGrid[EResourceType.VALUES.length];
+	private final ChangedChunksMarker changedChunksMarker;
+	private final BitSet dirtyChunks;
+	private final BitSet mergedPartitions = new BitSet();
 
 	public AiStatistics(MainGrid mainGrid, ExecutorService threadPool) {
 		this.mainGrid = mainGrid;
@@ -124,6 +162,8 @@ public class AiStatistics {
 		}
 		sortedRiversInDefaultPartition = new AiPositions();
 		sortedCuttableObjectsInDefaultPartition = new HashMap<>();
+		sortedCuttableObjectsInDefaultPartition.put(TREE_ADULT, new AiPositions());
+		sortedCuttableObjectsInDefaultPartition.put(STONE, new AiPositions());
 		sortedResourceTypes = new AiPositions[EResourceType.VALUES.length];
 		for (int i = 0; i < sortedResourceTypes.length; i++) {
 			sortedResourceTypes[i] = new AiPositions();
@@ -132,7 +172,36 @@ public class AiStatistics {
 		players = Arrays.stream(partitionsGrid.getPlayers()).filter(Objects::nonNull).collect(Collectors.toList());
 
 		statisticsUpdaterPool = threadPool;
-		parallelStatisticsUpdater = Set.of(this::mainMapStatUpdater, this::freeLandMapStatUpdater, this::playerLandMapStatUpdater, this::movableMapStatUpdater, this::grassMapStatUpdater, this::pioneerMapStatUpdater);
+
+		mapPositions = new AiPositions[FIRST_PLAYER_POSITIONS + playerStatistics.length * NUMBER_OF_PLAYER_POSITIONS];
+		System.arraycopy(sortedResourceTypes, 0, mapPositions, 0, sortedResourceTypes.length);
+		mapPositions[FREE_TREES] = sortedCuttableObjectsInDefaultPartition.get(TREE_ADULT);
+		mapPositions[FREE_STONES] = sortedCuttableObjectsInDefaultPartition.get(STONE);
+		mapPositions[FREE_RIVERS] = sortedRiversInDefaultPartition;
+		for (byte playerId = 0; playerId < playerStatistics.length; playerId++) {
+			PlayerStatistic playerStatistic = playerStatistics[playerId];
+			mapPositions[playerPositionsIndex(playerId, STONES)] = playerStatistic.stones;
+			mapPositions[playerPositionsIndex(playerId, STONES_NEAR_BY)] = playerStatistic.stonesNearBy;
+			mapPositions[playerPositionsIndex(playerId, TREES)] = playerStatistic.trees;
+			mapPositions[playerPositionsIndex(playerId, RIVERS)] = playerStatistic.rivers;
+			mapPositions[playerPositionsIndex(playerId, LAND_TO_BUILD_ON)] = playerStatistic.landToBuildOn;
+			mapPositions[playerPositionsIndex(playerId, BORDER_INGESTIBLE_BY_PIONEERS)] = playerStatistic.borderIngestibleByPioneers;
+			mapPositions[playerPositionsIndex(playerId, OTHER_PARTITION_BORDER)] = playerStatistic.otherPartitionBorder;
+		}
+
+		numberOfChunksX = (mainGrid.getWidth() + CHUNK_SIZE - 1) >> CHUNK_SIZE_SHIFT;
+		int numberOfChunks = numberOfChunksX * ((mainGrid.getHeight() + CHUNK_SIZE - 1) >> CHUNK_SIZE_SHIFT);
+		chunkCounts = new int[numberOfChunks][];
+		chunkPartitionIds = new short[numberOfChunks][];
+		scannedPartitionIdsToBuildOn = new short[playerStatistics.length];
+		scannedBlockedPartitionIds = new short[playerStatistics.length];
+		Arrays.fill(scannedPartitionIdsToBuildOn, Short.MIN_VALUE);
+		Arrays.fill(scannedBlockedPartitionIds, Short.MIN_VALUE);
+		dirtyChunks = new BitSet(numberOfChunks);
+		dirtyChunks.set(0, numberOfChunks);
+
+		changedChunksMarker = new ChangedChunksMarker();
+		mainGrid.addGridChangedListener(changedChunksMarker);
 	}
 
 	public byte getFlatternEffortAtPositionForBuilding(final ShortPoint2D position, final BuildingVariant buildingType) {
@@ -147,11 +216,6 @@ public class AiStatistics {
 		for (PlayerStatistic playerStatistic : playerStatistics) {
 			playerStatistic.clearAll();
 		}
-		sortedRiversInDefaultPartition.clear();
-		sortedCuttableObjectsInDefaultPartition.clear();
-		for (AiPositions xCoordinatesMap : sortedResourceTypes) {
-			xCoordinatesMap.clear();
-		}
 
 		updateBuildingStatistics();
 		updateMapStatistics();
@@ -205,12 +269,15 @@ public class AiStatistics {
 		}
 	}
 
-	private Void mainMapStatUpdater() {
-		short width = mainGrid.getWidth();
-		short height = mainGrid.getHeight();
+	private ChunkScan scanChunk(int chunk) {
+		ChunkScan scan = new ChunkScan();
+		int minX = (chunk % numberOfChunksX) << CHUNK_SIZE_SHIFT;
+		int minY = (chunk / numberOfChunksX) << CHUNK_SIZE_SHIFT;
+		int maxX = Math.min(minX + CHUNK_SIZE, mainGrid.getWidth());
+		int maxY = Math.min(minY + CHUNK_SIZE, mainGrid.getHeight());
 
-		for (short x = 0; x < width; x++) {
-			for (short y = 0; y < height; y++) {
+		for (short x = (short) minX; x < maxX; x++) {
+			for (short y = (short) minY; y < maxY; y++) {
 				Player player = partitionsGrid.getPlayerAt(x, y);
 
 				int mapInformationPlayerId;
@@ -219,65 +286,58 @@ public class AiStatistics {
 				} else {
 					mapInformationPlayerId = aiMapInformation.resourceAndGrassCount.length - 1;
 				}
-				if (landscapeGrid.getResourceAmountAt(x, y) > 0) {
-					EResourceType resourceType = landscapeGrid.getResourceTypeAt(x, y);
-					sortedResourceTypes[resourceType.ordinal].addNoCollission(x, y);
-					if (resourceType != EResourceType.FISH) {
-						aiMapInformation.resourceAndGrassCount[mapInformationPlayerId][resourceType.ordinal]++;
-						if (player != null) {
-							playerStatistics[player.playerId].resourceCount[resourceType.ordinal]++;
-						} else {
-							resourceCountInDefaultPartition[resourceType.ordinal]++;
-						}
-					} else if (landscapeGrid.getLandscapeTypeAt(x, y) == ELandscapeType.WATER1) {
-						int fishMapInformationPlayerId = mapInformationPlayerId;
-						if (mapInformationPlayerId == aiMapInformation.resourceAndGrassCount.length - 1) {
-							fishMapInformationPlayerId = mapInformationPlayerIdOfPosition((short) (x + 3), y);
-							if (fishMapInformationPlayerId == aiMapInformation.resourceAndGrassCount.length - 1) {
-								fishMapInformationPlayerId = mapInformationPlayerIdOfPosition((short) (x - 3), y);
-								if (fishMapInformationPlayerId == aiMapInformation.resourceAndGrassCount.length - 1) {
-									fishMapInformationPlayerId = mapInformationPlayerIdOfPosition(x, (short) (y + 3));
-									if (fishMapInformationPlayerId == aiMapInformation.resourceAndGrassCount.length - 1) {
-										fishMapInformationPlayerId = mapInformationPlayerIdOfPosition(x, (short) (y - 3));
-									}
-								}
-							}
-						}
-						aiMapInformation.resourceAndGrassCount[fishMapInformationPlayerId][resourceType.ordinal]++;
-						if (fishMapInformationPlayerId == aiMapInformation.resourceAndGrassCount.length - 1) {
-							resourceCountInDefaultPartition[resourceType.ordinal]++;
+				updateResources(x, y, mapInformationPlayerId, scan);
+				if (landscapeGrid.getLandscapeTypeAt(x, y).isGrass()) {
+					scan.count(resourceAndGrassCountIndex(mapInformationPlayerId, AiMapInformation.GRASS_INDEX));
+				}
+
+				if (player == null) {
+					updateFreeLand(x, y, scan);
+				} else {
+					short partitionId = partitionsGrid.getPartitionIdAt(x, y);
+					scan.addPartitionId(partitionId);
+
+					boolean isPartitionToBuildOn = partitionId == playerStatistics[player.playerId].partitionIdToBuildOn;
+					if (isPartitionToBuildOn) {
+						updatePlayerLand(x, y, player, scan);
+					}
+					if (hasNeighborIngestibleByPioneersOf(x, y, player)) {
+						if (isPartitionToBuildOn) {
+							scan.addPosition(playerPositionsIndex(player.playerId, BORDER_INGESTIBLE_BY_PIONEERS), x, y);
 						} else {
-							playerStatistics[fishMapInformationPlayerId].resourceCount[resourceType.ordinal]++;
+							scan.addPosition(playerPositionsIndex(player.playerId, OTHER_PARTITION_BORDER), x, y);
 						}
 					}
 				}
 			}
 		}
-		return null;
-	}
-
-	private Void grassMapStatUpdater() {
-		short width = mainGrid.getWidth();
-		short height = mainGrid.getHeight();
-
-		for(short x = 0; x < width; x++) {
-			for(short y = 0; y < height; y++) {
-				Player player = partitionsGrid.getPlayerAt(x, y);
-
-				int mapInformationPlayerId;
-				if(player != null) {
-					mapInformationPlayerId = player.playerId;
-				} else {
-					mapInformationPlayerId = aiMapInformation.resourceAndGrassCount.length - 1;
-				}
-				if(landscapeGrid.getLandscapeTypeAt(x, y).isGrass()) {
-					aiMapInformation.resourceAndGrassCount[mapInformationPlayerId][AiMapInformation.GRASS_INDEX]++;
+		return scan;
+	}
+
+	private void updateResources(short x, short y, int mapInformationPlayerId, ChunkScan scan) {
+		if (landscapeGrid.getResourceAmountAt(x, y) > 0) {
+			EResourceType resourceType = landscapeGrid.getResourceTypeAt(x, y);
+			scan.addPosition(resourceType.ordinal, x, y);
+			if (resourceType != EResourceType.FISH) {
+				scan.count(resourceAndGrassCountIndex(mapInformationPlayerId, resourceType.ordinal));
+			} else if (landscapeGrid.getLandscapeTypeAt(x, y) == ELandscapeType.WATER1) {
+				int fishMapInformationPlayerId = mapInformationPlayerId;
+				if (mapInformationPlayerId == aiMapInformation.resourceAndGrassCount.length - 1) {
+					fishMapInformationPlayerId = mapInformationPlayerIdOfPosition((short) (x + 3), y);
+					if (fishMapInformationPlayerId == aiMapInformation.resourceAndGrassCount.length - 1) {
+						fishMapInformationPlayerId = mapInformationPlayerIdOfPosition((short) (x - 3), y);
+						if (fishMapInformationPlayerId == aiMapInformation.resourceAndGrassCount.length - 1) {
+							fishMapInformationPlayerId = mapInformationPlayerIdOfPosition(x, (short) (y + 3));
+							if (fishMapInformationPlayerId == aiMapInformation.resourceAndGrassCount.length - 1) {
+								fishMapInformationPlayerId = mapInformationPlayerIdOfPosition(x, (short) (y - 3));
+							}
+						}
+					}
 				}
+				scan.count(resourceAndGrassCountIndex(fishMapInformationPlayerId, resourceType.ordinal));
 			}
 		}
-		return null;
 	}
-
 	private Void movableMapStatUpdater() {
 		for(ILogicMovable movable : movableGrid.getMovableArray()) {
 			if (movable == null) continue;
@@ -300,72 +360,182 @@ public class AiStatistics {
 		return null;
 	}
 
-	private Void freeLandMapStatUpdater() {
-		short width = mainGrid.getWidth();
-		short height = mainGrid.getHeight();
+	private void updateMapStatistics() {
+		updatePartitionIdsToBuildOn();
+		markChunksOfChangedReferencePartitions();
+		markChunksOfMergedPartitions();
 
-		for (short x = 0; x < width; x++) {
-			for (short y = 0; y < height; y++) {
-				Player player = partitionsGrid.getPlayerAt(x, y);
+		List<Callable<Void>> updaters = new ArrayList<>();
+		updaters.add(this::movableMapStatUpdater);
+		rescanDirtyChunks(updaters);
 
-				if (player == null) {
-					updateFreeLand(x, y);
-				}
-			}
+		if (Constants.AI_STATISTICS_CONSISTENCY_CHECK) {
+			checkConsistencyWithFullRescan();
 		}
-		return null;
 	}
 
-	private Void playerLandMapStatUpdater() {
-		short width = mainGrid.getWidth();
-		short height = mainGrid.getHeight();
+	/**
+	 * Removes the positions and counts of all dirty chunks, rescans them in parallel with the given updaters and adds the results in the order of
+	 * the chunks. As all positions are sorted afterwards, the statistics are the same as if the whole map had been scanned.
+	 *
+	 * @param updaters
+	 *            further updaters to run in parallel to the chunk scans
+	 */
+	private void rescanDirtyChunks(List<Callable<Void>> updaters) {
+		BitSet rescannedChunks;
+		synchronized (changedChunksMarker) {
+			rescannedChunks = (BitSet) dirtyChunks.clone();
+			dirtyChunks.clear();
+		}
+		int[] chunks = rescannedChunks.stream().toArray();
+		ChunkScan[] scans = new ChunkScan[chunks.length];
 
-		for (short x = 0; x < width; x++) {
-			for (short y = 0; y < height; y++) {
-				Player player = partitionsGrid.getPlayerAt(x, y);
-				if(player == null) continue;
+		for (int chunk : chunks) {
+			if (chunkCounts[chunk] != null) {
+				addCounts(chunkCounts[chunk], -1);
+			}
+		}
+		AiPositionFilter inRescannedChunk = (x, y) -> rescannedChunks.get(chunkIndexOf(x, y));
+		for (AiPositions positions : mapPositions) {
+			positions.removeAll(inRescannedChunk);
+		}
 
-				if (partitionsGrid.getPartitionIdAt(x, y) == playerStatistics[player.playerId].partitionIdToBuildOn) {
-					updatePlayerLand(x, y, player);
+		for (int start = 0; start < chunks.length; start += CHUNKS_PER_UPDATER) {
+			final int firstIndex = start;
+			final int endIndex = Math.min(start + CHUNKS_PER_UPDATER, chunks.length);
+			updaters.add(() -> {
+				for (int i = firstIndex; i < endIndex; i++) {
+					scans[i] = scanChunk(chunks[i]);
 				}
+				return null;
+			});
+		}
+		try {
+			statisticsUpdaterPool.invokeAll(updaters);
+		} catch (InterruptedException e) {
+			e.printStackTrace();
+		}
+
+		for (int i = 0; i < chunks.length; i++) {
+			ChunkScan scan = scans[i];
+			for (int entry = 0; entry < scan.size; entry += 2) {
+				int packedPosition = scan.positions[entry + 1];
+				mapPositions[scan.positions[entry]].addNoCollission(packedPosition >> 16, packedPosition & 0xffff);
 			}
+			addCounts(scan.counts, +1);
+			chunkCounts[chunks[i]] = scan.counts;
+			chunkPartitionIds[chunks[i]] = scan.getPartitionIds();
+		}
+		for (AiPositions positions : mapPositions) {
+			positions.ensureSorted();
+		}
+
+		int neverland = aiMapInformation.resourceAndGrassCount.length - 1;
+		System.arraycopy(aiMapInformation.resourceAndGrassCount[neverland], 0, resourceCountInDefaultPartition, 0, resourceCountInDefaultPartition.length);
+		for (byte playerId = 0; playerId < playerStatistics.length; playerId++) {
+			long[] resourceCount = playerStatistics[playerId].resourceCount;
+			System.arraycopy(aiMapInformation.resourceAndGrassCount[playerId], 0, resourceCount, 0, resourceCount.length);
 		}
-		return null;
 	}
 
-	private Void pioneerMapStatUpdater() {
-		short width = mainGrid.getWidth();
-		short height = mainGrid.getHeight();
+	private void addCounts(int[] counts, int sign) {
+		long[][] resourceAndGrassCount = aiMapInformation.resourceAndGrassCount;
+		for (int mapInformationPlayerId = 0; mapInformationPlayerId < resourceAndGrassCount.length; mapInformationPlayerId++) {
+			for (int index = 0; index < resourceAndGrassCount[mapInformationPlayerId].length; index++) {
+				resourceAndGrassCount[mapInformationPlayerId][index] += sign * counts[resourceAndGrassCountIndex(mapInformationPlayerId, index)];
+			}
+			aiMapInformation.stoneCount[mapInformationPlayerId] += sign * counts[stoneCountIndex(mapInformationPlayerId)];
+		}
+		for (byte playerId = 0; playerId < playerStatistics.length; playerId++) {
+			playerStatistics[playerId].wineCount += sign * counts[wineCountIndex(playerId)];
+		}
+	}
 
-		for (short x = 0; x < width; x++) {
-			for (short y = 0; y < height; y++) {
-				Player player = partitionsGrid.getPlayerAt(x, y);
-				if (player == null) continue;
-				if (hasNeighborIngestibleByPioneersOf(x, y, player)) {
-					if (partitionsGrid.getPartitionIdAt(x, y) == playerStatistics[player.playerId].partitionIdToBuildOn) {
-						playerStatistics[player.playerId].borderIngestibleByPioneers.add(x, y);
-					} else {
-						playerStatistics[player.playerId].otherPartitionBorder.add(x, y);
-					}
+	/**
+	 * The positions of the land to build on and the pioneer borders depend on the partition and the blocked partition of the reference building.
+	 * If one of them changed, the whole map needs to be rescanned.
+	 */
+	private void markChunksOfChangedReferencePartitions() {
+		for (int playerId = 0; playerId < playerStatistics.length; playerId++) {
+			PlayerStatistic playerStatistic = playerStatistics[playerId];
+			if (scannedPartitionIdsToBuildOn[playerId] != playerStatistic.partitionIdToBuildOn
+					|| scannedBlockedPartitionIds[playerId] != playerStatistic.blockedPartitionId) {
+				scannedPartitionIdsToBuildOn[playerId] = playerStatistic.partitionIdToBuildOn;
+				scannedBlockedPartitionIds[playerId] = playerStatistic.blockedPartitionId;
+				changedChunksMarker.markAllChunks();
+			}
+		}
+	}
 
+	/**
+	 * A merge changes the partition id of all positions of the merged partition without reporting them. Therefore all chunks that contained the
+	 * merged partition at their last scan need to be rescanned.
+	 */
+	private void markChunksOfMergedPartitions() {
+		synchronized (changedChunksMarker) {
+			if (mergedPartitions.isEmpty()) {
+				return;
+			}
+			for (int chunk = 0; chunk < chunkPartitionIds.length; chunk++) {
+				if (!dirtyChunks.get(chunk) && chunkPartitionIds[chunk] != null) {
+					for (short partitionId : chunkPartitionIds[chunk]) {
+						if (mergedPartitions.get(partitionId)) {
+							dirtyChunks.set(chunk);
+							break;
+						}
+					}
 				}
 			}
+			mergedPartitions.clear();
 		}
-		return null;
 	}
 
-	private void updateMapStatistics() {
-		aiMapInformation.clear();
-		updatePartitionIdsToBuildOn();
-		Arrays.fill(resourceCountInDefaultPartition, 0);
+	private void checkConsistencyWithFullRescan() {
+		List<Object> incrementalStatistics = getMapStatisticsSnapshot();
+		changedChunksMarker.markAllChunks();
+		rescanDirtyChunks(new ArrayList<>());
+		List<Object> rescannedStatistics = getMapStatisticsSnapshot();
 
-		try {
-			statisticsUpdaterPool.invokeAll(parallelStatisticsUpdater);
-		} catch (InterruptedException e) {
-			e.printStackTrace();
+		for (int i = 0; i < incrementalStatistics.size(); i++) {
+			if (!incrementalStatistics.get(i).equals(rescannedStatistics.get(i))) {
+				throw new IllegalStateException("The incrementally updated AI statistics differ from a full rescan at entry " + i + ":\n"
+						+ incrementalStatistics.get(i) + "\n" + rescannedStatistics.get(i));
+			}
 		}
 	}
 
+	private List<Object> getMapStatisticsSnapshot() {
+		List<Object> snapshot = new ArrayList<>();
+		for (AiPositions positions : mapPositions) {
+			List<ShortPoint2D> points = new ArrayList<>(positions.size());
+			positions.forEach(points::add);
+			snapshot.add(points);
+		}
+		snapshot.add(Arrays.deepToString(aiMapInformation.resourceAndGrassCount));
+		snapshot.add(Arrays.toString(aiMapInformation.stoneCount));
+		snapshot.add(Arrays.stream(playerStatistics).map(playerStatistic -> playerStatistic.wineCount).collect(Collectors.toList()));
+		return snapshot;
+	}
+
+	private int chunkIndexOf(int x, int y) {
+		return (y >> CHUNK_SIZE_SHIFT) * numberOfChunksX + (x >> CHUNK_SIZE_SHIFT);
+	}
+
+	private int resourceAndGrassCountIndex(int mapInformationPlayerId, int index) {
+		return mapInformationPlayerId * (EResourceType.VALUES.length + 1) + index;
+	}
+
+	private int stoneCountIndex(int mapInformationPlayerId) {
+		return aiMapInformation.resourceAndGrassCount.length * (EResourceType.VALUES.length + 1) + mapInformationPlayerId;
+	}
+
+	private int wineCountIndex(byte playerId) {
+		return stoneCountIndex(aiMapInformation.stoneCount.length) + playerId;
+	}
+
+	private static int playerPositionsIndex(byte playerId, int positions) {
+		return FIRST_PLAYER_POSITIONS + playerId * NUMBER_OF_PLAYER_POSITIONS + positions;
+	}
 	private int mapInformationPlayerIdOfPosition(short x, short y) {
 		if (!mainGrid.isInBounds(x, y)) {
 			return aiMapInformation.resourceAndGrassCount.length - 1;
@@ -401,31 +571,30 @@ public class AiStatistics {
 				&& !partitionsGrid.isEnforcedByTower(x, y);
 	}
 
-	private void updatePlayerLand(short x, short y, Player player) {
+	private void updatePlayerLand(short x, short y, Player player, ChunkScan scan) {
 		byte playerId = player.playerId;
-		PlayerStatistic playerStatistic = playerStatistics[playerId];
 		if (mainGrid.getFlagsGrid().isProtected(x, y)) {
 			AbstractHexMapObject o = objectsGrid.getObjectsAt(x, y);
 			if (o != null) {
 				if (o.hasCuttableObject(STONE) && isCuttableByPlayer(x, y, player.playerId)) {
-					playerStatistic.stones.addNoCollission(x, y);
+					scan.addPosition(playerPositionsIndex(playerId, STONES), x, y);
 				} else if (o.hasMapObjectTypes(TREE_GROWING, TREE_ADULT) && isCuttableByPlayer(x, y, player.playerId)) {
-					playerStatistic.trees.addNoCollission(x, y);
+					scan.addPosition(playerPositionsIndex(playerId, TREES), x, y);
 				}
 
 				if(o.hasMapObjectTypes(STONE, CUT_OFF_STONE)) {
-					aiMapInformation.stoneCount[playerId]++;
+					scan.count(stoneCountIndex(playerId));
 				}
 			}
 		} else {
-			playerStatistic.landToBuildOn.addNoCollission(x, y);
+			scan.addPosition(playerPositionsIndex(playerId, LAND_TO_BUILD_ON), x, y);
 		}
 		ELandscapeType landscape = landscapeGrid.getLandscapeTypeAt(x, y);
 		if (landscape.isRiver()) {
-			playerStatistic.rivers.addNoCollission(x, y);
+			scan.addPosition(playerPositionsIndex(playerId, RIVERS), x, y);
 		}
 		if (objectsGrid.hasMapObjectType(x, y, EMapObjectType.WINE_GROWING, EMapObjectType.WINE_HARVESTABLE)) {
-			playerStatistic.wineCount++;
+			scan.count(wineCountIndex(playerId));
 		}
 	}
 
@@ -443,46 +612,35 @@ public class AiStatistics {
 		return true;
 	}
 
-	private void updateFreeLand(short x, short y) {
+	private void updateFreeLand(short x, short y, ChunkScan scan) {
 		if (objectsGrid.hasCuttableObject(x, y, TREE_ADULT)) {
-			AiPositions trees = sortedCuttableObjectsInDefaultPartition.get(TREE_ADULT);
-			if (trees == null) {
-				trees = new AiPositions();
-				sortedCuttableObjectsInDefaultPartition.put(TREE_ADULT, trees);
-			}
-			trees.addNoCollission(x, y);
+			scan.addPosition(FREE_TREES, x, y);
 		}
 		if (objectsGrid.hasCuttableObject(x, y, STONE)) {
-			AiPositions stones = sortedCuttableObjectsInDefaultPartition.get(STONE);
-			if (stones == null) {
-				stones = new AiPositions();
-				sortedCuttableObjectsInDefaultPartition.put(STONE, stones);
-			}
-			stones.addNoCollission(x, y);
-			updateNearStones(x, y);
+			scan.addPosition(FREE_STONES, x, y);
+			updateNearStones(x, y, scan);
 		}
 		if (objectsGrid.hasMapObjectType(x, y, STONE, CUT_OFF_STONE)) {
-			aiMapInformation.stoneCount[aiMapInformation.stoneCount.length - 1]++;
+			scan.count(stoneCountIndex(aiMapInformation.stoneCount.length - 1));
 		}
 		ELandscapeType landscape = landscapeGrid.getLandscapeTypeAt(x, y);
 		if (landscape.isRiver()) {
-			sortedRiversInDefaultPartition.addNoCollission(x, y);
+			scan.addPosition(FREE_RIVERS, x, y);
 		}
 	}
 
-	private void updateNearStones(short x, short y) {
+	private void updateNearStones(short x, short y, ChunkScan scan) {
 		for (EDirection dir : EDirection.VALUES) {
 			int currX = dir.getNextTileX(x, NEAR_STONE_DISTANCE);
 			int currY = dir.getNextTileY(y, NEAR_STONE_DISTANCE);
 			if (mainGrid.isInBounds(currX, currY)) {
 				byte playerId = partitionsGrid.getPlayerIdAt(currX, currY);
 				if (playerId != -1 && hasPlayersBlockedPartition(playerId, x, y)) {
-					playerStatistics[playerId].stonesNearBy.addNoCollission(x, y);
+					scan.addPosition(playerPositionsIndex(playerId, STONES_NEAR_BY), x, y);
 				}
 			}
 		}
 	}
-
 	private void updatePartitionIdsToBuildOn() {
 		for (byte playerId = 0; playerId < playerStatistics.length; playerId++) {
 			ShortPoint2D referencePosition = null;
@@ -727,6 +885,23 @@ public class AiStatistics {
 		return mainGrid;
 	}
 
+	/**
+	 * @param resourceType
+	 *            the type of the resource.
+	 * @return a refreshed {@link AiDensityGrid} of the amount of the given resource. The grid is created on the first call and shared by all
+	 *         players.
+	 */
+	public synchronized AiDensityGrid getResourceDensityGrid(EResourceType resourceType) {
+		AiDensityGrid resourceDensityGrid = resourceDensityGrids[resourceType.ordinal];
+		if (resourceDensityGrid == null) {
+			resourceDensityGrid = new AiDensityGrid(mainGrid, 0,
+					(x, y) -> landscapeGrid.getResourceTypeAt(x, y) == resourceType ? landscapeGrid.getResourceAmountAt(x, y) : 0);
+			resourceDensityGrids[resourceType.ordinal] = resourceDensityGrid;
+		}
+		resourceDensityGrid.refresh();
+		return resourceDensityGrid;
+	}
+
 	public ShortPoint2D getNearestRiverPointInDefaultPartitionFor(ShortPoint2D referencePoint, int searchDistance, AiPositionFilter filter) {
 		return getNearestPointInDefaultPartitionOutOfSortedMap(referencePoint, sortedRiversInDefaultPartition, (byte) -1, searchDistance, filter);
 	}
@@ -858,17 +1033,13 @@ public class AiStatistics {
 			clearIntegers();
 		}
 
+		/**
+		 * Clears everything but the statistics of the map, which are updated chunk by chunk.
+		 */
 		public void clearAll() {
 			materials = null;
 			buildingPositions.clear();
 			enemyTroopsInTown.clear();
-			stones.clear();
-			stonesNearBy.clear();
-			trees.clear();
-			rivers.clear();
-			landToBuildOn.clear();
-			borderIngestibleByPioneers.clear();
-			otherPartitionBorder.clear();
 			movablePositions.clear();
 			joblessBearerPositions.clear();
 			farmWorkAreas.clear();
@@ -881,14 +1052,79 @@ public class AiStatistics {
 		private void clearIntegers() {
 			Arrays.fill(totalBuildingsNumbers, 0);
 			Arrays.fill(buildingsNumbers, 0);
-			Arrays.fill(resourceCount, 0);
 			numberOfNotFinishedBuildings = 0;
 			numberOfTotalBuildings = 0;
 			numberOfNotOccupiedMilitaryBuildings = 0;
-			wineCount = 0;
 			partitionIdToBuildOn = Short.MIN_VALUE;
 			blockedPartitionId = Short.MIN_VALUE;
 		}
 	}
 
+	/**
+	 * Marks the chunks around changed positions as dirty and remembers merged partitions.
+	 */
+	private final class ChangedChunksMarker implements IGridChangedListener {
+		@Override
+		public synchronized void positionChangedAt(int x, int y) {
+			int minChunkX = Math.max(0, x - CHANGED_CHUNKS_MARGIN) >> CHUNK_SIZE_SHIFT;
+			int maxChunkX = Math.min(mainGrid.getWidth() - 1, x + CHANGED_CHUNKS_MARGIN) >> CHUNK_SIZE_SHIFT;
+			int minChunkY = Math.max(0, y - CHANGED_CHUNKS_MARGIN) >> CHUNK_SIZE_SHIFT;
+			int maxChunkY = Math.min(mainGrid.getHeight() - 1, y + CHANGED_CHUNKS_MARGIN) >> CHUNK_SIZE_SHIFT;
+
+			for (int chunkY = minChunkY; chunkY <= maxChunkY; chunkY++) {
+				dirtyChunks.set(chunkY * numberOfChunksX + minChunkX, chunkY * numberOfChunksX + maxChunkX + 1);
+			}
+		}
+
+		@Override
+		public synchronized void partitionMerged(short oldPartitionId, short newPartitionId) {
+			mergedPartitions.set(oldPartitionId);
+		}
+
+		synchronized void markAllChunks() {
+			dirtyChunks.set(0, chunkCounts.length);
+		}
+	}
+
+	/**
+	 * Collects the positions and counts of one chunk. The positions are stored as pairs of the index in mapPositions and the packed coordinates.
+	 */
+	private final class ChunkScan {
+		private final int[] counts = new int[wineCountIndex((byte) playerStatistics.length)];
+		private int[] positions = new int[2 * CHUNK_SIZE * CHUNK_SIZE];
+		private int size;
+		private short[] partitionIds = new short[4];
+		private int numberOfPartitionIds;
+
+		void addPosition(int mapPositionsIndex, int x, int y) {
+			if (size == positions.length) {
+				positions = Arrays.copyOf(positions, size * 2);
+			}
+			positions[size] = mapPositionsIndex;
+			positions[size + 1] = (x << 16) | y;
+			size += 2;
+		}
+
+		void count(int countIndex) {
+			counts[countIndex]++;
+		}
+
+		void addPartitionId(short partitionId) {
+			for (int i = 0; i < numberOfPartitionIds; i++) {
+				if (partitionIds[i] == partitionId) {
+					return;
+				}
+			}
+			if (numberOfPartitionIds == partitionIds.length) {
+				partitionIds = Arrays.copyOf(partitionIds, numberOfPartitionIds * 2);
+			}
+			partitionIds[numberOfPartitionIds] = partitionId;
+			numberOfPartitionIds++;
+		}
+
+		short[] getPartitionIds() {
+			return Arrays.copyOf(partitionIds, numberOfPartitionIds);
+		}
+	}
+
 }
\ No newline at end of file
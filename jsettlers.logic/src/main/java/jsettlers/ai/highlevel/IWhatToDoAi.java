@@ -14,6 +14,8 @@
  *******************************************************************************/
 package jsettlers.ai.highlevel;
 
+import java.util.List;
+
 /**
  * The purpose of the higher level IWhatToDoAi is to decide WHAT to do. It delegates the decision WHERE it is to do to the lower level KI. For example
  * if the AI player has no stone cutters the WhatToDoAi decides to build with high priority a stone cutter because otherwise the AI player would be
@@ -25,5 +27,9 @@ package jsettlers.ai.highlevel;
 interface IWhatToDoAi {
 
 	void applyLightRules();
-	void applyHeavyRules();
+
+	/**
+	 * @return the steps of the heavy rules in the order they have to be applied. The steps may be applied over several ticks.
+	 */
+	List<AiRule> getHeavyRules();
 }
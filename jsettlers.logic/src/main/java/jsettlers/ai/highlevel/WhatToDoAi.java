@@ -171,18 +171,26 @@ class WhatToDoAi implements IWhatToDoAi {
 	}
 
 	@Override
-	public void applyHeavyRules() {
-		if (aiStatistics.isAlive(playerId)) {
+	public List<AiRule> getHeavyRules() {
+		if (!aiStatistics.isAlive(playerId)) {
+			return Collections.emptyList();
+		}
+
+		List<AiRule> heavyRules = new ArrayList<>();
+		heavyRules.add(new AiRule("economy", () -> {
 			economyMinister.update();
 			isEndGame = economyMinister.isEndGame();
 			failedConstructingBuildings = new ArrayList<>();
-			destroyBuildings();
-			commandPioneers();
-			buildBuildings();
+		}));
+		heavyRules.add(new AiRule("destroyBuildings", this::destroyBuildings));
+		heavyRules.add(new AiRule("commandPioneers", this::commandPioneers));
+		heavyRules.add(new AiRule("buildBuildings", this::buildBuildings));
+		heavyRules.add(new AiRule("army", () -> {
 			Set<Integer> soldiersWithOrders = new HashSet<>();
 			armyGeneral.applyHeavyRules(soldiersWithOrders);
-			sendGeologists();
-		}
+		}));
+		heavyRules.add(new AiRule("sendGeologists", this::sendGeologists));
+		return heavyRules;
 	}
 
 	private List<EResourceType> getNeededResources() {
@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * Copyright (c) 2015
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.datastructures;
+
+/**
+ * Stores a change stamp for every square region of a grid. Every change increases a global stamp and assigns it to the region of the changed
+ * position. Therefore a value computed from an area of the grid stays valid as long as no region overlapping that area has a newer stamp than the one
+ * read before the computation.
+ */
+public final class RegionChangeStamps {
+	private static final int REGION_BITS = 3; // 8x8 positions per region
+
+	private final int regionsPerRow;
+	private final int regionsPerColumn;
+	private final long[] stamps;
+
+	private long currentStamp = 0;
+
+	public RegionChangeStamps(int width, int height) {
+		this.regionsPerRow = ((width - 1) >> REGION_BITS) + 1;
+		this.regionsPerColumn = ((height - 1) >> REGION_BITS) + 1;
+		this.stamps = new long[regionsPerRow * regionsPerColumn];
+	}
+
+	/**
+	 * Marks the region of the given position as changed.
+	 *
+	 * @param x
+	 *            x coordinate of the changed position.
+	 * @param y
+	 *            y coordinate of the changed position.
+	 */
+	public void changedAt(int x, int y) {
+		stamps[(x >> REGION_BITS) + (y >> REGION_BITS) * regionsPerRow] = ++currentStamp;
+	}
+
+	/**
+	 * @return the stamp of the latest change. A value read after this call stays valid as long as {@link #isUnchangedSince(long, int, int, int)}
+	 *         returns true for the returned stamp.
+	 */
+	public long getCurrentStamp() {
+		return currentStamp;
+	}
+
+	/**
+	 * Checks if any position in the square around the given center might have been changed after the given stamp.
+	 *
+	 * @param stamp
+	 *            stamp returned by {@link #getCurrentStamp()}.
+	 * @param centerX
+	 *            x coordinate of the center.
+	 * @param centerY
+	 *            y coordinate of the center.
+	 * @param radius
+	 *            maximum distance of the checked positions in x and y direction.
+	 * @return true if no position in the area has been changed since the stamp had been read.
+	 */
+	public boolean isUnchangedSince(long stamp, int centerX, int centerY, int radius) {
+		if (stamp == currentStamp) {
+			return true;
+		}
+
+		int minRegionX = Math.max(0, centerX - radius) >> REGION_BITS;
+		int maxRegionX = Math.min(regionsPerRow - 1, Math.max(0, centerX + radius) >> REGION_BITS);
+		int minRegionY = Math.max(0, centerY - radius) >> REGION_BITS;
+		int maxRegionY = Math.min(regionsPerColumn - 1, Math.max(0, centerY + radius) >> REGION_BITS);
+
+		for (int regionY = minRegionY; regionY <= maxRegionY; regionY++) {
+			int rowOffset = regionY * regionsPerRow;
+			for (int regionX = minRegionX; regionX <= maxRegionX; regionX++) {
+				if (stamps[rowOffset + regionX] > stamp) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+}
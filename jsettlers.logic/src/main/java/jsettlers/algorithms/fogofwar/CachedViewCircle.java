@@ -14,6 +14,8 @@
  *******************************************************************************/
 package jsettlers.algorithms.fogofwar;
 
+import java.util.Arrays;
+
 import jsettlers.common.map.shapes.MapCircle;
 import jsettlers.common.map.shapes.MapCircleIterator;
 
@@ -24,12 +26,28 @@ import jsettlers.common.map.shapes.MapCircleIterator;
  * 
  */
 public final class CachedViewCircle {
+	/**
+	 * Largest displacement in x and in y for which {@link #getDeltaMask(int, int)} provides a mask.
+	 */
+	public static final int MAX_DELTA = 3;
+	private static final int DELTA_SPAN = 2 * MAX_DELTA + 1;
+	private static final byte NO_REF = -1;
 
 	final short[] x;
 	final short[] y;
 	final byte[] refIndex;
 	final int size;
 
+	private final int minX;
+	private final int minY;
+	private final int levelsWidth;
+	private final int levelsHeight;
+	/**
+	 * The ref index of every offset in the bounding box of the circle, {@link #NO_REF} for offsets outside of the circle.
+	 */
+	private final byte[] levels;
+	private final DeltaMask[] deltaMasks = new DeltaMask[DELTA_SPAN * DELTA_SPAN];
+
 	public CachedViewCircle(int radius) {
 		radius += FogOfWar.PADDING / 2; // radius+0.5p
 		MapCircle circle = new MapCircle(0, 0, radius+FogOfWar.PADDING); // *radius+1.5p*
@@ -57,6 +75,32 @@ public final class CachedViewCircle {
 
 			i++;
 		}
+
+		int minX = 0, maxX = 0, minY = 0, maxY = 0;
+		for (i = 0; i < size; i++) {
+			minX = Math.min(minX, this.x[i]);
+			maxX = Math.max(maxX, this.x[i]);
+			minY = Math.min(minY, this.y[i]);
+			maxY = Math.max(maxY, this.y[i]);
+		}
+		this.minX = minX;
+		this.minY = minY;
+		this.levelsWidth = maxX - minX + 1;
+		this.levelsHeight = maxY - minY + 1;
+		this.levels = new byte[levelsWidth * levelsHeight];
+		Arrays.fill(levels, NO_REF);
+		for (i = 0; i < size; i++) {
+			levels[(this.y[i] - minY) * levelsWidth + this.x[i] - minX] = refIndex[i];
+		}
+	}
+
+	private byte getLevel(int x, int y) {
+		int levelX = x - minX;
+		int levelY = y - minY;
+		if (levelX < 0 || levelX >= levelsWidth || levelY < 0 || levelY >= levelsHeight) {
+			return NO_REF;
+		}
+		return levels[levelY * levelsWidth + levelX];
 	}
 
 	private int countElements(MapCircle circle) {
@@ -70,15 +114,93 @@ public final class CachedViewCircle {
 		return counter;
 	}
 
+	/**
+	 * Gets the positions whose reference changes when the center of this circle moves by (dx, dy). All one step moves in an
+	 * {@link jsettlers.common.movable.EDirection} are covered, as are all other displacements up to {@link #MAX_DELTA} in x and y.
+	 *
+	 * @param dx
+	 *            The x displacement from the old to the new center.
+	 * @param dy
+	 *            The y displacement from the old to the new center.
+	 * @return The mask relative to the new center or <code>null</code> if the displacement is too large.
+	 */
+	public DeltaMask getDeltaMask(int dx, int dy) {
+		if (dx < -MAX_DELTA || dx > MAX_DELTA || dy < -MAX_DELTA || dy > MAX_DELTA) {
+			return null;
+		}
+
+		int maskIndex = (dy + MAX_DELTA) * DELTA_SPAN + dx + MAX_DELTA;
+		if (deltaMasks[maskIndex] == null) {
+			deltaMasks[maskIndex] = new DeltaMask(dx, dy);
+		}
+		return deltaMasks[maskIndex];
+	}
+
 	public CachedViewCircleIterator iterator(int xOffset, int yOffset) {
 		return new CachedViewCircleIterator(xOffset, yOffset);
 	}
 
+	/**
+	 * The symmetric difference of this circle and the same circle displaced by (-dx, -dy). Positions that keep their ref index are left out.
+	 */
+	public final class DeltaMask {
+		final short[] x;
+		final short[] y;
+		/**
+		 * The ref index to add at the position or {@link CachedViewCircle#NO_REF}.
+		 */
+		final byte[] addIndex;
+		/**
+		 * The ref index to remove at the position or {@link CachedViewCircle#NO_REF}.
+		 */
+		final byte[] removeIndex;
+		final int size;
+
+		DeltaMask(int dx, int dy) {
+			short[] x = new short[2 * CachedViewCircle.this.size];
+			short[] y = new short[x.length];
+			byte[] addIndex = new byte[x.length];
+			byte[] removeIndex = new byte[x.length];
+			int size = 0;
+
+			for (int i = 0; i < CachedViewCircle.this.size; i++) { // positions of the new circle
+				int currX = CachedViewCircle.this.x[i];
+				int currY = CachedViewCircle.this.y[i];
+				byte oldLevel = getLevel(currX + dx, currY + dy);
+				if (oldLevel != refIndex[i]) {
+					x[size] = (short) currX;
+					y[size] = (short) currY;
+					addIndex[size] = refIndex[i];
+					removeIndex[size] = oldLevel;
+					size++;
+				}
+			}
+
+			for (int i = 0; i < CachedViewCircle.this.size; i++) { // positions only the old circle covers
+				int currX = CachedViewCircle.this.x[i] - dx;
+				int currY = CachedViewCircle.this.y[i] - dy;
+				if (getLevel(currX, currY) == NO_REF) {
+					x[size] = (short) currX;
+					y[size] = (short) currY;
+					addIndex[size] = NO_REF;
+					removeIndex[size] = refIndex[i];
+					size++;
+				}
+			}
+
+			this.x = Arrays.copyOf(x, size);
+			this.y = Arrays.copyOf(y, size);
+			this.addIndex = Arrays.copyOf(addIndex, size);
+			this.removeIndex = Arrays.copyOf(removeIndex, size);
+			this.size = size;
+		}
+	}
+
 	public final class CachedViewCircleIterator implements FogOfWar.ViewAreaIterator {
 		private final int xOffset;
 		private final int yOffset;
 
-		private int idx;
+		private int idx = -1;
 
 		public CachedViewCircleIterator(int xOffset, int yOffset) {
 			this.xOffset = xOffset;
@@ -15,13 +15,19 @@
 package jsettlers.algorithms.fogofwar;
 
 import java.io.IOException;
+import java.io.InvalidObjectException;
 import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 
 import jsettlers.common.CommonConstants;
 import jsettlers.common.landscape.ELandscapeType;
@@ -31,12 +37,15 @@ import jsettlers.common.position.ShortPoint2D;
 import go.graphics.FramerateComputer;
 import jsettlers.logic.buildings.Building;
 import jsettlers.logic.constants.Constants;
+import jsettlers.logic.constants.GameContext;
 import jsettlers.logic.constants.MatchConstants;
 import jsettlers.logic.map.grid.MainGrid;
 import jsettlers.logic.map.grid.landscape.LandscapeGrid;
 import jsettlers.logic.map.grid.objects.AbstractHexMapObject;
 import jsettlers.logic.map.grid.objects.ObjectsGrid;
 import jsettlers.logic.movable.MovableManager;
+import jsettlers.logic.timer.ESubsystem;
+import jsettlers.logic.timer.SubsystemTimes;
 
 /**
  * This class holds the fog of war for a given map and team.
@@ -45,51 +54,81 @@ import jsettlers.logic.movable.MovableManager;
  */
 public final class FogOfWar implements Serializable {
 	private static final long serialVersionUID = 1877994785778678511L;
+	/**
+	 * The grids are saved in the layout of older savegames, as arrays indexed by [x][y].
+	 */
+	private static final ObjectStreamField[] serialPersistentFields = {
+			new ObjectStreamField("team", byte.class),
+			new ObjectStreamField("width", short.class),
+			new ObjectStreamField("height", short.class),
+			new ObjectStreamField("sight", byte[][].class),
+			new ObjectStreamField("hiddenLandscape", ELandscapeType[][].class),
+			new ObjectStreamField("hiddenHeight", byte[][].class),
+			new ObjectStreamField("hiddenMapObjects", IMapObject[][].class),
+			new ObjectStreamField("visibleRefs", short[][][].class),
+			new ObjectStreamField("namedRefs", HashMap[][].class),
+			new ObjectStreamField("landscapeGrid", LandscapeGrid.class),
+			new ObjectStreamField("objectsGrid", ObjectsGrid.class) };
 	/**
 	 * Longest distance any unit may look
 	 */
 	public static final byte MAX_VIEW_DISTANCE = 65;
 	public static final int PADDING = 10;
+	/**
+	 * Number of reference levels each position holds. The {@link CachedViewCircle}s hand out ref indices in [0, PADDING].
+	 */
+	public static final int REF_LEVELS = PADDING + 1;
 
-	public final byte team;
+	public transient byte team;
 
-	public final short width;
-	public final short height;
-	public final byte[][] sight;
-	public final ELandscapeType[][] hiddenLandscape;
-	public final byte[][] hiddenHeight;
-	public final IMapObject[][] hiddenMapObjects;
-	public final short[][][] visibleRefs;
-	public final HashMap<Byte, LinkedList<Object>>[][] namedRefs;
+	public transient short width;
+	public transient short height;
+	/*
+	 * All grids are stored row major, the position (x, y) is found at index y * width + x.
+	 */
+	public transient byte[] sight;
+	public transient ELandscapeType[] hiddenLandscape;
+	public transient byte[] hiddenHeight;
+	public transient IMapObject[] hiddenMapObjects;
+	/**
+	 * The reference counts of all positions. Each position owns {@link #REF_LEVELS} consecutive entries starting at (y * width + x) * REF_LEVELS.
+	 */
+	public transient short[] visibleRefs;
+	/**
+	 * The references of each position by ref index, only used when {@link CommonConstants#FOG_OF_WAR_DEBUG_REFERENCES} is set. Positions without
+	 * references have no entry.
+	 */
+	public transient HashMap<Integer, HashMap<Byte, LinkedList<Object>>> namedRefs;
 	public transient FowDimThread dimThread;
 	public transient FoWRefThread refThread;
-	private final LandscapeGrid landscapeGrid;
-	private final ObjectsGrid objectsGrid;
+	private transient LandscapeGrid landscapeGrid;
+	private transient ObjectsGrid objectsGrid;
 
 	public transient CircleDrawer circleDrawer;
 	private transient IGraphicsBackgroundListener backgroundListener;
 	public transient boolean enabled;
 	public transient boolean canceled;
+	private transient GameContext context;
 
 	public FogOfWar(MainGrid root, byte teamId) {
-		this.width = root.getWidth();
-		this.height = root.getHeight();
+		this(root.getWidth(), root.getHeight(), teamId, root.getLandscapeGrid(), root.getObjectsGrid());
+	}
+
+	FogOfWar(short width, short height, byte teamId, LandscapeGrid landscapeGrid, ObjectsGrid objectsGrid) {
+		this.width = width;
+		this.height = height;
 		this.team = teamId;
-		this.sight = new byte[width][height];
-		this.hiddenLandscape = new ELandscapeType[width][height];
-		this.hiddenHeight = new byte[width][height];
-		this.hiddenMapObjects = new IMapObject[width][height];
-		this.visibleRefs = new short[width][height][0];
-		this.landscapeGrid = root.getLandscapeGrid();
-		this.objectsGrid = root.getObjectsGrid();
+		int size = width * height;
+		this.sight = new byte[size];
+		this.hiddenLandscape = new ELandscapeType[size];
+		this.hiddenHeight = new byte[size];
+		this.hiddenMapObjects = new IMapObject[size];
+		this.visibleRefs = new short[size * REF_LEVELS];
+		this.landscapeGrid = landscapeGrid;
+		this.objectsGrid = objectsGrid;
 
 		if(CommonConstants.FOG_OF_WAR_DEBUG_REFERENCES) {
-			this.namedRefs = new HashMap[width][height];
-			for (HashMap<Byte, LinkedList<Object>>[] a : namedRefs) {
-				for (int i = 0; i < a.length; i++) {
-					a[i] = new HashMap<>();
-				}
-			}
+			this.namedRefs = new HashMap<>();
 		} else {
 			namedRefs = null;
 		}
@@ -102,7 +141,8 @@ public final class FogOfWar implements Serializable {
 	}
 
 	public void start() {
-		instance = this;
+		context = GameContext.current();
+		context.setFogOfWar(this);
 		refThread.start();
 		dimThread.start();
 	}
@@ -112,11 +152,9 @@ public final class FogOfWar implements Serializable {
 		foWTask.from = from;
 		foWTask.to = to;
 		foWTask.at = at;
-		instance.refThread.nextTasks.add(foWTask);
+		GameContext.current().getFogOfWar().refThread.nextTasks.add(foWTask);
 	}
 
-	public static FogOfWar instance;
-
 	public void setBackgroundListener(IGraphicsBackgroundListener backgroundListener) {
 		if (backgroundListener != null) {
 			this.backgroundListener = backgroundListener;
@@ -125,10 +163,56 @@ public final class FogOfWar implements Serializable {
 		}
 	}
 
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private void writeObject(ObjectOutputStream oos) throws IOException {
+		byte[][] savedSight = new byte[width][height];
+		ELandscapeType[][] savedLandscape = new ELandscapeType[width][height];
+		byte[][] savedHeight = new byte[width][height];
+		IMapObject[][] savedMapObjects = new IMapObject[width][height];
+		short[][][] savedRefs = new short[width][height][];
+		HashMap<Byte, LinkedList<Object>>[][] savedNamedRefs = namedRefs != null ? new HashMap[width][height] : null;
+
+		for (int x = 0; x < width; x++) {
+			for (int y = 0; y < height; y++) {
+				int index = y * width + x;
+				savedSight[x][y] = sight[index];
+				savedLandscape[x][y] = hiddenLandscape[index];
+				savedHeight[x][y] = hiddenHeight[index];
+				savedMapObjects[x][y] = hiddenMapObjects[index];
+
+				int offset = index * REF_LEVELS;
+				int length = REF_LEVELS;
+				while (length > 0 && visibleRefs[offset + length - 1] == 0) {
+					length--;
+				}
+				savedRefs[x][y] = Arrays.copyOfRange(visibleRefs, offset, offset + length);
+
+				if (savedNamedRefs != null) {
+					HashMap<Byte, LinkedList<Object>> positionRefs = namedRefs.get(index);
+					savedNamedRefs[x][y] = positionRefs != null ? positionRefs : new HashMap<>();
+				}
+			}
+		}
+
+		ObjectOutputStream.PutField fields = oos.putFields();
+		fields.put("team", team);
+		fields.put("width", width);
+		fields.put("height", height);
+		fields.put("sight", savedSight);
+		fields.put("hiddenLandscape", savedLandscape);
+		fields.put("hiddenHeight", savedHeight);
+		fields.put("hiddenMapObjects", savedMapObjects);
+		fields.put("visibleRefs", savedRefs);
+		fields.put("namedRefs", savedNamedRefs);
+		fields.put("landscapeGrid", landscapeGrid);
+		fields.put("objectsGrid", objectsGrid);
+		oos.writeFields();
+	}
+
 	private void readObject(ObjectInputStream ois) throws IOException {
 		if(ois != null) {
 			try {
-				ois.defaultReadObject();
+				readFields(ois.readFields());
 			} catch (ClassNotFoundException e) {
 				throw new IllegalStateException("Invalid or corrupted save data.", e);
 			}
@@ -141,12 +225,64 @@ public final class FogOfWar implements Serializable {
 		backgroundListener = new MainGrid.NullBackgroundListener();
 	}
 
+	@SuppressWarnings("unchecked")
+	private void readFields(ObjectInputStream.GetField fields) throws IOException {
+		team = fields.get("team", (byte) 0);
+		width = fields.get("width", (short) 0);
+		height = fields.get("height", (short) 0);
+		landscapeGrid = (LandscapeGrid) fields.get("landscapeGrid", null);
+		objectsGrid = (ObjectsGrid) fields.get("objectsGrid", null);
+
+		byte[][] savedSight = (byte[][]) fields.get("sight", null);
+		ELandscapeType[][] savedLandscape = (ELandscapeType[][]) fields.get("hiddenLandscape", null);
+		byte[][] savedHeight = (byte[][]) fields.get("hiddenHeight", null);
+		IMapObject[][] savedMapObjects = (IMapObject[][]) fields.get("hiddenMapObjects", null);
+		short[][][] savedRefs = (short[][][]) fields.get("visibleRefs", null);
+		HashMap<Byte, LinkedList<Object>>[][] savedNamedRefs = (HashMap<Byte, LinkedList<Object>>[][]) fields.get("namedRefs", null);
+
+		int size = width * height;
+		sight = new byte[size];
+		hiddenLandscape = new ELandscapeType[size];
+		hiddenHeight = new byte[size];
+		hiddenMapObjects = new IMapObject[size];
+		visibleRefs = new short[size * REF_LEVELS];
+		namedRefs = savedNamedRefs != null ? new HashMap<>() : null;
+
+		for (int x = 0; x < width; x++) {
+			for (int y = 0; y < height; y++) {
+				int index = y * width + x;
+				sight[index] = savedSight[x][y];
+				hiddenLandscape[index] = savedLandscape[x][y];
+				hiddenHeight[index] = savedHeight[x][y];
+				hiddenMapObjects[index] = savedMapObjects[x][y];
+
+				short[] refs = savedRefs[x][y];
+				if (refs.length > REF_LEVELS) {
+					throw new InvalidObjectException("fog of war reference index out of range at " + x + "|" + y);
+				}
+				System.arraycopy(refs, 0, visibleRefs, index * REF_LEVELS, refs.length);
+
+				if (savedNamedRefs != null && !savedNamedRefs[x][y].isEmpty()) {
+					namedRefs.put(index, savedNamedRefs[x][y]);
+				}
+			}
+		}
+	}
+
 	public boolean isHidden(int x, int y) {
-		return enabled && hiddenLandscape[x][y] != null;
+		return enabled && hiddenLandscape[y * width + x] != null;
 	}
 
 	public ELandscapeType getLandscapeTypeAt(int x, int y) {
-		return hiddenLandscape[x][y];
+		return hiddenLandscape[y * width + x];
+	}
+
+	public byte getHiddenHeightAt(int x, int y) {
+		return hiddenHeight[y * width + x];
+	}
+
+	public IMapObject getHiddenMapObjectsAt(int x, int y) {
+		return hiddenMapObjects[y * width + x];
 	}
 
 	public static class BuildingFoWTask implements FoWTask {
@@ -173,10 +309,13 @@ public final class FogOfWar implements Serializable {
 	 * @return The status from 0 to visible.
 	 */
 	public final byte getVisibleStatus(int x, int y) {
-		return enabled ? sight[x][y] : CommonConstants.FOG_OF_WAR_VISIBLE;
+		return enabled ? sight[y * width + x] : CommonConstants.FOG_OF_WAR_VISIBLE;
 	}
 
-	public byte[][] getVisibleStatusArray() {
+	/**
+	 * @return The visible status of all positions, stored row major.
+	 */
+	public byte[] getVisibleStatusArray() {
 		return sight;
 	}
 
@@ -196,13 +335,13 @@ public final class FogOfWar implements Serializable {
 	public void showMap() {
 		ShowHideFoWTask foWTask = new ShowHideFoWTask();
 		foWTask.addRef = true;
-		instance.refThread.nextTasks.add(foWTask);
+		refThread.nextTasks.add(foWTask);
 	}
 
 	public void hideMap() {
 		ShowHideFoWTask foWTask = new ShowHideFoWTask();
 		foWTask.addRef = false;
-		instance.refThread.nextTasks.add(foWTask);
+		refThread.nextTasks.add(foWTask);
 	}
 
 	public static final int CIRCLE_REMOVE = 1;
@@ -263,8 +402,10 @@ public final class FogOfWar implements Serializable {
 
 				int vd = mFOW.getViewDistance();
 				if(!Objects.equals(oldPos, currentPos)) {
-					if(currentPos != null) circleDrawer.drawCircleToBuffer(currentPos, vd, CIRCLE_ADD|CIRCLE_DIM, mFOW);
-					if(oldPos != null) circleDrawer.drawCircleToBuffer(oldPos, vd, CIRCLE_REMOVE|CIRCLE_DIM, mFOW);
+					if(currentPos == null || oldPos == null || !circleDrawer.drawCircleMoveToBuffer(oldPos, currentPos, vd, mFOW)) {
+						if(currentPos != null) circleDrawer.drawCircleToBuffer(currentPos, vd, CIRCLE_ADD|CIRCLE_DIM, mFOW);
+						if(oldPos != null) circleDrawer.drawCircleToBuffer(oldPos, vd, CIRCLE_REMOVE|CIRCLE_DIM, mFOW);
+					}
 					mFOW.setOldFoWPosition(currentPos);
 				}
 				return removeMovable;
@@ -282,24 +423,38 @@ public final class FogOfWar implements Serializable {
 	}
 
 	public class FowDimThread extends FoWThread {
+		/**
+		 * Number of rows each band covers.
+		 */
+		private static final int BAND_HEIGHT = 32;
+		/**
+		 * Smaller maps are dimmed serially, the work per band does not pay for forking the tasks.
+		 */
+		private static final int MIN_PARALLEL_BANDS = 4;
+		/**
+		 * Dirty runs in a row that are at most this many positions apart are reported as one line.
+		 */
+		private static final int COALESCE_GAP = 3;
+
 		FowDimThread() {
 			super("FOW-dimmer");
 			size = width*height;
 			nextUpdate = new BitSet(size);
-			update = new BitSet(size);
+			pendingUpdate = new BitSet(size);
+
+			bands = new DimBand[(height + BAND_HEIGHT - 1) / BAND_HEIGHT];
+			for (int i = 0; i < bands.length; i++) {
+				bands[i] = new DimBand(i * BAND_HEIGHT, Math.min((i + 1) * BAND_HEIGHT, height));
+			}
 		}
 
 		public final BitSet nextUpdate;
-		public final BitSet update;
+		private final BitSet pendingUpdate;
+		private final DimBand[] bands;
 		private final int size;
 
 		@Override
 		public void taskProcessor() {
-			synchronized (nextUpdate) {
-				update.or(nextUpdate);
-				nextUpdate.clear();
-			}
-
 			double sync_factor = fc.getTime();
 			if (sync_factor == 0) sync_factor = 1.0 / CommonConstants.FOG_OF_WAR_DIM_FRAMERATE;
 			byte dim = 0;
@@ -307,88 +462,133 @@ public final class FogOfWar implements Serializable {
 				dim = (byte) Math.round(sync_factor * CommonConstants.FOG_OF_WAR_DIM * MatchConstants.clock().getGameSpeed());
 			}
 
+			dimAll(dim);
+
+			for (DimBand band : bands) {
+				for (int i = 0; i < band.dirtyCount; i += 3) {
+					backgroundListener.backgroundLineChangedAt(band.dirty[i + 1], band.dirty[i], band.dirty[i + 2]);
+				}
+			}
+
+			if(MatchConstants.clock() != null) {
+				framerate = (int) (CommonConstants.FOG_OF_WAR_DIM_FRAMERATE * MatchConstants.clock().getGameSpeed());
+
+				if(framerate > CommonConstants.FOG_OF_WAR_DIM_MAX_FRAMERATE) {
+					framerate = CommonConstants.FOG_OF_WAR_DIM_MAX_FRAMERATE;
+				}
+			} else {
+				framerate = CommonConstants.FOG_OF_WAR_DIM_NO_CLOCK_FRAMERATE;
+			}
+		}
 
-			int last = 0;
-			do {
-				int first = update.nextSetBit(last);
-				if (first == -1) break;
+		/**
+		 * Takes the positions marked for update and dims all bands. The bands only write their own rows of the grids, so they can be processed
+		 * in parallel if there are several cores and enough bands.
+		 */
+		void dimAll(byte dim) {
+			synchronized (nextUpdate) {
+				pendingUpdate.clear();
+				pendingUpdate.or(nextUpdate);
+				nextUpdate.clear();
+			}
 
-				last = update.nextClearBit(first);
-				if (last == -1) last = size;
+			if (Constants.PARALLEL_FOG_OF_WAR_DIMMING && bands.length >= MIN_PARALLEL_BANDS && ForkJoinPool.getCommonPoolParallelism() > 1) {
+				IntStream.range(0, bands.length).parallel().forEach(band -> bands[band].dim(pendingUpdate, dim));
+			} else {
+				for (DimBand band : bands) {
+					band.dim(pendingUpdate, dim);
+				}
+			}
+		}
 
-				int beginX = first % width;
-				int beginY = (first - beginX) / width;
+		/**
+		 * The rows [firstY, endY) of the map with their own update set and list of changed lines.
+		 */
+		private final class DimBand {
+			private final int offset;
+			private final int bandSize;
+			private final BitSet update;
+			/**
+			 * Changed lines as triples of y, x and length.
+			 */
+			private int[] dirty = new int[3 * 16];
+			private int dirtyCount;
+
+			DimBand(int firstY, int endY) {
+				offset = firstY * width;
+				bandSize = (endY - firstY) * width;
+				update = new BitSet(bandSize);
+			}
 
-				int endX = last % width;
-				int endY = (last - endX) / width;
+			void dim(BitSet pending, byte dim) {
+				for (int i = pending.nextSetBit(offset); i >= 0 && i < offset + bandSize; i = pending.nextSetBit(i + 1)) {
+					update.set(i - offset);
+				}
 
-				for (int y = beginY; y <= endY; y++) {
-					int firstUpdate = -1;
-					int lastUpdate = -1;
+				dirtyCount = 0;
+				int lineY = -1;
+				int lineFirstX = -1;
+				int lineLastX = -1;
 
-					int x = y == beginY ? beginX : 0;
-					int x2 = y == endY ? endX : width;
-					for(; x < x2; x++) {
-						final byte refSight = refSight(x, y);
-						final byte dimTo = targetSight(x, y, refSight);
-						final byte oldSight = sight[x][y];
+				for (int i = update.nextSetBit(0); i >= 0; i = update.nextSetBit(i + 1)) {
+					final int index = offset + i;
+					final int x = index % width;
+					final int y = index / width;
 
-						final byte newSight = dim(sight[x][y], dimTo, dim);
+					final byte refSight = refSight(index);
+					final byte dimTo = targetSight(index, refSight);
+					final byte oldSight = sight[index];
 
-						if(oldSight <= CommonConstants.FOG_OF_WAR_EXPLORED && newSight > CommonConstants.FOG_OF_WAR_EXPLORED) {
-							clearHidden(x, y);
-						} else if((oldSight > CommonConstants.FOG_OF_WAR_EXPLORED && newSight <= CommonConstants.FOG_OF_WAR_EXPLORED) ||
-								(oldSight <= CommonConstants.FOG_OF_WAR_EXPLORED && refSight < oldSight)) {
-							recordHidden(x, y);
-						}
+					final byte newSight = FogOfWar.dim(oldSight, dimTo, dim);
 
-						sight[x][y] = newSight;
+					if(oldSight <= CommonConstants.FOG_OF_WAR_EXPLORED && newSight > CommonConstants.FOG_OF_WAR_EXPLORED) {
+						clearHidden(index);
+					} else if((oldSight > CommonConstants.FOG_OF_WAR_EXPLORED && newSight <= CommonConstants.FOG_OF_WAR_EXPLORED) ||
+							(oldSight <= CommonConstants.FOG_OF_WAR_EXPLORED && refSight < oldSight)) {
+						recordHidden(x, y, index);
+					}
 
-						if(dimTo != oldSight) {
-							if(lastUpdate + 1 != x) {
-								if(firstUpdate != -1) update(y, firstUpdate, lastUpdate);
-								firstUpdate = lastUpdate = x;
-							} else {
-								if(firstUpdate == -1) firstUpdate = x;
-								lastUpdate = x;
-							}
+					sight[index] = newSight;
 
-							if(sight[x][y] == dimTo) update.clear(y * width + x);
+					if(dimTo != oldSight) {
+						if(y == lineY && x - lineLastX <= COALESCE_GAP) {
+							lineLastX = x;
 						} else {
-							update.set(y * width + x, false);
+							if(lineY != -1) addDirtyLine(lineY, lineFirstX, lineLastX);
+							lineY = y;
+							lineFirstX = lineLastX = x;
 						}
-					}
-					if (firstUpdate != -1) {
-						update(y, firstUpdate, lastUpdate);
+
+						if(newSight == dimTo) update.clear(i);
+					} else {
+						update.clear(i);
 					}
 				}
-			} while (last < size);
-			if(MatchConstants.clock() != null) {
-				framerate = (int) (CommonConstants.FOG_OF_WAR_DIM_FRAMERATE * MatchConstants.clock().getGameSpeed());
 
-				if(framerate > CommonConstants.FOG_OF_WAR_DIM_MAX_FRAMERATE) {
-					framerate = CommonConstants.FOG_OF_WAR_DIM_MAX_FRAMERATE;
-				}
-			} else {
-				framerate = CommonConstants.FOG_OF_WAR_DIM_NO_CLOCK_FRAMERATE;
+				if(lineY != -1) addDirtyLine(lineY, lineFirstX, lineLastX);
 			}
-		}
 
-		private void update(int y, int from, int to) {
-			backgroundListener.backgroundLineChangedAt(from, y, to-from);
+			private void addDirtyLine(int y, int firstX, int lastX) {
+				if(dirtyCount == dirty.length) {
+					dirty = Arrays.copyOf(dirty, dirty.length * 2);
+				}
+				dirty[dirtyCount++] = y;
+				dirty[dirtyCount++] = firstX;
+				dirty[dirtyCount++] = lastX - firstX + 1;
+			}
 		}
 	}
 
-	private void clearHidden(int x, int y) {
-		hiddenLandscape[x][y] = null;
-		hiddenHeight[x][y] = -1;
-		hiddenMapObjects[x][y] = null;
+	private void clearHidden(int index) {
+		hiddenLandscape[index] = null;
+		hiddenHeight[index] = -1;
+		hiddenMapObjects[index] = null;
 	}
 
-	private void recordHidden(int x, int y) {
-		hiddenLandscape[x][y] = landscapeGrid.getLandscapeTypeAt(x, y);
-		hiddenHeight[x][y] = landscapeGrid.getHeightAt(x, y);
-		hiddenMapObjects[x][y] = recordMapObjects(objectsGrid.getObjectsAt(x, y));
+	private void recordHidden(int x, int y, int index) {
+		hiddenLandscape[index] = landscapeGrid.getLandscapeTypeAt(x, y);
+		hiddenHeight[index] = landscapeGrid.getHeightAt(x, y);
+		hiddenMapObjects[index] = recordMapObjects(objectsGrid.getObjectsAt(x, y));
 	}
 
 	private IMapObject recordMapObjects(AbstractHexMapObject objects) {
@@ -424,9 +624,9 @@ public final class FogOfWar implements Serializable {
 		else return (byte) (value-dim);
 	}
 
-	final byte targetSight(int x, int y, byte refValue) {
+	final byte targetSight(int index, byte refValue) {
 
-		byte currentValue = sight[x][y];
+		byte currentValue = sight[index];
 
 		if(currentValue >= CommonConstants.FOG_OF_WAR_EXPLORED && refValue < CommonConstants.FOG_OF_WAR_EXPLORED) {
 			return CommonConstants.FOG_OF_WAR_EXPLORED;
@@ -439,18 +639,15 @@ public final class FogOfWar implements Serializable {
 		return refValue;
 	}
 
-	final byte refSight(int x, int y) {
-		short[] refs = instance.visibleRefs[x][y];
-		if(refs.length == 0) return 0;
-
-		byte value = CommonConstants.FOG_OF_WAR_VISIBLE;
+	final byte refSight(int index) {
+		short[] refs = visibleRefs;
+		int offset = index * REF_LEVELS;
 
-		for(int i = 0;i != refs.length;i++) {
-			if(refs[i] > 0) break;
-			value -= 10;
+		for(int i = 0;i != REF_LEVELS;i++) {
+			if(refs[offset + i] > 0) return (byte) (CommonConstants.FOG_OF_WAR_VISIBLE - 10 * i);
 		}
 
-		return value;
+		return 0;
 	}
 
 	public abstract class FoWThread extends Thread {
@@ -464,14 +661,17 @@ public final class FogOfWar implements Serializable {
 
 		@Override
 		public final void run() {
+			context.bindToCurrentThread();
 			init();
 
 			while (!canceled) {
+				long startNanos = SubsystemTimes.start();
 				try {
 					taskProcessor();
 				} catch(Throwable ex) {
 					ex.printStackTrace();
 				}
+				MatchConstants.subsystemTimes().stop(ESubsystem.FOG_OF_WAR, startNanos);
 				fc.nextFrame(framerate);
 			}
 		}
@@ -488,13 +688,11 @@ public final class FogOfWar implements Serializable {
 	}
 
 	public int maxIndex(int x, int y) {
-		short[] array = instance.visibleRefs[x][y];
-		int lastEntry = array.length-1;
-
-		if(array.length == 0) return 0;
+		short[] refs = visibleRefs;
+		int offset = (y * width + x) * REF_LEVELS;
 
-		for(int i = lastEntry;i >= 0;i--) {
-			if(array[i] > 0) return i+1;
+		for(int i = REF_LEVELS - 1;i >= 0;i--) {
+			if(refs[offset + i] > 0) return i+1;
 		}
 		return 0;
 	}
@@ -541,8 +739,23 @@ public final class FogOfWar implements Serializable {
 		}
 	}
 
-	private LinkedList<Object> getNamedRefList(int x, int y, byte index) {
-		return instance.namedRefs[x][y].computeIfAbsent(index, i -> new LinkedList<>());
+	private LinkedList<Object> getNamedRefList(int position, byte index) {
+		return namedRefs.computeIfAbsent(position, p -> new HashMap<>()).computeIfAbsent(index, i -> new LinkedList<>());
+	}
+
+	private void removeNamedRef(int position, byte index, Object reference) {
+		HashMap<Byte, LinkedList<Object>> positionRefs = namedRefs.get(position);
+		LinkedList<Object> refList = positionRefs != null ? positionRefs.get(index) : null;
+
+		if(refList == null || !refList.removeLastOccurrence(reference)) {
+			System.err.println("Fog of war reference error on " + reference);
+			return;
+		}
+
+		if(refList.isEmpty()) {
+			positionRefs.remove(index);
+			if(positionRefs.isEmpty()) namedRefs.remove(position);
+		}
 	}
 
 	final class CircleDrawer {
@@ -558,46 +771,66 @@ public final class FogOfWar implements Serializable {
 			draw(iterator, state, reference);
 		}
 
+		/**
+		 * Moves a circle from oldPosition to newPosition by only updating the positions whose reference changes.
+		 *
+		 * @return <code>false</code> if the positions are too far apart. Nothing has been drawn in that case.
+		 */
+		final boolean drawCircleMoveToBuffer(ShortPoint2D oldPosition, ShortPoint2D newPosition, int viewDistance, Object reference) {
+			CachedViewCircle.DeltaMask mask = getCachedCircle(viewDistance).getDeltaMask(newPosition.x - oldPosition.x, newPosition.y - oldPosition.y);
+			if (mask == null) {
+				return false;
+			}
+
+			for (int i = 0; i < mask.size; i++) {
+				final int x = mask.x[i] + newPosition.x;
+				final int y = mask.y[i] + newPosition.y;
+
+				if (x >= 0 && x < width && y > 0 && y < height) {
+					final int position = y * width + x;
+
+					if(mask.addIndex[i] >= 0) addRef(position, mask.addIndex[i], reference);
+					if(mask.removeIndex[i] >= 0) removeRef(position, mask.removeIndex[i], reference);
+					markForDim(position);
+				}
+			}
+			return true;
+		}
+
 		final void draw(ViewAreaIterator iterator, int state, Object reference) {
 			while (iterator.hasNext()) {
 				final int x = iterator.getCurrX();
 				final int y = iterator.getCurrY();
 
 				if (x >= 0 && x < width && y > 0 && y < height) {
+					final int position = y * width + x;
 					byte tmpIndex = iterator.getRefIndex();
 
-					if((state&CIRCLE_ADD) > 0) {
-						if(instance.visibleRefs[x][y].length <= tmpIndex) { // enlarge ref index array
-							short[] tmpRef = instance.visibleRefs[x][y];
-							instance.visibleRefs[x][y] = new short[tmpIndex+1];
-							System.arraycopy(tmpRef, 0, instance.visibleRefs[x][y], 0, tmpRef.length);
-						}
+					if((state&CIRCLE_ADD) > 0) addRef(position, tmpIndex, reference);
+					if((state&CIRCLE_REMOVE) > 0) removeRef(position, tmpIndex, reference);
+					if((state&CIRCLE_DIM) > 0) markForDim(position);
+				}
+			}
+		}
 
-						if(CommonConstants.FOG_OF_WAR_DEBUG_REFERENCES) {
-							getNamedRefList(x, y, tmpIndex).add(reference);
-						}
-						instance.visibleRefs[x][y][tmpIndex]++;
-					}
-					if((state&CIRCLE_REMOVE) > 0) {
-						if(CommonConstants.FOG_OF_WAR_DEBUG_REFERENCES &&
-								!getNamedRefList(x, y, tmpIndex).removeLastOccurrence(reference)) {
-							System.err.println("Fog of war reference error on " + reference);
-						}
-						instance.visibleRefs[x][y][tmpIndex]--;
-						if(instance.visibleRefs[x][y][tmpIndex] == 0 && instance.visibleRefs[x][y].length == tmpIndex+1) { // minimize ref index array size
-							int newLength = maxIndex(x, y);
+		private void addRef(int position, byte index, Object reference) {
+			if(CommonConstants.FOG_OF_WAR_DEBUG_REFERENCES) {
+				getNamedRefList(position, index).add(reference);
+			}
+			visibleRefs[position * REF_LEVELS + index]++;
+		}
 
-							short[] tmpRef = instance.visibleRefs[x][y];
-							instance.visibleRefs[x][y] = new short[newLength];
-							System.arraycopy(tmpRef, 0, instance.visibleRefs[x][y], 0, newLength);
-						}
-					}
+		private void removeRef(int position, byte index, Object reference) {
+			if(CommonConstants.FOG_OF_WAR_DEBUG_REFERENCES) {
+				removeNamedRef(position, index, reference);
+			}
+			visibleRefs[position * REF_LEVELS + index]--;
+		}
 
-					if((state&CIRCLE_DIM) > 0 && sight[x][y] != refSight(x, y)) {
-						synchronized (instance.dimThread.nextUpdate) {
-							instance.dimThread.nextUpdate.set(y*width+x);
-						}
-					}
+		private void markForDim(int position) {
+			if(sight[position] != refSight(position)) {
+				synchronized (dimThread.nextUpdate) {
+					dimThread.nextUpdate.set(position);
 				}
 			}
 		}
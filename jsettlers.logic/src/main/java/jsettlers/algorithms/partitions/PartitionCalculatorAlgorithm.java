@@ -18,7 +18,9 @@ import jsettlers.common.movable.EDirection;
 import jsettlers.common.position.ShortPoint2D;
 import jsettlers.common.utils.coordinates.CoordinateStream;
 
+import java.util.Arrays;
 import java.util.BitSet;
+import java.util.stream.IntStream;
 
 /**
  * An algorithm to calculate partitions for a given set of positions.
@@ -35,6 +37,10 @@ public final class PartitionCalculatorAlgorithm {
 	private static final int[] neighborX = { EDirection.WEST.gridDeltaX, EDirection.NORTH_WEST.gridDeltaX, EDirection.NORTH_EAST.gridDeltaX };
 	private static final int[] neighborY = { EDirection.WEST.gridDeltaY, EDirection.NORTH_WEST.gridDeltaY, EDirection.NORTH_EAST.gridDeltaY };
 	private static final int INCREASE_FACTOR = 2;
+	/**
+	 * Number of rows each band of {@link #calculatePartitionsInParallel()} covers.
+	 */
+	private static final int BAND_HEIGHT = 32;
 
 	private final int minX;
 	private final int minY;
@@ -163,9 +169,14 @@ public final class PartitionCalculatorAlgorithm {
 						}
 					}
 
-					if (westPartition != -1 && northEastPartition != -1 && partitions[westPartition] != partitions[northEastPartition]) {
+					if (westPartition != -1 && northEastPartition != -1) {
+						westPartition = getRepresentative(westPartition);
+						northEastPartition = getRepresentative(northEastPartition);
+					}
+
+					if (westPartition != -1 && northEastPartition != -1 && westPartition != northEastPartition) {
 						// mergePartitions if west and northeast are not equal, not blocked but already set
-						short newPartition = (short) Math.min(partitions[westPartition], partitions[northEastPartition]);
+						short newPartition = (short) Math.min(westPartition, northEastPartition);
 						partitions[westPartition] = newPartition;
 						partitions[northEastPartition] = newPartition;
 						partitionsGrid[index] = newPartition;
@@ -184,6 +195,196 @@ public final class PartitionCalculatorAlgorithm {
 		normalizePartitions();
 	}
 
+	/**
+	 * Calculates the partitions like {@link #calculatePartitions()}, but labels horizontal bands of the grid in parallel on all cores. The bands are
+	 * merged along their borders afterwards. <br>
+	 * The partitions are numbered in the order of their first position in the grid and the border position of a partition is its first position,
+	 * so the result does not depend on the number of bands or the thread scheduling.
+	 */
+	public void calculatePartitionsInParallel() {
+		int[] parents = new int[width * height];
+
+		LabelBand[] bands = new LabelBand[(height + BAND_HEIGHT - 1) / BAND_HEIGHT];
+		for (int i = 0; i < bands.length; i++) {
+			bands[i] = new LabelBand(i * BAND_HEIGHT * width, Math.min((i + 1) * BAND_HEIGHT, height) * width);
+		}
+
+		IntStream.range(0, bands.length).parallel().forEach(band -> bands[band].label(parents));
+
+		// the border rows are small compared to the bands, so they are merged serially
+		for (int i = 1; i < bands.length; i++) {
+			bands[i].mergeWithPreviousBands(parents);
+		}
+
+		// number the remaining roots; a root is the first position of its partition, so iterating the bands in order numbers them by first position
+		short nextPartition = NUMBER_OF_RESERVED_PARTITIONS;
+		for (LabelBand band : bands) {
+			for (int i = 0; i < band.numberOfRoots; i++) {
+				int root = band.roots[i];
+				if (parents[root] == root) {
+					if (nextPartition >= partitions.length) {
+						increasePartitionArraySize();
+					}
+					partitions[nextPartition] = nextPartition;
+					partitionBorderPositions[nextPartition] = new ShortPoint2D(minX + root % width, minY + root / width);
+					parents[root] = -nextPartition;
+					nextPartition++;
+				}
+			}
+		}
+
+		IntStream.range(0, bands.length).parallel().forEach(band -> bands[band].writePartitions(parents));
+
+		nextFreePartition = nextPartition;
+		neededPartitions = nextPartition;
+	}
+
+	private boolean isLabeled(int index) {
+		return index >= 0 && containing.get(index) && partitionsGrid[index] != BLOCKED_PARTITION;
+	}
+
+	/**
+	 * Links the trees of the given positions in the union find structure. The smaller root always becomes the root of the union, so a root is always
+	 * the first position of its tree.
+	 */
+	private static void union(int[] parents, int index1, int index2) {
+		int root1 = findRoot(parents, index1);
+		int root2 = findRoot(parents, index2);
+
+		if (root1 < root2) {
+			parents[root2] = root1;
+		} else if (root2 < root1) {
+			parents[root1] = root2;
+		}
+	}
+
+	private static int findRoot(int[] parents, int index) {
+		while (parents[index] != index) {
+			int grandParent = parents[parents[index]];
+			parents[index] = grandParent; // path halving
+			index = grandParent;
+		}
+		return index;
+	}
+
+	/**
+	 * A band of rows of the grid. Every band only writes the entries of its own positions, so the bands can be labeled in parallel.
+	 */
+	private final class LabelBand {
+		private final int startIndex;
+		private final int endIndex;
+
+		private int[] roots = new int[16];
+		private int numberOfRoots;
+
+		LabelBand(int startIndex, int endIndex) {
+			this.startIndex = startIndex;
+			this.endIndex = endIndex;
+		}
+
+		/**
+		 * Links every position of this band with its already visited neighbors in this band. Afterwards, every position points directly to the root of
+		 * its tree in this band.
+		 */
+		void label(int[] parents) {
+			for (int index = startIndex; index < endIndex; index++) {
+				if (!containing.get(index)) {
+					continue;
+				}
+
+				int x = index % width;
+				if (blockingProvider.isBlocked(minX + x, minY + index / width)) {
+					partitionsGrid[index] = BLOCKED_PARTITION;
+					continue;
+				}
+
+				int northWestIndex = index - width - 1;
+				if (northWestIndex >= startIndex && isLabeled(northWestIndex)) {
+					// the west and north east neighbors are neighbors of the north west one, so they are already linked with it
+					parents[index] = findRoot(parents, northWestIndex);
+					continue;
+				}
+
+				int root = index;
+				for (int neighbor = 0; neighbor < neighborX.length; neighbor++) {
+					int neighborIndex = index + neighborX[neighbor] + neighborY[neighbor] * width;
+					if (neighborIndex >= startIndex && isLabeled(neighborIndex)) {
+						int neighborRoot = findRoot(parents, neighborIndex);
+						if (neighborRoot < root) {
+							if (root != index) {
+								parents[root] = neighborRoot;
+							}
+							root = neighborRoot;
+						} else if (root < neighborRoot) {
+							parents[neighborRoot] = root;
+						}
+					}
+				}
+				parents[index] = root;
+			}
+
+			for (int index = startIndex; index < endIndex; index++) {
+				if (isLabeled(index)) {
+					int parent = parents[parents[index]]; // the parent has a smaller index and already points to its root
+					parents[index] = parent;
+					if (parent == index) {
+						addRoot(index);
+					}
+				}
+			}
+		}
+
+		private void addRoot(int root) {
+			if (numberOfRoots == roots.length) {
+				roots = Arrays.copyOf(roots, numberOfRoots * INCREASE_FACTOR);
+			}
+			roots[numberOfRoots++] = root;
+		}
+
+		/**
+		 * Links the positions of the first row of this band with their neighbors in the bands before.
+		 */
+		void mergeWithPreviousBands(int[] parents) {
+			for (int index = startIndex; index < Math.min(startIndex + width, endIndex); index++) {
+				if (!isLabeled(index)) {
+					continue;
+				}
+
+				for (int neighbor = 0; neighbor < neighborX.length; neighbor++) {
+					int neighborIndex = index + neighborX[neighbor] + neighborY[neighbor] * width;
+					if (neighborIndex < startIndex && isLabeled(neighborIndex)) {
+						union(parents, index, neighborIndex);
+					}
+				}
+			}
+		}
+
+		/**
+		 * Writes the partitions of this band. The roots must already contain their negated partition.
+		 */
+		void writePartitions(int[] parents) {
+			for (int index = startIndex; index < endIndex; index++) {
+				if (isLabeled(index)) {
+					int parent = parents[index];
+					while (parent >= 0) {
+						parent = parents[parent];
+					}
+					partitionsGrid[index] = (short) -parent;
+				}
+			}
+		}
+	}
+
+	private short getRepresentative(int partition) {
+		short representative = (short) partition;
+		short nextRep;
+
+		while (representative != (nextRep = partitions[representative])) {
+			representative = nextRep;
+		}
+		return representative;
+	}
+
 	private short createNewPartition(int y, int x) {
 		short newPartition = nextFreePartition;
 
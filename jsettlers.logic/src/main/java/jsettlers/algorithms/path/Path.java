@@ -37,6 +37,17 @@ public class Path implements Serializable {
 		pathY = new short[length];
 	}
 
+	/**
+	 * Creates a copy of the given path that starts at its first step.
+	 *
+	 * @param path
+	 *            The path to be copied.
+	 */
+	public Path(Path path) {
+		pathX = path.pathX.clone();
+		pathY = path.pathY.clone();
+	}
+
 	/**
 	 * Concatenates two paths
 	 *
@@ -0,0 +1,63 @@
+/*******************************************************************************
+ * Copyright (c) 2015
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path.arrays;
+
+import java.util.Arrays;
+
+/**
+ * Open and closed flags of the nodes of a search that can be reset in O(1).
+ * <p>
+ * Every node stores the stamp of the search that touched it last. Starting a new search only increases the current stamp, so all nodes of the
+ * previous search become unvisited without touching the array. Only when the stamps overflow, the array is cleared once.
+ */
+public final class StampedSearchState {
+	private final int[] stamps;
+	private int openStamp = 0;
+
+	public StampedSearchState(int numberOfNodes) {
+		this.stamps = new int[numberOfNodes];
+	}
+
+	/**
+	 * Marks all nodes as unvisited.
+	 */
+	public void startSearch() {
+		if (openStamp >= Integer.MAX_VALUE - 2) {
+			Arrays.fill(stamps, 0);
+			openStamp = 0;
+		}
+		openStamp += 2;
+	}
+
+	public boolean isVisited(int node) {
+		return stamps[node] >= openStamp;
+	}
+
+	public boolean isOpen(int node) {
+		return stamps[node] == openStamp;
+	}
+
+	public boolean isClosed(int node) {
+		return stamps[node] == openStamp + 1;
+	}
+
+	public void setOpen(int node) {
+		stamps[node] = openStamp;
+	}
+
+	public void setClosed(int node) {
+		stamps[node] = openStamp + 1;
+	}
+}
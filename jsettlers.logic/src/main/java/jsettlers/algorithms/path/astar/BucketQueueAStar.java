@@ -14,11 +14,10 @@
  *******************************************************************************/
 package jsettlers.algorithms.path.astar;
 
-import java.util.BitSet;
-
 import jsettlers.algorithms.path.IPathCalculatable;
 import jsettlers.algorithms.path.InvalidStartPositionException;
 import jsettlers.algorithms.path.Path;
+import jsettlers.algorithms.path.arrays.StampedSearchState;
 import jsettlers.algorithms.path.astar.queues.bucket.AbstractBucketQueue;
 import jsettlers.algorithms.path.astar.queues.bucket.ListMinBucketQueue;
 import jsettlers.common.movable.EDirection;
@@ -39,14 +38,15 @@ public final class BucketQueueAStar extends AbstractAStar {
 	private final short height;
 	private final short width;
 
-	private final BitSet openBitSet;
-	private final BitSet closedBitSet;
+	private final StampedSearchState searchState;
 
 	private final float[] costs;
 	private final int[]   depthParentHeap;
 
 	private final AbstractBucketQueue open;
 
+	private PathCache pathCache;
+
 	public BucketQueueAStar(IAStarPathMap map, short width, short height) {
 		this.map = map;
 		this.width = width;
@@ -54,13 +54,22 @@ public final class BucketQueueAStar extends AbstractAStar {
 
 		this.open = new ListMinBucketQueue(width * height);
 
-		this.openBitSet = new BitSet(width * height);
-		this.closedBitSet = new BitSet(width * height);
+		this.searchState = new StampedSearchState(width * height);
 		this.costs = new float[width * height];
 
 		this.depthParentHeap = new int[width * height * 2];
 	}
 
+	/**
+	 * Sets the cache used for the found paths.
+	 *
+	 * @param pathCache
+	 *            the cache or null to disable caching.
+	 */
+	public void setPathCache(PathCache pathCache) {
+		this.pathCache = pathCache;
+	}
+
 	@Override
 	public final Path findPath(IPathCalculatable requester, ShortPoint2D target) {
 		ShortPoint2D pos = requester.getPosition();
@@ -87,15 +96,23 @@ public final class BucketQueueAStar extends AbstractAStar {
 			blockedAtStartPartition = -1;
 		}
 
-		final int targetFlatIdx = getFlatIdx(tx, ty);
+		final boolean cacheable = pathCache != null && blockedAtStartPartition < 0 && pathCache.isCacheable(requester, sx, sy);
+		if (cacheable) {
+			Path cachedPath = pathCache.get(requester, sx, sy, tx, ty);
+			if (cachedPath != null) {
+				return cachedPath;
+			}
+		}
 
-		closedBitSet.clear();
-		openBitSet.clear();
+		final int targetFlatIdx = getFlatIdx(tx, ty);
 
+		searchState.startSearch();
 		open.clear();
 		boolean found = false;
 		initStartNode(sx, sy, tx, ty);
 
+		int closedMinX = sx, closedMinY = sy, closedMaxX = sx, closedMaxY = sy;
+
 		while (!open.isEmpty()) {
 			int currFlatIdx = open.deleteMin();
 
@@ -103,6 +120,10 @@ public final class BucketQueueAStar extends AbstractAStar {
 			final int y = getY(currFlatIdx);
 
 			setClosed(x, y);
+			closedMinX = Math.min(closedMinX, x);
+			closedMinY = Math.min(closedMinY, y);
+			closedMaxX = Math.max(closedMaxX, x);
+			closedMaxY = Math.max(closedMaxY, y);
 
 			if (targetFlatIdx == currFlatIdx) {
 				found = true;
@@ -118,10 +139,10 @@ public final class BucketQueueAStar extends AbstractAStar {
 				if (isValidPosition(requester, x, y, neighborX, neighborY, blockedAtStartPartition)) {
 					final int flatNeighborIdx = getFlatIdx(neighborX, neighborY);
 
-					if (!closedBitSet.get(flatNeighborIdx)) {
+					if (!searchState.isClosed(flatNeighborIdx)) {
 						final float newCosts = currPositionCosts + map.getCost(requester, x, y, neighborX, neighborY);
 
-						if (openBitSet.get(flatNeighborIdx)) {
+						if (searchState.isOpen(flatNeighborIdx)) {
 							final float oldCosts = costs[flatNeighborIdx];
 
 							if (oldCosts > newCosts) {
@@ -137,7 +158,7 @@ public final class BucketQueueAStar extends AbstractAStar {
 							costs[flatNeighborIdx] = newCosts;
 							depthParentHeap[getDepthIdx(flatNeighborIdx)] = depthParentHeap[getDepthIdx(currFlatIdx)] + 1;
 							depthParentHeap[getParentIdx(flatNeighborIdx)] = currFlatIdx;
-							openBitSet.set(flatNeighborIdx);
+							searchState.setOpen(flatNeighborIdx);
 							open.insert(flatNeighborIdx, newCosts + getHeuristicCost(neighborX, neighborY, tx, ty));
 
 							map.markAsOpen(neighborX, neighborY);
@@ -160,6 +181,9 @@ public final class BucketQueueAStar extends AbstractAStar {
 				parentFlatIdx = depthParentHeap[getParentIdx(parentFlatIdx)];
 			}
 
+			if (cacheable) { // the search read the closed positions and their neighbors
+				pathCache.put(requester, sx, sy, tx, ty, path, closedMinX - 1, closedMinY - 1, closedMaxX + 1, closedMaxY + 1);
+			}
 			return path;
 		}
 
@@ -175,7 +199,7 @@ public final class BucketQueueAStar extends AbstractAStar {
 	}
 
 	private void setClosed(int x, int y) {
-		closedBitSet.set(getFlatIdx(x, y));
+		searchState.setClosed(getFlatIdx(x, y));
 		map.markAsClosed(x, y);
 	}
 
@@ -186,7 +210,7 @@ public final class BucketQueueAStar extends AbstractAStar {
 		costs[flatIdx] = 0;
 
 		open.insert(flatIdx, getHeuristicCost(sx, sy, tx, ty));
-		openBitSet.set(flatIdx);
+		searchState.setOpen(flatIdx);
 	}
 
 	private boolean isValidPosition(IPathCalculatable requester, int fromX, int fromY, int toX, int toY, short blockedAtStartPartition) {
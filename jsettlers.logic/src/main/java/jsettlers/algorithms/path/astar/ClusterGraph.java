@@ -0,0 +1,335 @@
+/*******************************************************************************
+ * Copyright (c) 2015
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path.astar;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+
+import jsettlers.algorithms.path.arrays.StampedSearchState;
+
+/**
+ * Abstract graph used by the {@link HierarchicalAStar} for one ground restriction.
+ * <p>
+ * The map is divided into square clusters. Every maximal run of open position pairs that cross a cluster border with the same direction is an
+ * entrance. An entrance gets a portal in its middle and, if it is long, one more portal at each of its ends. A portal consists of two nodes, one on each
+ * side of the border. The nodes of a cluster are connected with the lengths of their shortest paths inside the cluster. As every crossing of a
+ * border belongs to an entrance, two positions are connected in this graph if, and only if, they are connected on the map.
+ * <p>
+ * Changes of the map are only recorded by {@link #setDirty(int, int)}. The affected clusters are rebuilt on the next call to {@link #update()}.
+ */
+final class ClusterGraph {
+	private static final PortalNode[] NO_NODES = new PortalNode[0];
+	private static final int LONG_ENTRANCE_LENGTH = 6;
+
+	private final IHierarchicalAStarMap map;
+	private final byte groundPlayerId;
+	private final short width;
+	private final short height;
+	private final int clusterSize;
+	private final int clustersX;
+	private final int clustersY;
+
+	/**
+	 * Nodes on the owning cluster's side of its east and south border. Their partners are on the other side of the border.
+	 */
+	private final PortalNode[][] borderNodes;
+	private final PortalNode[][] clusterNodes;
+
+	private final BitSet dirtyClusters;
+	private final BitSet dirtyBorders;
+	private final BitSet changedClusters;
+	private final ArrayList<PortalNode> nodesBuffer = new ArrayList<>();
+
+	private final int[] distances;
+	private final StampedSearchState distancesState;
+	private final int[] queue;
+	private int distancesX0;
+	private int distancesY0;
+
+	ClusterGraph(IHierarchicalAStarMap map, byte groundPlayerId, short width, short height, int clusterSize) {
+		this.map = map;
+		this.groundPlayerId = groundPlayerId;
+		this.width = width;
+		this.height = height;
+		this.clusterSize = clusterSize;
+		this.clustersX = (width + clusterSize - 1) / clusterSize;
+		this.clustersY = (height + clusterSize - 1) / clusterSize;
+
+		int numberOfClusters = clustersX * clustersY;
+		this.borderNodes = new PortalNode[numberOfClusters][];
+		this.clusterNodes = new PortalNode[numberOfClusters][];
+		this.dirtyClusters = new BitSet(numberOfClusters);
+		this.dirtyBorders = new BitSet(numberOfClusters);
+		this.changedClusters = new BitSet(numberOfClusters);
+
+		this.distances = new int[clusterSize * clusterSize];
+		this.distancesState = new StampedSearchState(clusterSize * clusterSize);
+		this.queue = new int[clusterSize * clusterSize];
+
+		dirtyClusters.set(0, numberOfClusters);
+	}
+
+	int getCluster(int x, int y) {
+		return (y / clusterSize) * clustersX + x / clusterSize;
+	}
+
+	PortalNode[] getNodes(int cluster) {
+		return clusterNodes[cluster];
+	}
+
+	void setDirty(int x, int y) {
+		dirtyClusters.set(getCluster(x, y));
+	}
+
+	/**
+	 * Rebuilds the portals touching a dirty cluster and the connections of all clusters whose portals changed.
+	 */
+	void update() {
+		if (dirtyClusters.isEmpty()) {
+			return;
+		}
+
+		for (int cluster = dirtyClusters.nextSetBit(0); cluster >= 0; cluster = dirtyClusters.nextSetBit(cluster + 1)) {
+			int clusterX = cluster % clustersX;
+			int clusterY = cluster / clustersX;
+
+			dirtyBorders.set(cluster);
+			if (clusterX > 0) {
+				dirtyBorders.set(cluster - 1);
+			}
+			if (clusterY > 0) {
+				dirtyBorders.set(cluster - clustersX);
+			}
+			if (clusterX > 0 && clusterY > 0) {
+				dirtyBorders.set(cluster - clustersX - 1);
+			}
+		}
+
+		for (int owner = dirtyBorders.nextSetBit(0); owner >= 0; owner = dirtyBorders.nextSetBit(owner + 1)) {
+			int ownerX = owner % clustersX;
+			int ownerY = owner / clustersX;
+			computeBorderNodes(ownerX, ownerY);
+
+			changedClusters.set(owner);
+			if (ownerX + 1 < clustersX) {
+				changedClusters.set(owner + 1);
+			}
+			if (ownerY + 1 < clustersY) {
+				changedClusters.set(owner + clustersX);
+			}
+			if (ownerX + 1 < clustersX && ownerY + 1 < clustersY) {
+				changedClusters.set(owner + clustersX + 1);
+			}
+		}
+
+		for (int cluster = changedClusters.nextSetBit(0); cluster >= 0; cluster = changedClusters.nextSetBit(cluster + 1)) {
+			computeClusterNodes(cluster);
+		}
+
+		dirtyClusters.clear();
+		dirtyBorders.clear();
+		changedClusters.clear();
+	}
+
+	private void computeBorderNodes(int ownerX, int ownerY) {
+		int x0 = ownerX * clusterSize;
+		int y0 = ownerY * clusterSize;
+		int x1 = Math.min(x0 + clusterSize, width) - 1;
+		int y1 = Math.min(y0 + clusterSize, height) - 1;
+
+		nodesBuffer.clear();
+		if (x1 + 1 < width) {
+			addEntrances(x1, y0, 0, 1, 1, 0, y1 - y0 + 1); // EAST
+			addEntrances(x1, y0, 0, 1, 1, 1, y1 - y0 + 1); // SOUTH_EAST, including the corner
+		}
+		if (y1 + 1 < height) {
+			addEntrances(x0, y1, 1, 0, 0, 1, x1 - x0 + 1); // SOUTH_WEST
+			addEntrances(x0, y1, 1, 0, 1, 1, x1 - x0); // SOUTH_EAST, without the corner
+		}
+		borderNodes[ownerY * clustersX + ownerX] = nodesBuffer.toArray(NO_NODES);
+	}
+
+	private void addEntrances(int startX, int startY, int stepX, int stepY, int crossX, int crossY, int length) {
+		int runStart = -1;
+		int runCluster = -1;
+
+		for (int i = 0; i <= length; i++) {
+			int x = startX + i * stepX;
+			int y = startY + i * stepY;
+			int otherX = x + crossX;
+			int otherY = y + crossY;
+
+			boolean open = i < length && otherX < width && otherY < height && !isBlocked(x, y) && !isBlocked(otherX, otherY);
+			int otherCluster = open ? getCluster(otherX, otherY) : -1;
+
+			if (runStart >= 0 && otherCluster != runCluster) {
+				int runEnd = i - 1;
+				int middle = (runStart + runEnd) / 2;
+				addPortal(startX + middle * stepX, startY + middle * stepY, crossX, crossY);
+				if (runEnd - runStart + 1 >= LONG_ENTRANCE_LENGTH) {
+					addPortal(startX + runStart * stepX, startY + runStart * stepY, crossX, crossY);
+					addPortal(startX + runEnd * stepX, startY + runEnd * stepY, crossX, crossY);
+				}
+				runStart = -1;
+			}
+			if (open && runStart < 0) {
+				runStart = i;
+				runCluster = otherCluster;
+			}
+		}
+	}
+
+	private void addPortal(int x, int y, int crossX, int crossY) {
+		PortalNode node = new PortalNode(x, y, getCluster(x, y));
+		PortalNode partner = new PortalNode(x + crossX, y + crossY, getCluster(x + crossX, y + crossY));
+		node.partner = partner;
+		partner.partner = node;
+		nodesBuffer.add(node);
+	}
+
+	private void computeClusterNodes(int cluster) {
+		int clusterX = cluster % clustersX;
+		int clusterY = cluster / clustersX;
+
+		nodesBuffer.clear();
+		collectNodes(cluster, cluster);
+		if (clusterX > 0) {
+			collectNodes(cluster, cluster - 1);
+		}
+		if (clusterY > 0) {
+			collectNodes(cluster, cluster - clustersX);
+		}
+		if (clusterX > 0 && clusterY > 0) {
+			collectNodes(cluster, cluster - clustersX - 1);
+		}
+		PortalNode[] nodes = nodesBuffer.toArray(NO_NODES);
+		clusterNodes[cluster] = nodes;
+
+		int[] neighborCosts = new int[nodes.length];
+		PortalNode[] neighbors = new PortalNode[nodes.length];
+		for (PortalNode node : nodes) {
+			computeDistances(cluster, node.x, node.y);
+
+			int numberOfNeighbors = 0;
+			for (PortalNode other : nodes) {
+				int distance = getDistance(other.x, other.y);
+				if (other != node && distance >= 0) {
+					neighbors[numberOfNeighbors] = other;
+					neighborCosts[numberOfNeighbors] = distance;
+					numberOfNeighbors++;
+				}
+			}
+
+			node.neighbors = new PortalNode[numberOfNeighbors];
+			node.neighborCosts = new int[numberOfNeighbors];
+			System.arraycopy(neighbors, 0, node.neighbors, 0, numberOfNeighbors);
+			System.arraycopy(neighborCosts, 0, node.neighborCosts, 0, numberOfNeighbors);
+		}
+	}
+
+	private void collectNodes(int cluster, int owner) {
+		for (PortalNode node : borderNodes[owner]) {
+			if (node.cluster == cluster) {
+				nodesBuffer.add(node);
+			}
+			if (node.partner.cluster == cluster) {
+				nodesBuffer.add(node.partner);
+			}
+		}
+	}
+
+	/**
+	 * Calculates the lengths of the shortest paths from the given position to all positions of the given cluster that can be reached without leaving
+	 * it. The results can be read with {@link #getDistance(int, int)} until the next call.
+	 */
+	void computeDistances(int cluster, int startX, int startY) {
+		distancesState.startSearch();
+		distancesX0 = (cluster % clustersX) * clusterSize;
+		distancesY0 = (cluster / clustersX) * clusterSize;
+		int x1 = Math.min(distancesX0 + clusterSize, width);
+		int y1 = Math.min(distancesY0 + clusterSize, height);
+
+		int startIdx = getLocalIdx(startX, startY);
+		distances[startIdx] = 0;
+		distancesState.setOpen(startIdx);
+		queue[0] = startIdx;
+		int queueStart = 0;
+		int queueEnd = 1;
+
+		while (queueStart < queueEnd) {
+			int idx = queue[queueStart++];
+			int x = distancesX0 + idx % clusterSize;
+			int y = distancesY0 + idx / clusterSize;
+
+			for (int i = 0; i < HierarchicalAStar.X_DELTAS.length; i++) {
+				int neighborX = x + HierarchicalAStar.X_DELTAS[i];
+				int neighborY = y + HierarchicalAStar.Y_DELTAS[i];
+
+				if (distancesX0 <= neighborX && neighborX < x1 && distancesY0 <= neighborY && neighborY < y1) {
+					int neighborIdx = getLocalIdx(neighborX, neighborY);
+					if (!distancesState.isVisited(neighborIdx) && !isBlocked(neighborX, neighborY)) {
+						distances[neighborIdx] = distances[idx] + 1;
+						distancesState.setOpen(neighborIdx);
+						queue[queueEnd++] = neighborIdx;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return The distance calculated by the last {@link #computeDistances(int, int, int)} or -1 if the position could not be reached.
+	 */
+	int getDistance(int x, int y) {
+		int idx = getLocalIdx(x, y);
+		return distancesState.isVisited(idx) ? distances[idx] : -1;
+	}
+
+	private int getLocalIdx(int x, int y) {
+		return (y - distancesY0) * clusterSize + x - distancesX0;
+	}
+
+	private boolean isBlocked(int x, int y) {
+		return map.isBlocked(x, y, groundPlayerId);
+	}
+
+	/**
+	 * A node of the abstract graph. The fields after the connections hold the state of the current search of the {@link HierarchicalAStar}.
+	 */
+	static final class PortalNode {
+		final short x;
+		final short y;
+		final int cluster;
+
+		PortalNode partner;
+		PortalNode[] neighbors = NO_NODES;
+		int[] neighborCosts;
+
+		int searchGeneration;
+		int targetGeneration;
+		int targetCosts;
+		int costs;
+		int rank;
+		int heapIdx;
+		boolean closed;
+		PortalNode parent;
+
+		PortalNode(int x, int y, int cluster) {
+			this.x = (short) x;
+			this.y = (short) y;
+			this.cluster = cluster;
+		}
+	}
+}
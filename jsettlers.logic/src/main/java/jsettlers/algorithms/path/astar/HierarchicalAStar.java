@@ -0,0 +1,397 @@
+/*******************************************************************************
+ * Copyright (c) 2015
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path.astar;
+
+import java.util.ArrayList;
+
+import jsettlers.algorithms.path.IPathCalculatable;
+import jsettlers.algorithms.path.Path;
+import jsettlers.algorithms.path.arrays.StampedSearchState;
+import jsettlers.algorithms.path.astar.ClusterGraph.PortalNode;
+import jsettlers.algorithms.path.astar.queues.bucket.AbstractBucketQueue;
+import jsettlers.algorithms.path.astar.queues.bucket.ListMinBucketQueue;
+import jsettlers.common.movable.EDirection;
+import jsettlers.common.position.ShortPoint2D;
+
+/**
+ * Hierarchical AStar (HPA*) for long paths on big maps.
+ * <p>
+ * The path is first searched on a {@link ClusterGraph} of the portals between the clusters of the map and then refined by small searches that never
+ * leave a single cluster. There is a cluster graph for every ground restriction (any ground or the ground of one player). The graphs are created on
+ * first use and updated incrementally after {@link #blockedChanged(int, int)} and {@link #groundChanged(int, int)}.
+ * <p>
+ * Ships, requesters starting on a blocked position and short paths are delegated to the given fallback algorithm. The found paths are not
+ * necessarily the shortest ones.
+ */
+public final class HierarchicalAStar extends AbstractAStar {
+	static final byte[] X_DELTAS = EDirection.getXDeltaArray();
+	static final byte[] Y_DELTAS = EDirection.getYDeltaArray();
+
+	private static final int CLUSTER_SIZE = 16;
+	private static final int MIN_HIERARCHICAL_DISTANCE = 2 * CLUSTER_SIZE;
+	private static final int NUMBER_OF_GROUNDS = Byte.MAX_VALUE + 2; // any ground + one for every player id
+
+	private final IHierarchicalAStarMap map;
+	private final AbstractAStar fallbackAStar;
+	private final short width;
+	private final short height;
+
+	private final ClusterGraph[] graphs = new ClusterGraph[NUMBER_OF_GROUNDS];
+
+	private int searchGeneration = 0;
+	private PortalNode[] heap = new PortalNode[64];
+	private int heapSize;
+	private final ArrayList<PortalNode> waypoints = new ArrayList<>();
+
+	private final AbstractBucketQueue localOpen = new ListMinBucketQueue(CLUSTER_SIZE * CLUSTER_SIZE);
+	private final float[] localCosts = new float[CLUSTER_SIZE * CLUSTER_SIZE];
+	private final int[] localParents = new int[CLUSTER_SIZE * CLUSTER_SIZE];
+	private final StampedSearchState localSearchState = new StampedSearchState(CLUSTER_SIZE * CLUSTER_SIZE);
+
+	private short[] pathX = new short[256];
+	private short[] pathY = new short[256];
+	private int pathLength;
+
+	public HierarchicalAStar(IHierarchicalAStarMap map, AbstractAStar fallbackAStar, short width, short height) {
+		this.map = map;
+		this.fallbackAStar = fallbackAStar;
+		this.width = width;
+		this.height = height;
+	}
+
+	/**
+	 * Must be called whenever the blocked state of a position changed.
+	 */
+	public void blockedChanged(int x, int y) {
+		for (ClusterGraph graph : graphs) {
+			if (graph != null) {
+				graph.setDirty(x, y);
+			}
+		}
+	}
+
+	/**
+	 * Must be called whenever the player owning a position changed.
+	 */
+	public void groundChanged(int x, int y) {
+		for (int i = 1; i < NUMBER_OF_GROUNDS; i++) {
+			if (graphs[i] != null) {
+				graphs[i].setDirty(x, y);
+			}
+		}
+	}
+
+	@Override
+	public Path findPath(IPathCalculatable requester, ShortPoint2D target) {
+		ShortPoint2D pos = requester.getPosition();
+		return findPath(requester, pos.x, pos.y, target.x, target.y);
+	}
+
+	@Override
+	public Path findPath(IPathCalculatable requester, ShortPoint2D target, ShortPoint2D start) {
+		return findPath(requester, start.x, start.y, target.x, target.y);
+	}
+
+	@Override
+	public Path findPath(IPathCalculatable requester, short sx, short sy, short tx, short ty) {
+		if (requester.isShip() || !isInBounds(sx, sy) || !isInBounds(tx, ty) || ShortPoint2D.getOnGridDist(sx, sy, tx, ty) < MIN_HIERARCHICAL_DISTANCE
+				|| map.isBlocked(requester, sx, sy)) {
+			return fallbackAStar.findPath(requester, sx, sy, tx, ty);
+		} else if (map.isBlocked(requester, tx, ty) || map.getBlockedPartition(sx, sy) != map.getBlockedPartition(tx, ty)) {
+			return null; // target can not be reached
+		}
+
+		byte groundPlayerId = requester.needsPlayersGround() ? requester.getPlayer().getPlayerId() : -1;
+		ClusterGraph graph = getGraph(groundPlayerId);
+		graph.update();
+
+		if (!findAbstractPath(graph, sx, sy, tx, ty)) {
+			return null; // the graph is connected exactly like the map
+		}
+
+		if (!refinePath(requester)) {
+			return fallbackAStar.findPath(requester, sx, sy, tx, ty);
+		}
+
+		Path path = new Path(pathLength);
+		for (int i = 0; i < pathLength; i++) {
+			path.insertAt(i, pathX[i], pathY[i]);
+		}
+		return path;
+	}
+
+	private ClusterGraph getGraph(byte groundPlayerId) {
+		ClusterGraph graph = graphs[groundPlayerId + 1];
+		if (graph == null) {
+			graph = new ClusterGraph(map, groundPlayerId, width, height, CLUSTER_SIZE);
+			graphs[groundPlayerId + 1] = graph;
+		}
+		return graph;
+	}
+
+	/**
+	 * Searches the path on the abstract graph and stores its nodes from the target to the start in {@link #waypoints}.
+	 */
+	private boolean findAbstractPath(ClusterGraph graph, short sx, short sy, short tx, short ty) {
+		searchGeneration++;
+		heapSize = 0;
+		waypoints.clear();
+
+		PortalNode startNode = new PortalNode(sx, sy, graph.getCluster(sx, sy));
+		PortalNode targetNode = new PortalNode(tx, ty, graph.getCluster(tx, ty));
+
+		graph.computeDistances(targetNode.cluster, tx, ty);
+		for (PortalNode node : graph.getNodes(targetNode.cluster)) {
+			node.targetGeneration = searchGeneration;
+			node.targetCosts = graph.getDistance(node.x, node.y);
+		}
+
+		startNode.searchGeneration = searchGeneration;
+		startNode.closed = true;
+		graph.computeDistances(startNode.cluster, sx, sy);
+		for (PortalNode node : graph.getNodes(startNode.cluster)) {
+			int distance = graph.getDistance(node.x, node.y);
+			if (distance >= 0) {
+				relax(node, distance, startNode, tx, ty);
+			}
+		}
+
+		while (heapSize > 0) {
+			PortalNode node = popMin();
+			node.closed = true;
+
+			if (node == targetNode) {
+				for (PortalNode curr = targetNode; curr != null; curr = curr.parent) {
+					waypoints.add(curr);
+				}
+				return true;
+			}
+
+			relax(node.partner, node.costs + 1, node, tx, ty);
+			for (int i = 0; i < node.neighbors.length; i++) {
+				relax(node.neighbors[i], node.costs + node.neighborCosts[i], node, tx, ty);
+			}
+			if (node.targetGeneration == searchGeneration && node.targetCosts >= 0) {
+				relax(targetNode, node.costs + node.targetCosts, node, tx, ty);
+			}
+		}
+
+		return false;
+	}
+
+	private void relax(PortalNode node, int costs, PortalNode parent, short tx, short ty) {
+		if (node.searchGeneration != searchGeneration) {
+			node.searchGeneration = searchGeneration;
+			node.closed = false;
+			node.costs = costs;
+			node.parent = parent;
+			node.rank = costs + ShortPoint2D.getOnGridDist(node.x, node.y, tx, ty);
+			push(node);
+		} else if (!node.closed && costs < node.costs) {
+			node.rank -= node.costs - costs;
+			node.costs = costs;
+			node.parent = parent;
+			siftUp(node.heapIdx);
+		}
+	}
+
+	private void push(PortalNode node) {
+		if (heapSize == heap.length) {
+			PortalNode[] newHeap = new PortalNode[heap.length * 2];
+			System.arraycopy(heap, 0, newHeap, 0, heapSize);
+			heap = newHeap;
+		}
+		heap[heapSize] = node;
+		node.heapIdx = heapSize;
+		heapSize++;
+		siftUp(heapSize - 1);
+	}
+
+	private PortalNode popMin() {
+		PortalNode min = heap[0];
+		heapSize--;
+		if (heapSize > 0) {
+			heap[0] = heap[heapSize];
+			heap[0].heapIdx = 0;
+			siftDown(0);
+		}
+		heap[heapSize] = null;
+		return min;
+	}
+
+	private void siftUp(int idx) {
+		PortalNode node = heap[idx];
+		while (idx > 0) {
+			int parentIdx = (idx - 1) / 2;
+			PortalNode parent = heap[parentIdx];
+			if (parent.rank <= node.rank) {
+				break;
+			}
+			heap[idx] = parent;
+			parent.heapIdx = idx;
+			idx = parentIdx;
+		}
+		heap[idx] = node;
+		node.heapIdx = idx;
+	}
+
+	private void siftDown(int idx) {
+		PortalNode node = heap[idx];
+		while (true) {
+			int childIdx = 2 * idx + 1;
+			if (childIdx >= heapSize) {
+				break;
+			}
+			if (childIdx + 1 < heapSize && heap[childIdx + 1].rank < heap[childIdx].rank) {
+				childIdx++;
+			}
+			PortalNode child = heap[childIdx];
+			if (node.rank <= child.rank) {
+				break;
+			}
+			heap[idx] = child;
+			child.heapIdx = idx;
+			idx = childIdx;
+		}
+		heap[idx] = node;
+		node.heapIdx = idx;
+	}
+
+	/**
+	 * Creates the concrete path along the {@link #waypoints}. Consecutive waypoints are either on the same position, directly connected over a
+	 * cluster border or inside of the same cluster.
+	 */
+	private boolean refinePath(IPathCalculatable requester) {
+		pathLength = 0;
+
+		for (int i = waypoints.size() - 1; i > 0; i--) {
+			PortalNode from = waypoints.get(i);
+			PortalNode to = waypoints.get(i - 1);
+
+			if (from.x == to.x && from.y == to.y) {
+				continue;
+			} else if (from.cluster != to.cluster) {
+				appendStep(to.x, to.y);
+			} else if (!appendLocalPath(requester, from.cluster, from.x, from.y, to.x, to.y)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean appendLocalPath(IPathCalculatable requester, int cluster, int sx, int sy, int tx, int ty) {
+		int clustersX = (width + CLUSTER_SIZE - 1) / CLUSTER_SIZE;
+		int x0 = (cluster % clustersX) * CLUSTER_SIZE;
+		int y0 = (cluster / clustersX) * CLUSTER_SIZE;
+		int x1 = Math.min(x0 + CLUSTER_SIZE, width);
+		int y1 = Math.min(y0 + CLUSTER_SIZE, height);
+
+		localSearchState.startSearch();
+		localOpen.clear();
+
+		int startIdx = (sy - y0) * CLUSTER_SIZE + sx - x0;
+		int targetIdx = (ty - y0) * CLUSTER_SIZE + tx - x0;
+		localCosts[startIdx] = 0;
+		localParents[startIdx] = -1;
+		localSearchState.setOpen(startIdx);
+		localOpen.insert(startIdx, ShortPoint2D.getOnGridDist(sx, sy, tx, ty));
+
+		boolean found = false;
+		while (!localOpen.isEmpty()) {
+			int idx = localOpen.deleteMin();
+			int x = x0 + idx % CLUSTER_SIZE;
+			int y = y0 + idx / CLUSTER_SIZE;
+
+			localSearchState.setClosed(idx);
+			map.markAsClosed(x, y);
+
+			if (idx == targetIdx) {
+				found = true;
+				break;
+			}
+
+			for (int i = 0; i < X_DELTAS.length; i++) {
+				int neighborX = x + X_DELTAS[i];
+				int neighborY = y + Y_DELTAS[i];
+
+				if (neighborX < x0 || neighborX >= x1 || neighborY < y0 || neighborY >= y1 || map.isBlocked(requester, neighborX, neighborY)) {
+					continue;
+				}
+
+				int neighborIdx = (neighborY - y0) * CLUSTER_SIZE + neighborX - x0;
+				if (localSearchState.isClosed(neighborIdx)) {
+					continue;
+				}
+
+				float newCosts = localCosts[idx] + map.getCost(requester, x, y, neighborX, neighborY);
+				int heuristicCosts = ShortPoint2D.getOnGridDist(neighborX, neighborY, tx, ty);
+
+				if (!localSearchState.isOpen(neighborIdx)) {
+					localSearchState.setOpen(neighborIdx);
+					localCosts[neighborIdx] = newCosts;
+					localParents[neighborIdx] = idx;
+					localOpen.insert(neighborIdx, newCosts + heuristicCosts);
+				} else if (newCosts < localCosts[neighborIdx]) {
+					float oldCosts = localCosts[neighborIdx];
+					localCosts[neighborIdx] = newCosts;
+					localParents[neighborIdx] = idx;
+					localOpen.increasedPriority(neighborIdx, oldCosts + heuristicCosts, newCosts + heuristicCosts);
+				}
+			}
+		}
+
+		if (!found) {
+			return false;
+		}
+
+		int steps = 0;
+		for (int idx = targetIdx; idx != startIdx; idx = localParents[idx]) {
+			steps++;
+		}
+		ensurePathCapacity(pathLength + steps);
+
+		int insertIdx = pathLength + steps;
+		for (int idx = targetIdx; idx != startIdx; idx = localParents[idx]) {
+			insertIdx--;
+			pathX[insertIdx] = (short) (x0 + idx % CLUSTER_SIZE);
+			pathY[insertIdx] = (short) (y0 + idx / CLUSTER_SIZE);
+		}
+		pathLength += steps;
+		return true;
+	}
+
+	private void appendStep(short x, short y) {
+		ensurePathCapacity(pathLength + 1);
+		pathX[pathLength] = x;
+		pathY[pathLength] = y;
+		pathLength++;
+	}
+
+	private void ensurePathCapacity(int capacity) {
+		if (capacity > pathX.length) {
+			int newLength = Math.max(capacity, pathX.length * 2);
+			short[] newPathX = new short[newLength];
+			short[] newPathY = new short[newLength];
+			System.arraycopy(pathX, 0, newPathX, 0, pathLength);
+			System.arraycopy(pathY, 0, newPathY, 0, pathLength);
+			pathX = newPathX;
+			pathY = newPathY;
+		}
+	}
+
+	private boolean isInBounds(int x, int y) {
+		return 0 <= x && x < width && 0 <= y && y < height;
+	}
+}
@@ -0,0 +1,38 @@
+/*******************************************************************************
+ * Copyright (c) 2015
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path.astar;
+
+/**
+ * Map of the {@link HierarchicalAStar}. In addition to the {@link IAStarPathMap}, it needs to know the blocked state of a position independent of a
+ * concrete requester to be able to build its cluster graphs.
+ */
+public interface IHierarchicalAStarMap extends IAStarPathMap {
+
+	/**
+	 * Checks if the given position is blocked for every land movable with the given ground restriction.
+	 * <p>
+	 * For every requester that is not a ship, this must return the same as {@link #isBlocked(jsettlers.algorithms.path.IPathCalculatable, int, int)}
+	 * with groundPlayerId being the requester's player id if it needs the player's ground and -1 otherwise.
+	 *
+	 * @param x
+	 *            x coordinate
+	 * @param y
+	 *            y coordinate
+	 * @param groundPlayerId
+	 *            Id of the player whose ground must be used or -1 if any ground can be used.
+	 * @return true if the position can not be walked on.
+	 */
+	boolean isBlocked(int x, int y, byte groundPlayerId);
+}
@@ -0,0 +1,39 @@
+/*******************************************************************************
+ * Copyright (c) 2015
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path.astar;
+
+/**
+ * Map of a {@link BucketQueueAStar} with a {@link PathCache}. In addition to the {@link IAStarPathMap}, the cache needs to know the part of the
+ * costs that depends on the movables, because these changes are not reported to it.
+ */
+public interface IPathCacheMap extends IAStarPathMap {
+
+	/**
+	 * Gets the distance to the requester's position up to which steps starting there have costs depending on {@link #hasMovableAt(int, int)}. The
+	 * costs of all other steps must only depend on the positions reported with {@link PathCache#positionChanged(int, int)}.
+	 *
+	 * @return the maximum distance of the step's start position to the requester's position.
+	 */
+	int getMovableCostDistance();
+
+	/**
+	 * @param x
+	 *            x coordinate
+	 * @param y
+	 *            y coordinate
+	 * @return true if a movable is at the given position.
+	 */
+	boolean hasMovableAt(int x, int y);
+}
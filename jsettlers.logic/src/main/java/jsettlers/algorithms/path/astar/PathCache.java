@@ -0,0 +1,273 @@
+/*******************************************************************************
+ * Copyright (c) 2015
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path.astar;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import jsettlers.algorithms.path.IPathCalculatable;
+import jsettlers.algorithms.path.Path;
+import jsettlers.common.position.ShortPoint2D;
+
+/**
+ * Bounded cache of the paths found by a {@link BucketQueueAStar}. The least recently used path is evicted first.
+ * <p>
+ * A cached path is only returned if the search would find exactly the same path again, so using the cache never changes the game. To ensure this,
+ * every path remembers the area read by its search. The map is divided into regions of {@link #REGION_SIZE} x {@link #REGION_SIZE} positions, each
+ * with the stamp of its last change. A path is invalid as soon as one of the regions of its area changed after the path was found. The changes must
+ * be reported with {@link #positionChanged(int, int)}. The costs that depend on the movables near the requester are not reported; instead, the
+ * movables around the start position are compared with the ones at the time of the search.
+ * <p>
+ * Only paths starting at the requester's position are cached.
+ */
+public final class PathCache {
+	private static final int REGION_SHIFT = 4;
+	public static final int REGION_SIZE = 1 << REGION_SHIFT;
+
+	private final IPathCacheMap map;
+	private final short width;
+	private final short height;
+	private final int regionsPerRow;
+	private final long[] regionChangeStamps;
+	private final LinkedHashMap<CacheKey, CachedPath> cachedPaths;
+
+	private long changeStamp = 0;
+	private int[] movablesBuffer = new int[64];
+
+	private int hits;
+	private int misses;
+	private int invalidations;
+
+	public PathCache(IPathCacheMap map, short width, short height, int capacity) {
+		this.map = map;
+		this.width = width;
+		this.height = height;
+		this.regionsPerRow = (width + REGION_SIZE - 1) >> REGION_SHIFT;
+		this.regionChangeStamps = new long[regionsPerRow * ((height + REGION_SIZE - 1) >> REGION_SHIFT)];
+		this.cachedPaths = new LinkedHashMap<CacheKey, CachedPath>(capacity * 4 / 3 + 1, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<CacheKey, CachedPath> eldest) {
+				return size() > capacity;
+			}
+		};
+	}
+
+	/**
+	 * Needs to be called whenever the blocking, the ground's player or anything else influencing the paths changes at the given position.
+	 *
+	 * @param x
+	 *            x coordinate
+	 * @param y
+	 *            y coordinate
+	 */
+	public void positionChanged(int x, int y) {
+		regionChangeStamps[getRegionIdx(x >> REGION_SHIFT, y >> REGION_SHIFT)] = ++changeStamp;
+	}
+
+	/**
+	 * @return true if paths of the given requester from the given start position can be cached.
+	 */
+	public boolean isCacheable(IPathCalculatable requester, int sx, int sy) {
+		ShortPoint2D position = requester.getPosition();
+		return position.x == sx && position.y == sy;
+	}
+
+	/**
+	 * Gets a copy of the cached path.
+	 *
+	 * @return the cached path or null if no valid path is cached.
+	 */
+	public Path get(IPathCalculatable requester, short sx, short sy, short tx, short ty) {
+		CacheKey key = new CacheKey(requester, sx, sy, tx, ty);
+		CachedPath cachedPath = cachedPaths.get(key);
+
+		if (cachedPath == null) {
+			misses++;
+			return null;
+		} else if (!isValid(cachedPath, sx, sy)) {
+			cachedPaths.remove(key);
+			invalidations++;
+			return null;
+		} else {
+			hits++;
+			return new Path(cachedPath.path);
+		}
+	}
+
+	/**
+	 * Caches a copy of the given path.
+	 *
+	 * @param path
+	 *            the found path.
+	 * @param minX
+	 *            minimum x coordinate of the positions read by the search
+	 * @param minY
+	 *            minimum y coordinate of the positions read by the search
+	 * @param maxX
+	 *            maximum x coordinate of the positions read by the search
+	 * @param maxY
+	 *            maximum y coordinate of the positions read by the search
+	 */
+	public void put(IPathCalculatable requester, short sx, short sy, short tx, short ty, Path path, int minX, int minY, int maxX, int maxY) {
+		minX = Math.max(0, minX);
+		minY = Math.max(0, minY);
+		maxX = Math.min(width - 1, maxX);
+		maxY = Math.min(height - 1, maxY);
+
+		int numberOfMovables = collectMovables(sx, sy, minX, minY, maxX, maxY);
+		int[] movables = new int[numberOfMovables];
+		System.arraycopy(movablesBuffer, 0, movables, 0, numberOfMovables);
+
+		cachedPaths.put(new CacheKey(requester, sx, sy, tx, ty), new CachedPath(new Path(path), minX, minY, maxX, maxY, movables, changeStamp));
+	}
+
+	private boolean isValid(CachedPath cachedPath, short sx, short sy) {
+		for (int regionY = cachedPath.minY >> REGION_SHIFT; regionY <= cachedPath.maxY >> REGION_SHIFT; regionY++) {
+			for (int regionX = cachedPath.minX >> REGION_SHIFT; regionX <= cachedPath.maxX >> REGION_SHIFT; regionX++) {
+				if (regionChangeStamps[getRegionIdx(regionX, regionY)] > cachedPath.changeStamp) {
+					return false;
+				}
+			}
+		}
+
+		int numberOfMovables = collectMovables(sx, sy, cachedPath.minX, cachedPath.minY, cachedPath.maxX, cachedPath.maxY);
+		if (numberOfMovables != cachedPath.movables.length) {
+			return false;
+		}
+		for (int i = 0; i < numberOfMovables; i++) {
+			if (movablesBuffer[i] != cachedPath.movables[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Collects the positions of the movables that can influence the costs of a search from the given start position inside the given area.
+	 *
+	 * @return the number of movable positions in the {@link #movablesBuffer}.
+	 */
+	private int collectMovables(short sx, short sy, int minX, int minY, int maxX, int maxY) {
+		int distance = map.getMovableCostDistance() + 1;
+		int numberOfMovables = 0;
+
+		for (int y = Math.max(minY, sy - distance); y <= Math.min(maxY, sy + distance); y++) {
+			for (int x = Math.max(minX, sx - distance); x <= Math.min(maxX, sx + distance); x++) {
+				if ((x != sx || y != sy) && ShortPoint2D.getOnGridDist(sx, sy, x, y) <= distance && map.hasMovableAt(x, y)) {
+					if (numberOfMovables == movablesBuffer.length) {
+						int[] newBuffer = new int[numberOfMovables * 2];
+						System.arraycopy(movablesBuffer, 0, newBuffer, 0, numberOfMovables);
+						movablesBuffer = newBuffer;
+					}
+					movablesBuffer[numberOfMovables++] = y * width + x;
+				}
+			}
+		}
+		return numberOfMovables;
+	}
+
+	private int getRegionIdx(int regionX, int regionY) {
+		return regionY * regionsPerRow + regionX;
+	}
+
+	public int size() {
+		return cachedPaths.size();
+	}
+
+	/**
+	 * @return number of requests answered from the cache.
+	 */
+	public int getHits() {
+		return hits;
+	}
+
+	/**
+	 * @return number of requests without a cached path.
+	 */
+	public int getMisses() {
+		return misses;
+	}
+
+	/**
+	 * @return number of requests whose cached path was no longer valid.
+	 */
+	public int getInvalidations() {
+		return invalidations;
+	}
+
+	public void resetStatistics() {
+		hits = 0;
+		misses = 0;
+		invalidations = 0;
+	}
+
+	@Override
+	public String toString() {
+		return "PathCache [size=" + size() + ", hits=" + hits + ", misses=" + misses + ", invalidations=" + invalidations + "]";
+	}
+
+	private static final class CacheKey {
+		private final long positions;
+		private final int requesterType;
+
+		CacheKey(IPathCalculatable requester, short sx, short sy, short tx, short ty) {
+			this.positions = ((long) sx << 48) | ((long) (sy & 0xffff) << 32) | ((long) (tx & 0xffff) << 16) | (ty & 0xffff);
+
+			if (requester.isShip()) {
+				this.requesterType = -1;
+			} else if (requester.needsPlayersGround()) {
+				this.requesterType = requester.getPlayer().getPlayerId() & 0xff;
+			} else {
+				this.requesterType = -2;
+			}
+		}
+
+		@Override
+		public int hashCode() {
+			return Long.hashCode(positions) * 31 + requesterType;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof CacheKey)) {
+				return false;
+			}
+			CacheKey other = (CacheKey) obj;
+			return positions == other.positions && requesterType == other.requesterType;
+		}
+	}
+
+	private static final class CachedPath {
+		final Path path;
+		final int minX;
+		final int minY;
+		final int maxX;
+		final int maxY;
+		final int[] movables;
+		final long changeStamp;
+
+		CachedPath(Path path, int minX, int minY, int maxX, int maxY, int[] movables, long changeStamp) {
+			this.path = path;
+			this.minX = minX;
+			this.minY = minY;
+			this.maxX = maxX;
+			this.maxY = maxY;
+			this.movables = movables;
+			this.changeStamp = changeStamp;
+		}
+	}
+}
@@ -21,13 +21,25 @@ import java.util.Set;
 import jsettlers.algorithms.path.IPathCalculatable;
 import jsettlers.algorithms.path.InvalidStartPositionException;
 import jsettlers.algorithms.path.Path;
+import jsettlers.algorithms.path.arrays.StampedSearchState;
 import jsettlers.algorithms.path.astar.AbstractAStar;
+import jsettlers.algorithms.path.astar.IAStarPathMap;
+import jsettlers.algorithms.path.astar.queues.bucket.AbstractBucketQueue;
+import jsettlers.algorithms.path.astar.queues.bucket.ListMinBucketQueue;
 import jsettlers.common.map.shapes.MapCircle;
 import jsettlers.common.material.ESearchType;
+import jsettlers.common.movable.EDirection;
 import jsettlers.common.position.ShortPoint2D;
+import jsettlers.common.utils.coordinates.ICoordinatePredicate;
 
 /**
  * this class implements a strict dijkstra algorithm
+ * <p>
+ * By default, the rings around the center are scanned and a path is calculated with the {@link AbstractAStar} to every fitting position until one
+ * is reachable. If a flood map is given, the search instead expands once from the requester's position in the order of the path costs, tests the
+ * positions when they are settled and builds the path from the search tree. The flood search does not leave the area of
+ * {@link #FLOOD_RADIUS_FACTOR} times the search radius around the center. Requesters that are outside of this area or on a blocked position are
+ * handled by the ring scan.
  * 
  * @author Andreas Eberle
  * 
@@ -35,14 +47,37 @@ import jsettlers.common.position.ShortPoint2D;
 public final class DijkstraAlgorithm {
 	private static final byte[] directionIncreaseX = { -1, 0, 1, 1, 0, -1 };
 	private static final byte[] directionIncreaseY = { 0, 1, 1, 0, -1, -1 };
+	private static final byte[] xDeltaArray = EDirection.getXDeltaArray();
+	private static final byte[] yDeltaArray = EDirection.getYDeltaArray();
 	private static final float MAX_RADIUS_MULTIPLIER = 1f / MapCircle.Y_SCALE;
+	private static final float FLOOD_RADIUS_FACTOR = 1.5f;
 
 	private final IDijkstraPathMap map;
+	private final IAStarPathMap floodMap;
 	private final short height, width;
 	private final AbstractAStar aStar;
 
+	private StampedSearchState floodState;
+	private AbstractBucketQueue floodOpen;
+	private float[] floodCosts;
+	private int[] floodParents;
+	private int floodX0;
+	private int floodY0;
+	private int floodWidth;
+
 	public DijkstraAlgorithm(IDijkstraPathMap map, AbstractAStar aStar, short width, short height) {
+		this(map, null, aStar, width, height);
+	}
+
+	/**
+	 * Creates a dijkstra algorithm that uses the flood search.
+	 *
+	 * @param floodMap
+	 *            map used for the blocking and the costs of the flood search or null to only use the ring scan.
+	 */
+	public DijkstraAlgorithm(IDijkstraPathMap map, IAStarPathMap floodMap, AbstractAStar aStar, short width, short height) {
 		this.map = map;
+		this.floodMap = floodMap;
 		this.aStar = aStar;
 		this.width = width;
 		this.height = height;
@@ -54,6 +89,14 @@ public final class DijkstraAlgorithm {
 			throw new InvalidStartPositionException("dijkstra center position is not in bounds!", cX, cY);
 		}
 
+		int floodRadius = getFloodRadius(maxRadius);
+		if (canUseFloodSearch(requester, cX, cY, floodRadius)) {
+			return floodSearch(requester, cX, cY, minRadius, maxRadius, floodRadius, (x, y) -> {
+				int distance = ShortPoint2D.getOnGridDist(cX, cY, x, y);
+				return minRadius <= distance && distance < maxRadius && map.fitsSearchType(x, y, type, requester);
+			});
+		}
+
 		// check center position (special case for minRadius <= 0
 		if (minRadius <= 0) {
 			map.setDijkstraSearched(cX, cY);
@@ -88,12 +131,149 @@ public final class DijkstraAlgorithm {
 		return null;
 	}
 
+	private static int getFloodRadius(short maxRadius) {
+		return (int) (maxRadius * FLOOD_RADIUS_FACTOR);
+	}
+
+	private boolean canUseFloodSearch(IPathCalculatable requester, short cX, short cY, int floodRadius) {
+		if (floodMap == null) {
+			return false;
+		}
+		ShortPoint2D start = requester.getPosition();
+		return isInBounds(start.x, start.y) && ShortPoint2D.getOnGridDist(cX, cY, start.x, start.y) <= floodRadius
+				&& !floodMap.isBlocked(requester, start.x, start.y);
+	}
+
+	/**
+	 * Expands from the requester's position in the order of the path costs until a settled position fits. The expansion is skipped if no position
+	 * of the rings from minRadius to maxRadius fits at all.
+	 *
+	 * @return the path to the first settled position that fits or null if there is none in the flood area.
+	 */
+	private Path floodSearch(IPathCalculatable requester, short cX, short cY, int minRadius, int maxRadius, int floodRadius,
+			ICoordinatePredicate fits) {
+		if (!hasFittingPosition(cX, cY, minRadius, maxRadius, fits)) {
+			return null;
+		}
+
+		prepareFloodArea(cX, cY, floodRadius);
+
+		ShortPoint2D start = requester.getPosition();
+		int startIdx = getFloodIdx(start.x, start.y);
+
+		floodState.startSearch();
+		floodOpen.clear();
+		floodCosts[startIdx] = 0;
+		floodParents[startIdx] = -1;
+		floodState.setOpen(startIdx);
+		floodOpen.insert(startIdx, 0);
+
+		while (!floodOpen.isEmpty()) {
+			int idx = floodOpen.deleteMin();
+			int x = floodX0 + idx % floodWidth;
+			int y = floodY0 + idx / floodWidth;
+
+			floodState.setClosed(idx);
+			map.setDijkstraSearched(x, y);
+
+			if (idx != startIdx && fits.test(x, y)) {
+				return buildFloodPath(startIdx, idx);
+			}
+
+			for (int i = 0; i < EDirection.NUMBER_OF_DIRECTIONS; i++) {
+				int neighborX = x + xDeltaArray[i];
+				int neighborY = y + yDeltaArray[i];
+
+				if (!isInBounds(neighborX, neighborY) || ShortPoint2D.getOnGridDist(cX, cY, neighborX, neighborY) > floodRadius
+						|| floodMap.isBlocked(requester, neighborX, neighborY)) {
+					continue;
+				}
+
+				int neighborIdx = getFloodIdx(neighborX, neighborY);
+				if (floodState.isClosed(neighborIdx)) {
+					continue;
+				}
+
+				float newCosts = floodCosts[idx] + floodMap.getCost(requester, x, y, neighborX, neighborY);
+				if (!floodState.isOpen(neighborIdx)) {
+					floodState.setOpen(neighborIdx);
+					floodCosts[neighborIdx] = newCosts;
+					floodParents[neighborIdx] = idx;
+					floodOpen.insert(neighborIdx, newCosts);
+				} else if (newCosts < floodCosts[neighborIdx]) {
+					float oldCosts = floodCosts[neighborIdx];
+					floodCosts[neighborIdx] = newCosts;
+					floodParents[neighborIdx] = idx;
+					floodOpen.increasedPriority(neighborIdx, oldCosts, newCosts);
+				}
+			}
+		}
+
+		return null;
+	}
+
+	private boolean hasFittingPosition(short cX, short cY, int minRadius, int maxRadius, ICoordinatePredicate fits) {
+		if (minRadius <= 0 && fits.test(cX, cY)) {
+			return true;
+		}
+
+		for (int radius = Math.max(1, minRadius); radius < maxRadius; radius++) {
+			int x = cX, y = cY - radius;
+			for (byte direction = 0; direction < 6; direction++) {
+				byte dx = directionIncreaseX[direction];
+				byte dy = directionIncreaseY[direction];
+				for (int length = 0; length < radius; length++) {
+					x += dx;
+					y += dy;
+					if (isInBounds(x, y) && fits.test(x, y)) {
+						return true;
+					}
+				}
+			}
+		}
+		return false;
+	}
+
+	private void prepareFloodArea(short cX, short cY, int floodRadius) {
+		floodX0 = Math.max(0, cX - floodRadius);
+		floodY0 = Math.max(0, cY - floodRadius);
+		floodWidth = Math.min(width - 1, cX + floodRadius) - floodX0 + 1;
+		int floodHeight = Math.min(height - 1, cY + floodRadius) - floodY0 + 1;
+
+		int size = floodWidth * floodHeight;
+		if (floodCosts == null || floodCosts.length < size) {
+			floodState = new StampedSearchState(size);
+			floodOpen = new ListMinBucketQueue(size);
+			floodCosts = new float[size];
+			floodParents = new int[size];
+		}
+	}
+
+	private int getFloodIdx(int x, int y) {
+		return (y - floodY0) * floodWidth + x - floodX0;
+	}
+
+	private Path buildFloodPath(int startIdx, int targetIdx) {
+		int length = 0;
+		for (int idx = targetIdx; idx != startIdx; idx = floodParents[idx]) {
+			length++;
+		}
+
+		Path path = new Path(length);
+		int pathIdx = length;
+		for (int idx = targetIdx; idx != startIdx; idx = floodParents[idx]) {
+			pathIdx--;
+			path.insertAt(pathIdx, (short) (floodX0 + idx % floodWidth), (short) (floodY0 + idx / floodWidth));
+		}
+		return path;
+	}
+
 	private final Path findPathTo(IPathCalculatable requester, short tx, short ty) {
 		ShortPoint2D pos = requester.getPosition();
 		return aStar.findPath(requester, pos.x, pos.y, tx, ty);
 	}
 
-	private final boolean isInBounds(short x, short y) {
+	private boolean isInBounds(int x, int y) {
 		return 0 <= x && x < width && 0 <= y && y < height;
 	}
 
@@ -147,6 +327,23 @@ public final class DijkstraAlgorithm {
 
 		MapCircle circle = new MapCircle(request.cX, request.cY, request.maxRadius * MAX_RADIUS_MULTIPLIER);
 
+		int floodRadius = getFloodRadius(request.maxRadius);
+		if (canUseFloodSearch(request.requester, request.cX, request.cY, floodRadius)) {
+			Path path = floodSearch(request.requester, request.cX, request.cY, request.minRadius, floodRadius, floodRadius, (x, y) -> circle.contains(x, y)
+					&& ShortPoint2D.getOnGridDist(request.cX, request.cY, x, y) >= request.minRadius
+					&& map.fitsSearchType(x, y, request.searchTypes, request.requester));
+
+			if (path != null) {
+				// continue a following ring scan behind the found target, like the ring scan itself does
+				ShortPoint2D target = path.getLength() > 0 ? path.getTargetPosition() : request.requester.getPosition();
+				request.setRadius((short) ShortPoint2D.getOnGridDist(request.cX, request.cY, target.x, target.y));
+			} else {
+				// the whole area has been searched, so a following ring scan starts at the inner ring again
+				request.reset();
+			}
+			return path;
+		}
+
 		short radiusSteps = request.getRadiusSteps();
 		short radius = 1;
 
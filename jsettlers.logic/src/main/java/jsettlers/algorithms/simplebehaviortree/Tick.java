@@ -15,6 +15,7 @@ public class Tick<T> {
 
 	private final Set<Node<T>> openNodes = new HashSet<>();
 	private final Map<Integer, Object> properties = new TreeMap<>();
+	private int invocationDelay = 0;
 
 	public Tick(T target, Root<T> root) {
 		this.root = root;
@@ -29,6 +30,14 @@ public class Tick<T> {
 		root.close(this);
 	}
 
+	public void setInvocationDelay(int invocationDelay) {
+		this.invocationDelay = invocationDelay;
+	}
+
+	public int getInvocationDelay() {
+		return invocationDelay;
+	}
+
 	public boolean isOpen(Node<T> node) {
 		return openNodes.contains(node);
 	}
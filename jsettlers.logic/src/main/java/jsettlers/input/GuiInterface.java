@@ -98,6 +98,7 @@ import jsettlers.logic.buildings.Building;
 import jsettlers.logic.buildings.IDockBuilding;
 import jsettlers.logic.buildings.military.occupying.OccupyingBuilding;
 import jsettlers.logic.buildings.workers.DockyardBuilding;
+import jsettlers.logic.constants.GameContext;
 import jsettlers.logic.constants.MatchConstants;
 import jsettlers.logic.movable.interfaces.IDebugable;
 import jsettlers.logic.player.Player;
@@ -115,6 +116,7 @@ public class GuiInterface implements IMapInterfaceListener, ITaskExecutorGuiInte
 
 	private final IMapInterfaceConnector connector;
 
+	private final GameContext             gameContext;
 	private final IGameClock              clock;
 	private final ITaskScheduler          taskScheduler;
 	private final IGuiInputGrid           grid;
@@ -130,9 +132,10 @@ public class GuiInterface implements IMapInterfaceListener, ITaskExecutorGuiInte
 	 */
 	private SelectionSet currentSelection = new SelectionSet();
 
-	public GuiInterface(IMapInterfaceConnector connector, IGameClock clock, ITaskScheduler taskScheduler, IGuiInputGrid grid, IGameStoppable gameStoppable, byte playerId, boolean multiplayer) {
+	public GuiInterface(IMapInterfaceConnector connector, GameContext gameContext, ITaskScheduler taskScheduler, IGuiInputGrid grid, IGameStoppable gameStoppable, byte playerId, boolean multiplayer) {
 		this.connector = connector;
-		this.clock = clock;
+		this.gameContext = gameContext;
+		this.clock = gameContext.getClock();
 		this.taskScheduler = taskScheduler;
 		this.grid = grid;
 		this.gameStoppable = gameStoppable;
@@ -152,14 +155,14 @@ public class GuiInterface implements IMapInterfaceListener, ITaskExecutorGuiInte
 		if (player != null) {
 			player.setMessenger(connector);
 		}
-		clock.setTaskExecutor(new GuiTaskExecutor(grid, this, this.playerId));
+		clock.setTaskExecutor(gameContext.bind(new GuiTaskExecutor(grid, this, this.playerId)));
 		connector.addListener(this);
 	}
 
 	@Override
 	public void action(IAction action) {
 		if (action.getActionType() != EActionType.SCREEN_CHANGE) {
-			System.out.println("action(Action): " + action.getActionType() + "   at game time: " + MatchConstants.clock().getTime());
+			System.out.println("action(Action): " + action.getActionType() + "   at game time: " + clock.getTime());
 		}
 
 		switch (action.getActionType()) {
@@ -450,7 +453,7 @@ public class GuiInterface implements IMapInterfaceListener, ITaskExecutorGuiInte
 			Building next = null;
 			boolean buildingFound = false;
 
-			for (final Building currBuilding : Building.getAllBuildings()) {
+			for (final Building currBuilding : gameContext.getBuildingRegistry().getAllBuildings()) {
 				if (currBuilding == building) {
 					buildingFound = true;
 				} else {
@@ -75,7 +75,6 @@ import jsettlers.network.synchronic.timer.ITaskExecutor;
  * @author Andreas Eberle
  */
 class GuiTaskExecutor implements ITaskExecutor {
-	private static GuiTaskExecutor           instance = null;
 	private final  IGuiInputGrid             grid;
 	private final  ITaskExecutorGuiInterface guiInterface;
 	private final  byte                      playerId;
@@ -86,10 +85,6 @@ class GuiTaskExecutor implements ITaskExecutor {
 		this.playerId = playerId;
 	}
 
-	public static GuiTaskExecutor get() {
-		return instance;
-	}
-
 	@Override
 	public void executeTask(TaskPacket iTask) {
 		if (!(iTask instanceof SimpleGuiTask)) {
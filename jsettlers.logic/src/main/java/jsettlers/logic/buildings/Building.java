@@ -23,7 +23,6 @@ import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
 
 import jsettlers.algorithms.fogofwar.FogOfWar;
 import jsettlers.common.buildings.BuildingVariant;
@@ -61,12 +60,14 @@ import jsettlers.logic.buildings.workers.ResourceBuilding;
 import jsettlers.logic.buildings.workers.SlaughterhouseBuilding;
 import jsettlers.logic.buildings.workers.WorkerBuilding;
 import jsettlers.logic.constants.Constants;
+import jsettlers.logic.constants.GameContext;
 import jsettlers.logic.constants.MatchConstants;
 import jsettlers.logic.map.grid.objects.AbstractHexMapObject;
 import jsettlers.logic.map.grid.partition.manager.manageables.interfaces.IConstructableBuilding;
 import jsettlers.logic.map.grid.partition.manager.manageables.interfaces.IDiggerRequester;
 import jsettlers.logic.movable.interfaces.IDebugable;
 import jsettlers.logic.player.Player;
+import jsettlers.logic.timer.ESubsystem;
 import jsettlers.logic.timer.IScheduledTimerable;
 import jsettlers.logic.timer.RescheduleTimer;
 
@@ -85,8 +86,6 @@ public abstract class Building extends AbstractHexMapObject implements IConstruc
 	private static final EPriority[] SUPPORTED_PRIORITIES_FOR_CONSTRUCTION = new EPriority[] { EPriority.LOW, EPriority.HIGH, EPriority.STOPPED };
 	private static final EPriority[] SUPPORTED_PRIORITIES_FOR_NON_WORKERS = new EPriority[0];
 
-	private static final Queue<Building> allBuildings = new ConcurrentLinkedQueue<>();
-	private static byte fowTeam = -1;
 	private boolean occupied;
 	private transient boolean fow = false;
 
@@ -112,7 +111,7 @@ public abstract class Building extends AbstractHexMapObject implements IConstruc
 		this.grid = buildingsGrid;
 		setPlayer(player);
 
-		allBuildings.add(this);
+		getRegistry().allBuildings.add(this);
 		setState(EBuildingState.CREATED);
 	}
 
@@ -144,10 +143,15 @@ public abstract class Building extends AbstractHexMapObject implements IConstruc
 		FogOfWar.queueResizeCircle(getPosition(), oldVD, newVD);
 	}
 
+	private static BuildingRegistry getRegistry() {
+		return GameContext.current().getBuildingRegistry();
+	}
+
 	public static void initFow(byte fow) {
-		fowTeam = fow;
-		for(Building building : allBuildings) {
-			if((building.getPlayer().getTeamId() == fowTeam || MatchConstants.ENABLE_ALL_PLAYER_FOG_OF_WAR) && !building.fow) {
+		BuildingRegistry registry = getRegistry();
+		registry.fowTeam = fow;
+		for(Building building : registry.allBuildings) {
+			if((building.getPlayer().getTeamId() == fow || MatchConstants.ENABLE_ALL_PLAYER_FOG_OF_WAR) && !building.fow) {
 				building.fow = true;
 				building.queueNewViewDistance((short)0, building.getVD());
 			}
@@ -156,12 +160,13 @@ public abstract class Building extends AbstractHexMapObject implements IConstruc
 
 	@SuppressWarnings("unchecked")
 	public static void readStaticState(ObjectInputStream ois) throws IOException, ClassNotFoundException {
+		Queue<Building> allBuildings = getRegistry().allBuildings;
 		allBuildings.clear();
 		allBuildings.addAll((Collection<? extends Building>) ois.readUnshared());
 	}
 
 	public static void writeStaticState(ObjectOutputStream oos) throws IOException {
-		oos.writeUnshared(allBuildings);
+		oos.writeUnshared(getRegistry().allBuildings);
 	}
 
 	@Override
@@ -385,6 +390,7 @@ public abstract class Building extends AbstractHexMapObject implements IConstruc
 	}
 
 	public void setPlayer(Player newPlayer) {
+		byte fowTeam = getRegistry().fowTeam;
 		boolean newFow = newPlayer.getTeamId() == fowTeam || (fowTeam != -1 && MatchConstants.ENABLE_ALL_PLAYER_FOG_OF_WAR);
 
 		if(fow && !newFow) {
@@ -520,11 +526,16 @@ public abstract class Building extends AbstractHexMapObject implements IConstruc
 		}
 
 		releaseRequestStacks();
-		allBuildings.remove(this);
+		getRegistry().allBuildings.remove(this);
 		setState(EBuildingState.DESTROYED);
 		this.selected = false;
 	}
 
+	@Override
+	public ESubsystem getSubsystem() {
+		return ESubsystem.BUILDINGS;
+	}
+
 	private void placeReusableMaterials() {
 		int posIdx = 0;
 		FreeMapArea buildingArea = getBuildingArea();
@@ -628,12 +639,13 @@ public abstract class Building extends AbstractHexMapObject implements IConstruc
 	}
 
 	public static Queue<Building> getAllBuildings() {
-		return allBuildings;
+		return getRegistry().getAllBuildings();
 	}
 
 	public static void clearState() {
-		allBuildings.clear();
-		fowTeam = -1;
+		BuildingRegistry registry = getRegistry();
+		registry.allBuildings.clear();
+		registry.fowTeam = -1;
 	}
 
 	public final short getVD() {
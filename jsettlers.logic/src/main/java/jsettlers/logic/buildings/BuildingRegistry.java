@@ -0,0 +1,47 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.buildings;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import jsettlers.logic.buildings.trading.HarborBuilding;
+import jsettlers.logic.buildings.trading.MarketBuilding;
+
+/**
+ * The buildings of a match. Every {@link jsettlers.logic.constants.GameContext} has its own registry, the static methods of {@link Building},
+ * {@link MarketBuilding} and {@link HarborBuilding} work on the one of the current context.
+ */
+public final class BuildingRegistry {
+	final Queue<Building> allBuildings = new ConcurrentLinkedQueue<>();
+	byte fowTeam = -1;
+
+	private final List<MarketBuilding> markets = new ArrayList<>();
+	private final List<HarborBuilding> harbors = new ArrayList<>();
+
+	public Queue<Building> getAllBuildings() {
+		return allBuildings;
+	}
+
+	public List<MarketBuilding> getMarkets() {
+		return markets;
+	}
+
+	public List<HarborBuilding> getHarbors() {
+		return harbors;
+	}
+}
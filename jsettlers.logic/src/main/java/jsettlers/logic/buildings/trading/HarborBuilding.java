@@ -17,7 +17,6 @@ package jsettlers.logic.buildings.trading;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.stream.Stream;
@@ -28,6 +27,7 @@ import jsettlers.common.material.EPriority;
 import jsettlers.common.position.ShortPoint2D;
 import jsettlers.logic.DockPosition;
 import jsettlers.logic.buildings.IBuildingsGrid;
+import jsettlers.logic.constants.GameContext;
 import jsettlers.logic.buildings.IDockBuilding;
 import jsettlers.logic.player.Player;
 
@@ -35,30 +35,34 @@ import jsettlers.logic.player.Player;
  * @author Rudolf Polzer
  */
 public class HarborBuilding extends TradingBuilding implements IDockBuilding {
-	private static final List<HarborBuilding> ALL_HARBORS = new ArrayList<>();
+	private static final long serialVersionUID = -5529491976317963555L;
+
+	private static List<HarborBuilding> getAll() {
+		return GameContext.current().getBuildingRegistry().getHarbors();
+	}
 
 	public static Stream<HarborBuilding> getAllHarbors(final Player player) {
-		return ALL_HARBORS.stream().filter(building -> building.getPlayer() == player);
+		return getAll().stream().filter(building -> building.getPlayer() == player);
 	}
 
 	public static void clearState() {
-		ALL_HARBORS.clear();
+		getAll().clear();
 	}
 
 	@SuppressWarnings("unchecked")
 	public static void readStaticState(ObjectInputStream ois) throws IOException, ClassNotFoundException {
-		ALL_HARBORS.addAll((Collection<? extends HarborBuilding>) ois.readUnshared());
+		getAll().addAll((Collection<? extends HarborBuilding>) ois.readUnshared());
 	}
 
 	public static void writeStaticState(ObjectOutputStream oos) throws IOException {
-		oos.writeUnshared(ALL_HARBORS);
+		oos.writeUnshared(getAll());
 	}
 
 	private DockPosition dockPosition = null;
 
 	public HarborBuilding(EBuildingType type, Player player, ShortPoint2D position, IBuildingsGrid buildingsGrid) {
 		super(type, player, position, buildingsGrid);
-		ALL_HARBORS.add(this);
+		getAll().add(this);
 	}
 
 
@@ -76,7 +80,7 @@ public class HarborBuilding extends TradingBuilding implements IDockBuilding {
 	@Override
 	protected void killedEvent() {
 		super.killedEvent();
-		ALL_HARBORS.remove(this);
+		getAll().remove(this);
 		removeDock();
 	}
 
@@ -17,7 +17,6 @@ package jsettlers.logic.buildings.trading;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.stream.Stream;
@@ -25,6 +24,7 @@ import java.util.stream.Stream;
 import jsettlers.common.buildings.EBuildingType;
 import jsettlers.common.position.ShortPoint2D;
 import jsettlers.logic.buildings.IBuildingsGrid;
+import jsettlers.logic.constants.GameContext;
 import jsettlers.logic.player.Player;
 
 /**
@@ -33,28 +33,32 @@ import jsettlers.logic.player.Player;
  *
  */
 public class MarketBuilding extends TradingBuilding {
-	private static final List<MarketBuilding> ALL_MARKETS = new ArrayList<>();
+	private static final long serialVersionUID = 2541478307051727480L;
+
+	private static List<MarketBuilding> getAll() {
+		return GameContext.current().getBuildingRegistry().getMarkets();
+	}
 
 	public static Stream<MarketBuilding> getAllMarkets(final Player player) {
-		return ALL_MARKETS.stream().filter(building -> building.getPlayer() == player);
+		return getAll().stream().filter(building -> building.getPlayer() == player);
 	}
 
 	public static void clearState() {
-		ALL_MARKETS.clear();
+		getAll().clear();
 	}
 
 	@SuppressWarnings("unchecked")
 	public static void readStaticState(ObjectInputStream ois) throws IOException, ClassNotFoundException {
-		ALL_MARKETS.addAll((Collection<? extends MarketBuilding>) ois.readUnshared());
+		getAll().addAll((Collection<? extends MarketBuilding>) ois.readUnshared());
 	}
 
 	public static void writeStaticState(ObjectOutputStream oos) throws IOException {
-		oos.writeUnshared(ALL_MARKETS);
+		oos.writeUnshared(getAll());
 	}
 
 	public MarketBuilding(EBuildingType type, Player player, ShortPoint2D position, IBuildingsGrid buildingsGrid) {
 		super(type, player, position, buildingsGrid);
-		ALL_MARKETS.add(this);
+		getAll().add(this);
 	}
 
 	@Override
@@ -71,7 +75,7 @@ public class MarketBuilding extends TradingBuilding {
 	@Override
 	protected void killedEvent() {
 		super.killedEvent();
-		ALL_MARKETS.remove(this);
+		getAll().remove(this);
 	}
 
 	@Override
@@ -28,6 +28,76 @@ public final class Constants {
 
 	public static boolean FOG_OF_WAR_DEFAULT_ENABLED = true;
 
+	/**
+	 * If true, the {@link jsettlers.logic.timer.IPreparableTimerable}s of a time slot prepare their timer events in parallel on all cores. The game
+	 * state does not depend on this setting.
+	 */
+	public static boolean PARALLEL_TIMERABLE_PREPARATION = true;
+
+	/**
+	 * If true, the time spent in each {@link jsettlers.logic.timer.ESubsystem} is summed up in {@link MatchConstants#subsystemTimes()}. This
+	 * costs two calls to {@link System#nanoTime()} per timer event.
+	 */
+	public static boolean MEASURE_SUBSYSTEM_TIMES = false;
+
+	/**
+	 * If true, the fog of war dims the bands of the map in parallel on all cores. Single core machines and small maps are always dimmed serially.
+	 */
+	public static boolean PARALLEL_FOG_OF_WAR_DIMMING = true;
+
+	/**
+	 * If true, long paths of land movables are searched with the {@link jsettlers.algorithms.path.astar.HierarchicalAStar}. As the found paths
+	 * differ, all players of a game must use the same value. It has only an effect on grids created or loaded after changing it.
+	 */
+	public static boolean HIERARCHICAL_PATHFINDING = false;
+
+	/**
+	 * If true, the {@link jsettlers.algorithms.path.dijkstra.DijkstraAlgorithm} expands once from the requester instead of calculating a path to
+	 * every fitting position of the ring scan. The nearest position by path costs is found instead of the nearest by distance to the center, so
+	 * all players of a game must use the same value. It has only an effect on grids created or loaded after changing it.
+	 */
+	public static boolean DIJKSTRA_FLOOD_SEARCH = false;
+
+	/**
+	 * If true, the {@link jsettlers.algorithms.partitions.PartitionCalculatorAlgorithm} labels the partitions of map loading and tower occupation
+	 * in parallel bands on all cores. Both ways number the partitions in the order of their first position, so the game state does not depend on
+	 * this setting.
+	 */
+	public static boolean PARALLEL_PARTITION_CALCULATION = true;
+
+	/**
+	 * If true, the {@link jsettlers.ai.highlevel.AiStatistics} and the {@link jsettlers.ai.highlevel.AiDensityGrid}s rescan the whole map after
+	 * every incremental update and fail if the results differ. This is meant for debugging only, as it removes the benefit of the incremental
+	 * updates.
+	 */
+	public static boolean AI_STATISTICS_CONSISTENCY_CHECK = false;
+
+	/**
+	 * Number of steps of its heavy rules every AI applies per tick of the {@link jsettlers.ai.highlevel.AiExecutor}. The remaining steps are
+	 * continued in the next tick.
+	 */
+	public static int AI_HEAVY_RULE_STEPS_PER_TICK = 1;
+
+	/**
+	 * If true, the paths found by the {@link jsettlers.algorithms.path.astar.BucketQueueAStar} are kept in a
+	 * {@link jsettlers.algorithms.path.astar.PathCache}. Only paths the search would find again are taken from the cache, so the game state does not
+	 * depend on this setting. It has only an effect on grids created or loaded after changing it.
+	 */
+	public static boolean PATH_CACHE = false;
+	public static final int PATH_CACHE_SIZE = 2048;
+
+	/**
+	 * If true, the {@link jsettlers.logic.map.grid.partition.manager.materials.MaterialsManager} keeps assigning deliveries round by round over
+	 * all material types until no jobless bearer, no matching offer and request or no budget is left. Otherwise, it assigns at most one delivery
+	 * per material type and scheduling period. As more deliveries are assigned per period, all players of a game must use the same value.
+	 */
+	public static boolean BATCHED_MATERIAL_DISTRIBUTION = false;
+	/**
+	 * Maximum number of deliveries a {@link jsettlers.logic.map.grid.partition.manager.materials.MaterialsManager} assigns per scheduling period
+	 * if {@link #BATCHED_MATERIAL_DISTRIBUTION} is enabled.
+	 */
+	public static int MATERIAL_DISTRIBUTION_BUDGET = 64;
+
 	public static final float COMBAT_STRENGTH_OWN_GROUND = 1;
 
 	/**
@@ -0,0 +1,218 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.constants;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import jsettlers.algorithms.fogofwar.FogOfWar;
+import jsettlers.logic.buildings.BuildingRegistry;
+import jsettlers.logic.movable.MovableManager;
+import jsettlers.logic.timer.RescheduleTimer;
+import jsettlers.logic.timer.SubsystemTimes;
+import jsettlers.network.client.interfaces.IGameClock;
+import jsettlers.network.synchronic.timer.INetworkTimerable;
+import jsettlers.network.synchronic.timer.ITaskExecutor;
+
+/**
+ * Owns the state of one running match: the clock, the random generators, the {@link RescheduleTimer}, the movables, the buildings and the fog of
+ * war. Several matches can run in the same JVM, each with its own context.
+ * <p />
+ * Game logic that is not handed a context finds it with {@link #current()}. The threads of a match are bound to its context: the game thread, the
+ * load and save threads, the fog of war threads, the AI workers and every call of the clock into the timerables scheduled by
+ * {@link #schedule(INetworkTimerable, short)} and the task executor wrapped by {@link #bind(ITaskExecutor)}. Other threads, e.g. the UI or tests,
+ * see the context of the last started match.
+ * <p />
+ * Immutable data like the behaviour trees and the building variants is shared between all matches.
+ */
+public final class GameContext {
+	private static final ThreadLocal<GameContext> BOUND_CONTEXT = new ThreadLocal<>();
+	private static volatile GameContext defaultContext = new GameContext(null, 0L);
+
+	private final IGameClock clock;
+	private final SubsystemTimes subsystemTimes = new SubsystemTimes();
+	private final MovableManager movableManager = new MovableManager();
+	private final BuildingRegistry buildingRegistry = new BuildingRegistry();
+	private final Map<INetworkTimerable, INetworkTimerable> scheduledTimerables = new IdentityHashMap<>();
+
+	private ExtendedRandom random;
+	private ExtendedRandom aiRandom;
+	private volatile RescheduleTimer rescheduleTimer;
+	private volatile FogOfWar fogOfWar;
+
+	public GameContext(IGameClock clock, long randomSeed) {
+		this.clock = clock;
+		this.random = new ExtendedRandom(randomSeed);
+		this.aiRandom = new ExtendedRandom(randomSeed);
+	}
+
+	/**
+	 * @return the context bound to the current thread or the context of the last started match if the thread is not bound.
+	 */
+	public static GameContext current() {
+		GameContext context = BOUND_CONTEXT.get();
+		return context != null ? context : defaultContext;
+	}
+
+	/**
+	 * Makes the given context the one seen by threads that are not bound to a context.
+	 */
+	public static void setDefault(GameContext context) {
+		defaultContext = context;
+	}
+
+	/**
+	 * Binds this context to the current thread for the rest of the thread's life. Only use this for threads owned by the match.
+	 */
+	public void bindToCurrentThread() {
+		BOUND_CONTEXT.set(this);
+	}
+
+	/**
+	 * Runs the given runnable with this context bound to the current thread and restores the previous binding afterwards.
+	 */
+	public void runBound(Runnable runnable) {
+		GameContext previous = BOUND_CONTEXT.get();
+		BOUND_CONTEXT.set(this);
+		try {
+			runnable.run();
+		} finally {
+			if (previous != null) {
+				BOUND_CONTEXT.set(previous);
+			} else {
+				BOUND_CONTEXT.remove();
+			}
+		}
+	}
+
+	/**
+	 * Schedules the given timerable on the clock of this context. The timerable is called with this context bound.
+	 */
+	public void schedule(INetworkTimerable timerable, short period) {
+		INetworkTimerable boundTimerable = () -> runBound(timerable::timerEvent);
+		synchronized (scheduledTimerables) {
+			scheduledTimerables.put(timerable, boundTimerable);
+		}
+		clock.schedule(boundTimerable, period);
+	}
+
+	/**
+	 * Removes a timerable scheduled with {@link #schedule(INetworkTimerable, short)} from the clock.
+	 */
+	public void unschedule(INetworkTimerable timerable) {
+		INetworkTimerable boundTimerable;
+		synchronized (scheduledTimerables) {
+			boundTimerable = scheduledTimerables.remove(timerable);
+		}
+		if (boundTimerable != null && clock != null) {
+			clock.remove(boundTimerable);
+		}
+	}
+
+	/**
+	 * @return a task executor that executes the tasks with this context bound.
+	 */
+	public ITaskExecutor bind(ITaskExecutor taskExecutor) {
+		return task -> runBound(() -> taskExecutor.executeTask(task));
+	}
+
+	/**
+	 * Stops the clock of this context.
+	 */
+	public void stop() {
+		if (clock != null) {
+			clock.stopExecution();
+		}
+	}
+
+	public IGameClock getClock() {
+		return clock;
+	}
+
+	public ExtendedRandom getRandom() {
+		return random;
+	}
+
+	public ExtendedRandom getAiRandom() {
+		return aiRandom;
+	}
+
+	public SubsystemTimes getSubsystemTimes() {
+		return subsystemTimes;
+	}
+
+	public MovableManager getMovableManager() {
+		return movableManager;
+	}
+
+	public BuildingRegistry getBuildingRegistry() {
+		return buildingRegistry;
+	}
+
+	/**
+	 * @return the {@link RescheduleTimer} of this context. It is created on the first call.
+	 */
+	public RescheduleTimer getRescheduleTimer() {
+		RescheduleTimer timer = rescheduleTimer;
+		if (timer == null) {
+			synchronized (this) {
+				timer = rescheduleTimer;
+				if (timer == null) {
+					timer = new RescheduleTimer();
+					rescheduleTimer = timer;
+				}
+			}
+		}
+		return timer;
+	}
+
+	/**
+	 * @return the {@link RescheduleTimer} of this context or null if it has not been created.
+	 */
+	public RescheduleTimer peekRescheduleTimer() {
+		return rescheduleTimer;
+	}
+
+	public void setRescheduleTimer(RescheduleTimer rescheduleTimer) {
+		this.rescheduleTimer = rescheduleTimer;
+	}
+
+	/**
+	 * @return the fog of war of the local player or null if it has not been started.
+	 */
+	public FogOfWar getFogOfWar() {
+		return fogOfWar;
+	}
+
+	public void setFogOfWar(FogOfWar fogOfWar) {
+		this.fogOfWar = fogOfWar;
+	}
+
+	public void serialize(ObjectOutputStream oos) throws IOException {
+		oos.writeInt(clock.getTime());
+		// pucgenie: unshared doesn't really make a difference here
+		oos.writeUnshared(random);
+		oos.writeUnshared(aiRandom);
+	}
+
+	public void deserialize(ObjectInputStream ois) throws IOException, ClassNotFoundException {
+		clock.setTime(ois.readInt());
+		random = (ExtendedRandom) ois.readUnshared();
+		aiRandom = (ExtendedRandom) ois.readUnshared();
+	}
+}
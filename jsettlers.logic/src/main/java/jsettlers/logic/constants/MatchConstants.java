@@ -18,7 +18,9 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 
+import jsettlers.logic.map.grid.partition.manager.materials.MaterialDistributionStatistics;
 import jsettlers.logic.movable.civilian.BuildingWorkerMovable;
+import jsettlers.logic.timer.SubsystemTimes;
 import jsettlers.network.client.interfaces.IGameClock;
 
 /**
@@ -41,6 +43,12 @@ public final class MatchConstants {
 
 	public static final boolean ENABLE_PRODUCTION_LOG = false;
 
+	/**
+	 * if true, the throughput of the material distribution is written to a log file. See
+	 * {@link jsettlers.logic.map.grid.partition.manager.materials.MaterialDistributionStatistics}.
+	 */
+	public static boolean ENABLE_DISTRIBUTION_LOG = false;
+
 	/**
 	 * NOTE: this value has only an effect if it's changed before the MainGrid is created! IT MUSTN'T BE CHANGED AFTER A MAIN GRID HAS BEEN CREATED <br>
 	 * if false, no debug coloring is possible (but saves memory) <br>
@@ -51,51 +59,52 @@ public final class MatchConstants {
 	private MatchConstants() {
 	}
 
-	private static IGameClock clock;
-	private static ExtendedRandom gameRandom;
-	private static ExtendedRandom aiRandom;
-
-	public static void init(IGameClock clock, long randomSeed) {
-		clearState();
-		MatchConstants.clock = clock;
-		MatchConstants.gameRandom = new ExtendedRandom(randomSeed);
-		MatchConstants.aiRandom = new ExtendedRandom(randomSeed);
+	/**
+	 * Creates the {@link GameContext} of a new match and makes it the one seen by threads that are not bound to a context.
+	 *
+	 * @return the new context.
+	 */
+	public static GameContext init(IGameClock clock, long randomSeed) {
+		GameContext context = new GameContext(clock, randomSeed);
+		GameContext.setDefault(context);
 
 		BuildingWorkerMovable.resetProductionFile();
+		MaterialDistributionStatistics.resetDistributionFile();
+		return context;
 	}
 
+	/**
+	 * Stops the clock of the current {@link GameContext}.
+	 */
 	public static void clearState() {
-		if (clock != null) {
-			clock.stopExecution();
-		}
-		clock = null;
-		gameRandom = null;
-		aiRandom = null;
+		GameContext.current().stop();
 	}
 
 	public static IGameClock clock() {
-		return clock;
+		return GameContext.current().getClock();
 	}
 
 	public static ExtendedRandom random() {
-		return gameRandom;
+		return GameContext.current().getRandom();
 	}
 
 	public static ExtendedRandom aiRandom() {
-		return aiRandom;
+		return GameContext.current().getAiRandom();
+	}
+
+	/**
+	 * @return the time spent in the subsystems of the current match. It is kept after the match is cleared, so it can still be read then.
+	 */
+	public static SubsystemTimes subsystemTimes() {
+		return GameContext.current().getSubsystemTimes();
 	}
 
 	public static void serialize(ObjectOutputStream oos) throws IOException {
-		oos.writeInt(clock.getTime());
-		// pucgenie: unshared doesn't really make a difference here
-		oos.writeUnshared(gameRandom);
-		oos.writeUnshared(aiRandom);
+		GameContext.current().serialize(oos);
 	}
 
 	public static void deserialize(ObjectInputStream ois) throws IOException, ClassNotFoundException {
-		clock.setTime(ois.readInt());
-		gameRandom = (ExtendedRandom) ois.readUnshared();
-		aiRandom = (ExtendedRandom) ois.readUnshared();
+		GameContext.current().deserialize(ois);
 	}
 
 }
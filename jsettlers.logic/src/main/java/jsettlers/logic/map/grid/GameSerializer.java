@@ -21,6 +21,7 @@ import java.io.ObjectOutputStream;
 import jsettlers.logic.buildings.Building;
 import jsettlers.logic.buildings.trading.HarborBuilding;
 import jsettlers.logic.buildings.trading.MarketBuilding;
+import jsettlers.logic.constants.GameContext;
 import jsettlers.logic.map.loading.MapLoadException;
 import jsettlers.logic.movable.MovableManager;
 
@@ -46,7 +47,8 @@ public class GameSerializer {
 	 */
 	public void save(MainGrid grid, final ObjectOutputStream oos) throws IOException {
 		GameSaveTask runnable = new GameSaveTask(grid, oos);
-		Thread t = new Thread(null, runnable, "SaveThread", SAVE_STACK_SIZE);
+		GameContext context = grid.getGameContext();
+		Thread t = new Thread(null, () -> context.runBound(runnable), "SaveThread", SAVE_STACK_SIZE);
 		t.start();
 		try {
 			t.join();
@@ -64,7 +66,8 @@ public class GameSerializer {
 	public MainGrid load(final ObjectInputStream ois) throws MapLoadException {
 		try {
 			LoadRunnable runnable = new LoadRunnable(ois);
-			Thread t = new Thread(null, runnable, "LoadThread", LOAD_STACK_SIZE);
+			GameContext context = GameContext.current();
+			Thread t = new Thread(null, () -> context.runBound(runnable), "LoadThread", LOAD_STACK_SIZE);
 			t.start();
 			t.join();
 
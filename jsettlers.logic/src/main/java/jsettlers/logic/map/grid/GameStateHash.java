@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.grid;
+
+import java.util.BitSet;
+
+/**
+ * Maintains a hash of the positions of the map that's updated incrementally from the notifications of the grids. The hash of the map is the XOR of
+ * the hashes of all positions, so a position that's reported as changed only needs to be hashed again the next time the hash is requested. The cost
+ * of {@link #getHash()} is therefore proportional to the number of positions changed since the last call and not to the size of the map.
+ * <p />
+ * Nothing is allocated or tracked before the hash is requested for the first time. Positions must only be reported from the game thread.
+ */
+public final class GameStateHash implements IGridChangedListener {
+
+	/**
+	 * Computes the hash of a single position. It must only depend on state whose changes are reported by {@link IGridChangedListener#positionChangedAt(int, int)}.
+	 */
+	public interface IPositionHashFunction {
+		long hashAt(int x, int y);
+	}
+
+	private final short                 width;
+	private final short                 height;
+	private final IPositionHashFunction hashFunction;
+
+	private long[] positionHashes;
+	private BitSet changedPositions;
+	private int[]  changedIndices;
+	private int    changedCount;
+	private long   hash;
+
+	public GameStateHash(short width, short height, IPositionHashFunction hashFunction) {
+		this.width = width;
+		this.height = height;
+		this.hashFunction = hashFunction;
+	}
+
+	/**
+	 * @return the hash of all positions of the map.
+	 */
+	public long getHash() {
+		if (positionHashes == null) {
+			hashAllPositions();
+		} else {
+			for (int i = 0; i < changedCount; i++) {
+				int index = changedIndices[i];
+				long positionHash = hashPosition(index % width, index / width);
+				hash ^= positionHashes[index] ^ positionHash;
+				positionHashes[index] = positionHash;
+			}
+			changedPositions.clear();
+			changedCount = 0;
+		}
+		return hash;
+	}
+
+	private void hashAllPositions() {
+		positionHashes = new long[width * height];
+		changedPositions = new BitSet(width * height);
+		changedIndices = new int[64];
+
+		hash = 0;
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				long positionHash = hashPosition(x, y);
+				positionHashes[x + y * width] = positionHash;
+				hash ^= positionHash;
+			}
+		}
+	}
+
+	private long hashPosition(int x, int y) {
+		return mix(hashFunction.hashAt(x, y) * 31 + x + y * width);
+	}
+
+	@Override
+	public void positionChangedAt(int x, int y) {
+		if (positionHashes == null) {
+			return;
+		}
+
+		int index = x + y * width;
+		if (!changedPositions.get(index)) {
+			changedPositions.set(index);
+			if (changedCount == changedIndices.length) {
+				int[] newIndices = new int[changedCount * 2];
+				System.arraycopy(changedIndices, 0, newIndices, 0, changedCount);
+				changedIndices = newIndices;
+			}
+			changedIndices[changedCount++] = index;
+		}
+	}
+
+	@Override
+	public void partitionMerged(short oldPartitionId, short newPartitionId) {
+		// the positions are hashed with the player of their partition, which isn't changed by a merge.
+	}
+
+	/**
+	 * Spreads the bits of the given value so that similar values result in unrelated hashes (finalizer of the SplitMix64 generator).
+	 *
+	 * @param value
+	 *            value to be mixed
+	 * @return the mixed value
+	 */
+	public static long mix(long value) {
+		value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+		value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+		return value ^ (value >>> 31);
+	}
+}
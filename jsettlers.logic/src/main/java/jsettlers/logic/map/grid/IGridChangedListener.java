@@ -0,0 +1,55 @@
+/*******************************************************************************
+ * Copyright (c) 2015
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.grid;
+
+/**
+ * Listener that's informed by the grids when a position changes in a way that statistics derived from the map may depend on. This includes the
+ * landscape, heights, resources, blocked partitions, the blocked and protected flags, the map objects, the partitions and the tower counters.
+ */
+public interface IGridChangedListener {
+	/**
+	 * This is a default implementation doing nothing on calls to the methods of {@link IGridChangedListener}.
+	 */
+	IGridChangedListener DEFAULT_IMPLEMENTATION = new IGridChangedListener() {
+		@Override
+		public void positionChangedAt(int x, int y) {
+		}
+
+		@Override
+		public void partitionMerged(short oldPartitionId, short newPartitionId) {
+		}
+	};
+
+	/**
+	 * This method is called when something changed at the given position.
+	 *
+	 * @param x
+	 *            x coordinate of the position.
+	 * @param y
+	 *            y coordinate of the position.
+	 */
+	void positionChangedAt(int x, int y);
+
+	/**
+	 * This method is called when a partition has been merged into another one. All positions of the old partition now report the id of the new
+	 * partition without being reported one by one.
+	 *
+	 * @param oldPartitionId
+	 *            The id of the merged partition.
+	 * @param newPartitionId
+	 *            The id of the partition the old partition has been merged into.
+	 */
+	void partitionMerged(short oldPartitionId, short newPartitionId);
+}
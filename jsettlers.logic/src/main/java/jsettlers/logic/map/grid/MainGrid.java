@@ -17,6 +17,7 @@ package jsettlers.logic.map.grid;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.Date;
 import java.util.Locale;
@@ -35,7 +36,10 @@ import jsettlers.algorithms.path.area.IInAreaFinderMap;
 import jsettlers.algorithms.path.area.InAreaFinder;
 import jsettlers.algorithms.path.astar.AbstractAStar;
 import jsettlers.algorithms.path.astar.BucketQueueAStar;
-import jsettlers.algorithms.path.astar.IAStarPathMap;
+import jsettlers.algorithms.path.astar.HierarchicalAStar;
+import jsettlers.algorithms.path.astar.IHierarchicalAStarMap;
+import jsettlers.algorithms.path.astar.IPathCacheMap;
+import jsettlers.algorithms.path.astar.PathCache;
 import jsettlers.algorithms.path.dijkstra.DijkstraAlgorithm;
 import jsettlers.algorithms.path.dijkstra.IDijkstraPathMap;
 import jsettlers.algorithms.previewimage.PreviewImageCreator;
@@ -50,6 +54,7 @@ import jsettlers.common.landscape.ELandscapeType;
 import jsettlers.common.landscape.EResourceType;
 import jsettlers.common.map.EDebugColorModes;
 import jsettlers.common.map.IGraphicsBackgroundListener;
+import jsettlers.common.map.IGraphicsObjectsListener;
 import jsettlers.common.map.IGraphicsGrid;
 import jsettlers.common.map.IDirectGridProvider;
 import jsettlers.common.map.partition.IPartitionData;
@@ -86,6 +91,7 @@ import jsettlers.logic.buildings.stack.IRequestsStackGrid;
 import jsettlers.logic.buildings.stack.multi.StockSettings;
 import jsettlers.logic.buildings.workers.WorkerBuilding;
 import jsettlers.logic.constants.Constants;
+import jsettlers.logic.constants.GameContext;
 import jsettlers.logic.constants.MatchConstants;
 import jsettlers.logic.map.grid.flags.FlagsGrid;
 import jsettlers.logic.map.grid.landscape.LandscapeGrid;
@@ -128,10 +134,12 @@ import jsettlers.logic.movable.interfaces.IAttackableMovable;
 import jsettlers.logic.movable.interfaces.IFerryMovable;
 import jsettlers.logic.movable.interfaces.ILogicMovable;
 import jsettlers.logic.movable.interfaces.ISoldierMovable;
+import jsettlers.logic.movable.interfaces.PreparedEnemySearch;
 import jsettlers.logic.objects.arrow.ArrowObject;
 import jsettlers.logic.objects.stack.StackMapObject;
 import jsettlers.logic.player.Player;
 import jsettlers.logic.player.PlayerSetting;
+import jsettlers.network.client.interfaces.IGameClock;
 
 /**
  * This is the main grid offering an interface for interacting with the grid.
@@ -163,6 +171,9 @@ public final class MainGrid implements Serializable {
 	transient         BordersThread                  bordersThread;
 	transient         IGuiInputGrid                  guiInputGrid;
 	private transient IEnclosedBlockedAreaFinderGrid enclosedBlockedAreaFinderGrid;
+	private transient GridChangedListeners           gridChangedListeners;
+	private transient GameStateHash                  gameStateHash;
+	private transient GameContext                    gameContext;
 
 	public MainGrid(String mapId, String mapName, short width, short height, PlayerSetting[] playerSettings) {
 		this.mapId = mapId;
@@ -204,6 +215,7 @@ public final class MainGrid implements Serializable {
 	}
 
 	private void initAdditional() {
+		this.gameContext = GameContext.current();
 		this.graphicsGrid = new GraphicsGrid();
 		this.constructionMarksGrid = new ConstructionMarksGrid();
 		this.bordersThread = new BordersThread(new BordersThreadGrid());
@@ -211,6 +223,48 @@ public final class MainGrid implements Serializable {
 
 		this.partitionsGrid.setPlayerChangedListener(new PlayerChangedListener());
 		this.enclosedBlockedAreaFinderGrid = new EnclosedBlockedAreaFinderGrid();
+
+		this.gridChangedListeners = new GridChangedListeners();
+		this.landscapeGrid.setGridChangedListener(gridChangedListeners);
+		this.flagsGrid.setGridChangedListener(gridChangedListeners);
+		this.objectsGrid.setGridChangedListener(gridChangedListeners);
+		this.partitionsGrid.setGridChangedListener(gridChangedListeners);
+
+		this.gameStateHash = new GameStateHash(width, height, this::hashPositionState);
+		this.gridChangedListeners.add(gameStateHash);
+		this.gridChangedListeners.add(graphicsGrid);
+	}
+
+	/**
+	 * Computes a hash of the game state that's equal on all clients as long as they are in sync. Only the positions and movables changed since
+	 * the last call are hashed again. This must be called from the game thread.
+	 *
+	 * @return the hash of the landscape, flags, objects, partitions and movables.
+	 */
+	public long getStateHash() {
+		return gameStateHash.getHash() * 31 + gameContext.getMovableManager().getStateHash();
+	}
+
+	private long hashPositionState(int x, int y) {
+		long hash = landscapeGrid.getLandscapeTypeAt(x, y).ordinal();
+		hash = hash * 31 + landscapeGrid.getHeightAt(x, y);
+		hash = hash * 31 + landscapeGrid.getResourceTypeAt(x, y).ordinal();
+		hash = hash * 31 + landscapeGrid.getResourceAmountAt(x, y);
+		hash = hash * 31 + landscapeGrid.getBlockedPartitionAt(x, y);
+		hash = hash * 31 + (flagsGrid.isBlocked(x, y) ? 1 : 0) + (flagsGrid.isProtected(x, y) ? 2 : 0);
+		hash = hash * 31 + partitionsGrid.getPlayerIdAt(x, y);
+
+		for (AbstractHexMapObject object = objectsGrid.getObjectsAt(x, y); object != null; object = object.getNextObject()) {
+			hash = hash * 31 + object.getObjectType().ordinal();
+		}
+		return hash;
+	}
+
+	/**
+	 * @return the context of the match this grid belongs to.
+	 */
+	public GameContext getGameContext() {
+		return gameContext;
 	}
 
 	public final short getHeight() {
@@ -352,8 +406,9 @@ public final class MainGrid implements Serializable {
 	}
 
 	public void save(Byte playerId, UIState uiState) throws IOException {
-		boolean savedPausingState = MatchConstants.clock().isPausing();
-		MatchConstants.clock().setPausing(true);
+		IGameClock clock = gameContext.getClock();
+		boolean savedPausingState = clock.isPausing();
+		clock.setPausing(true);
 		try {
 			Thread.sleep(300L); // FIXME @Andreas serializer should wait until threads did their work!
 		} catch (InterruptedException e) {
@@ -365,7 +420,7 @@ public final class MainGrid implements Serializable {
 		MapList list = MapList.getDefaultList();
 		list.saveMap(playerStates, header, MainGrid.this);
 
-		MatchConstants.clock().setPausing(savedPausingState);
+		clock.setPausing(savedPausingState);
 	}
 
 	private PlayerState[] calculatePlayerStates(Byte playerId, UIState uiState) {
@@ -497,6 +552,10 @@ public final class MainGrid implements Serializable {
 			}
 		}
 		landscapeGrid.setLandscapeTypeAt(x, y, newType, checked);
+
+		if (movablePathfinderGrid.pathCache != null) { // the water of the ships' paths might have changed
+			movablePathfinderGrid.pathCache.positionChanged(x, y);
+		}
 	}
 
 	final void checkPositionThatChangedPlayer(int x, int y) {
@@ -523,6 +582,17 @@ public final class MainGrid implements Serializable {
 		return !blockingOptional.isPresent();
 	}
 
+	/**
+	 * Adds a listener that's informed about changes of the landscape, flags, objects and partitions grids. The listener is not serialized and
+	 * needs to be added again after loading.
+	 *
+	 * @param listener
+	 *            The listener to be added.
+	 */
+	public void addGridChangedListener(IGridChangedListener listener) {
+		gridChangedListeners.add(listener);
+	}
+
 	public FlagsGrid getFlagsGrid() {
 		return flagsGrid;
 	}
@@ -543,7 +613,7 @@ public final class MainGrid implements Serializable {
 		fogOfWar.showMap();
 	}
 
-	final class PathfinderGrid implements IAStarPathMap, IDijkstraPathMap, IInAreaFinderMap, Serializable {
+	final class PathfinderGrid implements IHierarchicalAStarMap, IPathCacheMap, IDijkstraPathMap, IInAreaFinderMap, Serializable {
 		private static final long serialVersionUID = -2775530442375843213L;
 
 		@Override
@@ -554,6 +624,11 @@ public final class MainGrid implements Serializable {
 			return flagsGrid.isBlocked(x, y) || (requester.needsPlayersGround() && requester.getPlayer().getPlayerId() != partitionsGrid.getPlayerIdAt(x, y));
 		}
 
+		@Override
+		public boolean isBlocked(int x, int y, byte groundPlayerId) {
+			return flagsGrid.isBlocked(x, y) || (groundPlayerId >= 0 && groundPlayerId != partitionsGrid.getPlayerIdAt(x, y));
+		}
+
 		@Override
 		public final float getCost(IPathCalculatable requester, int sx, int sy, int tx, int ty) {
 			if(requester.getPosition().getOnGridDistTo(sx, sy) <= CommonConstants.MOVABLE_PATH_REPAIR_DISTANCE) {
@@ -562,6 +637,16 @@ public final class MainGrid implements Serializable {
 			return 1;
 		}
 
+		@Override
+		public int getMovableCostDistance() {
+			return CommonConstants.MOVABLE_PATH_REPAIR_DISTANCE;
+		}
+
+		@Override
+		public boolean hasMovableAt(int x, int y) {
+			return !movableGrid.hasNoMovableAt(x, y);
+		}
+
 		@Override
 		public final void markAsOpen(int x, int y) {
 			landscapeGrid.setDebugColor(x, y, Color.BLUE.getARGB());
@@ -822,8 +907,9 @@ public final class MainGrid implements Serializable {
 
 	}
 
-	final class GraphicsGrid implements IGraphicsGrid, IDirectGridProvider {
+	final class GraphicsGrid implements IGraphicsGrid, IDirectGridProvider, IGridChangedListener {
 		private transient BitSet bordersGrid = new BitSet(width * height);
+		private transient volatile IGraphicsObjectsListener objectsListener = NULL_OBJECTS_LISTENER;
 
 		@Override
 		public final short getHeight() {
@@ -847,7 +933,7 @@ public final class MainGrid implements Serializable {
 
 		@Override
 		public final IMapObject getVisibleMapObjectsAt(int x, int y) {
-			if(fogOfWar.isHidden(x, y)) return fogOfWar.hiddenMapObjects[x][y];
+			if(fogOfWar.isHidden(x, y)) return fogOfWar.getHiddenMapObjectsAt(x, y);
 			return objectsGrid.getObjectsAt(x, y);
 		}
 
@@ -857,7 +943,7 @@ public final class MainGrid implements Serializable {
 
 		@Override
 		public final byte getVisibleHeightAt(int x, int y) {
-			if(fogOfWar.isHidden(x, y)) return fogOfWar.hiddenHeight[x][y];
+			if(fogOfWar.isHidden(x, y)) return fogOfWar.getHiddenHeightAt(x, y);
 			return landscapeGrid.getHeightAt(x, y);
 		}
 
@@ -936,7 +1022,7 @@ public final class MainGrid implements Serializable {
 		}
 
 		@Override
-		public byte[][] getVisibleStatusArray() {
+		public byte[] getVisibleStatusArray() {
 			return fogOfWar.getVisibleStatusArray();
 		}
 
@@ -951,6 +1037,28 @@ public final class MainGrid implements Serializable {
 			fogOfWar.setBackgroundListener(backgroundListener);
 		}
 
+		@Override
+		public void setObjectsListener(IGraphicsObjectsListener objectsListener) {
+			this.objectsListener = objectsListener != null ? objectsListener : NULL_OBJECTS_LISTENER;
+		}
+
+		@Override
+		public void positionChangedAt(int x, int y) {
+			objectsListener.objectsChangedAt(x, y);
+		}
+
+		@Override
+		public void partitionMerged(short oldPartitionId, short newPartitionId) {
+		}
+
+		void setBorderAt(int x, int y, boolean isBorder) {
+			int index = x + y * width;
+			if (bordersGrid.get(index) != isBorder) {
+				bordersGrid.set(index, isBorder);
+				objectsListener.objectsChangedAt(x, y);
+			}
+		}
+
 		@Override
 		public IPartitionData getPartitionData(int x, int y) {
 			return partitionsGrid.getPartitionDataForManagerAt(x, y);
@@ -992,9 +1100,17 @@ public final class MainGrid implements Serializable {
 
 		@Override
 		public final boolean removeMapObject(int x, int y, AbstractHexMapObject mapObject) {
+			if (mapObject != null && mapObject.getObjectType() == EMapObjectType.ATTACKABLE_TOWER) {
+				movableGrid.attackableChangedAt(x, y);
+			}
 			return objectsGrid.removeMapObject(x, y, mapObject);
 		}
 
+		@Override
+		public final void mapObjectChangedAt(int x, int y) {
+			objectsGrid.mapObjectChangedAt(x, y);
+		}
+
 		@Override
 		public final AbstractHexMapObject getMapObject(int x, int y, EMapObjectType mapObjectType) {
 			return objectsGrid.getMapObjectAt(x, y, mapObjectType);
@@ -1002,6 +1118,9 @@ public final class MainGrid implements Serializable {
 
 		@Override
 		public final void addMapObject(int x, int y, AbstractHexMapObject mapObject) {
+			if (mapObject.getObjectType() == EMapObjectType.ATTACKABLE_TOWER) {
+				movableGrid.attackableChangedAt(x, y);
+			}
 			objectsGrid.addMapObjectAt(x, y, mapObject);
 		}
 
@@ -1230,6 +1349,8 @@ public final class MainGrid implements Serializable {
 
 		private transient PathfinderGrid    pathfinderGrid;
 		private transient AbstractAStar     aStar;
+		private transient HierarchicalAStar hierarchicalAStar;
+		private transient PathCache         pathCache;
 		transient         DijkstraAlgorithm dijkstra; // not private, because it's used by BuildingsGrid
 		private transient InAreaFinder      inAreaFinder;
 
@@ -1240,8 +1361,30 @@ public final class MainGrid implements Serializable {
 		private void initPathfinders() {
 			pathfinderGrid = new PathfinderGrid();
 
-			aStar = new BucketQueueAStar(pathfinderGrid, width, height);
-			dijkstra = new DijkstraAlgorithm(pathfinderGrid, aStar, width, height);
+			BucketQueueAStar bucketQueueAStar = new BucketQueueAStar(pathfinderGrid, width, height);
+			if (Constants.PATH_CACHE) {
+				pathCache = new PathCache(pathfinderGrid, width, height, Constants.PATH_CACHE_SIZE);
+				bucketQueueAStar.setPathCache(pathCache);
+			}
+			aStar = bucketQueueAStar;
+
+			if (Constants.HIERARCHICAL_PATHFINDING) {
+				hierarchicalAStar = new HierarchicalAStar(pathfinderGrid, aStar, width, height);
+				aStar = hierarchicalAStar;
+			}
+			flagsGrid.setBlockedChangedListener((x, y, newBlockedState) -> {
+				if (hierarchicalAStar != null) {
+					hierarchicalAStar.blockedChanged(x, y);
+				}
+				if (pathCache != null) {
+					pathCache.positionChanged(x, y);
+				}
+			});
+			if (Constants.DIJKSTRA_FLOOD_SEARCH) {
+				dijkstra = new DijkstraAlgorithm(pathfinderGrid, pathfinderGrid, aStar, width, height);
+			} else {
+				dijkstra = new DijkstraAlgorithm(pathfinderGrid, aStar, width, height);
+			}
 			inAreaFinder = new InAreaFinder(pathfinderGrid, width, height);
 		}
 
@@ -1466,6 +1609,11 @@ public final class MainGrid implements Serializable {
 			}
 		}
 
+		@Override
+		public void attackableChangedAt(ShortPoint2D position) {
+			movableGrid.attackableChangedAt(position.x, position.y);
+		}
+
 		public void notifyAttackers(ShortPoint2D position, IAttackableMovable movable, boolean informFullArea) {
 			if (movable.isAttackable()) {
 				movableGrid.informMovables(movable, position.x, position.y, informFullArea);
@@ -1561,6 +1709,34 @@ public final class MainGrid implements Serializable {
 			return enemy;
 		}
 
+		@Override
+		public IAttackable getEnemyInSearchArea(ShortPoint2D position, IAttackable searchingAttackable, short minSearchRadius, short maxSearchRadius,
+												boolean includeTowers, PreparedEnemySearch prepared) {
+			if (prepared != null && prepared.hasSameParameters(position, minSearchRadius, maxSearchRadius, includeTowers)) {
+				int radius = getEnemySearchRadius(searchingAttackable, maxSearchRadius, includeTowers);
+				if (movableGrid.getAttackablesChangeStamps().isUnchangedSince(prepared.getChangeStamp(), position.x, position.y, radius)) {
+					return prepared.getEnemy();
+				}
+			}
+
+			return getEnemyInSearchArea(position, searchingAttackable, minSearchRadius, maxSearchRadius, includeTowers);
+		}
+
+		@Override
+		public PreparedEnemySearch prepareEnemySearch(ShortPoint2D position, IAttackable searchingAttackable, short minSearchRadius, short maxSearchRadius,
+													  boolean includeTowers) {
+			long changeStamp = movableGrid.getAttackablesChangeStamps().getCurrentStamp();
+			IAttackable enemy = getEnemyInSearchArea(position, searchingAttackable, minSearchRadius, maxSearchRadius, includeTowers);
+			return new PreparedEnemySearch(position, minSearchRadius, maxSearchRadius, includeTowers, changeStamp, enemy);
+		}
+
+		private int getEnemySearchRadius(IAttackable searchingAttackable, short maxSearchRadius, boolean includeTowers) {
+			if (includeTowers && !searchingAttackable.getMovableType().isBowman()) {
+				return Math.max(maxSearchRadius, Constants.TOWER_ATTACKABLE_SEARCH_RADIUS);
+			}
+			return maxSearchRadius;
+		}
+
 		private IAttackable searchEnemyInArea(final ShortPoint2D position, final IPlayer searchingPlayer, final short minSearchRadius, final short maxSearchRadius, boolean isBowman, boolean includeTowers) {
 			int minDistance = Integer.MAX_VALUE;
 			IAttackable result = null;
@@ -1680,7 +1856,7 @@ public final class MainGrid implements Serializable {
 
 		@Override
 		public final void setBorderAt(int x, int y, boolean isBorder) {
-			graphicsGrid.bordersGrid.set(x + y * width, isBorder);
+			graphicsGrid.setBorderAt(x, y, isBorder);
 		}
 
 		@Override
@@ -2248,6 +2424,13 @@ public final class MainGrid implements Serializable {
 			final ShortPoint2D position = new ShortPoint2D(x, y);
 			bordersThread.checkPosition(position);
 
+			if (movablePathfinderGrid.hierarchicalAStar != null) {
+				movablePathfinderGrid.hierarchicalAStar.groundChanged(x, y);
+			}
+			if (movablePathfinderGrid.pathCache != null) {
+				movablePathfinderGrid.pathCache.positionChanged(x, y);
+			}
+
 			Building building = objectsGrid.getBuildingAt(x, y);
 			if (building != null && building.getPlayer().getPlayerId() != newPlayerId) {
 				building.kill();
@@ -2255,6 +2438,35 @@ public final class MainGrid implements Serializable {
 		}
 	}
 
+	/**
+	 * Forwards the changes of the grids to all listeners added with {@link #addGridChangedListener(IGridChangedListener)}.
+	 */
+	private static final class GridChangedListeners implements IGridChangedListener {
+		private volatile IGridChangedListener[] listeners = new IGridChangedListener[0];
+
+		synchronized void add(IGridChangedListener listener) {
+			IGridChangedListener[] newListeners = Arrays.copyOf(listeners, listeners.length + 1);
+			newListeners[listeners.length] = listener;
+			listeners = newListeners;
+		}
+
+		@Override
+		public void positionChangedAt(int x, int y) {
+			for (IGridChangedListener listener : listeners) {
+				listener.positionChangedAt(x, y);
+			}
+		}
+
+		@Override
+		public void partitionMerged(short oldPartitionId, short newPartitionId) {
+			for (IGridChangedListener listener : listeners) {
+				listener.partitionMerged(oldPartitionId, newPartitionId);
+			}
+		}
+	}
+
+	private static final IGraphicsObjectsListener NULL_OBJECTS_LISTENER = (x, y) -> {};
+
 	/**
 	 * This class is used as null object to get rid of a lot of null checks
 	 *
@@ -18,6 +18,7 @@ import java.io.Serializable;
 import java.util.BitSet;
 
 import jsettlers.algorithms.partitions.IBlockingProvider;
+import jsettlers.logic.map.grid.IGridChangedListener;
 
 /**
  * Grid that's storing the blocked information for fast access.
@@ -35,6 +36,8 @@ public final class FlagsGrid implements Serializable, IBlockingProvider, IProtec
 	private final BitSet protectedGrid;
 
 	private IProtectedChangedListener protectedChangedListener = null;
+	private transient IBlockedChangedListener blockedChangedListener = null;
+	private transient IGridChangedListener gridChangedListener = null;
 
 	public FlagsGrid(final short width, final short height) {
 		this.width = width;
@@ -78,14 +81,21 @@ public final class FlagsGrid implements Serializable, IBlockingProvider, IProtec
 	 */
 	public void setBlockedAndProtected(int x, int y, boolean newBlocked, boolean newProtected) {
 		final int idx = x + y * width;
+		boolean oldBlocked = this.blockedGrid.get(idx);
 		boolean oldProtected = this.protectedGrid.get(idx);
 
 		this.blockedGrid.set(idx, newBlocked);
 		this.protectedGrid.set(idx, newProtected);
 
+		if (blockedChangedListener != null && oldBlocked != newBlocked) {
+			this.blockedChangedListener.blockedChanged(x, y, newBlocked);
+		}
 		if (protectedChangedListener != null && oldProtected != newProtected) {
 			this.protectedChangedListener.protectedChanged(x, y, newProtected);
 		}
+		if (gridChangedListener != null && (oldBlocked != newBlocked || oldProtected != newProtected)) {
+			this.gridChangedListener.positionChangedAt(x, y);
+		}
 	}
 
 	public boolean isMarked(int x, int y) {
@@ -107,6 +117,9 @@ public final class FlagsGrid implements Serializable, IBlockingProvider, IProtec
 		if (protectedChangedListener != null) {
 			this.protectedChangedListener.protectedChanged(x, y, newProtected);
 		}
+		if (gridChangedListener != null) {
+			this.gridChangedListener.positionChangedAt(x, y);
+		}
 	}
 
 	public boolean isPioneerBlocked(int x, int y) {
@@ -118,4 +131,25 @@ public final class FlagsGrid implements Serializable, IBlockingProvider, IProtec
 	public void setProtectedChangedListener(IProtectedChangedListener protectedChangedListener) {
 		this.protectedChangedListener = protectedChangedListener;
 	}
+
+	/**
+	 * Sets the listener that's informed about changes of the blocked state. The listener is not serialized and needs to be set again after loading.
+	 *
+	 * @param blockedChangedListener
+	 *            the new listener or null
+	 */
+	public void setBlockedChangedListener(IBlockedChangedListener blockedChangedListener) {
+		this.blockedChangedListener = blockedChangedListener;
+	}
+
+	/**
+	 * Sets the listener that's informed about changes of the blocked and protected states. The listener is not serialized and needs to be set
+	 * again after loading.
+	 *
+	 * @param gridChangedListener
+	 *            the new listener or null
+	 */
+	public void setGridChangedListener(IGridChangedListener gridChangedListener) {
+		this.gridChangedListener = gridChangedListener;
+	}
 }
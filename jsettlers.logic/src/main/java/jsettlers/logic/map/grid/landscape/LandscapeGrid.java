@@ -30,6 +30,7 @@ import jsettlers.common.position.RelativePoint;
 import jsettlers.common.position.ShortPoint2D;
 import jsettlers.logic.constants.Constants;
 import jsettlers.logic.constants.MatchConstants;
+import jsettlers.logic.map.grid.IGridChangedListener;
 import jsettlers.logic.map.grid.MainGrid;
 import jsettlers.logic.map.grid.flags.IProtectedProvider;
 import jsettlers.logic.map.grid.flags.IProtectedProvider.IProtectedChangedListener;
@@ -59,6 +60,7 @@ public final class LandscapeGrid implements Serializable, IWalkableGround, IFlat
 
 	private transient int[] debugColors;
 	private transient IGraphicsBackgroundListener backgroundListener;
+	private transient IGridChangedListener gridChangedListener = IGridChangedListener.DEFAULT_IMPLEMENTATION;
 
 	public LandscapeGrid(short width, short height, IProtectedProvider protectedProvider) {
 		this.width = width;
@@ -83,6 +85,7 @@ public final class LandscapeGrid implements Serializable, IWalkableGround, IFlat
 	private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException {
 		ois.defaultReadObject();
 		setBackgroundListener(null);
+		setGridChangedListener(null);
 
 		initDebugColors();
 	}
@@ -191,11 +194,13 @@ public final class LandscapeGrid implements Serializable, IWalkableGround, IFlat
 
 		this.landscapeGrid[x + y * width] = landscapeType.ordinal;
 		backgroundListener.backgroundLineChangedAt(x, y, 1);
+		gridChangedListener.positionChangedAt(x, y);
 	}
 
 	public final void setHeightAt(short x, short y, byte height) {
 		this.heightGrid[x][y] = height;
 		backgroundListener.backgroundLineChangedAt(x, y, 1);
+		gridChangedListener.positionChangedAt(x, y);
 	}
 
 	public void flattenAndChangeHeightTowards(int x, int y, byte targetHeight) {
@@ -210,6 +215,7 @@ public final class LandscapeGrid implements Serializable, IWalkableGround, IFlat
 		this.temporaryFlatened[index] = Byte.MAX_VALUE; // cancel the flattening
 
 		backgroundListener.backgroundLineChangedAt(x, y, 1);
+		gridChangedListener.positionChangedAt(x, y); // the height changes even if the landscape type can't be changed
 	}
 
 	public final void setBackgroundListener(IGraphicsBackgroundListener backgroundListener) {
@@ -220,9 +226,25 @@ public final class LandscapeGrid implements Serializable, IWalkableGround, IFlat
 		}
 	}
 
+	/**
+	 * Sets the listener that's informed about changes of the landscape, the heights, the resources and the blocked partitions. The listener is not serialized
+	 * and needs to be set again after loading.
+	 *
+	 * @param gridChangedListener
+	 *            the new listener or null
+	 */
+	public final void setGridChangedListener(IGridChangedListener gridChangedListener) {
+		if (gridChangedListener != null) {
+			this.gridChangedListener = gridChangedListener;
+		} else {
+			this.gridChangedListener = IGridChangedListener.DEFAULT_IMPLEMENTATION;
+		}
+	}
+
 	public final void setResourceAt(short x, short y, EResourceType resourceType, byte amount) {
 		this.resourceType[x + y * width] = resourceType.ordinal;
 		this.resourceAmount[x + y * width] = (byte) Math.min(amount, Constants.MAX_RESOURCE_AMOUNT_PER_POSITION);
+		gridChangedListener.positionChangedAt(x, y);
 	}
 
 	/**
@@ -257,6 +279,7 @@ public final class LandscapeGrid implements Serializable, IWalkableGround, IFlat
 		int idx = position.x + position.y * width;
 		if (resourceType[idx] == resource.ordinal && resourceAmount[idx] > 0) {
 			resourceAmount[idx]--;
+			gridChangedListener.positionChangedAt(position.x, position.y);
 			return true;
 		} else {
 			return false;
@@ -332,6 +355,7 @@ public final class LandscapeGrid implements Serializable, IWalkableGround, IFlat
 
 	public void setBlockedPartition(short x, short y, short blockedPartition) {
 		this.blockedPartitions[x + y * width] = blockedPartition;
+		gridChangedListener.positionChangedAt(x, y);
 	}
 
 	public short getBlockedPartitionAt(int x, int y) {
@@ -19,6 +19,7 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 
+import jsettlers.algorithms.datastructures.RegionChangeStamps;
 import jsettlers.common.map.shapes.HexGridArea;
 import jsettlers.common.movable.EMovableType;
 import jsettlers.common.movable.IGraphicsMovable;
@@ -42,6 +43,7 @@ public final class MovableGrid implements Serializable {
 	private static final long serialVersionUID = 7003522358013103962L;
 
 	private transient ILogicMovable[] movableGrid;
+	private transient RegionChangeStamps attackablesChangeStamps;
 	private final IWalkableGround ground;
 	private final short width;
 
@@ -52,6 +54,7 @@ public final class MovableGrid implements Serializable {
 		this.height = height;
 		this.ground = ground;
 		this.movableGrid = new ILogicMovable[width * height];
+		this.attackablesChangeStamps = new RegionChangeStamps(width, height);
 	}
 
 	private void writeObject(ObjectOutputStream oos) throws IOException {
@@ -62,6 +65,7 @@ public final class MovableGrid implements Serializable {
 	private void readObject(ObjectInputStream ois) throws ClassNotFoundException, IOException {
 		ois.defaultReadObject();
 		movableGrid = SerializationUtils.readSparseArray(ois, ILogicMovable.class);
+		attackablesChangeStamps = new RegionChangeStamps(width, height);
 	}
 
 	public final ILogicMovable getMovableAt(int x, int y) {
@@ -76,6 +80,7 @@ public final class MovableGrid implements Serializable {
 		int idx = position.x + position.y * width;
 		if (this.movableGrid[idx] == movable) {
 			this.movableGrid[idx] = null;
+			attackablesChangeStamps.changedAt(position.x, position.y);
 		}
 	}
 
@@ -92,6 +97,7 @@ public final class MovableGrid implements Serializable {
 		final short y = position.y;
 
 		this.movableGrid[x + y * width] = movable;
+		attackablesChangeStamps.changedAt(x, y);
 		if (movable != null && movable.getMovableType() == EMovableType.BEARER) {
 			ground.walkOn(x, y);
 		}
@@ -151,6 +157,26 @@ public final class MovableGrid implements Serializable {
 		return otherAttackable.getPlayer().getTeamId() != player.getTeamId() && otherAttackable.isAttackable();
 	}
 
+	/**
+	 * Needs to be called when something that can be found by an enemy search changes without a movable entering or leaving the position. E.g. if an
+	 * attackable tower is added or a movable becomes attackable.
+	 *
+	 * @param x
+	 *            x coordinate of the position.
+	 * @param y
+	 *            y coordinate of the position.
+	 */
+	public void attackableChangedAt(int x, int y) {
+		attackablesChangeStamps.changedAt(x, y);
+	}
+
+	/**
+	 * @return the change stamps of all positions read by enemy searches.
+	 */
+	public RegionChangeStamps getAttackablesChangeStamps() {
+		return attackablesChangeStamps;
+	}
+
 	public boolean hasNoMovableAt(int x, int y) {
 		return getMovableAt(x, y) == null;
 	}
@@ -4,6 +4,7 @@ import jsettlers.algorithms.fogofwar.FogOfWar;
 import jsettlers.common.mapobject.EMapObjectType;
 import jsettlers.common.player.IPlayer;
 import jsettlers.common.position.ShortPoint2D;
+import jsettlers.logic.constants.GameContext;
 import jsettlers.logic.objects.SoundableSelfDeletingObject;
 
 public class EyeMapObject extends SoundableSelfDeletingObject {
@@ -20,13 +21,14 @@ public class EyeMapObject extends SoundableSelfDeletingObject {
 
 	@Override
 	protected void changeState() {
-		if(FogOfWar.instance != null && FogOfWar.instance.team == getPlayer().getTeamId()) {
+		FogOfWar fogOfWar = GameContext.current().getFogOfWar();
+		if(fogOfWar != null && fogOfWar.team == getPlayer().getTeamId()) {
 			if(distance == -1) {
 				if(!drawn) {
-					FogOfWar.instance.showMap();
+					fogOfWar.showMap();
 					drawn = true;
 				} else {
-					FogOfWar.instance.hideMap();
+					fogOfWar.hideMap();
 				}
 			} else {
 				if(!drawn) {
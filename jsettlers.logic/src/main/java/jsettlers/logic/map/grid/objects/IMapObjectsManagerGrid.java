@@ -40,6 +40,8 @@ public interface IMapObjectsManagerGrid extends Serializable, IArrowAttackableGr
 
 	boolean removeMapObject(int x, int y, AbstractHexMapObject mapObject);
 
+	void mapObjectChangedAt(int x, int y);
+
 	short getWidth();
 
 	short getHeight();
@@ -54,6 +54,7 @@ import jsettlers.logic.objects.growing.tree.Tree;
 import jsettlers.logic.objects.stack.StackMapObject;
 import jsettlers.logic.objects.stone.Stone;
 import jsettlers.logic.player.Player;
+import jsettlers.logic.timer.ESubsystem;
 import jsettlers.logic.timer.IScheduledTimerable;
 import jsettlers.logic.timer.RescheduleTimer;
 
@@ -95,7 +96,9 @@ public final class MapObjectsManager implements IScheduledTimerable, Serializabl
 			if (curr.shouldRemoveObject()) {
 				removeMapObject(curr.mapObject.getX(), curr.mapObject.getY(), curr.mapObject);
 			} else {
-				curr.getMapObject().changeState();
+				AbstractObjectsManagerObject mapObject = curr.getMapObject();
+				mapObject.changeState();
+				grid.mapObjectChangedAt(mapObject.getX(), mapObject.getY());
 			}
 
 			curr = timingQueue.peek();
@@ -109,6 +112,11 @@ public final class MapObjectsManager implements IScheduledTimerable, Serializabl
 		killed = true;
 	}
 
+	@Override
+	public ESubsystem getSubsystem() {
+		return ESubsystem.MAP_OBJECTS;
+	}
+
 	public boolean executeSearchType(ShortPoint2D pos, ESearchType type, float timeMod) {
 		switch (type) {
 		case BURNABLE_TREE:
@@ -178,6 +186,7 @@ public final class MapObjectsManager implements IScheduledTimerable, Serializabl
 
 		if (stone != null) {
 			stone.cutOff();
+			grid.mapObjectChangedAt(x, y);
 
 			if (!stone.canBeCut()) {
 				addSelfDeletingMapObject(new ShortPoint2D(x, y), EMapObjectType.CUT_OFF_STONE, Stone.DECOMPOSE_DELAY, null);
@@ -214,6 +223,7 @@ public final class MapObjectsManager implements IScheduledTimerable, Serializabl
 		if (grid.isInBounds(x, y)) {
 			AbstractObjectsManagerObject tree = (AbstractObjectsManagerObject) grid.getMapObject(x, y, EMapObjectType.TREE_ADULT);
 			if (tree != null && tree.cutOff()) {
+				grid.mapObjectChangedAt(x, y);
 				schedule(tree, Tree.DECOMPOSE_DURATION, true);
 				return true;
 			}
@@ -236,6 +246,7 @@ public final class MapObjectsManager implements IScheduledTimerable, Serializabl
 		if (grid.isInBounds(x, y)) {
 			AbstractObjectsManagerObject corn = (AbstractObjectsManagerObject) grid.getMapObject(x, y, EMapObjectType.CORN_ADULT);
 			if (corn != null && corn.cutOff()) {
+				grid.mapObjectChangedAt(x, y);
 				schedule(corn, Corn.REMOVE_DURATION, true);
 				return true;
 			}
@@ -258,6 +269,7 @@ public final class MapObjectsManager implements IScheduledTimerable, Serializabl
 		if (grid.isInBounds(x, y)) {
 			AbstractObjectsManagerObject wine = (AbstractObjectsManagerObject) grid.getMapObject(x, y, EMapObjectType.WINE_HARVESTABLE);
 			if (wine != null && wine.cutOff()) {
+				grid.mapObjectChangedAt(x, y);
 				schedule(wine, Wine.REMOVE_DURATION, true);
 				return true;
 			}
@@ -280,6 +292,7 @@ public final class MapObjectsManager implements IScheduledTimerable, Serializabl
 		if (grid.isInBounds(x, y)) {
 			AbstractObjectsManagerObject rice = (AbstractObjectsManagerObject) grid.getMapObject(x, y, EMapObjectType.RICE_HARVESTABLE);
 			if (rice != null && rice.cutOff()) {
+				grid.mapObjectChangedAt(x, y);
 				schedule(rice, Rice.REMOVE_DURATION, true);
 				return true;
 			}
@@ -301,6 +314,7 @@ public final class MapObjectsManager implements IScheduledTimerable, Serializabl
 		if (grid.isInBounds(x, y)) {
 			HiveObject hive = (HiveObject) grid.getMapObject(x, y, EMapObjectType.HIVE_HARVESTABLE);
 			if (hive != null && hive.cutOff()) {
+				grid.mapObjectChangedAt(x, y);
 				schedule(hive, hive.getEmptyDuration(), false);
 				schedule(hive, hive.getEmptyDuration() + hive.getGrowingDuration(), false);
 				return true;
@@ -30,6 +30,7 @@ import jsettlers.common.utils.coordinates.CoordinateStream;
 import jsettlers.logic.SerializationUtils;
 import jsettlers.logic.buildings.Building;
 import jsettlers.logic.constants.Constants;
+import jsettlers.logic.map.grid.IGridChangedListener;
 import jsettlers.logic.movable.interfaces.IAttackable;
 import jsettlers.logic.movable.interfaces.IInformable;
 
@@ -47,6 +48,7 @@ public final class ObjectsGrid implements Serializable {
 
 	private transient AbstractHexMapObject[] objectsGrid;
 	private transient Building[] buildingsGrid;
+	private transient IGridChangedListener gridChangedListener = IGridChangedListener.DEFAULT_IMPLEMENTATION;
 
 	public ObjectsGrid(short width, short height) {
 		this.width = width;
@@ -82,6 +84,7 @@ public final class ObjectsGrid implements Serializable {
 
 	private final void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException {
 		ois.defaultReadObject();
+		setGridChangedListener(null);
 
 		buildingsGrid = SerializationUtils.readSparseArray(ois, Building.class);
 
@@ -129,6 +132,7 @@ public final class ObjectsGrid implements Serializable {
 		if (mapObjectHead != null) {
 			mapObjectHead.removeMapObjectTypes(mapObjectTypes);
 		}
+		gridChangedListener.positionChangedAt(x, y);
 	}
 
 	public final boolean removeMapObject(int x, int y, AbstractHexMapObject mapObject) {
@@ -143,6 +147,9 @@ public final class ObjectsGrid implements Serializable {
 				removed = mapObjectHead.removeMapObject(mapObject);
 			}
 
+			if (removed) {
+				gridChangedListener.positionChangedAt(x, y);
+			}
 			return removed;
 		} else
 			return false;
@@ -158,6 +165,34 @@ public final class ObjectsGrid implements Serializable {
 		} else {
 			mapObjectHead.addMapObject(mapObject);
 		}
+		gridChangedListener.positionChangedAt(x, y);
+	}
+
+	/**
+	 * Informs the listener that the state of a map object at the given position changed without the object being added or removed.
+	 *
+	 * @param x
+	 *            x coordinate
+	 * @param y
+	 *            y coordinate
+	 */
+	public final void mapObjectChangedAt(int x, int y) {
+		gridChangedListener.positionChangedAt(x, y);
+	}
+
+	/**
+	 * Sets the listener that's informed about added, removed and changed map objects. The listener is not serialized and needs to be set again
+	 * after loading.
+	 *
+	 * @param gridChangedListener
+	 *            the new listener or null
+	 */
+	public final void setGridChangedListener(IGridChangedListener gridChangedListener) {
+		if (gridChangedListener != null) {
+			this.gridChangedListener = gridChangedListener;
+		} else {
+			this.gridChangedListener = IGridChangedListener.DEFAULT_IMPLEMENTATION;
+		}
 	}
 
 	public final boolean hasCuttableObject(int x, int y, EMapObjectType mapObjectType) {
@@ -15,6 +15,7 @@
 package jsettlers.logic.map.grid.partition;
 
 import java.io.Serializable;
+import java.util.function.ToIntFunction;
 
 import jsettlers.common.player.IPlayer;
 import jsettlers.common.position.ShortPoint2D;
@@ -88,6 +89,33 @@ public final class Partition extends PartitionManager implements Serializable {
 		if (isEmpty()) { super.stopManager(); }
 	}
 
+	/**
+	 * Moves all positions of an area to the given partition. This has the same result as calling {@link #removePositionTo(int, int, Partition)}
+	 * for every position of the area in the order of the area.
+	 *
+	 * @param areaXs
+	 *            x coordinates of the positions in the area.
+	 * @param areaYs
+	 *            y coordinates of the positions in the area.
+	 * @param areaOrder
+	 *            Returns the index of a position in the area or a negative value if the position is not in the area.
+	 * @param newPartitionObject
+	 *            The partition receiving the area.
+	 */
+	void removeAreaTo(int[] areaXs, int[] areaYs, ToIntFunction<ShortPoint2D> areaOrder, final Partition newPartitionObject) {
+		if (this == newPartitionObject) {
+			System.err.println("ERROR: newManager can not be the same as this manager. At (" + areaXs[0] + "|" + areaYs[0] + ")");
+		}
+
+		for (int i = 0; i < areaXs.length; i++) {
+			this.decrement(areaXs[i], areaYs[i]);
+			newPartitionObject.increment(areaXs[i], areaYs[i]);
+		}
+		super.removeAreaTo(areaOrder, newPartitionObject, newPartitionObject.playerId == this.playerId);
+
+		if (isEmpty()) { super.stopManager(); }
+	}
+
 	public boolean isEmpty() {
 		return counter <= 0;
 	}
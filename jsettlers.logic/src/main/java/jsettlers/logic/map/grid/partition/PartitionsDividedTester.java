@@ -14,7 +14,9 @@
  *******************************************************************************/
 package jsettlers.logic.map.grid.partition;
 
+import jsettlers.algorithms.interfaces.IContainingProvider;
 import jsettlers.algorithms.traversing.borders.BorderTraversingAlgorithm;
+import jsettlers.common.movable.EDirection;
 import jsettlers.common.position.ShortPoint2D;
 import jsettlers.common.utils.mutables.MutableInt;
 import jsettlers.logic.map.grid.partition.PartitionsListingBorderVisitor.BorderPartitionInfo;
@@ -35,48 +37,117 @@ final class PartitionsDividedTester {
 
 	/**
 	 * Tests if the given positions (that need to lie on the border of the given partition) are connected by the given partition.
+	 * <p />
+	 * The borders starting at both positions are traversed alternately step by step. As soon as one of them reaches the other position, the
+	 * partition is known to be connected, so a connected partition costs at most twice the shorter way around the border between the positions.
+	 * The result and the sizes are the same as if both borders would be traversed one after the other.
 	 * 
 	 * @param partitionObjects
 	 * @param partitions
 	 * @param width
 	 * @param partition1
 	 * @param partition1Size
+	 *            Contains the length of the border of the first part after the call, if the partition is divided.
 	 * @param partition2
 	 * @param partition2Size
-	 * @return true if both positions are connected by the given partition.<br>
-	 *         false if the positions are not connected.
+	 *            Contains the length of the border of the second part after the call, if the partition is divided.
+	 * @return true if both positions are not connected by the given partition.<br>
+	 *         false if the positions are connected.
 	 */
 	public static boolean isPartitionDivided(Partition[] partitionObjects, short[] partitions, short width, BorderPartitionInfo partition1,
 			MutableInt partition1Size, BorderPartitionInfo partition2, MutableInt partition2Size) {
 
 		assert partition1.partitionId == partition2.partitionId;
 
-		return posNotOnBorder(partitionObjects, partitions, width, partition1.positionOfPartition,
-				partition1.insideNeighborPosition, partition2.positionOfPartition, partition1.partitionId, partition1Size)
-				&& posNotOnBorder(partitionObjects, partitions, width, partition2.positionOfPartition,
-						partition2.insideNeighborPosition, partition1.positionOfPartition, partition1.partitionId, partition2Size);
+		final short partitionId = partition1.partitionId;
+		IContainingProvider containingProvider = (x, y) -> partitionObjects[partitions[x + y * width]].partitionId == partitionId;
+
+		BorderWalker walker1 = new BorderWalker(containingProvider, partition1.positionOfPartition, partition1.insideNeighborPosition,
+				partition2.positionOfPartition);
+		BorderWalker walker2 = new BorderWalker(containingProvider, partition2.positionOfPartition, partition2.insideNeighborPosition,
+				partition1.positionOfPartition);
+
+		if (walker1.foundCheckPosition || walker2.foundCheckPosition) {
+			return false;
+		}
+
+		while (!walker1.finished || !walker2.finished) {
+			if (walker1.step() || walker2.step()) {
+				return false;
+			}
+		}
+
+		partition1Size.value = walker1.traversedPositions;
+		partition2Size.value = walker2.traversedPositions;
+		return true;
 	}
 
 	/**
-	 * NOTE: The call to this method is different if the given positions are swapped!
-	 *
-	 * @param partitionObjects
-	 * @param partitions
-	 * @param width
-	 * @param insideStartPosition
-	 * @param checkPosition
-	 * @param partitionSize
-	 * @return
+	 * Walks along the border of an area like the {@link BorderTraversingAlgorithm} without visiting the outside positions, but one step per call.
 	 */
-	private static boolean posNotOnBorder(final Partition[] partitionObjects, final short[] partitions, final short width,
-			final ShortPoint2D insideStartPosition, final ShortPoint2D outsideStartPosition, final ShortPoint2D checkPosition,
-			final short partitionId, MutableInt partitionSize) {
+	private static final class BorderWalker {
+		private final IContainingProvider containingProvider;
+		private final int startInsideX;
+		private final int startInsideY;
+		private final int startOutsideX;
+		private final int startOutsideY;
+		private final int checkX;
+		private final int checkY;
+
+		private int insideX;
+		private int insideY;
+		private int outsideX;
+		private int outsideY;
+
+		private int traversedPositions = 1;
+		private boolean finished;
+		private boolean foundCheckPosition;
+
+		BorderWalker(IContainingProvider containingProvider, ShortPoint2D insideStartPosition, ShortPoint2D outsideStartPosition,
+				ShortPoint2D checkPosition) {
+			this.containingProvider = containingProvider;
+			this.startInsideX = this.insideX = insideStartPosition.x;
+			this.startInsideY = this.insideY = insideStartPosition.y;
+			this.startOutsideX = this.outsideX = outsideStartPosition.x;
+			this.startOutsideY = this.outsideY = outsideStartPosition.y;
+			this.checkX = checkPosition.x;
+			this.checkY = checkPosition.y;
+
+			foundCheckPosition = insideX == checkX && insideY == checkY;
+		}
+
+		/**
+		 * Does the next step along the border if the border has not been traversed completely.
+		 * 
+		 * @return true if the check position has been reached by this step.
+		 */
+		boolean step() {
+			if (finished) {
+				return false;
+			}
+
+			traversedPositions++;
+
+			EDirection outInDir = EDirection.getDirection(insideX - outsideX, insideY - outsideY);
+			EDirection neighborDir = outInDir.getNeighbor(-1);
+
+			int neighborX = neighborDir.gridDeltaX + outsideX;
+			int neighborY = neighborDir.gridDeltaY + outsideY;
+
+			if (containingProvider.contains(neighborX, neighborY)) {
+				insideX = neighborX;
+				insideY = neighborY;
 
-		final short checkPositionX = checkPosition.x;
-		final short checkPositionY = checkPosition.y;
+				if (insideX == checkX && insideY == checkY) {
+					return true;
+				}
+			} else {
+				outsideX = neighborX;
+				outsideY = neighborY;
+			}
 
-		return BorderTraversingAlgorithm.traverseBorder(
-				(x, y) -> partitionObjects[partitions[x + y * width]].partitionId == partitionId, insideStartPosition, outsideStartPosition,
-				(insideX, insideY, outsideX, outsideY) -> checkPositionX != insideX || checkPositionY != insideY, false, partitionSize);
+			finished = insideX == startInsideX && insideY == startInsideY && outsideX == startOutsideX && outsideY == startOutsideY;
+			return false;
+		}
 	}
-}
\ No newline at end of file
+}
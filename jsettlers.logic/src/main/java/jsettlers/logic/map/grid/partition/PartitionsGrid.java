@@ -17,11 +17,13 @@ package jsettlers.logic.map.grid.partition;
 import java.io.IOException;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.ToIntFunction;
 
 import jsettlers.algorithms.interfaces.IContainingProvider;
 import jsettlers.algorithms.partitions.IBlockingProvider;
@@ -41,6 +43,8 @@ import jsettlers.common.position.ShortPoint2D;
 import jsettlers.common.utils.Tuple;
 import jsettlers.common.utils.coordinates.CoordinateStream;
 import jsettlers.common.utils.mutables.MutableInt;
+import jsettlers.logic.constants.Constants;
+import jsettlers.logic.map.grid.IGridChangedListener;
 import jsettlers.logic.map.grid.partition.manager.settings.MaterialProductionSettings;
 import jsettlers.logic.map.grid.partition.PartitionsListingBorderVisitor.BorderPartitionInfo;
 import jsettlers.logic.map.grid.partition.manager.PartitionManager;
@@ -50,6 +54,7 @@ import jsettlers.logic.movable.interfaces.ILogicMovable;
 import jsettlers.logic.player.Player;
 import jsettlers.logic.player.PlayerSetting;
 import jsettlers.logic.player.Team;
+import jsettlers.logic.timer.ESubsystem;
 import jsettlers.logic.timer.IScheduledTimerable;
 import jsettlers.logic.timer.RescheduleTimer;
 
@@ -83,6 +88,8 @@ public final class PartitionsGrid implements Serializable, IScheduledTimerable {
 	Partition[] partitionObjects = new Partition[NUMBER_OF_START_PARTITION_OBJECTS];
 
 	private transient IPlayerChangedListener playerChangedListener = IPlayerChangedListener.DEFAULT_IMPLEMENTATION;
+	private transient IGridChangedListener gridChangedListener = IGridChangedListener.DEFAULT_IMPLEMENTATION;
+	private transient int[] relabelOrder; // index + 1 of every position in the currently relabeled area, 0 elsewhere
 
 	public PartitionsGrid(short width, short height, PlayerSetting[] playerSettings, IBlockingProvider blockingProvider) {
 		this.width = width;
@@ -271,7 +278,7 @@ public final class PartitionsGrid implements Serializable, IScheduledTimerable {
 
 	private void occupyAreaOfTower(PartitionOccupyingTower tower) {
 		// set the tower counter of the groundArea to 0 => the ground area will be occupied
-		tower.groundArea.stream().forEach((x, y) -> towers[x + y * width] = 0);
+		tower.groundArea.stream().forEach(this::resetTowerCounterAt);
 
 		// occupy the area for the new player
 		occupyAreaByTower(tower.playerId, tower.area.stream(), tower.areaBorders);
@@ -311,7 +318,7 @@ public final class PartitionsGrid implements Serializable, IScheduledTimerable {
 	 * @param area
 	 */
 	private void recalculateTowerCounter(PartitionOccupyingTower tower, IMapArea area) {
-		area.stream().forEach((x, y) -> towers[x + y * width] = 0);
+		area.stream().forEach(this::resetTowerCounterAt);
 
 		List<Tuple<Integer, PartitionOccupyingTower>> towersInRange = occupyingTowers.getTowersInRange(tower.position, tower.radius, currTower -> currTower.playerId == tower.playerId);
 		towersInRange.forEach(currTower -> area.stream()
@@ -319,6 +326,11 @@ public final class PartitionsGrid implements Serializable, IScheduledTimerable {
 						.forEach((x, y) -> towers[x + y * width]++));
 	}
 
+	private void resetTowerCounterAt(int x, int y) {
+		towers[x + y * width] = 0;
+		gridChangedListener.positionChangedAt(x, y);
+	}
+
 	/**
 	 * Checks if other towers that intersect the area of the given tower can occupy free positions of the area of the given tower and lets them do so.
 	 * 
@@ -372,7 +384,11 @@ public final class PartitionsGrid implements Serializable, IScheduledTimerable {
 		// create PartitionCalculator
 		PartitionCalculatorAlgorithm partitioner = new PartitionCalculatorAlgorithm(filtered, blockingProvider, borders.xMin, borders.yMin,
 				borders.xMax, borders.yMax);
-		partitioner.calculatePartitions();
+		if (Constants.PARALLEL_PARTITION_CALCULATION) {
+			partitioner.calculatePartitionsInParallel();
+		} else {
+			partitioner.calculatePartitions();
+		}
 
 		// take over the positions
 		short[] newPartitionsMap = acquirePartitionedArea(playerId, partitioner);
@@ -496,7 +512,10 @@ public final class PartitionsGrid implements Serializable, IScheduledTimerable {
 	private void changeTowerCounter(final byte playerId, CoordinateStream influencingArea, int delta) {
 		influencingArea
 				.filter((x, y) -> partitionObjects[partitions[x + y * width]].playerId == playerId)
-				.forEach((x, y) -> towers[x + y * width] += delta);
+				.forEach((x, y) -> {
+					towers[x + y * width] += delta;
+					gridChangedListener.positionChangedAt(x, y);
+				});
 	}
 
 	/**
@@ -536,6 +555,7 @@ public final class PartitionsGrid implements Serializable, IScheduledTimerable {
 		smallerPartitionObject.stopManager();
 
 		partitionObjects[smallerPartition] = biggerPartitionObject;
+		gridChangedListener.partitionMerged(smallerPartition, biggerPartition);
 
 		/**
 		 * Flatten all hierarchies: <br>
@@ -591,14 +611,61 @@ public final class PartitionsGrid implements Serializable, IScheduledTimerable {
 	 *            The id of the new partition.
 	 */
 	private void relabelArea(final short oldPartition, ShortPoint2D relabelStartPos, final short newPartition) {
-		// relabel the partition
+		// collect the area first, so that the managers can move it in one go instead of searching every position separately
 		IContainingProvider containingProvider = (x, y) -> partitionObjects[partitions[x + y * width]].partitionId == oldPartition;
 
-		IAreaVisitor relabelAreaVisitor = (x, y) -> {
-			changePartitionUncheckedAt(x, y, newPartition);
+		AreaCollector area = new AreaCollector();
+		AreaTraversingAlgorithm.traverseArea(containingProvider, area, relabelStartPos, width, height);
+		int[] areaXs = Arrays.copyOf(area.xs, area.size);
+		int[] areaYs = Arrays.copyOf(area.ys, area.size);
+
+		if (relabelOrder == null) {
+			relabelOrder = new int[width * height];
+		}
+		for (int i = 0; i < areaXs.length; i++) {
+			if (areaXs[i] < width) { // the traversing may report x == width for the first position of the next row, which no object is positioned at
+				relabelOrder[areaXs[i] + areaYs[i] * width] = i + 1;
+			}
+		}
+
+		Partition oldPartitionObject = partitionObjects[partitions[areaXs[0] + areaYs[0] * width]];
+		Partition newPartitionObject = partitionObjects[newPartition];
+		ToIntFunction<ShortPoint2D> areaOrder = position -> position == null ? -1 : relabelOrder[position.x + position.y * width] - 1;
+		oldPartitionObject.removeAreaTo(areaXs, areaYs, areaOrder, newPartitionObject);
+
+		synchronized (this) {
+			for (int i = 0; i < areaXs.length; i++) {
+				partitions[areaXs[i] + areaYs[i] * width] = newPartition;
+			}
+		}
+		for (int i = 0; i < areaXs.length; i++) {
+			int idx = areaXs[i] + areaYs[i] * width;
+			if (areaXs[i] < width) {
+				relabelOrder[idx] = 0;
+			}
+			gridChangedListener.positionChangedAt(idx % width, idx / width);
+		}
+	}
+
+	/**
+	 * Collects the visited positions in the order they are visited.
+	 */
+	private static final class AreaCollector implements IAreaVisitor {
+		private int[] xs = new int[64];
+		private int[] ys = new int[64];
+		private int size;
+
+		@Override
+		public boolean visit(int x, int y) {
+			if (size == xs.length) {
+				xs = Arrays.copyOf(xs, size * 2);
+				ys = Arrays.copyOf(ys, size * 2);
+			}
+			xs[size] = x;
+			ys[size] = y;
+			size++;
 			return true;
-		};
-		AreaTraversingAlgorithm.traverseArea(containingProvider, relabelAreaVisitor, relabelStartPos, width, height);
+		}
 	}
 
 	/**
@@ -622,6 +689,7 @@ public final class PartitionsGrid implements Serializable, IScheduledTimerable {
 		synchronized (this) {
 			partitions[idx] = newPartition;
 		}
+		gridChangedListener.positionChangedAt(x, y);
 
 		return newPartitionObject.playerId;
 	}
@@ -680,6 +748,21 @@ public final class PartitionsGrid implements Serializable, IScheduledTimerable {
 		}
 	}
 
+	/**
+	 * Sets the given listener. The listener will then be informed of any positions that change their partition or tower counter and of merged
+	 * partitions.
+	 *
+	 * @param listener
+	 *            The listener to be set or null if no listener should be set.
+	 */
+	public void setGridChangedListener(IGridChangedListener listener) {
+		if (listener == null) {
+			this.gridChangedListener = IGridChangedListener.DEFAULT_IMPLEMENTATION;
+		} else {
+			this.gridChangedListener = listener;
+		}
+	}
+
 	public byte getNumberOfPlayers() {
 		return (byte) players.length;
 	}
@@ -761,6 +844,11 @@ public final class PartitionsGrid implements Serializable, IScheduledTimerable {
 		throw new IllegalAccessError("the PartitionsGrid itself can't be killed!");
 	}
 
+	@Override
+	public ESubsystem getSubsystem() {
+		return ESubsystem.PARTITIONS;
+	}
+
 	public IPartitionData getPartitionDataForManagerAt(int x, int y) {
 		return getPartitionAt(x, y).getPartitionData();
 	}
@@ -15,8 +15,12 @@
 package jsettlers.logic.map.grid.partition.manager;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.function.ToIntFunction;
 
 import jsettlers.common.material.EMaterialType;
 import jsettlers.common.movable.EDirection;
@@ -55,6 +59,7 @@ import jsettlers.logic.map.grid.partition.manager.settings.PartitionManagerSetti
 import jsettlers.logic.map.grid.partition.manager.settings.ProfessionSettings;
 import jsettlers.logic.map.grid.partition.manager.settings.SingleProfessionLimit;
 import jsettlers.logic.movable.interfaces.ILogicMovable;
+import jsettlers.logic.timer.ESubsystem;
 import jsettlers.logic.timer.IScheduledTimerable;
 import jsettlers.logic.timer.RescheduleTimer;
 
@@ -245,6 +250,10 @@ public abstract class PartitionManager implements IScheduledTimerable, Serializa
 	}
 
 	private <T extends ILocatable> void removePositionTo(ShortPoint2D pos, LinkedList<T> fromList, LinkedList<T> toList, boolean newHasSamePlayer) {
+		if (fromList.isEmpty()) {
+			return;
+		}
+
 		Iterator<T> iter = fromList.iterator();
 		while (iter.hasNext()) {
 			T curr = iter.next();
@@ -257,6 +266,68 @@ public abstract class PartitionManager implements IScheduledTimerable, Serializa
 		}
 	}
 
+	/**
+	 * Moves all positions of an area to the given manager. This has the same result as calling
+	 * {@link #removePositionTo(int, int, PartitionManager, boolean)} for every position of the area in the order of the area, but every contained
+	 * list is only iterated once.
+	 *
+	 * @param areaOrder
+	 * 		Returns the index of a position in the area or a negative value if the position is not in the area.
+	 * @param newManager
+	 * 		new manager of the area <br>
+	 * 		NOTE: the new manager MUST NOT be null!
+	 * @param newHasSamePlayer
+	 * 		Specifies if the new manager has the same player. If so, requests also need to be moved.
+	 */
+	public void removeAreaTo(ToIntFunction<ShortPoint2D> areaOrder, PartitionManager newManager, boolean newHasSamePlayer) {
+		materialOffers.moveOffersInAreaTo(areaOrder, newManager.materialOffers);
+
+		if (newHasSamePlayer) {
+			materialsManager.moveAreaTo(areaOrder, newManager.materialsManager);
+
+			for (IManageableBearer bearer : joblessBearer.removeObjectsInArea(areaOrder)) {
+				newManager.addJobless(bearer);
+			}
+			for (IManageableBricklayer bricklayer : joblessBricklayers.removeObjectsInArea(areaOrder)) {
+				newManager.addJobless(bricklayer);
+			}
+			for (IManageableDigger digger : joblessDiggers.removeObjectsInArea(areaOrder)) {
+				newManager.addJobless(digger);
+			}
+			for (IManageableWorker worker : joblessWorkers.removeObjectsInArea(areaOrder)) {
+				newManager.addJobless(worker);
+			}
+		}
+
+		removeAreaTo(areaOrder, this.workerCreationRequests, newManager.workerCreationRequests, newHasSamePlayer);
+		removeAreaTo(areaOrder, this.bricklayerRequests, newManager.bricklayerRequests, newHasSamePlayer);
+		removeAreaTo(areaOrder, this.diggerRequests, newManager.diggerRequests, newHasSamePlayer);
+		removeAreaTo(areaOrder, this.workerRequests, newManager.workerRequests, newHasSamePlayer);
+		removeAreaTo(areaOrder, this.soldierCreationRequests, newManager.soldierCreationRequests, newHasSamePlayer);
+	}
+
+	private <T extends ILocatable> void removeAreaTo(ToIntFunction<ShortPoint2D> areaOrder, LinkedList<T> fromList, LinkedList<T> toList,
+			boolean newHasSamePlayer) {
+		if (fromList.isEmpty()) {
+			return;
+		}
+
+		List<T> moved = new ArrayList<>();
+		Iterator<T> iter = fromList.iterator();
+		while (iter.hasNext()) {
+			T curr = iter.next();
+			if (areaOrder.applyAsInt(curr.getPosition()) >= 0) {
+				iter.remove();
+				moved.add(curr);
+			}
+		}
+
+		if (newHasSamePlayer) {
+			moved.sort(Comparator.comparingInt(curr -> areaOrder.applyAsInt(curr.getPosition()))); // stable sort keeps the list order per position
+			toList.addAll(moved);
+		}
+	}
+
 	public final void mergeInto(PartitionManager newManager) {
 		newManager.bricklayerRequests.addAll(this.bricklayerRequests);
 		newManager.diggerRequests.addAll(this.diggerRequests);
@@ -451,6 +522,11 @@ public abstract class PartitionManager implements IScheduledTimerable, Serializa
 		throw new UnsupportedOperationException("CAN'T KILL PARTITION MANAGER!! THIS REALLY SHOULD NOT HAPPEN!");
 	}
 
+	@Override
+	public ESubsystem getSubsystem() {
+		return ESubsystem.PARTITIONS;
+	}
+
 	/**
 	 * FOR TESTS ONLY!
 	 *
@@ -14,11 +14,25 @@
  *******************************************************************************/
 package jsettlers.logic.map.grid.partition.manager.datastructures;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
-
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
 import jsettlers.common.position.ILocatable;
 import jsettlers.common.position.ShortPoint2D;
 import jsettlers.common.utils.MathUtils;
@@ -26,35 +40,101 @@ import jsettlers.common.utils.MathUtils;
 /**
  * This is a data structure for storing and retrieving objects at given positions.<br>
  * It is also possible to find the nearest object around a given position.
+ * <p>
+ * The objects are kept in insertion order. If several objects have the same distance to a position, the one inserted first is found. Lists with
+ * more than {@link #MIN_INDEXED_SIZE} objects additionally sort their objects into buckets of {@link #BUCKET_SIZE}x{@link #BUCKET_SIZE} positions,
+ * so that nearest object queries only look at the buckets around the position. Objects implementing {@link IPositionObservable} report position
+ * changes to the list; all other objects must not change their position while they are in the list. An {@link IPositionObservable} can only be
+ * in one list at a time.
  *
  * @param <T>
  * @author Andreas Eberle
  */
 public class PositionableList<T extends ILocatable> implements Serializable {
 	private static final long serialVersionUID = 414099060331344505L;
+	private static final ObjectStreamField[] serialPersistentFields = { new ObjectStreamField("data", LinkedList.class) };
+
+	static final int MIN_INDEXED_SIZE = 32;
+	private static final int BUCKET_SHIFT = 4;
+	static final int BUCKET_SIZE = 1 << BUCKET_SHIFT;
 
-	protected final LinkedList<T> data;
+	private transient HashMap<T, Entry<T>> entries;
+	private transient Entry<T> head;
+	private transient Entry<T> tail;
+	private transient long nextSequence;
+
+	private transient Entry<T>[] buckets;
+	private transient int bucketsWidth;
+	private transient int bucketsHeight;
+	private transient IPositionChangedListener positionListener;
 
 	public PositionableList() {
-		data = new LinkedList<>();
+		entries = new HashMap<>();
+	}
+
+	/**
+	 * @return true if this list may build a spatial index. Subclasses that need to look at all objects on every search can disable it.
+	 */
+	protected boolean isSpatiallyIndexed() {
+		return true;
 	}
 
 	public void insert(T object) {
-		if(!data.contains(object)) {
+		if(!entries.containsKey(object)) {
 			// TODO fix double inserts from the root
-			data.add(object);
+			append(object);
 		}
 	}
 
-	public T removeObjectAt(ShortPoint2D position) {
-		Iterator<T> iterator = data.iterator();
-		while (iterator.hasNext()) {
-			T curr = iterator.next();
-			if (curr.getPosition().equals(position)) {
-				iterator.remove();
-				return curr;
+	private void append(T object) {
+		if (entries.containsKey(object)) {
+			return;
+		}
+
+		Entry<T> entry = new Entry<>(object, nextSequence++);
+		entry.previous = tail;
+		if (tail == null) {
+			head = entry;
+		} else {
+			tail.next = entry;
+		}
+		tail = entry;
+		entries.put(object, entry);
+
+		if (buckets != null) {
+			addToIndex(entry);
+		} else if (isSpatiallyIndexed() && entries.size() > MIN_INDEXED_SIZE) {
+			buildIndex();
+		}
+	}
+
+	private void unlink(Entry<T> entry) {
+		if (entry.previous == null) {
+			head = entry.next;
+		} else {
+			entry.previous.next = entry.next;
+		}
+		if (entry.next == null) {
+			tail = entry.previous;
+		} else {
+			entry.next.previous = entry.previous;
+		}
+		entries.remove(entry.object);
+
+		if (buckets != null) {
+			removeFromIndex(entry);
+			if (entries.isEmpty()) {
+				buckets = null;
 			}
 		}
+	}
+
+	public T removeObjectAt(ShortPoint2D position) {
+		Entry<T> entry = getEntryAt(position);
+		if (entry != null) {
+			unlink(entry);
+			return entry.object;
+		}
 		return null;
 	}
 
@@ -66,12 +146,27 @@ public class PositionableList<T extends ILocatable> implements Serializable {
 	 * @return Returns the found object at the given position or null if no object has been found.
 	 */
 	public T getObjectAt(ShortPoint2D position) {
-		for (T curr : data) {
-			if (curr.getPosition().equals(position)) {
-				return curr;
+		Entry<T> entry = getEntryAt(position);
+		return entry != null ? entry.object : null;
+	}
+
+	private Entry<T> getEntryAt(ShortPoint2D position) {
+		if (buckets == null) {
+			for (Entry<T> curr = head; curr != null; curr = curr.next) {
+				if (curr.object.getPosition().equals(position)) {
+					return curr;
+				}
 			}
+			return null;
 		}
-		return null;
+
+		Entry<T> first = null;
+		for (Entry<T> curr = getBucket(position.x >> BUCKET_SHIFT, position.y >> BUCKET_SHIFT); curr != null; curr = curr.bucketNext) {
+			if (curr.object.getPosition().equals(position) && (first == null || curr.sequence < first.sequence)) {
+				first = curr;
+			}
+		}
+		return first;
 	}
 
 	/**
@@ -79,7 +174,7 @@ public class PositionableList<T extends ILocatable> implements Serializable {
 	 * @return Returns any object in this list or null if this list is empty
 	 */
 	public T getAnyObject() {
-		return data.peekFirst();
+		return head != null ? head.object : null;
 	}
 
 	/**
@@ -93,70 +188,405 @@ public class PositionableList<T extends ILocatable> implements Serializable {
 		T currBest = getObjectCloseTo(position);
 
 		if (currBest != null) {
-			data.remove(currBest);
+			remove(currBest);
 		}
 
 		return currBest;
 	}
 
 	protected T getObjectCloseTo(ShortPoint2D position) {
+		return getObjectCloseTo(position, null);
+	}
+
+	/**
+	 * Finds the object closest to the given position. Of objects with the same distance, the one inserted first is returned.
+	 *
+	 * @param position
+	 * 		The position to search around.
+	 * @param acceptor
+	 * 		If not null, only objects accepted by it are returned.
+	 * @return The closest accepted object or null if there is none.
+	 */
+	protected T getObjectCloseTo(ShortPoint2D position, Predicate<T> acceptor) {
+		if (buckets == null) {
+			int bestDistance = Integer.MAX_VALUE;
+			T currBest = null;
+
+			for (Entry<T> curr = head; curr != null; curr = curr.next) {
+				T currEntry = curr.object;
+				if (acceptor != null && !acceptor.test(currEntry)) {
+					continue;
+				}
+
+				int currDist = MathUtils.squareHypot(position, currEntry.getPosition());
+
+				if (bestDistance > currDist) {
+					bestDistance = currDist;
+					currBest = currEntry;
+				}
+			}
+			return currBest;
+		}
+
+		int centerX = position.x >> BUCKET_SHIFT;
+		int centerY = position.y >> BUCKET_SHIFT;
+		int maxRing = Math.max(Math.max(centerX, bucketsWidth - 1 - centerX), Math.max(centerY, bucketsHeight - 1 - centerY));
+
 		int bestDistance = Integer.MAX_VALUE;
-		T currBest = null;
+		Entry<T> currBest = null;
+
+		for (int ring = 0; ring <= maxRing; ring++) {
+			if (ring > 0) {
+				long minRingDistance = (long) (ring - 1) * BUCKET_SIZE + 1;
+				if (minRingDistance * minRingDistance > bestDistance) {
+					break; // no position in this or any following ring can be closer or as close
+				}
+			}
 
-		for (T currEntry : data) {
-			int currDist = MathUtils.squareHypot(position, currEntry.getPosition());
+			int minY = Math.max(centerY - ring, 0);
+			int maxY = Math.min(centerY + ring, bucketsHeight - 1);
+			for (int bucketY = minY; bucketY <= maxY; bucketY++) {
+				boolean fullRow = bucketY == centerY - ring || bucketY == centerY + ring;
+				int step = fullRow || ring == 0 ? 1 : 2 * ring;
 
-			if (bestDistance > currDist) {
-				bestDistance = currDist;
-				currBest = currEntry;
+				for (int bucketX = centerX - ring; bucketX <= centerX + ring; bucketX += step) {
+					if (bucketX < 0 || bucketX >= bucketsWidth) {
+						continue;
+					}
+
+					for (Entry<T> curr = buckets[bucketY * bucketsWidth + bucketX]; curr != null; curr = curr.bucketNext) {
+						if (acceptor != null && !acceptor.test(curr.object)) {
+							continue;
+						}
+
+						int currDist = MathUtils.squareHypot(position, curr.object.getPosition());
+						if (currDist < bestDistance || (currDist == bestDistance && curr.sequence < currBest.sequence)) {
+							bestDistance = currDist;
+							currBest = curr;
+						}
+					}
+				}
 			}
 		}
-		return currBest;
+		return currBest != null ? currBest.object : null;
 	}
 
 	@Override
 	public String toString() {
-		return data.toString();
+		return toList().toString();
+	}
+
+	private List<T> toList() {
+		List<T> list = new ArrayList<>(entries.size());
+		for (Entry<T> curr = head; curr != null; curr = curr.next) {
+			list.add(curr.object);
+		}
+		return list;
 	}
 
 	public void moveAll(PositionableList<T> otherList) {
-		LinkedList<T> othersData = otherList.data;
-		data.addAll(othersData);
-		othersData.clear();
+		moveAll(otherList, null);
 	}
 
 	public void moveAll(PositionableList<T> otherList, Consumer<T> movedVisitor) {
-		LinkedList<T> othersData = otherList.data;
+		List<T> othersData = otherList.toList();
+		otherList.clear();
 		for (T othersDatum : othersData) {
-			movedVisitor.accept(othersDatum);
-			data.add(othersDatum);
+			if (movedVisitor != null) {
+				movedVisitor.accept(othersDatum);
+			}
+			append(othersDatum);
 		}
-		othersData.clear();
+	}
+
+	private void clear() {
+		for (Entry<T> curr = head; curr != null; curr = curr.next) {
+			unregisterPositionListener(curr.object);
+		}
+		entries.clear();
+		head = tail = null;
+		buckets = null;
 	}
 
 	public void remove(T object) {
-		this.data.remove(object);
+		Entry<T> entry = entries.get(object);
+		if (entry != null) {
+			unlink(entry);
+		}
 	}
 
 	public boolean isEmpty() {
-		return data.isEmpty();
+		return head == null;
 	}
 
 	public void moveObjectsAtPositionTo(ShortPoint2D position, PositionableList<T> newList, Consumer<T> movedVisitor) {
-		if(data.isEmpty()) return;
+		if(isEmpty()) return;
+
+		List<Entry<T>> moved = new ArrayList<>();
+		if (buckets == null) {
+			for (Entry<T> curr = head; curr != null; curr = curr.next) {
+				if (curr.object.getPosition().equals(position)) {
+					moved.add(curr);
+				}
+			}
+		} else {
+			for (Entry<T> curr = getBucket(position.x >> BUCKET_SHIFT, position.y >> BUCKET_SHIFT); curr != null; curr = curr.bucketNext) {
+				if (curr.object.getPosition().equals(position)) {
+					moved.add(curr);
+				}
+			}
+			moved.sort((first, second) -> Long.compare(first.sequence, second.sequence));
+		}
+
+		for (Entry<T> entry : moved) {
+			unlink(entry);
+			movedVisitor.accept(entry.object);
+			newList.append(entry.object);
+		}
+	}
+
+	/**
+	 * Moves all objects positioned in the given area to the given list. This has the same result as calling
+	 * {@link #moveObjectsAtPositionTo(ShortPoint2D, PositionableList, Consumer)} for every position of the area in the order of the area, but
+	 * this list is only iterated once.
+	 *
+	 * @param areaOrder
+	 *            Returns the index of a position in the area or a negative value if the position is not in the area.
+	 * @param newList
+	 *            The list receiving the moved objects.
+	 * @param movedVisitor
+	 *            Called for every moved object.
+	 */
+	public void moveObjectsInAreaTo(ToIntFunction<ShortPoint2D> areaOrder, PositionableList<T> newList, Consumer<T> movedVisitor) {
+		if (isEmpty()) {
+			return;
+		}
+
+		for (Entry<T> entry : getEntriesInArea(areaOrder, false)) {
+			unlink(entry);
+			movedVisitor.accept(entry.object);
+			newList.append(entry.object);
+		}
+	}
 
-		Iterator<T> iterator = data.iterator();
-		while (iterator.hasNext()) {
-			T curr = iterator.next();
-			if (curr.getPosition().equals(position)) {
-				iterator.remove();
-				movedVisitor.accept(curr);
-				newList.data.add(curr);
+	/**
+	 * Removes the object every position of the given area would return on {@link #removeObjectAt(ShortPoint2D)}. This has the same result as
+	 * calling {@link #removeObjectAt(ShortPoint2D)} for every position of the area in the order of the area.
+	 *
+	 * @param areaOrder
+	 *            Returns the index of a position in the area or a negative value if the position is not in the area.
+	 * @return The removed objects in the order of their positions in the area.
+	 */
+	public List<T> removeObjectsInArea(ToIntFunction<ShortPoint2D> areaOrder) {
+		if (isEmpty()) {
+			return Collections.emptyList();
+		}
+
+		List<T> removed = new ArrayList<>();
+		for (Entry<T> entry : getEntriesInArea(areaOrder, true)) {
+			unlink(entry);
+			removed.add(entry.object);
+		}
+		return removed;
+	}
+
+	private List<Entry<T>> getEntriesInArea(ToIntFunction<ShortPoint2D> areaOrder, boolean firstOfPositionOnly) {
+		List<Entry<T>> found = new ArrayList<>();
+		Set<ShortPoint2D> foundPositions = firstOfPositionOnly ? new HashSet<>() : null;
+
+		for (Entry<T> curr = head; curr != null; curr = curr.next) { // the list is ordered by sequence, so the first found entry of a position is the one getEntryAt() returns
+			ShortPoint2D position = curr.object.getPosition();
+			if (areaOrder.applyAsInt(position) >= 0 && (foundPositions == null || foundPositions.add(position))) {
+				found.add(curr);
 			}
 		}
+
+		found.sort(Comparator.comparingInt(entry -> areaOrder.applyAsInt(entry.object.getPosition()))); // stable sort keeps the sequence order per position
+		return found;
 	}
 
 	public int size() {
-		return data.size();
+		return entries.size();
+	}
+
+	/**
+	 * @return An iterator over the objects in insertion order that supports removal.
+	 */
+	protected Iterator<T> iterator() {
+		return new Iterator<T>() {
+			private Entry<T> next = head;
+			private Entry<T> last;
+
+			@Override
+			public boolean hasNext() {
+				return next != null;
+			}
+
+			@Override
+			public T next() {
+				if (next == null) {
+					throw new NoSuchElementException();
+				}
+				last = next;
+				next = next.next;
+				return last.object;
+			}
+
+			@Override
+			public void remove() {
+				if (last == null) {
+					throw new IllegalStateException();
+				}
+				unlink(last);
+				last = null;
+			}
+		};
+	}
+
+	private void buildIndex() {
+		int maxBucketX = 0;
+		int maxBucketY = 0;
+		for (Entry<T> curr = head; curr != null; curr = curr.next) {
+			ShortPoint2D position = curr.object.getPosition();
+			maxBucketX = Math.max(maxBucketX, position.x >> BUCKET_SHIFT);
+			maxBucketY = Math.max(maxBucketY, position.y >> BUCKET_SHIFT);
+		}
+
+		bucketsWidth = maxBucketX + 1;
+		bucketsHeight = maxBucketY + 1;
+		buckets = newBuckets(bucketsWidth * bucketsHeight);
+		for (Entry<T> curr = head; curr != null; curr = curr.next) {
+			addToIndex(curr);
+		}
+	}
+
+	private void addToIndex(Entry<T> entry) {
+		ShortPoint2D position = entry.object.getPosition();
+		addToBucket(entry, position.x >> BUCKET_SHIFT, position.y >> BUCKET_SHIFT);
+
+		if (entry.object instanceof IPositionObservable) {
+			if (positionListener == null) {
+				positionListener = this::positionChanged;
+			}
+			((IPositionObservable) entry.object).setPositionChangedListener(positionListener);
+		}
+	}
+
+	private void removeFromIndex(Entry<T> entry) {
+		removeFromBucket(entry);
+		unregisterPositionListener(entry.object);
+	}
+
+	private void unregisterPositionListener(T object) {
+		if (positionListener != null && object instanceof IPositionObservable) {
+			IPositionObservable observable = (IPositionObservable) object;
+			if (observable.getPositionChangedListener() == positionListener) {
+				observable.setPositionChangedListener(null);
+			}
+		}
+	}
+
+	private void positionChanged(IPositionObservable object, ShortPoint2D newPosition) {
+		Entry<T> entry = entries.get(object);
+		if (entry != null && buckets != null && newPosition != null) {
+			int bucketX = newPosition.x >> BUCKET_SHIFT;
+			int bucketY = newPosition.y >> BUCKET_SHIFT;
+			if (bucketX != entry.bucketX || bucketY != entry.bucketY) {
+				removeFromBucket(entry);
+				addToBucket(entry, bucketX, bucketY);
+			}
+		}
+	}
+
+	private void addToBucket(Entry<T> entry, int bucketX, int bucketY) {
+		if (bucketX >= bucketsWidth || bucketY >= bucketsHeight) {
+			growBuckets(Math.max(bucketX + 1, bucketsWidth), Math.max(bucketY + 1, bucketsHeight));
+		}
+
+		int index = bucketY * bucketsWidth + bucketX;
+		entry.bucketX = bucketX;
+		entry.bucketY = bucketY;
+		entry.bucketPrevious = null;
+		entry.bucketNext = buckets[index];
+		if (entry.bucketNext != null) {
+			entry.bucketNext.bucketPrevious = entry;
+		}
+		buckets[index] = entry;
+	}
+
+	private void removeFromBucket(Entry<T> entry) {
+		if (entry.bucketPrevious == null) {
+			buckets[entry.bucketY * bucketsWidth + entry.bucketX] = entry.bucketNext;
+		} else {
+			entry.bucketPrevious.bucketNext = entry.bucketNext;
+		}
+		if (entry.bucketNext != null) {
+			entry.bucketNext.bucketPrevious = entry.bucketPrevious;
+		}
+		entry.bucketPrevious = entry.bucketNext = null;
+	}
+
+	private Entry<T> getBucket(int bucketX, int bucketY) {
+		if (bucketX >= bucketsWidth || bucketY >= bucketsHeight) {
+			return null;
+		}
+		return buckets[bucketY * bucketsWidth + bucketX];
+	}
+
+	private void growBuckets(int newWidth, int newHeight) {
+		Entry<T>[] newBuckets = newBuckets(newWidth * newHeight);
+		for (int y = 0; y < bucketsHeight; y++) {
+			System.arraycopy(buckets, y * bucketsWidth, newBuckets, y * newWidth, bucketsWidth);
+		}
+		buckets = newBuckets;
+		bucketsWidth = newWidth;
+		bucketsHeight = newHeight;
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static <T> Entry<T>[] newBuckets(int size) {
+		return new Entry[size];
+	}
+
+	private void writeObject(ObjectOutputStream oos) throws IOException {
+		ObjectOutputStream.PutField fields = oos.putFields();
+		fields.put("data", new LinkedList<>(toList()));
+		oos.writeFields();
+	}
+
+	@SuppressWarnings("unchecked")
+	private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException {
+		LinkedList<T> data = (LinkedList<T>) ois.readFields().get("data", null);
+
+		entries = new HashMap<>();
+		for (T object : data) { // the index is built with the next insert, as the objects may not be completely read yet
+			Entry<T> entry = new Entry<>(object, nextSequence++);
+			entry.previous = tail;
+			if (tail == null) {
+				head = entry;
+			} else {
+				tail.next = entry;
+			}
+			tail = entry;
+			entries.put(object, entry);
+		}
+	}
+
+	private static final class Entry<T> {
+		final T object;
+		final long sequence;
+
+		Entry<T> previous;
+		Entry<T> next;
+
+		int bucketX;
+		int bucketY;
+		Entry<T> bucketPrevious;
+		Entry<T> bucketNext;
+
+		Entry(T object, long sequence) {
+			this.object = object;
+			this.sequence = sequence;
+		}
 	}
 }
@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2015
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.grid.partition.manager.materials;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+
+import jsettlers.logic.constants.MatchConstants;
+
+/**
+ * Collects the throughput of the {@link MaterialsManager}s of a game. If {@link MatchConstants#ENABLE_DISTRIBUTION_LOG} is set, every second of
+ * game time is written as a line <code>second,assignedDeliveries,averageLatency,maxLatency</code> to a <code>distributed*.log</code> file. The
+ * latency is the time in ms the assigned material had waited for a bearer. The files can be plotted with <code>distributionStats/script.plot</code>.
+ */
+public final class MaterialDistributionStatistics {
+	private static PrintStream out;
+
+	private static int currentSecond = -1;
+	private static int assignedDeliveries;
+	private static long latencySum;
+	private static int maxLatency;
+
+	private MaterialDistributionStatistics() {
+	}
+
+	public static void resetDistributionFile() {
+		if (out != null) {
+			flushSecond();
+			out.close();
+			out = null;
+		}
+		currentSecond = -1;
+
+		if (!MatchConstants.ENABLE_DISTRIBUTION_LOG) {
+			return;
+		}
+
+		try {
+			out = new PrintStream(new FileOutputStream("distributed" + System.currentTimeMillis() + ".log"));
+		} catch (IOException e) {
+			throw new Error(e);
+		}
+	}
+
+	/**
+	 * @return Returns true if the statistics of the current game are recorded.
+	 */
+	public static boolean isEnabled() {
+		return out != null;
+	}
+
+	static void deliveryAssigned(int availableSince) {
+		int time = MatchConstants.clock().getTime();
+		int second = time / 1000;
+		if (second != currentSecond) {
+			flushSecond();
+			currentSecond = second;
+		}
+
+		int latency = time - availableSince;
+		assignedDeliveries++;
+		latencySum += latency;
+		maxLatency = Math.max(maxLatency, latency);
+	}
+
+	private static void flushSecond() {
+		if (currentSecond >= 0) {
+			out.println(currentSecond + "," + assignedDeliveries + "," + latencySum / assignedDeliveries + "," + maxLatency);
+			out.flush();
+		}
+		assignedDeliveries = 0;
+		latencySum = 0;
+		maxLatency = 0;
+	}
+}
@@ -15,10 +15,12 @@
 package jsettlers.logic.map.grid.partition.manager.materials;
 
 import java.io.Serializable;
+import java.util.function.ToIntFunction;
 
 import jsettlers.common.map.partition.IPartitionSettings;
 import jsettlers.common.material.EMaterialType;
 import jsettlers.common.position.ShortPoint2D;
+import jsettlers.logic.constants.Constants;
 import jsettlers.logic.map.grid.partition.manager.materials.interfaces.IJoblessSupplier;
 import jsettlers.logic.map.grid.partition.manager.materials.interfaces.IManagerBearer;
 import jsettlers.logic.map.grid.partition.manager.materials.offers.EOfferPriority;
@@ -83,29 +85,52 @@ public final class MaterialsManager implements Serializable {
 		requestQueues[material.ordinal].insertRequest(requestObject);
 	}
 
+	/**
+	 * Assigns delivery jobs to jobless bearers. Every material type gets at most one delivery per round, the types are handled in the order of
+	 * their priority. Only one round is done unless {@link Constants#BATCHED_MATERIAL_DISTRIBUTION} is enabled. Then, rounds are done until no
+	 * more delivery can be assigned or {@link Constants#MATERIAL_DISTRIBUTION_BUDGET} deliveries have been assigned.
+	 */
 	public void distributeJobs() {
-		for (int i = 0; i < EMaterialType.NUMBER_OF_DROPPABLE_MATERIALS && !joblessSupplier.isEmpty(); i++) {
+		if (!Constants.BATCHED_MATERIAL_DISTRIBUTION) {
+			distributeJobsRound(EMaterialType.NUMBER_OF_DROPPABLE_MATERIALS);
+			return;
+		}
+
+		int budget = Constants.MATERIAL_DISTRIBUTION_BUDGET;
+		int assigned;
+		do {
+			assigned = distributeJobsRound(budget);
+			budget -= assigned;
+		} while (assigned > 0 && budget > 0);
+	}
+
+	private int distributeJobsRound(int budget) {
+		int assigned = 0;
+		for (int i = 0; i < EMaterialType.NUMBER_OF_DROPPABLE_MATERIALS && assigned < budget; i++) {
 			if (joblessSupplier.isEmpty()) // no jobless? just return
 				break;
 
-			distributeJobForMaterial(settings.getMaterialTypeForPriority(i));
+			if (distributeJobForMaterial(settings.getMaterialTypeForPriority(i))) {
+				assigned++;
+			}
 		}
+		return assigned;
 	}
 
-	private void distributeJobForMaterial(EMaterialType materialType) {
+	private boolean distributeJobForMaterial(EMaterialType materialType) {
 		if (offersList.isEmpty(materialType, EOfferPriority.LOWEST)) {
-			return;
+			return false;
 		}
 
 		AbstractMaterialRequestPriorityQueue requestQueue = requestQueues[materialType.ordinal];
 		MaterialRequestObject request = requestQueue.getHighestRequest();
 
 		if (request == null) // no request => return
-			return;
+			return false;
 
 		EOfferPriority minimumIncludedOfferPriority = request.getMinimumAcceptedOfferPriority();
 		if (offersList.isEmpty(materialType, minimumIncludedOfferPriority)) {
-			return; // no offers => return
+			return false; // no offers => return
 		}
 
 		MaterialOffer offer = offersList.getOfferCloseTo(materialType, minimumIncludedOfferPriority, request.getPosition());
@@ -116,7 +141,11 @@ public final class MaterialsManager implements Serializable {
 
 		assert jobless != null : "The jobless can't be null here!";
 
+		if (MaterialDistributionStatistics.isEnabled()) {
+			MaterialDistributionStatistics.deliveryAssigned(offer.getAvailableSince());
+		}
 		jobless.deliver(materialType, offer, request);
+		return true;
 	}
 
 	public void movePositionTo(ShortPoint2D position, MaterialsManager newManager) {
@@ -125,6 +154,12 @@ public final class MaterialsManager implements Serializable {
 		}
 	}
 
+	public void moveAreaTo(ToIntFunction<ShortPoint2D> areaOrder, MaterialsManager newManager) {
+		for (int i = 0; i < EMaterialType.NUMBER_OF_MATERIALS; i++) {
+			requestQueues[i].moveObjectsInAreaTo(areaOrder, newManager.requestQueues[i]);
+		}
+	}
+
 	public void mergeInto(MaterialsManager newManager) {
 		for (int i = 0; i < EMaterialType.NUMBER_OF_MATERIALS; i++) {
 			requestQueues[i].mergeInto(newManager.requestQueues[i]);
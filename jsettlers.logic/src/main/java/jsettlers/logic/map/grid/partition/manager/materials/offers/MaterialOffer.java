@@ -19,6 +19,8 @@ import java.io.Serializable;
 import jsettlers.common.material.EMaterialType;
 import jsettlers.common.position.ILocatable;
 import jsettlers.common.position.ShortPoint2D;
+import jsettlers.logic.constants.MatchConstants;
+import jsettlers.logic.map.grid.partition.manager.materials.MaterialDistributionStatistics;
 import jsettlers.logic.map.grid.partition.manager.materials.MaterialsManager;
 import jsettlers.logic.map.grid.partition.manager.materials.interfaces.IMaterialOffer;
 import jsettlers.logic.map.grid.partition.manager.materials.offers.list.IListManageable;
@@ -30,6 +32,8 @@ import jsettlers.logic.map.grid.partition.manager.materials.offers.list.IPriorit
  * @author Andreas Eberle
  */
 public class MaterialOffer implements Serializable, ILocatable, IPrioritizable<EOfferPriority>, IListManageable, IMaterialOffer {
+	private static final long serialVersionUID = -8205797836220090667L;
+
 	private final ShortPoint2D position;
 	private final EMaterialType materialType;
 
@@ -38,12 +42,18 @@ public class MaterialOffer implements Serializable, ILocatable, IPrioritizable<E
 	private byte amount = 0;
 	private byte inDistribution = 0;
 
+	/**
+	 * Game time since which materials of this offer wait for a bearer. Only tracked for the {@link MaterialDistributionStatistics}.
+	 */
+	private transient int availableSince;
+
 	MaterialOffer(ShortPoint2D position, EMaterialType materialType, IOffersCountListener countChangedListener, EOfferPriority priority, byte amount) {
 		this.position = position;
 		this.materialType = materialType;
 
 		this.countChangedListener = countChangedListener;
 		this.priority = priority;
+		markAvailable();
 		this.amount = amount;
 
 		countChangedListener.offersCountChanged(materialType, amount);
@@ -60,6 +70,7 @@ public class MaterialOffer implements Serializable, ILocatable, IPrioritizable<E
 	 * @return
 	 */
 	public void incrementAmount() {
+		markAvailable();
 		++amount;
 		countChangedListener.offersCountChanged(materialType, +1);
 	}
@@ -105,6 +116,7 @@ public class MaterialOffer implements Serializable, ILocatable, IPrioritizable<E
 
 	@Override
 	public void distributionAborted() {
+		markAvailable();
 		inDistribution--;
 		countChangedListener.offersCountChanged(materialType, +1);
 	}
@@ -120,6 +132,20 @@ public class MaterialOffer implements Serializable, ILocatable, IPrioritizable<E
 		return amount >= inDistribution && priority.ordinal() >= minimumAcceptedPriority.ordinal();
 	}
 
+	/**
+	 * @return Returns the game time since which the longest waiting material of this offer has been waiting for a bearer. Only tracked while
+	 *         {@link MaterialDistributionStatistics#isEnabled()} is true.
+	 */
+	public int getAvailableSince() {
+		return availableSince;
+	}
+
+	private void markAvailable() {
+		if (getAvailable() == 0 && MaterialDistributionStatistics.isEnabled()) {
+			availableSince = MatchConstants.clock().getTime();
+		}
+	}
+
 	public void changeOffersCountListener(IOffersCountListener newCountChangedListener) {
 		int countedMaterials = amount - inDistribution;
 		this.countChangedListener.offersCountChanged(materialType, -countedMaterials);
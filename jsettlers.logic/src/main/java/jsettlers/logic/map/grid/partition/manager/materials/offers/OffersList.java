@@ -21,6 +21,8 @@ import jsettlers.logic.map.grid.partition.manager.materials.interfaces.IOfferEmp
 import jsettlers.logic.map.grid.partition.manager.materials.offers.list.PrioritizedPositionableList;
 
 import java.io.Serializable;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
 
 /**
  * This class builds a data structure to hold {@link MaterialOffer}s and access them with range searches.
@@ -132,8 +134,16 @@ public final class OffersList implements Serializable {
 	}
 
 	public void moveOffersAtPositionTo(ShortPoint2D position, final OffersList otherList) {
+		Consumer<MaterialOffer> movedVisitor = movedOffer -> movedOffer.changeOffersCountListener(otherList.materialCounts);
 		for (int materialTypeIndex = 0; materialTypeIndex < EMaterialType.NUMBER_OF_MATERIALS; materialTypeIndex++) {
-			offersLists[materialTypeIndex].moveObjectsAtPositionTo(position, otherList.offersLists[materialTypeIndex], movedOffer -> movedOffer.changeOffersCountListener(otherList.materialCounts));
+			offersLists[materialTypeIndex].moveObjectsAtPositionTo(position, otherList.offersLists[materialTypeIndex], movedVisitor);
+		}
+	}
+
+	public void moveOffersInAreaTo(ToIntFunction<ShortPoint2D> areaOrder, final OffersList otherList) {
+		Consumer<MaterialOffer> movedVisitor = movedOffer -> movedOffer.changeOffersCountListener(otherList.materialCounts);
+		for (int materialTypeIndex = 0; materialTypeIndex < EMaterialType.NUMBER_OF_MATERIALS; materialTypeIndex++) {
+			offersLists[materialTypeIndex].moveObjectsInAreaTo(areaOrder, otherList.offersLists[materialTypeIndex], movedVisitor);
 		}
 	}
 
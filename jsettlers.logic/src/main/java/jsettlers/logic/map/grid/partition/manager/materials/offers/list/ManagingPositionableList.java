@@ -29,13 +29,22 @@ import jsettlers.logic.map.grid.partition.manager.datastructures.PositionableLis
  * @author Andreas Eberle
  */
 public class ManagingPositionableList<T extends ILocatable & IListManageable> extends PositionableList<T> {
+	private static final long serialVersionUID = 5373491460834642792L;
+
+	/**
+	 * Every search removes all entries that can be removed, so there is nothing to gain from a spatial index.
+	 */
+	@Override
+	protected boolean isSpatiallyIndexed() {
+		return false;
+	}
 
 	@Override
 	protected T getObjectCloseTo(ShortPoint2D position) {
 		int bestDistance = Integer.MAX_VALUE;
 		T currBest = null;
 
-		for (Iterator<T> iterator = data.iterator(); iterator.hasNext(); ) {
+		for (Iterator<T> iterator = iterator(); iterator.hasNext(); ) {
 			T currEntry = iterator.next();
 
 			if (currEntry.canBeRemoved()) { // remove old entries no longer needed
@@ -54,7 +63,7 @@ public class ManagingPositionableList<T extends ILocatable & IListManageable> ex
 	}
 
 	public boolean hasNoActive() {
-		for (Iterator<T> iterator = data.iterator(); iterator.hasNext(); ) {
+		for (Iterator<T> iterator = iterator(); iterator.hasNext(); ) {
 			T datum = iterator.next();
 
 			if (datum.canBeRemoved()) {
@@ -21,11 +21,14 @@ import jsettlers.common.position.ShortPoint2D;
 import jsettlers.common.utils.MathUtils;
 
 import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
 
 /**
  * Created by Andreas Eberle on 23.08.2016.
  */
 public class PrioritizedPositionableList<P extends Enum, T extends ILocatable & IPrioritizable<P> & IListManageable> implements Serializable {
+	private static final long serialVersionUID = -5141288579664102607L;
+
 	private final ManagingPositionableList<T>[] lists;
 
 	@SuppressWarnings("unchecked")
@@ -69,6 +72,12 @@ public class PrioritizedPositionableList<P extends Enum, T extends ILocatable &
 		}
 	}
 
+	public void moveObjectsInAreaTo(ToIntFunction<ShortPoint2D> areaOrder, PrioritizedPositionableList<P, T> otherList, Consumer<T> movedVisitor) {
+		for (int i = lists.length - 1; i >= 0; i--) {
+			lists[i].moveObjectsInAreaTo(areaOrder, otherList.lists[i], movedVisitor);
+		}
+	}
+
 	public void moveAll(PrioritizedPositionableList<P, T> otherList, Consumer<T> movedVisitor) {
 		for (int i = lists.length - 1; i >= 0; i--) {
 			lists[i].moveAll(otherList.lists[i], movedVisitor);
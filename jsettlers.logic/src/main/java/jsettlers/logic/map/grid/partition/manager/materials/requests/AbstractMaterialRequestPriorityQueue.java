@@ -15,6 +15,10 @@
 package jsettlers.logic.map.grid.partition.manager.materials.requests;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToIntFunction;
 
 import jsettlers.common.buildings.EBuildingType;
 import jsettlers.common.material.EPriority;
@@ -136,6 +140,38 @@ public abstract class AbstractMaterialRequestPriorityQueue implements Serializab
 	 */
 	public abstract void moveObjectsOfPositionTo(ShortPoint2D position, AbstractMaterialRequestPriorityQueue newQueue);
 
+	/**
+	 * Removes any requests that are in the given area from this queue and adds them to the given queue. This has the same result as calling
+	 * {@link #moveObjectsOfPositionTo(ShortPoint2D, AbstractMaterialRequestPriorityQueue)} for every position of the area in the order of the area.
+	 * 
+	 * @param areaOrder
+	 *            Returns the index of a position in the area or a negative value if the position is not in the area.
+	 * @param newQueue
+	 *            The queue that receives the objects removed from this queue.
+	 */
+	public abstract void moveObjectsInAreaTo(ToIntFunction<ShortPoint2D> areaOrder, AbstractMaterialRequestPriorityQueue newQueue);
+
+	protected static void moveObjectsInArea(ToIntFunction<ShortPoint2D> areaOrder, DoubleLinkedList<MaterialRequestObject> queue,
+			DoubleLinkedList<MaterialRequestObject> newQueueList, AbstractMaterialRequestPriorityQueue newQueue) {
+		if (queue.isEmpty()) {
+			return;
+		}
+
+		List<MaterialRequestObject> moved = new ArrayList<>();
+		for (MaterialRequestObject curr : queue) {
+			if (areaOrder.applyAsInt(curr.getPosition()) >= 0) {
+				moved.add(curr);
+			}
+		}
+		moved.sort(Comparator.comparingInt(request -> areaOrder.applyAsInt(request.getPosition()))); // stable sort keeps the queue order per position
+
+		for (MaterialRequestObject curr : moved) {
+			queue.remove(curr);
+			newQueueList.pushEnd(curr);
+			curr.requestQueue = newQueue;
+		}
+	}
+
 	/**
 	 * Merges this queue into the given {@link AbstractMaterialRequestPriorityQueue}.
 	 * <p />
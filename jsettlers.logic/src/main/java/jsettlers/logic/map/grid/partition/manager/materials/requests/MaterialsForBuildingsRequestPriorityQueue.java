@@ -18,6 +18,7 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.function.ToIntFunction;
 
 import jsettlers.common.buildings.EBuildingType;
 import jsettlers.common.material.EPriority;
@@ -126,6 +127,10 @@ public final class MaterialsForBuildingsRequestPriorityQueue extends AbstractMat
 		for (int priorityIndex = 0; priorityIndex < queues.length; priorityIndex++) {
 			DoubleLinkedList<MaterialRequestObject>[] priorityQueue = queues[priorityIndex];
 			for (int queueIdx = 0; queueIdx < numberOfConfigurableBuildings; queueIdx++) {
+				if (priorityQueue[queueIdx].isEmpty()) {
+					continue;
+				}
+
 				Iterator<MaterialRequestObject> iterator = priorityQueue[queueIdx].iterator();
 				while (iterator.hasNext()) {
 					MaterialRequestObject curr = iterator.next();
@@ -139,6 +144,19 @@ public final class MaterialsForBuildingsRequestPriorityQueue extends AbstractMat
 		}
 	}
 
+	@Override
+	public void moveObjectsInAreaTo(ToIntFunction<ShortPoint2D> areaOrder, AbstractMaterialRequestPriorityQueue newAbstractQueue) {
+		assert newAbstractQueue instanceof MaterialsForBuildingsRequestPriorityQueue : "can't move positions between different types of queues.";
+
+		MaterialsForBuildingsRequestPriorityQueue newQueue = (MaterialsForBuildingsRequestPriorityQueue) newAbstractQueue;
+
+		for (int priorityIndex = 0; priorityIndex < queues.length; priorityIndex++) {
+			for (int queueIdx = 0; queueIdx < numberOfConfigurableBuildings; queueIdx++) {
+				moveObjectsInArea(areaOrder, queues[priorityIndex][queueIdx], newQueue.queues[priorityIndex][queueIdx], newQueue);
+			}
+		}
+	}
+
 	@Override
 	public void mergeInto(AbstractMaterialRequestPriorityQueue newAbstractQueue) {
 		assert newAbstractQueue instanceof MaterialsForBuildingsRequestPriorityQueue : "can't move positions between different types of queues.";
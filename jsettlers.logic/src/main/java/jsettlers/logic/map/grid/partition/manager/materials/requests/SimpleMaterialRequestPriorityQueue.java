@@ -16,6 +16,7 @@ package jsettlers.logic.map.grid.partition.manager.materials.requests;
 
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.function.ToIntFunction;
 
 import jsettlers.common.buildings.EBuildingType;
 import jsettlers.common.material.EPriority;
@@ -50,6 +51,10 @@ public final class SimpleMaterialRequestPriorityQueue extends AbstractMaterialRe
 		SimpleMaterialRequestPriorityQueue newQueue = (SimpleMaterialRequestPriorityQueue) newAbstractQueue;
 
 		for (int queueIdx = 0; queueIdx < queues.length; queueIdx++) {
+			if (queues[queueIdx].isEmpty()) {
+				continue;
+			}
+
 			Iterator<MaterialRequestObject> iter = queues[queueIdx].iterator();
 			while (iter.hasNext()) {
 				MaterialRequestObject curr = iter.next();
@@ -62,6 +67,17 @@ public final class SimpleMaterialRequestPriorityQueue extends AbstractMaterialRe
 		}
 	}
 
+	@Override
+	public void moveObjectsInAreaTo(ToIntFunction<ShortPoint2D> areaOrder, AbstractMaterialRequestPriorityQueue newAbstractQueue) {
+		assert newAbstractQueue instanceof SimpleMaterialRequestPriorityQueue : "can't move positions between diffrent types of queues.";
+
+		SimpleMaterialRequestPriorityQueue newQueue = (SimpleMaterialRequestPriorityQueue) newAbstractQueue;
+
+		for (int queueIdx = 0; queueIdx < queues.length; queueIdx++) {
+			moveObjectsInArea(areaOrder, queues[queueIdx], newQueue.queues[queueIdx], newQueue);
+		}
+	}
+
 	@Override
 	public void mergeInto(AbstractMaterialRequestPriorityQueue newAbstractQueue) {
 		assert newAbstractQueue instanceof SimpleMaterialRequestPriorityQueue : "can't move positions between diffrent types of queues.";
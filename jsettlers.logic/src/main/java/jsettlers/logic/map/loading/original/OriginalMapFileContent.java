@@ -21,6 +21,7 @@ import jsettlers.algorithms.partitions.PartitionCalculatorAlgorithm;
 import jsettlers.common.landscape.ELandscapeType;
 import jsettlers.common.landscape.EResourceType;
 import jsettlers.common.logging.MilliStopWatch;
+import jsettlers.logic.constants.Constants;
 import jsettlers.logic.map.loading.data.IMapData;
 import jsettlers.logic.map.loading.data.objects.BuildingMapDataObject;
 import jsettlers.logic.map.loading.data.objects.MapDataObject;
@@ -341,7 +342,11 @@ public class OriginalMapFileContent implements IMapData {
 
 		PartitionCalculatorAlgorithm partitionCalculator = new PartitionCalculatorAlgorithm(0, 0, widthHeight, widthHeight, notBlockedSet,
 				IBlockingProvider.DEFAULT_IMPLEMENTATION);
-		partitionCalculator.calculatePartitions();
+		if (Constants.PARALLEL_PARTITION_CALCULATION) {
+			partitionCalculator.calculatePartitionsInParallel();
+		} else {
+			partitionCalculator.calculatePartitions();
+		}
 
 		for (short y = 0; y < widthHeight; y++) {
 			for (short x = 0; x < widthHeight; x++) {
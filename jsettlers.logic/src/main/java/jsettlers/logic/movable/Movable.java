@@ -40,6 +40,9 @@ import jsettlers.common.position.ShortPoint2D;
 import jsettlers.common.selectable.ESelectionType;
 import jsettlers.logic.constants.Constants;
 import jsettlers.logic.constants.MatchConstants;
+import jsettlers.logic.map.grid.GameStateHash;
+import jsettlers.logic.map.grid.partition.manager.datastructures.IPositionChangedListener;
+import jsettlers.logic.map.grid.partition.manager.datastructures.IPositionObservable;
 import jsettlers.logic.movable.cargo.CargoShipMovable;
 import jsettlers.logic.movable.cargo.DonkeyMovable;
 import jsettlers.logic.movable.civilian.BakerMovable;
@@ -64,6 +67,7 @@ import jsettlers.logic.movable.specialist.GeologistMovable;
 import jsettlers.logic.movable.specialist.PioneerMovable;
 import jsettlers.logic.movable.specialist.ThiefMovable;
 import jsettlers.logic.player.Player;
+import jsettlers.logic.timer.RescheduleTimer;
 import jsettlers.network.client.interfaces.IGameClock;
 
 import java.io.IOException;
@@ -80,7 +84,7 @@ import static jsettlers.algorithms.simplebehaviortree.BehaviorTreeHelper.*;
  *
  * @author Andreas Eberle
  */
-public abstract class Movable implements ILogicMovable, FoWTask {
+public abstract class Movable implements ILogicMovable, FoWTask, IPositionObservable {
 	private static final long serialVersionUID = -705947810059935866L;
 
 	private static final int SHIP_PUSH_DISTANCE = 10;
@@ -122,6 +126,12 @@ public abstract class Movable implements ILogicMovable, FoWTask {
 	private boolean leavePosition = false;
 
 	private transient Tick<? extends Movable> tick;
+	private transient IPositionChangedListener positionChangedListener;
+
+	int timerHandle = RescheduleTimer.NO_HANDLE;
+
+	transient long    stateHash;
+	transient boolean stateHashed;
 
 	protected Movable(AbstractMovableGrid grid, EMovableType movableType, ShortPoint2D position, Player player, Movable replace) {
 		this.grid = grid;
@@ -435,13 +445,13 @@ public abstract class Movable implements ILogicMovable, FoWTask {
 
 		// continue behaviour if the previous run was successful
 		for(int i = 0; i < BEHAVIOUR_RETRY_COUNT && status == NodeStatus.SUCCESS && state == EMovableState.ACTIVE; i++) {
-			tick.root.setInvocationDelay(0);
+			tick.setInvocationDelay(0);
 			status = tick.tick();
 		}
 
 		leavePosition = false;
 
-		int delay = tick.root.getInvocationDelay();
+		int delay = tick.getInvocationDelay();
 		if(delay < Constants.MOVABLE_INTERRUPT_PERIOD) {
 			return Constants.MOVABLE_INTERRUPT_PERIOD;
 		}
@@ -501,7 +511,7 @@ public abstract class Movable implements ILogicMovable, FoWTask {
 				mov.setDirection(EDirection.getApproxDirection(mov.position, targetPosition));
 				mov.grid.leavePosition(mov.position, mov);
 				mov.grid.enterPosition(targetPosition, mov, false);
-				realMov.position = targetPosition;
+				realMov.updatePosition(targetPosition);
 				realMov.isRightstep = !realMov.isRightstep;
 
 			}),
@@ -677,7 +687,43 @@ public abstract class Movable implements ILogicMovable, FoWTask {
 			grid.enterPosition(position, this, true);
 		}
 
+		updatePosition(position);
+	}
+
+	/**
+	 * Changes the position without entering or leaving the grid.
+	 */
+	protected final void updatePosition(ShortPoint2D position) {
 		this.position = position;
+		MovableManager.stateChanged(this);
+
+		if (positionChangedListener != null) {
+			positionChangedListener.positionChanged(this, position);
+		}
+	}
+
+	/**
+	 * Has to be called by subclasses after they changed the health of this movable.
+	 */
+	protected final void healthChanged() {
+		MovableManager.stateChanged(this);
+	}
+
+	long computeStateHash() {
+		long hash = id;
+		hash = hash * 31 + (position != null ? position.hashCode() : -1);
+		hash = hash * 31 + Float.floatToIntBits(health);
+		return GameStateHash.mix(hash);
+	}
+
+	@Override
+	public void setPositionChangedListener(IPositionChangedListener listener) {
+		this.positionChangedListener = listener;
+	}
+
+	@Override
+	public IPositionChangedListener getPositionChangedListener() {
+		return positionChangedListener;
 	}
 
 	public final void setVisible(boolean visible) {
@@ -865,7 +911,7 @@ public abstract class Movable implements ILogicMovable, FoWTask {
 		this.health = -200;
 		this.state = EMovableState.DEAD;
 		this.selected = false;
-		position = null;
+		updatePosition(null);
 	}
 
 	public boolean isOnFerry() {
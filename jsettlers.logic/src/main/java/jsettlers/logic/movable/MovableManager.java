@@ -5,54 +5,79 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.util.Collection;
 import java.util.EnumMap;
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
 
-import jsettlers.algorithms.fogofwar.FogOfWar;
 import jsettlers.algorithms.simplebehaviortree.Root;
 import jsettlers.common.movable.EMovableType;
 import jsettlers.logic.SerializationUtils;
 import jsettlers.logic.constants.Constants;
+import jsettlers.logic.constants.GameContext;
 import jsettlers.logic.constants.MatchConstants;
 import jsettlers.logic.movable.interfaces.ILogicMovable;
 import jsettlers.logic.timer.RescheduleTimer;
 
+/**
+ * Keeps track of the movables of a match. Every {@link GameContext} has its own instance, the static methods work on the one of
+ * {@link GameContext#current()}. The behaviour trees are immutable and shared by all matches.
+ */
 public final class MovableManager {
 
-	static final HashMap<Integer, ILogicMovable> movablesByID = new HashMap<>();
-	static final ConcurrentLinkedQueue<ILogicMovable> allMovables  = new ConcurrentLinkedQueue<>();
-	static       int                                  nextID       = Integer.MIN_VALUE;
-	static byte fowTeam = -1;
-
 	private static final Map<EMovableType, Root<Movable>> BEHAVIOUR_TREES = new EnumMap<>(EMovableType.class);
 
+	final MovableRegistry movables = new MovableRegistry();
+	int                   nextID   = Integer.MIN_VALUE;
+	byte                  fowTeam  = -1;
+
+	private long    stateHash;
+	private boolean stateHashValid;
+
+	static MovableManager current() {
+		return GameContext.current().getMovableManager();
+	}
+
 	public static void initFow(byte fow) {
-		fowTeam = fow;
-		for(ILogicMovable lm : allMovables) {
+		GameContext context = GameContext.current();
+		MovableManager manager = context.getMovableManager();
+		manager.fowTeam = fow;
+		for(ILogicMovable lm : manager.movables.snapshot()) {
 			if(lm instanceof Movable) {
 				Movable mv = (Movable) lm;
-				if(MatchConstants.ENABLE_ALL_PLAYER_FOG_OF_WAR || lm.getPlayer().getTeamId() == fowTeam) {
-					FogOfWar.instance.refThread.nextTasks.offer(mv);
+				if(MatchConstants.ENABLE_ALL_PLAYER_FOG_OF_WAR || lm.getPlayer().getTeamId() == fow) {
+					context.getFogOfWar().refThread.nextTasks.offer(mv);
 				}
 			}
 		}
 	}
 
+	/**
+	 * Reads the movables in the order they have been added. Savegames written before the movables were stored as array contain a queue of the
+	 * movables followed by a map of their ids. The ids are taken from the movables instead.
+	 */
 	@SuppressWarnings("unchecked")
 	public static void readStaticState(ObjectInputStream ois) throws IOException, ClassNotFoundException {
-		nextID = ois.readInt();
-		allMovables.clear();
-		fowTeam = -1;
-		allMovables.addAll((Collection<? extends ILogicMovable>) ois.readUnshared());
-		movablesByID.putAll(SerializationUtils.readHashMap(ois));
+		MovableManager manager = current();
+		MovableRegistry movables = manager.movables;
+		manager.nextID = ois.readInt();
+		movables.clear();
+		manager.fowTeam = -1;
+		manager.stateHashValid = false;
+
+		Object storedMovables = ois.readUnshared();
+		if(storedMovables instanceof Collection) {
+			((Collection<ILogicMovable>) storedMovables).forEach(movables::add);
+			SerializationUtils.readHashMap(ois);
+		} else {
+			for(ILogicMovable movable : (ILogicMovable[]) storedMovables) {
+				movables.add(movable);
+			}
+		}
 	}
 
 	public static void writeStaticState(ObjectOutputStream oos) throws IOException {
-		oos.writeInt(nextID);
-		oos.writeUnshared(allMovables);
-		SerializationUtils.writeHashMap(oos, movablesByID);
+		MovableManager manager = current();
+		oos.writeInt(manager.nextID);
+		oos.writeUnshared(manager.movables.snapshot().toArray(new ILogicMovable[0]));
 	}
 
 	/**
@@ -64,18 +89,22 @@ public final class MovableManager {
 	 * or null if the id can not be found
 	 */
 	public static ILogicMovable getMovableByID(int id) {
-		return movablesByID.get(id);
+		return current().movables.get(id);
 	}
 
-	public static Queue<ILogicMovable> getAllMovables() {
-		return allMovables;
+	/**
+	 * @return a snapshot of the living movables in the order they have been added. It can be used from any thread.
+	 */
+	public static List<ILogicMovable> getAllMovables() {
+		return current().movables.snapshot();
 	}
 
 	public static void resetState() {
-		allMovables.clear();
-		movablesByID.clear();
-		nextID = Integer.MIN_VALUE;
-		fowTeam = -1;
+		MovableManager manager = current();
+		manager.invalidateStateHash();
+		manager.movables.clear();
+		manager.nextID = Integer.MIN_VALUE;
+		manager.fowTeam = -1;
 	}
 
 	static int requestId(Movable movable, Movable replace) {
@@ -84,27 +113,85 @@ public final class MovableManager {
 		if(replace != null) {
 			id = replace.getID();
 		} else {
-			id = nextID++;
+			id = current().nextID++;
 		}
 		return id;
 	}
 
 	static void add(Movable movable) {
+		GameContext context = GameContext.current();
+		MovableManager manager = context.getMovableManager();
 
-		movablesByID.put(movable.getID(), movable);
-		allMovables.offer(movable);
+		manager.movables.add(movable);
 
 
-		if((fowTeam != -1 && MatchConstants.ENABLE_ALL_PLAYER_FOG_OF_WAR) || fowTeam == movable.player.getTeamId()) {
-			FogOfWar.instance.refThread.nextTasks.offer(movable);
+		if((manager.fowTeam != -1 && MatchConstants.ENABLE_ALL_PLAYER_FOG_OF_WAR) || manager.fowTeam == movable.player.getTeamId()) {
+			context.getFogOfWar().refThread.nextTasks.offer(movable);
 		}
 
-		RescheduleTimer.add(movable, Constants.MOVABLE_INTERRUPT_PERIOD);
+		movable.timerHandle = RescheduleTimer.add(movable, Constants.MOVABLE_INTERRUPT_PERIOD);
+
+		if(manager.stateHashValid) {
+			movable.stateHash = movable.computeStateHash();
+			movable.stateHashed = true;
+			manager.stateHash ^= movable.stateHash;
+		}
 	}
 
 	static void remove(Movable movable) {
-		movablesByID.remove(movable.getID());
-		allMovables.remove(movable);
+		MovableManager manager = current();
+		manager.movables.remove(movable);
+
+		if(movable.stateHashed) {
+			manager.stateHash ^= movable.stateHash;
+			movable.stateHashed = false;
+		}
+
+		RescheduleTimer.remove(movable, movable.timerHandle);
+		movable.timerHandle = RescheduleTimer.NO_HANDLE;
+	}
+
+	/**
+	 * Updates the contribution of the given movable to the state hash after its position or health changed.
+	 */
+	static void stateChanged(Movable movable) {
+		if(movable.stateHashed) {
+			MovableManager manager = current();
+			manager.stateHash ^= movable.stateHash;
+			movable.stateHash = movable.computeStateHash();
+			manager.stateHash ^= movable.stateHash;
+		}
+	}
+
+	/**
+	 * Returns the hash of the ids, positions and health of the living movables. It's computed for all movables on the first call and afterwards
+	 * updated whenever a movable is added, removed, moved or its health changes.
+	 *
+	 * @return the hash of the movables.
+	 */
+	public long getStateHash() {
+		if(!stateHashValid) {
+			stateHash = 0;
+			for(ILogicMovable lm : movables.snapshot()) {
+				if(lm instanceof Movable) {
+					Movable movable = (Movable) lm;
+					movable.stateHash = movable.computeStateHash();
+					movable.stateHashed = true;
+					stateHash ^= movable.stateHash;
+				}
+			}
+			stateHashValid = true;
+		}
+		return stateHash;
+	}
+
+	private void invalidateStateHash() {
+		for(ILogicMovable lm : movables.snapshot()) {
+			if(lm instanceof Movable) {
+				((Movable) lm).stateHashed = false;
+			}
+		}
+		stateHashValid = false;
 	}
 
 	public static <T extends Movable> void registerBehaviour(EMovableType type, Root<T> tree) {
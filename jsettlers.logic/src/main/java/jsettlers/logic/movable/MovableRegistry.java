@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (c) 2015
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.movable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import jsettlers.logic.movable.interfaces.ILogicMovable;
+
+/**
+ * Registry of the living movables. Every movable gets a slot of a dense array for its lifetime; the slots of removed movables are reused from a free
+ * list. The slots are indexed by the movables' ids, so adding, removing and finding a movable takes constant time.
+ * <p>
+ * The slots are linked in the order the movables were added. The iteration order of {@link #snapshot()} is this order, as the game logic depends on
+ * it. Snapshots are only rebuilt after the registry changed and can be used by other threads than the game thread.
+ */
+final class MovableRegistry {
+	private static final int NO_SLOT = -1;
+	private static final int INITIAL_CAPACITY = 256;
+
+	private ILogicMovable[] movables = new ILogicMovable[INITIAL_CAPACITY];
+	private int[] previousSlots = new int[INITIAL_CAPACITY];
+	private int[] nextSlots = new int[INITIAL_CAPACITY];
+	private int[] freeSlots = new int[INITIAL_CAPACITY];
+	private int numberOfFreeSlots = 0;
+	private int usedSlots = 0;
+	private int firstSlot = NO_SLOT;
+	private int lastSlot = NO_SLOT;
+	private int size = 0;
+
+	/**
+	 * Slot + 1 of every id; 0 if no movable has the id.
+	 */
+	private int[] slotsByIdIndex = new int[INITIAL_CAPACITY];
+
+	private List<ILogicMovable> snapshot = Collections.emptyList();
+	private boolean snapshotOutdated = false;
+
+	synchronized void add(ILogicMovable movable) {
+		int idIndex = getIdIndex(movable.getID());
+		if (idIndex >= slotsByIdIndex.length) {
+			slotsByIdIndex = Arrays.copyOf(slotsByIdIndex, Math.max(idIndex + 1, slotsByIdIndex.length * 2));
+		}
+		if (slotsByIdIndex[idIndex] != 0) { // the id is taken over from a movable that was not removed
+			remove(movables[slotsByIdIndex[idIndex] - 1]);
+		}
+
+		int slot = takeFreeSlot();
+		movables[slot] = movable;
+		previousSlots[slot] = lastSlot;
+		nextSlots[slot] = NO_SLOT;
+		if (lastSlot == NO_SLOT) {
+			firstSlot = slot;
+		} else {
+			nextSlots[lastSlot] = slot;
+		}
+		lastSlot = slot;
+
+		slotsByIdIndex[idIndex] = slot + 1;
+		size++;
+		snapshotOutdated = true;
+	}
+
+	synchronized void remove(ILogicMovable movable) {
+		int slot = getSlot(movable.getID());
+		if (slot == NO_SLOT || movables[slot] != movable) {
+			return;
+		}
+
+		int previousSlot = previousSlots[slot];
+		int nextSlot = nextSlots[slot];
+		if (previousSlot == NO_SLOT) {
+			firstSlot = nextSlot;
+		} else {
+			nextSlots[previousSlot] = nextSlot;
+		}
+		if (nextSlot == NO_SLOT) {
+			lastSlot = previousSlot;
+		} else {
+			previousSlots[nextSlot] = previousSlot;
+		}
+
+		movables[slot] = null;
+		freeSlots[numberOfFreeSlots++] = slot;
+		slotsByIdIndex[getIdIndex(movable.getID())] = 0;
+		size--;
+		snapshotOutdated = true;
+	}
+
+	synchronized ILogicMovable get(int id) {
+		int slot = getSlot(id);
+		return slot == NO_SLOT ? null : movables[slot];
+	}
+
+	synchronized int size() {
+		return size;
+	}
+
+	/**
+	 * @return an unmodifiable list of the movables in the order they have been added. Later changes of the registry do not change the list.
+	 */
+	synchronized List<ILogicMovable> snapshot() {
+		if (snapshotOutdated) {
+			ILogicMovable[] snapshotArray = new ILogicMovable[size];
+			int i = 0;
+			for (int slot = firstSlot; slot != NO_SLOT; slot = nextSlots[slot]) {
+				snapshotArray[i++] = movables[slot];
+			}
+			snapshot = Collections.unmodifiableList(Arrays.asList(snapshotArray));
+			snapshotOutdated = false;
+		}
+		return snapshot;
+	}
+
+	synchronized void clear() {
+		Arrays.fill(movables, 0, usedSlots, null);
+		Arrays.fill(slotsByIdIndex, 0);
+		numberOfFreeSlots = 0;
+		usedSlots = 0;
+		firstSlot = NO_SLOT;
+		lastSlot = NO_SLOT;
+		size = 0;
+		snapshot = Collections.emptyList();
+		snapshotOutdated = false;
+	}
+
+	private int takeFreeSlot() {
+		if (numberOfFreeSlots > 0) {
+			return freeSlots[--numberOfFreeSlots];
+		}
+
+		if (usedSlots == movables.length) {
+			int newCapacity = movables.length * 2;
+			movables = Arrays.copyOf(movables, newCapacity);
+			previousSlots = Arrays.copyOf(previousSlots, newCapacity);
+			nextSlots = Arrays.copyOf(nextSlots, newCapacity);
+			freeSlots = Arrays.copyOf(freeSlots, newCapacity);
+		}
+		return usedSlots++;
+	}
+
+	private int getSlot(int id) {
+		int idIndex = getIdIndex(id);
+		return idIndex < 0 || idIndex >= slotsByIdIndex.length ? NO_SLOT : slotsByIdIndex[idIndex] - 1;
+	}
+
+	/**
+	 * The ids are counted up from {@link Integer#MIN_VALUE}.
+	 */
+	private static int getIdIndex(int id) {
+		return id - Integer.MIN_VALUE;
+	}
+}
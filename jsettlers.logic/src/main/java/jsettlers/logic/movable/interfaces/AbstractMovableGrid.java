@@ -60,6 +60,14 @@ public abstract class AbstractMovableGrid extends AbstractStrategyGrid {
 
 	public abstract void notifyAttackers(ShortPoint2D position, IAttackableMovable movable, boolean informFullArea);
 
+	/**
+	 * Informs the grid that the attackable state of the movable at the given position changed.
+	 *
+	 * @param position
+	 *            Position of the movable.
+	 */
+	public abstract void attackableChangedAt(ShortPoint2D position);
+
 	public abstract Path calculatePathTo(IPathCalculatable pathCalculatable, ShortPoint2D targetPos);
 	public abstract Path calculatePathTo(IPathCalculatable pathCalculatable, ShortPoint2D targetPos, ShortPoint2D startPos);
 
@@ -225,6 +225,27 @@ public abstract class AbstractStrategyGrid implements Serializable {
 	public abstract IAttackable getEnemyInSearchArea(ShortPoint2D centerPos, IAttackable movable, short minSearchRadius, short maxSearchRadius,
 													 boolean includeTowers);
 
+	/**
+	 * Same as {@link #getEnemyInSearchArea(ShortPoint2D, IAttackable, short, short, boolean)}, but returns the result of the given prepared search if
+	 * it has been executed with the same parameters and the searched area has not changed since.
+	 *
+	 * @param prepared
+	 *            A search prepared by {@link #prepareEnemySearch(ShortPoint2D, IAttackable, short, short, boolean)} or null.
+	 * @return The closest enemy or null if none exists in the search radius.
+	 */
+	public abstract IAttackable getEnemyInSearchArea(ShortPoint2D centerPos, IAttackable movable, short minSearchRadius, short maxSearchRadius,
+													 boolean includeTowers, PreparedEnemySearch prepared);
+
+	/**
+	 * Executes an enemy search without modifying the grid or the found enemy. This can be called concurrently as long as no other thread modifies
+	 * the game state.
+	 *
+	 * @return The search result that can be given to
+	 *         {@link #getEnemyInSearchArea(ShortPoint2D, IAttackable, short, short, boolean, PreparedEnemySearch)}.
+	 */
+	public abstract PreparedEnemySearch prepareEnemySearch(ShortPoint2D centerPos, IAttackable movable, short minSearchRadius, short maxSearchRadius,
+														   boolean includeTowers);
+
 	/**
 	 * Adds an arrow object to the map flying from
 	 *
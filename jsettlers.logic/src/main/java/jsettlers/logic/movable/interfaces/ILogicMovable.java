@@ -25,6 +25,7 @@ import jsettlers.common.position.ILocatable;
 import jsettlers.common.position.ShortPoint2D;
 import jsettlers.input.IGuiMovable;
 import jsettlers.logic.player.Player;
+import jsettlers.logic.timer.ESubsystem;
 import jsettlers.logic.timer.IScheduledTimerable;
 
 public interface ILogicMovable extends IScheduledTimerable, IPathCalculatable, IDebugable, Serializable, IGuiMovable, ILocatable, IGraphicsMovable, MovableFoWTask {
@@ -50,4 +51,9 @@ public interface ILogicMovable extends IScheduledTimerable, IPathCalculatable, I
 	 * 		if false, it should stop working.
 	 */
 	void stopOrStartWorking(boolean stop);
+
+	@Override
+	default ESubsystem getSubsystem() {
+		return ESubsystem.MOVABLES;
+	}
 }
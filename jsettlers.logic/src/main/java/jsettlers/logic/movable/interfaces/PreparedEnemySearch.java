@@ -0,0 +1,53 @@
+/*******************************************************************************
+ * Copyright (c) 2015
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.movable.interfaces;
+
+import jsettlers.common.position.ShortPoint2D;
+
+/**
+ * Result of an enemy search that has been executed ahead of time by {@link AbstractStrategyGrid#prepareEnemySearch}. It can be handed to
+ * {@link AbstractStrategyGrid#getEnemyInSearchArea(ShortPoint2D, IAttackable, short, short, boolean, PreparedEnemySearch)}, which only uses it if the
+ * search parameters are the same and nothing in the searched area changed in the meantime.
+ */
+public final class PreparedEnemySearch {
+	private final ShortPoint2D position;
+	private final short minSearchRadius;
+	private final short maxSearchRadius;
+	private final boolean includeTowers;
+	private final long changeStamp;
+	private final IAttackable enemy;
+
+	public PreparedEnemySearch(ShortPoint2D position, short minSearchRadius, short maxSearchRadius, boolean includeTowers, long changeStamp, IAttackable enemy) {
+		this.position = position;
+		this.minSearchRadius = minSearchRadius;
+		this.maxSearchRadius = maxSearchRadius;
+		this.includeTowers = includeTowers;
+		this.changeStamp = changeStamp;
+		this.enemy = enemy;
+	}
+
+	public boolean hasSameParameters(ShortPoint2D position, short minSearchRadius, short maxSearchRadius, boolean includeTowers) {
+		return this.position.equals(position) && this.minSearchRadius == minSearchRadius && this.maxSearchRadius == maxSearchRadius
+				&& this.includeTowers == includeTowers;
+	}
+
+	public long getChangeStamp() {
+		return changeStamp;
+	}
+
+	public IAttackable getEnemy() {
+		return enemy;
+	}
+}
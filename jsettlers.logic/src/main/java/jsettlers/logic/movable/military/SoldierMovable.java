@@ -18,11 +18,14 @@ import jsettlers.logic.movable.other.AttackableHumanMovable;
 import jsettlers.logic.movable.Movable;
 import jsettlers.logic.movable.interfaces.AbstractMovableGrid;
 import jsettlers.logic.movable.interfaces.ISoldierMovable;
+import jsettlers.logic.movable.interfaces.PreparedEnemySearch;
 import jsettlers.logic.player.Player;
+import jsettlers.logic.timer.IPreparableTimerable;
 
 import static jsettlers.algorithms.simplebehaviortree.BehaviorTreeHelper.*;
 
-public abstract class SoldierMovable extends AttackableHumanMovable implements ISoldierMovable {
+public abstract class SoldierMovable extends AttackableHumanMovable implements ISoldierMovable, IPreparableTimerable {
+	private static final long serialVersionUID = 9202753967337633187L;
 
 	protected IAttackable enemy;
 
@@ -41,6 +44,8 @@ public abstract class SoldierMovable extends AttackableHumanMovable implements I
 	private IAttackable toCloseEnemy;
 	private ShortPoint2D startPoint;
 
+	private transient PreparedEnemySearch preparedEnemySearch;
+
 
 	public SoldierMovable(AbstractMovableGrid grid, EMovableType movableType, ShortPoint2D position, Player player, Movable movable) {
 		super(grid, movableType, position, player, movable);
@@ -224,12 +229,29 @@ public abstract class SoldierMovable extends AttackableHumanMovable implements I
 
 	private static Node<SoldierMovable> findEnemy() {
 		return condition(mov -> {
-			mov.enemy = mov.grid.getEnemyInSearchArea(mov.getAttackPosition(), mov, mov.getMinSearchDistance(), mov.getMaxSearchDistance(), !mov.defending);
+			mov.enemy = mov.grid.getEnemyInSearchArea(mov.getAttackPosition(), mov, mov.getMinSearchDistance(), mov.getMaxSearchDistance(), !mov.defending, mov.preparedEnemySearch);
 			if(mov.enemy instanceof IThiefMovable) ((IThiefMovable)mov.enemy).uncoveredBy(mov.player.getTeamId());
 			return mov.enemy != null;
 		});
 	}
 
+	@Override
+	public void prepareTimerEvent() {
+		preparedEnemySearch = null;
+
+		// only the enemy search of findEnemy() is prepared, everything else depends on the results of other movables
+		if (isAlive() && (defending || enemyNearby && (!isInTower || isBowman()))) {
+			preparedEnemySearch = grid.prepareEnemySearch(getAttackPosition(), this, getMinSearchDistance(), getMaxSearchDistance(), !defending);
+		}
+	}
+
+	@Override
+	public int timerEvent() {
+		int delay = super.timerEvent();
+		preparedEnemySearch = null;
+		return delay;
+	}
+
 	private static Node<SoldierMovable> attackEnemy() {
 		return sequence(
 				condition(SoldierMovable::isEnemyAttackable),
@@ -27,7 +27,7 @@ public class AttackableHumanMovable extends AttackableMovable implements IAttack
 
 	@Override
 	public void leaveFerryAt(ShortPoint2D position) {
-		this.position = position;
+		updatePosition(position);
 		setState(Movable.EMovableState.ACTIVE);
 
 		grid.enterPosition(position, this, true);
@@ -64,6 +64,7 @@ public class AttackableHumanMovable extends AttackableMovable implements IAttack
 	@Override
 	public void heal() {
 		health = getMovableType().getHealth();
+		healthChanged();
 	}
 
 	@Override
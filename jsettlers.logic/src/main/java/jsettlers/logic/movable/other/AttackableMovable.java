@@ -12,6 +12,7 @@ import jsettlers.logic.movable.interfaces.IAttackableMovable;
 import jsettlers.logic.player.Player;
 
 public class AttackableMovable extends Movable implements IAttackableMovable {
+	private static final long serialVersionUID = 1967613554529851546L;
 
 	protected boolean attackable;
 
@@ -26,6 +27,7 @@ public class AttackableMovable extends Movable implements IAttackableMovable {
 		if(hasEffect(EEffectType.SHIELDED)) hitStrength *= EEffectType.SHIELDED_DAMAGE_FACTOR;
 
 		this.health -= hitStrength;
+		healthChanged();
 		if (health <= 0) {
 			this.kill();
 		}
@@ -38,6 +40,13 @@ public class AttackableMovable extends Movable implements IAttackableMovable {
 		return attackable;
 	}
 
+	protected void setAttackable(boolean attackable) {
+		if (this.attackable != attackable) {
+			this.attackable = attackable;
+			grid.attackableChangedAt(position);
+		}
+	}
+
 	@Override
 	public boolean isTower() {
 		return false;
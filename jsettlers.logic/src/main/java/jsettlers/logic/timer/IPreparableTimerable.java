@@ -0,0 +1,31 @@
+/*******************************************************************************
+ * Copyright (c) 2015
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.timer;
+
+/**
+ * An {@link IScheduledTimerable} that can do read only work ahead of its {@link #timerEvent()}.
+ * <p>
+ * The {@link RescheduleTimer} calls {@link #prepareTimerEvent()} concurrently for all timerables of a time slot before any of them is executed. As the
+ * other timerables of the slot run between the preparation and the timer event, the timer event must only use prepared results that are still valid.
+ * Therefore the game state is the same, regardless of whether the preparation has been done or not.
+ */
+public interface IPreparableTimerable extends IScheduledTimerable {
+
+	/**
+	 * Prepares the next {@link #timerEvent()}. Implementations must not modify anything but their own prepared results, because this is executed in
+	 * parallel with the preparation of other timerables.
+	 */
+	void prepareTimerEvent();
+}
@@ -28,4 +28,11 @@ public interface IScheduledTimerable extends Serializable {
 	 * this method is called if a ITimerable object crashes during execution of timerEvent() to prevent further damage.
 	 */
 	void kill();
+
+	/**
+	 * @return the subsystem the time spent in {@link #timerEvent()} is accounted to by {@link SubsystemTimes}.
+	 */
+	default ESubsystem getSubsystem() {
+		return ESubsystem.OTHER;
+	}
 }
@@ -18,41 +18,96 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
-import java.lang.System.LoggerFinder;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Arrays;
+import java.util.stream.IntStream;
 
+import jsettlers.logic.constants.Constants;
+import jsettlers.logic.constants.GameContext;
 import jsettlers.logic.map.loading.MapLoadException;
 import jsettlers.logic.constants.MatchConstants;
-import jsettlers.network.client.interfaces.IGameClock;
 import jsettlers.network.synchronic.timer.INetworkTimerable;
 
+/**
+ * Hierarchical timing wheel scheduling {@link IScheduledTimerable}s in {@link #TIME_SLICE} steps.
+ * <p>
+ * The first level has {@link #LEVEL0_SLOTS} slots with one slot per time slice. Every higher level has {@link #LEVEL_SLOTS} slots, each covering a
+ * whole turn of the level below. Entries of a higher level are cascaded down when the lower level wraps around. Therefore delays are not bounded.
+ * <p>
+ * All slots are intrusive doubly linked lists of node indices stored in primitive arrays. The slot lists are headed by sentinel nodes (the indices
+ * 0 to {@link #NUMBER_OF_SENTINELS} - 1), so any node can be unlinked in O(1) without knowing its slot. Nodes stay the same as long as a timerable
+ * keeps rescheduling itself, so the handle returned by {@link #add(IScheduledTimerable, int)} can be used with
+ * {@link #remove(IScheduledTimerable, int)} for the whole lifetime of the scheduling.
+ * <p>
+ * Entries of a slot are fired in the order they have been added to it. As every delay below {@link #LEVEL0_SLOTS} time slices directly goes to the first
+ * level, the firing order is the same as the one of the former flat 32 s ring.
+ * <p>
+ * Before a slot is fired, the {@link IPreparableTimerable}s in it are prepared in parallel if {@link Constants#PARALLEL_TIMERABLE_PREPARATION} is
+ * set. The timer events themselves are always executed one after the other in the order described above.
+ */
 public final class RescheduleTimer implements INetworkTimerable, Serializable {
 	private static final long serialVersionUID = -1962430988827211391L;
 
-	private static final int FUTURE_TIME = 32000;
 	private static final short TIME_SLICE = 25; // ms
-	private static final int TIME_SLOTS = FUTURE_TIME / TIME_SLICE;
 
-	private static RescheduleTimer uniIns;
+	private static final int LEVEL0_BITS = 11;
+	private static final int LEVEL0_SLOTS = 1 << LEVEL0_BITS;
+	private static final int LEVEL0_MASK = LEVEL0_SLOTS - 1;
+	private static final int LEVEL_BITS = 6;
+	private static final int LEVEL_SLOTS = 1 << LEVEL_BITS;
+	private static final int LEVEL_MASK = LEVEL_SLOTS - 1;
+	private static final int HIGHER_LEVELS = 3; // 11 + 3 * 6 bits cover every positive int delay in ms
+	private static final int NUMBER_OF_SENTINELS = LEVEL0_SLOTS + HIGHER_LEVELS * LEVEL_SLOTS;
 
-	@SuppressWarnings("unchecked")
-	private final ArrayList<IScheduledTimerable> timerables[] = new ArrayList[TIME_SLOTS];
-	private int currTimeSlot = 0;
+	private static final int INITIAL_NODES = 1024;
+	private static final int MIN_PARALLEL_PREPARATIONS = 16;
+	private static final int NO_NODE = -1;
+
+	/**
+	 * Handle value that is never returned by {@link #add(IScheduledTimerable, int)}.
+	 */
+	public static final int NO_HANDLE = 0;
+
+	private int[] nextNode;
+	private int[] prevNode;
+	private int[] dueTick;
+	private IScheduledTimerable[] nodeTimerables;
+	private int nodesUsed;
+	private int freeNode = NO_NODE;
+
+	private int currTick = 0;
 
-	protected RescheduleTimer() {
-		for (int i = 0; i < TIME_SLOTS; i++) {
-			timerables[i] = new ArrayList<>();
+	private transient int firingNode = NO_NODE;
+	private transient boolean firingRemoved;
+	private transient IPreparableTimerable[] preparables;
+	private transient volatile boolean stopped;
+
+	/**
+	 * Creates an empty timer. Use {@link GameContext#getRescheduleTimer()} to get the timer of a match.
+	 */
+	public RescheduleTimer() {
+		allocateNodes(NUMBER_OF_SENTINELS + INITIAL_NODES);
+		for (int i = 0; i < NUMBER_OF_SENTINELS; i++) {
+			nextNode[i] = i;
+			prevNode[i] = i;
 		}
+		nodesUsed = NUMBER_OF_SENTINELS;
 	}
 
-	public static synchronized void stopAndClear() throws InterruptedException {
-		if (uniIns != null) {
-			if (MatchConstants.clock() != null) {
-				MatchConstants.clock().remove(uniIns);
-			}
-			uniIns = null;
+	/**
+	 * Stops the timer of the current {@link GameContext} and removes it from the context.
+	 */
+	public static void stopAndClear() throws InterruptedException {
+		GameContext context = GameContext.current();
+		RescheduleTimer timer;
+		synchronized (context) {
+			timer = context.peekRescheduleTimer();
+			context.setRescheduleTimer(null);
+		}
+
+		if (timer != null) {
+			timer.stopped = true;
+			context.unschedule(timer);
 			Thread.sleep(100L); // stopping takes some time
 		}
 	}
@@ -62,74 +117,293 @@ public final class RescheduleTimer implements INetworkTimerable, Serializable {
 	 * 
 	 * @param t
 	 * @param delay
+	 * @return a handle that can be given to {@link #remove(IScheduledTimerable, int)} or {@link #NO_HANDLE} if nothing has been scheduled.
 	 */
-	public static void add(IScheduledTimerable t, int delay) {
-		get().addTimerable(t, delay);
+	public static int add(IScheduledTimerable t, int delay) {
+		return get().addTimerable(t, delay);
 	}
 
-	private void addTimerable(IScheduledTimerable t, int delay) {
+	/**
+	 * Removes a scheduling of the given timerable in O(1). If the timerable is currently executed, it will not be rescheduled.
+	 * <p>
+	 * Handles of schedulings that already ended are ignored.
+	 *
+	 * @param t
+	 *            the timerable that has been scheduled.
+	 * @param handle
+	 *            the handle returned by {@link #add(IScheduledTimerable, int)}.
+	 */
+	public static void remove(IScheduledTimerable t, int handle) {
+		RescheduleTimer timer = GameContext.current().peekRescheduleTimer();
+		if (timer != null) {
+			timer.removeTimerable(t, handle);
+		}
+	}
+
+	private int addTimerable(IScheduledTimerable t, int delay) {
 		if (delay <= 0) {
-			return; // don't schedule if requested delay is negative or zero
+			return NO_HANDLE; // don't schedule if requested delay is negative or zero
 		}
 
-		int delaySlots = delay / TIME_SLICE;
-		delaySlots = delaySlots > 0 ? delaySlots : 1; // ensure at least one slot delay
+		int node = allocateNode(t);
+		link(node, currTick + toDelaySlots(delay));
+		return node;
+	}
 
-		assert delaySlots < TIME_SLOTS : "SCHEDULED TO FAR IN THE FUTURE! " + delay + "ms";
+	private void removeTimerable(IScheduledTimerable t, int handle) {
+		int node = handle;
+		if (node < NUMBER_OF_SENTINELS || node >= nodesUsed || nodeTimerables[node] != t) {
+			return;
+		}
 
-		timerables[(currTimeSlot + delaySlots) % TIME_SLOTS].add(t);
+		if (node == firingNode) {
+			firingRemoved = true;
+		} else {
+			unlink(node);
+			freeNode(node);
+		}
 	}
 
-	private static synchronized RescheduleTimer get() {
-		if (uniIns == null) {
-			uniIns = new RescheduleTimer();
-		}
-		return uniIns;
+	private static int toDelaySlots(int delay) {
+		int delaySlots = delay / TIME_SLICE;
+		return delaySlots > 0 ? delaySlots : 1; // ensure at least one slot delay
+	}
+
+	static RescheduleTimer get() {
+		return GameContext.current().getRescheduleTimer();
 	}
 
 	@Override
 	public void timerEvent() {
-		ArrayList<IScheduledTimerable> queue = timerables[currTimeSlot];
+		int level0Index = currTick & LEVEL0_MASK;
+		if (level0Index == 0) {
+			cascade();
+		}
+
+		int sentinel = level0Index;
+		SubsystemTimes subsystemTimes = MatchConstants.subsystemTimes();
+		if (Constants.PARALLEL_TIMERABLE_PREPARATION) {
+			long startNanos = SubsystemTimes.start();
+			prepareTimerables(sentinel);
+			subsystemTimes.stop(ESubsystem.MOVABLES, startNanos); // only movables are preparable
+		}
 
-		for (IScheduledTimerable curr : queue) {
-			if (uniIns != this) { // fast stop when stopAndClear() is called.
+		int curr;
+		while ((curr = nextNode[sentinel]) != sentinel) {
+			if (stopped) { // fast stop when stopAndClear() is called.
 				return;
 			}
 
+			unlink(curr);
+			firingNode = curr;
+			firingRemoved = false;
+
+			IScheduledTimerable timerable = nodeTimerables[curr];
+			int delay = -1;
+			long startNanos = SubsystemTimes.start();
 			try {
-				int delay = curr.timerEvent();
-				addTimerable(curr, delay);
+				delay = timerable.timerEvent();
 			} catch (Throwable t) {
 				System.err.println("RescheduleTimer catched: ");
 				t.printStackTrace();
 				try {
-					curr.kill();
+					timerable.kill();
 				} catch (Throwable t2) {
 					System.err.println("RescheduleTimer had trouble killing bad timerable!");
 					t2.printStackTrace();
 				}
 			}
+			subsystemTimes.stop(timerable.getSubsystem(), startNanos);
+
+			firingNode = NO_NODE;
+			if (delay > 0 && !firingRemoved) {
+				link(curr, currTick + toDelaySlots(delay));
+			} else {
+				freeNode(curr);
+			}
+		}
+
+		currTick++;
+	}
+
+	private void prepareTimerables(int sentinel) {
+		if (preparables == null) {
+			preparables = new IPreparableTimerable[INITIAL_NODES];
+		}
+
+		int numberOfPreparables = 0;
+		for (int curr = nextNode[sentinel]; curr != sentinel; curr = nextNode[curr]) {
+			if (nodeTimerables[curr] instanceof IPreparableTimerable) {
+				if (numberOfPreparables == preparables.length) {
+					preparables = Arrays.copyOf(preparables, numberOfPreparables * 2);
+				}
+				preparables[numberOfPreparables++] = (IPreparableTimerable) nodeTimerables[curr];
+			}
+		}
+
+		if (numberOfPreparables >= MIN_PARALLEL_PREPARATIONS) {
+			IPreparableTimerable[] toPrepare = preparables;
+			IntStream.range(0, numberOfPreparables).parallel().forEach(index -> {
+				try {
+					toPrepare[index].prepareTimerEvent();
+				} catch (Throwable t) { // the timer event does not rely on the preparation
+					System.err.println("RescheduleTimer catched during preparation: ");
+					t.printStackTrace();
+				}
+			});
+		}
+
+		Arrays.fill(preparables, 0, numberOfPreparables, null);
+	}
+
+	/**
+	 * Moves the entries of the higher level slots that become due within the next turn of the level below down into their final slots.
+	 */
+	private void cascade() {
+		for (int level = 1; level <= HIGHER_LEVELS; level++) {
+			int index = (currTick >>> (LEVEL0_BITS + (level - 1) * LEVEL_BITS)) & LEVEL_MASK;
+			int sentinel = getSentinel(level, index);
+
+			int curr;
+			while ((curr = nextNode[sentinel]) != sentinel) {
+				unlink(curr);
+				link(curr, dueTick[curr]);
+			}
+
+			if (index != 0) {
+				break;
+			}
+		}
+	}
+
+	private static int getSentinel(int level, int index) {
+		return LEVEL0_SLOTS + (level - 1) * LEVEL_SLOTS + index;
+	}
+
+	private void link(int node, int due) {
+		dueTick[node] = due;
+
+		int delta = due - currTick;
+		int sentinel;
+		if (delta < LEVEL0_SLOTS) {
+			sentinel = due & LEVEL0_MASK;
+		} else {
+			int level = 1;
+			int shift = LEVEL0_BITS;
+			while (level < HIGHER_LEVELS && (delta >>> (shift + LEVEL_BITS)) != 0) {
+				level++;
+				shift += LEVEL_BITS;
+			}
+			sentinel = getSentinel(level, (due >>> shift) & LEVEL_MASK);
+		}
+
+		int last = prevNode[sentinel];
+		nextNode[last] = node;
+		prevNode[node] = last;
+		nextNode[node] = sentinel;
+		prevNode[sentinel] = node;
+	}
+
+	private void unlink(int node) {
+		int prev = prevNode[node];
+		int next = nextNode[node];
+		nextNode[prev] = next;
+		prevNode[next] = prev;
+	}
+
+	private int allocateNode(IScheduledTimerable t) {
+		int node;
+		if (freeNode != NO_NODE) {
+			node = freeNode;
+			freeNode = nextNode[node];
+		} else {
+			if (nodesUsed == nextNode.length) {
+				allocateNodes(nodesUsed * 2);
+			}
+			node = nodesUsed++;
+		}
+
+		nodeTimerables[node] = t;
+		return node;
+	}
+
+	private void freeNode(int node) {
+		nodeTimerables[node] = null;
+		nextNode[node] = freeNode;
+		prevNode[node] = NO_NODE;
+		freeNode = node;
+	}
+
+	private void allocateNodes(int length) {
+		if (nextNode == null) {
+			nextNode = new int[length];
+			prevNode = new int[length];
+			dueTick = new int[length];
+			nodeTimerables = new IScheduledTimerable[length];
+		} else {
+			nextNode = Arrays.copyOf(nextNode, length);
+			prevNode = Arrays.copyOf(prevNode, length);
+			dueTick = Arrays.copyOf(dueTick, length);
+			nodeTimerables = Arrays.copyOf(nodeTimerables, length);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException {
+		ObjectInputStream.GetField fields = ois.readFields();
+
+		if (fields.getObjectStreamClass().getField("timerables") == null) {
+			nextNode = (int[]) fields.get("nextNode", null);
+			prevNode = (int[]) fields.get("prevNode", null);
+			dueTick = (int[]) fields.get("dueTick", null);
+			nodeTimerables = (IScheduledTimerable[]) fields.get("nodeTimerables", null);
+			nodesUsed = fields.get("nodesUsed", 0);
+			freeNode = fields.get("freeNode", NO_NODE);
+			currTick = fields.get("currTick", 0);
+
+		} else { // savegame of the flat ring timer => schedule the entries in the same order
+			ArrayList<IScheduledTimerable>[] legacyTimerables = (ArrayList<IScheduledTimerable>[]) fields.get("timerables", null);
+			RescheduleTimer timer = new RescheduleTimer();
+			int legacySlots = legacyTimerables.length;
+			int legacyCurrSlot = fields.get("currTimeSlot", 0);
+
+			for (int delaySlots = 0; delaySlots < legacySlots; delaySlots++) {
+				for (IScheduledTimerable timerable : legacyTimerables[(legacyCurrSlot + delaySlots) % legacySlots]) {
+					timer.link(timer.allocateNode(timerable), timer.currTick + delaySlots);
+				}
+			}
+
+			nextNode = timer.nextNode;
+			prevNode = timer.prevNode;
+			dueTick = timer.dueTick;
+			nodeTimerables = timer.nodeTimerables;
+			nodesUsed = timer.nodesUsed;
+			freeNode = timer.freeNode;
+			currTick = timer.currTick;
 		}
 
-		queue.clear();
-		currTimeSlot = (currTimeSlot + 1) % TIME_SLOTS;
+		firingNode = NO_NODE;
 	}
 
 	public static void loadFrom(ObjectInputStream ois) throws MapLoadException {
 		try {
 			stopAndClear();
-			uniIns = (RescheduleTimer) ois.readUnshared();
+			GameContext.current().setRescheduleTimer((RescheduleTimer) ois.readUnshared());
 		} catch (Throwable t) {
 			throw new MapLoadException(t);
 		}
 	}
 
 	public static void saveTo(ObjectOutputStream oos) throws IOException {
-		oos.writeUnshared(uniIns);
+		oos.writeUnshared(GameContext.current().peekRescheduleTimer());
 		oos.flush();
 	}
 
-	public static void schedule(IGameClock gameClock) {
-		gameClock.schedule(get(), TIME_SLICE);
+	/**
+	 * Schedules the timer of the current {@link GameContext} on the clock of the context.
+	 */
+	public static void schedule() {
+		GameContext context = GameContext.current();
+		context.schedule(context.getRescheduleTimer(), TIME_SLICE);
 	}
 }
@@ -0,0 +1,53 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.timer;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import jsettlers.logic.constants.Constants;
+
+/**
+ * Sums up the time spent in each {@link ESubsystem} of a match. The times are only measured if {@link Constants#MEASURE_SUBSYSTEM_TIMES} is set.
+ * <p />
+ * The subsystems run on different threads (game timer, AI and fog of war), therefore the sums can be updated concurrently.
+ */
+public final class SubsystemTimes {
+	private final AtomicLongArray nanos = new AtomicLongArray(ESubsystem.VALUES.length);
+
+	/**
+	 * @return the start time of a measurement or 0 if no times are measured.
+	 */
+	public static long start() {
+		return Constants.MEASURE_SUBSYSTEM_TIMES ? System.nanoTime() : 0;
+	}
+
+	/**
+	 * Adds the time since the given start to the given subsystem.
+	 *
+	 * @param subsystem
+	 *            the subsystem the time was spent in.
+	 * @param startNanos
+	 *            the value returned by {@link #start()}.
+	 */
+	public void stop(ESubsystem subsystem, long startNanos) {
+		if (startNanos != 0) {
+			nanos.addAndGet(subsystem.ordinal(), System.nanoTime() - startNanos);
+		}
+	}
+
+	public long getNanos(ESubsystem subsystem) {
+		return nanos.get(subsystem.ordinal());
+	}
+}
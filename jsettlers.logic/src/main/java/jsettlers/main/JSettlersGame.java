@@ -45,6 +45,7 @@ import jsettlers.input.PlayerState;
 import jsettlers.logic.buildings.Building;
 import jsettlers.logic.buildings.trading.HarborBuilding;
 import jsettlers.logic.buildings.trading.MarketBuilding;
+import jsettlers.logic.constants.GameContext;
 import jsettlers.logic.constants.MatchConstants;
 import jsettlers.logic.map.grid.MainGrid;
 import jsettlers.logic.map.loading.IGameCreator;
@@ -57,6 +58,7 @@ import jsettlers.logic.player.PlayerSetting;
 import jsettlers.logic.timer.RescheduleTimer;
 import jsettlers.main.replay.ReplayUtils;
 import jsettlers.network.client.OfflineNetworkConnector;
+import jsettlers.network.client.interfaces.IGameClock;
 import jsettlers.network.client.interfaces.INetworkConnector;
 
 /**
@@ -175,6 +177,7 @@ public class JSettlersGame {
 		private Consumer<IStartedGame> exitListener;
 		private boolean gameRunning;
 		private AiExecutor aiExecutor;
+		private GameContext gameContext;
 
 		@Override
 		public void run() {
@@ -184,10 +187,11 @@ public class JSettlersGame {
 				}
 				updateProgressListener(EProgressState.LOADING, 0.1f);
 
-				clearState();
-				MatchConstants.init(networkConnector.getGameClock(), initialGameState.getRandomSeed());
+				gameContext = MatchConstants.init(networkConnector.getGameClock(), initialGameState.getRandomSeed());
+				gameContext.bindToCurrentThread();
+				IGameClock clock = gameContext.getClock();
 				try {
-					MatchConstants.clock().setReplayLogStream(createReplayFileStream());
+					clock.setReplayLogStream(createReplayFileStream());
 				} catch (IOException e) {
 					// TODO: log that we do not have write access to resources.
 					System.out.println("Cannot write jsettlers.integration.replay file.");
@@ -199,10 +203,11 @@ public class JSettlersGame {
 				mainGrid = gridWithUiState.getMainGrid();
 				PlayerState playerState = gridWithUiState.getPlayerState(initialGameState.getPlayerId());
 
-				RescheduleTimer.schedule(MatchConstants.clock()); // schedule timer
+				RescheduleTimer.schedule(); // schedule timer
+				clock.setStateHashSupplier(mainGrid::getStateHash);
 
 				updateProgressListener(EProgressState.LOADING_IMAGES, 0.7f);
-				gameTimeProvider = new GameTimeProvider(MatchConstants.clock());
+				gameTimeProvider = new GameTimeProvider(clock);
 
 				mainGrid.initForPlayer(initialGameState.getPlayerId(), playerState.getFogOfWar());
 				mainGrid.startThreads();
@@ -213,22 +218,22 @@ public class JSettlersGame {
 				updateProgressListener(EProgressState.WAITING_FOR_OTHER_PLAYERS, 0.98f);
 
 				if (replayFileInputStream != null) {
-					MatchConstants.clock().loadReplayLogFromStream(replayFileInputStream);
+					clock.loadReplayLogFromStream(replayFileInputStream);
 				}
 
 				networkConnector.setStartFinished(true);
 				waitForAllPlayersStartFinished(networkConnector);
 
 				final IMapInterfaceConnector connector = startingGameListener.preLoadFinished(this);
-				GuiInterface guiInterface = new GuiInterface(connector, MatchConstants.clock(), networkConnector.getTaskScheduler(),
+				GuiInterface guiInterface = new GuiInterface(connector, gameContext, networkConnector.getTaskScheduler(),
 						mainGrid.getGuiInputGrid(), this, initialGameState.getPlayerId(), multiplayer);
 				connector.loadUIState(playerState.getUiState()); // This is required after the GuiInterface instantiation so that
 				// ConstructionMarksThread has it's mapArea variable initialized via the EActionType.SCREEN_CHANGE event.
 
 				aiExecutor = new AiExecutor(initialGameState.getPlayerSettings(), mainGrid, networkConnector.getTaskScheduler());
-				networkConnector.getGameClock().schedule(aiExecutor, (short) 1000);
+				gameContext.schedule(aiExecutor, AiExecutor.TIMER_PERIOD);
 
-				MatchConstants.clock().startExecution(); // WARNING: GAME CLOCK IS STARTED!
+				clock.startExecution(); // WARNING: GAME CLOCK IS STARTED!
 				// NO CONFIGURATION AFTER THIS POINT! =================================
 				gameRunning = true;
 
@@ -270,6 +275,13 @@ public class JSettlersGame {
 			return aiExecutor;
 		}
 
+		/**
+		 * @return the context of this match. It is available as soon as the game thread started loading.
+		 */
+		public GameContext getGameContext() {
+			return gameContext;
+		}
+
 		private DataOutputStream createReplayFileStream() throws IOException {
 			DataOutputStream replayFileStream = new DataOutputStream(createReplayWriteStream());
 
@@ -402,6 +414,9 @@ public class JSettlersGame {
 		return LOG_DATE_FORMATTER;
 	}
 
+	/**
+	 * Clears the state of the {@link GameContext} of the current thread.
+	 */
 	public static void clearState() {
 		try {
 			RescheduleTimer.stopAndClear();
@@ -26,6 +26,7 @@ import java.util.List;
 import jsettlers.common.menu.IStartedGame;
 import jsettlers.common.menu.IStartingGame;
 import jsettlers.common.resources.ResourceManager;
+import jsettlers.common.utils.mutables.Mutable;
 import jsettlers.common.utils.mutables.MutableInt;
 import jsettlers.input.tasks.EGuiAction;
 import jsettlers.input.tasks.SimpleGuiTask;
@@ -81,6 +82,79 @@ public class ReplayUtils {
 		return newSavegame;
 	}
 
+	/**
+	 * Searches the first lockstep at whose end the state hashes of the two replays differ. Both replays are played again from their start for every
+	 * probed lockstep, so about log2(lastLockstep - firstLockstep) runs of each replay are needed. The search assumes that the states stay
+	 * different once they diverged.
+	 *
+	 * @param expectedReplay
+	 *            The replay used as reference.
+	 * @param actualReplay
+	 *            The replay that's checked against the reference.
+	 * @param firstLockstep
+	 *            The first lockstep to be checked. Both replays must start at or before it.
+	 * @param lastLockstep
+	 *            The last lockstep to be checked.
+	 * @return the first lockstep whose state hashes differ or -1 if they are equal at the end of the last lockstep.
+	 */
+	public static int findFirstDivergingLockstep(IReplayStreamProvider expectedReplay, IReplayStreamProvider actualReplay, int firstLockstep, int lastLockstep)
+			throws MapLoadException {
+		if (haveEqualStateHashes(expectedReplay, actualReplay, lastLockstep)) {
+			return -1;
+		}
+		if (!haveEqualStateHashes(expectedReplay, actualReplay, firstLockstep)) {
+			return firstLockstep;
+		}
+
+		int lastEqualLockstep = firstLockstep;
+		int firstDivergingLockstep = lastLockstep;
+		while (firstDivergingLockstep - lastEqualLockstep > 1) {
+			int lockstep = (lastEqualLockstep + firstDivergingLockstep) >>> 1;
+			if (haveEqualStateHashes(expectedReplay, actualReplay, lockstep)) {
+				lastEqualLockstep = lockstep;
+			} else {
+				firstDivergingLockstep = lockstep;
+			}
+			System.out.println("State hashes equal up to lockstep " + lastEqualLockstep + " and differ at lockstep " + firstDivergingLockstep);
+		}
+		return firstDivergingLockstep;
+	}
+
+	private static boolean haveEqualStateHashes(IReplayStreamProvider expectedReplay, IReplayStreamProvider actualReplay, int lockstep) throws MapLoadException {
+		return replayAndGetStateHash(expectedReplay, lockstep) == replayAndGetStateHash(actualReplay, lockstep);
+	}
+
+	/**
+	 * Plays the given replay to the end of the given lockstep.
+	 *
+	 * @param replayFile
+	 *            The replay to be played.
+	 * @param lockstep
+	 *            The lockstep the state hash is computed for.
+	 * @return the state hash at the end of the lockstep.
+	 */
+	public static long replayAndGetStateHash(IReplayStreamProvider replayFile, int lockstep) throws MapLoadException {
+		OfflineNetworkConnector networkConnector = createPausingOfflineNetworkConnector();
+		IGameClock gameClock = networkConnector.getGameClock();
+
+		Mutable<Long> stateHash = new Mutable<>();
+		gameClock.setStateHashListener((finishedLockstep, hash) -> {
+			if (finishedLockstep == lockstep) {
+				stateHash.object = hash;
+			}
+		}, Math.max(lockstep, 1));
+
+		JSettlersGame game = loadGameFromReplay(replayFile, networkConnector, new ReplayStartInformation());
+		IStartedGame startedGame = startGame(game);
+		gameClock.fastForwardTo((lockstep + 1) * NetworkConstants.Client.LOCKSTEP_PERIOD);
+		awaitShutdown(startedGame);
+
+		if (stateHash.object == null) {
+			throw new IllegalArgumentException("The replay " + replayFile + " doesn't contain lockstep " + lockstep);
+		}
+		return stateHash.object;
+	}
+
 	private static OfflineNetworkConnector createPausingOfflineNetworkConnector() {
 		OfflineNetworkConnector networkConnector = new OfflineNetworkConnector();
 		networkConnector.getGameClock().setPausing(true);
@@ -0,0 +1,33 @@
+/*******************************************************************************
+ * Copyright (c) 2015
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.fogofwar;
+
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class CachedViewCircleTest {
+
+	@Test
+	public void testRefIndicesFitIntoRefLevels() {
+		for (int radius = 0; radius < FogOfWar.MAX_VIEW_DISTANCE; radius++) {
+			CachedViewCircle circle = new CachedViewCircle(radius);
+			for (int i = 0; i < circle.size; i++) {
+				byte refIndex = circle.refIndex[i];
+				assertTrue("radius " + radius + " has ref index " + refIndex, refIndex >= 0 && refIndex < FogOfWar.REF_LEVELS);
+			}
+		}
+	}
+}
@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright (c) 2015
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.fogofwar;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import jsettlers.common.position.ShortPoint2D;
+import jsettlers.logic.constants.Constants;
+
+/**
+ * Compares moving view circles by redrawing them with moving them by their delta masks.
+ */
+public class FogOfWarSpeedTest {
+	private static final short SIZE = 768;
+	private static final int MOVABLES = 2000;
+	private static final int ROUNDS = 20;
+
+	@Test
+	public void testSpeed() {
+		for (int viewDistance : new int[] { 8, 14 }) {
+			for (int stepLength : new int[] { 1, CachedViewCircle.MAX_DELTA }) {
+				measure(viewDistance, stepLength, false); // warm up
+				measure(viewDistance, stepLength, true);
+				measure(viewDistance, stepLength, false);
+				measure(viewDistance, stepLength, true);
+			}
+		}
+	}
+
+	@Test
+	public void testDimSpeed() {
+		boolean parallel = Constants.PARALLEL_FOG_OF_WAR_DIMMING;
+		try {
+			for (int i = 0; i < 3; i++) {
+				measureDimming(false);
+				measureDimming(true);
+			}
+		} finally {
+			Constants.PARALLEL_FOG_OF_WAR_DIMMING = parallel;
+		}
+	}
+
+	private static void measureDimming(boolean parallel) {
+		Constants.PARALLEL_FOG_OF_WAR_DIMMING = parallel;
+		FogOfWar fogOfWar = new FogOfWar(SIZE, SIZE, (byte) 0, null, null);
+
+		Random random = new Random(0);
+		for (int i = 0; i < MOVABLES; i++) {
+			ShortPoint2D position = new ShortPoint2D(random.nextInt(SIZE), random.nextInt(SIZE));
+			fogOfWar.circleDrawer.drawCircleToBuffer(position, 8, FogOfWar.CIRCLE_ADD | FogOfWar.CIRCLE_DIM, position);
+		}
+
+		long start = System.nanoTime();
+		for (int i = 0; i < 10; i++) {
+			fogOfWar.dimThread.dimAll((byte) 10);
+		}
+		long nanos = System.nanoTime() - start;
+		System.out.println((parallel ? "parallel" : "serial") + " dimming of " + SIZE + "x" + SIZE + ": " + nanos / 10 / 1000 + " us/frame");
+	}
+
+	private static void measure(int viewDistance, int stepLength, boolean print) {
+		FogOfWar fogOfWar = new FogOfWar(SIZE, SIZE, (byte) 0, null, null);
+		CachedViewCircle circle = fogOfWar.circleDrawer.getCachedCircle(viewDistance);
+
+		ShortPoint2D[] positions = new ShortPoint2D[MOVABLES];
+		Random random = new Random(0);
+		for (int i = 0; i < MOVABLES; i++) {
+			positions[i] = new ShortPoint2D(100 + random.nextInt(SIZE - 200), 100 + random.nextInt(SIZE - 200));
+			fogOfWar.circleDrawer.drawCircleToBuffer(positions[i], viewDistance, FogOfWar.CIRCLE_ADD, positions);
+		}
+
+		long redrawNanos = 0;
+		long moveNanos = 0;
+		long redrawTiles = 0;
+		long moveTiles = 0;
+
+		for (int round = 0; round < ROUNDS; round++) {
+			int direction = round % 2 == 0 ? stepLength : -stepLength;
+
+			long start = System.nanoTime();
+			for (int i = 0; i < MOVABLES; i++) {
+				ShortPoint2D next = new ShortPoint2D(positions[i].x + direction, positions[i].y);
+				fogOfWar.circleDrawer.drawCircleToBuffer(next, viewDistance, FogOfWar.CIRCLE_ADD | FogOfWar.CIRCLE_DIM, positions);
+				fogOfWar.circleDrawer.drawCircleToBuffer(positions[i], viewDistance, FogOfWar.CIRCLE_REMOVE | FogOfWar.CIRCLE_DIM, positions);
+				positions[i] = next;
+			}
+			redrawNanos += System.nanoTime() - start;
+			redrawTiles += 2L * circle.size * MOVABLES;
+
+			start = System.nanoTime();
+			for (int i = 0; i < MOVABLES; i++) {
+				ShortPoint2D next = new ShortPoint2D(positions[i].x - direction, positions[i].y);
+				fogOfWar.circleDrawer.drawCircleMoveToBuffer(positions[i], next, viewDistance, positions);
+				positions[i] = next;
+			}
+			moveNanos += System.nanoTime() - start;
+			moveTiles += (long) circle.getDeltaMask(-direction, 0).size * MOVABLES;
+		}
+
+		if (print) {
+			int moves = ROUNDS * MOVABLES;
+			System.out.println("view distance " + viewDistance + ", step " + stepLength + ":");
+			System.out.println("  redraw: " + redrawTiles / moves + " tiles/move, " + moves * 1000000000L / redrawNanos + " moves/s, "
+					+ redrawTiles * 1000 / redrawNanos + " M tiles/s");
+			System.out.println("  delta:  " + moveTiles / moves + " tiles/move, " + moves * 1000000000L / moveNanos + " moves/s, "
+					+ moveTiles * 1000 / moveNanos + " M tiles/s");
+		}
+	}
+}
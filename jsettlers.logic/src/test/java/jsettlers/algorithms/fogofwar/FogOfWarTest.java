@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2015
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.fogofwar;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Random;
+
+import org.junit.Test;
+
+import jsettlers.common.CommonConstants;
+import jsettlers.common.landscape.ELandscapeType;
+import jsettlers.common.position.ShortPoint2D;
+import jsettlers.logic.constants.Constants;
+
+public class FogOfWarTest {
+	private static final short WIDTH = 120;
+	private static final short HEIGHT = 100;
+
+	@Test
+	public void testMovedCircleEqualsRedrawnCircle() {
+		for (int viewDistance : new int[] { 0, 8, 14 }) {
+			FogOfWar redrawn = new FogOfWar(WIDTH, HEIGHT, (byte) 0, null, null);
+			FogOfWar moved = new FogOfWar(WIDTH, HEIGHT, (byte) 0, null, null);
+			Random random = new Random(viewDistance);
+
+			ShortPoint2D position = new ShortPoint2D(WIDTH / 2, HEIGHT / 2);
+			draw(redrawn, position, viewDistance, FogOfWar.CIRCLE_ADD);
+			draw(moved, position, viewDistance, FogOfWar.CIRCLE_ADD);
+
+			for (int step = 0; step < 100; step++) {
+				int dx = random.nextInt(2 * CachedViewCircle.MAX_DELTA + 1) - CachedViewCircle.MAX_DELTA;
+				int dy = random.nextInt(2 * CachedViewCircle.MAX_DELTA + 1) - CachedViewCircle.MAX_DELTA;
+				ShortPoint2D next = new ShortPoint2D(Math.floorMod(position.x + dx, WIDTH), Math.floorMod(position.y + dy, HEIGHT));
+
+				draw(redrawn, next, viewDistance, FogOfWar.CIRCLE_ADD);
+				draw(redrawn, position, viewDistance, FogOfWar.CIRCLE_REMOVE);
+				if (!moved.circleDrawer.drawCircleMoveToBuffer(position, next, viewDistance, this)) {
+					draw(moved, next, viewDistance, FogOfWar.CIRCLE_ADD);
+					draw(moved, position, viewDistance, FogOfWar.CIRCLE_REMOVE);
+				}
+
+				assertArrayEquals("view distance " + viewDistance + ", step " + step, redrawn.visibleRefs, moved.visibleRefs);
+				position = next;
+			}
+
+			draw(moved, position, viewDistance, FogOfWar.CIRCLE_REMOVE);
+			assertArrayEquals(new short[moved.visibleRefs.length], moved.visibleRefs);
+		}
+	}
+
+	@Test
+	public void testDisplacementOutOfRangeIsNotDrawn() {
+		FogOfWar fogOfWar = new FogOfWar(WIDTH, HEIGHT, (byte) 0, null, null);
+
+		ShortPoint2D from = new ShortPoint2D(20, 20);
+		ShortPoint2D to = new ShortPoint2D(20 + CachedViewCircle.MAX_DELTA + 1, 20);
+		assertFalse(fogOfWar.circleDrawer.drawCircleMoveToBuffer(from, to, 8, this));
+		assertArrayEquals(new short[fogOfWar.visibleRefs.length], fogOfWar.visibleRefs);
+	}
+
+	@Test
+	public void testOneStepDeltaIsSmallerThanRedraw() {
+		CachedViewCircle circle = new CachedViewCircle(8);
+		CachedViewCircle.DeltaMask mask = circle.getDeltaMask(1, 0);
+
+		assertEquals(mask, circle.getDeltaMask(1, 0));
+		assertEquals(0, circle.getDeltaMask(0, 0).size);
+		assertTrue(mask.size < circle.size);
+	}
+
+	@Test
+	public void testParallelDimmingEqualsSerialDimming() {
+		boolean parallel = Constants.PARALLEL_FOG_OF_WAR_DIMMING;
+		try {
+			FogOfWar serial = createDimmedFogOfWar(false);
+			FogOfWar banded = createDimmedFogOfWar(true);
+
+			assertArrayEquals(serial.sight, banded.sight);
+			assertEquals(CommonConstants.FOG_OF_WAR_VISIBLE, serial.getVisibleStatus(30, 40));
+			assertEquals(0, serial.getVisibleStatus(WIDTH - 1, HEIGHT - 1));
+		} finally {
+			Constants.PARALLEL_FOG_OF_WAR_DIMMING = parallel;
+		}
+	}
+
+	@Test
+	public void testSerializationKeepsState() throws IOException, ClassNotFoundException {
+		FogOfWar fogOfWar = createDimmedFogOfWar(false);
+		fogOfWar.hiddenLandscape[7 * WIDTH + 3] = ELandscapeType.WATER1;
+		fogOfWar.hiddenHeight[7 * WIDTH + 3] = 42;
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+			oos.writeObject(fogOfWar);
+		}
+		FogOfWar readFogOfWar = (FogOfWar) new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject();
+
+		assertEquals(WIDTH, readFogOfWar.width);
+		assertEquals(HEIGHT, readFogOfWar.height);
+		assertArrayEquals(fogOfWar.sight, readFogOfWar.sight);
+		assertArrayEquals(fogOfWar.visibleRefs, readFogOfWar.visibleRefs);
+		assertArrayEquals(fogOfWar.hiddenLandscape, readFogOfWar.hiddenLandscape);
+		assertArrayEquals(fogOfWar.hiddenHeight, readFogOfWar.hiddenHeight);
+	}
+
+	private FogOfWar createDimmedFogOfWar(boolean parallel) {
+		Constants.PARALLEL_FOG_OF_WAR_DIMMING = parallel;
+		FogOfWar fogOfWar = new FogOfWar(WIDTH, HEIGHT, (byte) 0, null, null);
+		fogOfWar.enabled = true;
+		draw(fogOfWar, new ShortPoint2D(30, 40), 8, FogOfWar.CIRCLE_ADD | FogOfWar.CIRCLE_DIM);
+		draw(fogOfWar, new ShortPoint2D(70, 50), 14, FogOfWar.CIRCLE_ADD | FogOfWar.CIRCLE_DIM);
+
+		for (int i = 0; i < 5; i++) {
+			fogOfWar.dimThread.dimAll((byte) CommonConstants.FOG_OF_WAR_DIM);
+		}
+		return fogOfWar;
+	}
+
+	private void draw(FogOfWar fogOfWar, ShortPoint2D at, int viewDistance, int state) {
+		fogOfWar.circleDrawer.drawCircleToBuffer(at, viewDistance, state, this);
+	}
+}
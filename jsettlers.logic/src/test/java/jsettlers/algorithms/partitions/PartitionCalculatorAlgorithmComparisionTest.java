@@ -17,7 +17,9 @@ package jsettlers.algorithms.partitions;
 import static org.junit.Assert.assertEquals;
 
 import java.util.BitSet;
+import java.util.Random;
 
+import jsettlers.common.position.ShortPoint2D;
 import jsettlers.logic.map.loading.MapLoadException;
 import jsettlers.logic.constants.MatchConstants;
 import jsettlers.logic.map.grid.MainGrid;
@@ -64,4 +66,87 @@ public class PartitionCalculatorAlgorithmComparisionTest {
 			}
 		}
 	}
+
+	@Test
+	public void testCompareSerialAndParallelOnMap() throws MapLoadException {
+		MatchConstants.init(new NetworkTimer(true), 0);
+
+		MainGrid grid = MapUtils.getMountainlake().loadMainGrid(null).getMainGrid();
+		MainGridDataAccessor gridAccessor = new MainGridDataAccessor(grid);
+
+		short width = gridAccessor.getWidth();
+		short height = gridAccessor.getHeight();
+		BitSet notBlockingSet = new BitSet(width * height);
+		LandscapeGrid landscapeGrid = gridAccessor.getLandscapeGrid();
+
+		for (short y = 0; y < height; y++) {
+			for (short x = 0; x < width; x++) {
+				notBlockingSet.set(x + y * width, !landscapeGrid.getLandscapeTypeAt(x, y).isBlocking);
+			}
+		}
+
+		assertSerialAndParallelEquivalent(width, height, notBlockingSet, IBlockingProvider.DEFAULT_IMPLEMENTATION);
+	}
+
+	@Test
+	public void testCompareSerialAndParallelOnRandomGrids() {
+		Random random = new Random(42);
+
+		for (int run = 0; run < 50; run++) {
+			int width = 3 + random.nextInt(200);
+			int height = 3 + random.nextInt(200);
+			float density = 0.3f + random.nextFloat() * 0.5f;
+
+			BitSet containing = new BitSet(width * height);
+			BitSet blocked = new BitSet(width * height);
+			for (int y = 1; y < height - 1; y++) {
+				for (int x = 1; x < width - 1; x++) {
+					containing.set(x + y * width, random.nextFloat() < density);
+					blocked.set(x + y * width, random.nextFloat() < 0.1f);
+				}
+			}
+
+			assertSerialAndParallelEquivalent(width, height, containing, (x, y) -> blocked.get(x + y * width));
+		}
+	}
+
+	/**
+	 * Asserts that both algorithms find the same partitions, regardless of the numbers they assign to them.
+	 */
+	private static void assertSerialAndParallelEquivalent(int width, int height, BitSet containing, IBlockingProvider blockingProvider) {
+		PartitionCalculatorAlgorithm serial = new PartitionCalculatorAlgorithm(0, 0, width, height, containing, blockingProvider);
+		serial.calculatePartitions();
+		PartitionCalculatorAlgorithm parallel = new PartitionCalculatorAlgorithm(0, 0, width, height, containing, blockingProvider);
+		parallel.calculatePartitionsInParallel();
+
+		assertEquals(serial.getNumberOfPartitions(), parallel.getNumberOfPartitions());
+
+		int[] serialToParallel = new int[serial.getNumberOfPartitions()];
+		int[] parallelToSerial = new int[parallel.getNumberOfPartitions()];
+		for (int i = 0; i < PartitionCalculatorAlgorithm.NUMBER_OF_RESERVED_PARTITIONS; i++) {
+			serialToParallel[i] = i + 1;
+			parallelToSerial[i] = i + 1;
+		}
+
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				short serialPartition = serial.getPartitionAt(x, y);
+				short parallelPartition = parallel.getPartitionAt(x, y);
+
+				if (serialToParallel[serialPartition] == 0) {
+					serialToParallel[serialPartition] = parallelPartition + 1;
+				}
+				if (parallelToSerial[parallelPartition] == 0) {
+					parallelToSerial[parallelPartition] = serialPartition + 1;
+				}
+				assertEquals(serialToParallel[serialPartition], parallelPartition + 1);
+				assertEquals(parallelToSerial[parallelPartition], serialPartition + 1);
+			}
+		}
+
+		for (int partition = PartitionCalculatorAlgorithm.NUMBER_OF_RESERVED_PARTITIONS; partition < parallel.getNumberOfPartitions(); partition++) {
+			ShortPoint2D borderPos = parallel.getPartitionBorderPos(partition);
+			assertEquals(partition, parallel.getPartitionAt(borderPos.x, borderPos.y));
+		}
+	}
 }
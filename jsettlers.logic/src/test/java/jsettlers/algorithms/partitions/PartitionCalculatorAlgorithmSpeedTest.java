@@ -17,13 +17,21 @@ package jsettlers.algorithms.partitions;
 import org.junit.Test;
 
 import java.util.BitSet;
+import java.util.Random;
 
+import jsettlers.common.buildings.EBuildingType;
+import jsettlers.common.map.shapes.FreeMapArea;
+import jsettlers.common.map.shapes.MapCircle;
+import jsettlers.common.player.ECivilisation;
+import jsettlers.common.position.ShortPoint2D;
 import jsettlers.logic.map.grid.MainGridDataAccessor;
 import jsettlers.common.logging.MilliStopWatch;
 import jsettlers.logic.map.loading.MapLoadException;
 import jsettlers.logic.constants.MatchConstants;
 import jsettlers.logic.map.grid.MainGrid;
 import jsettlers.logic.map.grid.landscape.LandscapeGrid;
+import jsettlers.logic.map.grid.partition.PartitionsGrid;
+import jsettlers.logic.player.PlayerSetting;
 import jsettlers.network.synchronic.timer.NetworkTimer;
 import jsettlers.testutils.map.MapUtils;
 
@@ -33,6 +41,10 @@ import jsettlers.testutils.map.MapUtils;
  * 
  */
 public class PartitionCalculatorAlgorithmSpeedTest {
+	private static final short GRID_SIZE = 512;
+	private static final int TOWER_BORDER = 30;
+	private static final int TOWER_SPACING = 40;
+	private static final int TOWER_RADIUS = 25;
 
 	@Test
 	public void testSpeed() throws MapLoadException, InterruptedException {
@@ -63,4 +75,95 @@ public class PartitionCalculatorAlgorithmSpeedTest {
 
 		watch.stop("partitioning test needed:");
 	}
+
+	/**
+	 * Labels a big map with islands of blocked positions serially and in parallel and reports the speed-up.
+	 */
+	@Test
+	public void testSpeedOfParallelCalculation() {
+		final int size = 2048;
+		BitSet notBlockingSet = new BitSet(size * size);
+		notBlockingSet.set(0, size * size);
+
+		Random random = new Random(1);
+		for (int i = 0; i < 4000; i++) {
+			int centerX = 8 + random.nextInt(size - 16);
+			int centerY = 8 + random.nextInt(size - 16);
+			int radius = 1 + random.nextInt(7);
+			for (int y = centerY - radius; y <= centerY + radius; y++) {
+				notBlockingSet.clear(centerX - radius + y * size, centerX + radius + 1 + y * size);
+			}
+		}
+		for (int i = 0; i < size; i++) { // keep the outermost positions out of the partitions
+			notBlockingSet.clear(i);
+			notBlockingSet.clear(i + (size - 1) * size);
+			notBlockingSet.clear(i * size);
+			notBlockingSet.clear(size - 1 + i * size);
+		}
+
+		long serialTime = Long.MAX_VALUE;
+		long parallelTime = Long.MAX_VALUE;
+		for (int run = 0; run < 5; run++) {
+			long start = System.nanoTime();
+			new PartitionCalculatorAlgorithm(0, 0, size, size, notBlockingSet, IBlockingProvider.DEFAULT_IMPLEMENTATION).calculatePartitions();
+			serialTime = Math.min(serialTime, System.nanoTime() - start);
+
+			start = System.nanoTime();
+			new PartitionCalculatorAlgorithm(0, 0, size, size, notBlockingSet, IBlockingProvider.DEFAULT_IMPLEMENTATION).calculatePartitionsInParallel();
+			parallelTime = Math.min(parallelTime, System.nanoTime() - start);
+		}
+
+		System.out.println("serial partitioning needed: " + serialTime / 1000000 + " ms");
+		System.out.println("parallel partitioning needed: " + parallelTime / 1000000 + " ms (speed-up " + (float) serialTime / parallelTime + ")");
+	}
+
+	/**
+	 * Captures single towers out of one big partition. Every capture checks if the big partition got divided, but it never is.
+	 */
+	@Test
+	public void testSpeedOfNotDividingCaptures() {
+		PartitionsGrid grid = createTowerGrid();
+
+		MilliStopWatch watch = new MilliStopWatch();
+		for (int y = TOWER_BORDER; y < GRID_SIZE - TOWER_BORDER; y += TOWER_SPACING * 2) {
+			for (int x = TOWER_BORDER; x < GRID_SIZE - TOWER_BORDER; x += TOWER_SPACING * 2) {
+				grid.changePlayerOfTower(new ShortPoint2D(x, y), (byte) 1);
+			}
+		}
+		watch.stop("capturing single towers needed:");
+	}
+
+	/**
+	 * Captures and recaptures whole columns of towers. Every column divides the big partition into two and every recapture merges them again.
+	 */
+	@Test
+	public void testSpeedOfDividingCaptures() {
+		PartitionsGrid grid = createTowerGrid();
+
+		MilliStopWatch watch = new MilliStopWatch();
+		for (int x = TOWER_BORDER + TOWER_SPACING; x < GRID_SIZE - TOWER_BORDER - TOWER_SPACING; x += TOWER_SPACING * 2) {
+			for (byte player : new byte[] { 1, 0 }) {
+				for (int y = TOWER_BORDER; y < GRID_SIZE - TOWER_BORDER; y += TOWER_SPACING) {
+					grid.changePlayerOfTower(new ShortPoint2D(x, y), player);
+				}
+			}
+		}
+		watch.stop("capturing and recapturing tower columns needed:");
+	}
+
+	private static PartitionsGrid createTowerGrid() {
+		MatchConstants.init(new NetworkTimer(true), 0);
+
+		PartitionsGrid grid = new PartitionsGrid(GRID_SIZE, GRID_SIZE, PlayerSetting.createDefaultSettings((byte) 0, (byte) 2),
+				IBlockingProvider.DEFAULT_IMPLEMENTATION);
+
+		for (int y = TOWER_BORDER; y < GRID_SIZE - TOWER_BORDER; y += TOWER_SPACING) {
+			for (int x = TOWER_BORDER; x < GRID_SIZE - TOWER_BORDER; x += TOWER_SPACING) {
+				ShortPoint2D position = new ShortPoint2D(x, y);
+				grid.addTowerAndOccupyArea((byte) 0, new MapCircle(position, TOWER_RADIUS),
+						new FreeMapArea(position, EBuildingType.TOWER.getVariant(ECivilisation.ROMAN).getProtectedTiles()));
+			}
+		}
+		return grid;
+	}
 }
@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (c) 2015
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path.astar;
+
+import org.junit.Test;
+
+import jsettlers.algorithms.path.IPathCalculatable;
+import jsettlers.common.player.IPlayer;
+import jsettlers.common.position.ShortPoint2D;
+
+/**
+ * Measures the time needed for short paths on maps of different sizes. As the search state is not cleared between the searches, the time per path
+ * must not grow with the map size.
+ */
+public class BucketQueueAStarSpeedTest {
+	private static final short[] MAP_SIZES = { 128, 384, 768, 1024 };
+	private static final int WARMUP_PATHS = 20000;
+	private static final int MEASURED_PATHS = 100000;
+	private static final int PATH_LENGTH = 10;
+
+	@Test
+	public void testShortPathSpeed() {
+		for (short size : MAP_SIZES) {
+			AbstractAStar aStar = new BucketQueueAStar(new DummyEmptyAStarMap(size, size), size, size);
+
+			findShortPaths(aStar, size, WARMUP_PATHS);
+
+			long start = System.nanoTime();
+			findShortPaths(aStar, size, MEASURED_PATHS);
+			long duration = System.nanoTime() - start;
+
+			System.out.println("map size " + size + ": " + (duration / MEASURED_PATHS) + " ns per path of length " + PATH_LENGTH);
+		}
+	}
+
+	private static void findShortPaths(AbstractAStar aStar, short size, int numberOfPaths) {
+		short center = (short) (size / 2);
+		IPathCalculatable requester = getPathable(center, center);
+
+		for (int i = 0; i < numberOfPaths; i++) {
+			short tx = (short) (center + PATH_LENGTH - i % (2 * PATH_LENGTH + 1));
+			short ty = (short) (center + PATH_LENGTH);
+			aStar.findPath(requester, new ShortPoint2D(tx, ty));
+		}
+	}
+
+	private static IPathCalculatable getPathable(final short x, final short y) {
+		return new IPathCalculatable() {
+			@Override
+			public ShortPoint2D getPosition() {
+				return new ShortPoint2D(x, y);
+			}
+
+			@Override
+			public IPlayer getPlayer() {
+				return IPlayer.DEFAULT_DUMMY_PLAYER0;
+			}
+
+			@Override
+			public boolean needsPlayersGround() {
+				return false;
+			}
+
+			@Override
+			public boolean isShip() {
+				return false;
+			}
+		};
+	}
+}
@@ -0,0 +1,226 @@
+/*******************************************************************************
+ * Copyright (c) 2015
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path.astar;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import jsettlers.algorithms.path.IPathCalculatable;
+import jsettlers.algorithms.path.Path;
+import jsettlers.common.Color;
+import jsettlers.common.player.IPlayer;
+import jsettlers.common.position.ShortPoint2D;
+
+public class HierarchicalAStarTest {
+	private static final short WIDTH = 150;
+	private static final short HEIGHT = 130;
+
+	private final TestMap map = new TestMap();
+	private final BucketQueueAStar bucketQueueAStar = new BucketQueueAStar(map, WIDTH, HEIGHT);
+	private final HierarchicalAStar hierarchicalAStar = new HierarchicalAStar(map, bucketQueueAStar, WIDTH, HEIGHT);
+
+	@Test
+	public void testEmptyMapPathsAreNearlyShortest() {
+		Random random = new Random(1);
+		for (int i = 0; i < 200; i++) {
+			short sx = (short) random.nextInt(WIDTH);
+			short sy = (short) random.nextInt(HEIGHT);
+			short tx = (short) random.nextInt(WIDTH);
+			short ty = (short) random.nextInt(HEIGHT);
+			if (sx == tx && sy == ty) {
+				continue;
+			}
+
+			Path path = hierarchicalAStar.findPath(getPathable(sx, sy, false), new ShortPoint2D(tx, ty));
+			assertValidPath(path, sx, sy, tx, ty, false);
+			assertTrue(path.getLength() <= ShortPoint2D.getOnGridDist(sx, sy, tx, ty) * 1.1f);
+		}
+	}
+
+	@Test
+	public void testFindsPathsExactlyLikeBucketQueueAStar() {
+		setRandomlyBlocked(new Random(2), 0.3f);
+		assertSameReachability(new Random(3), false);
+	}
+
+	@Test
+	public void testBlockedChangesAreRespected() {
+		setRandomlyBlocked(new Random(4), 0.2f);
+		hierarchicalAStar.findPath(getPathable((short) 0, (short) 0, false), new ShortPoint2D(WIDTH - 1, HEIGHT - 1)); // builds the graph
+
+		Random random = new Random(5);
+		for (int round = 0; round < 10; round++) {
+			int wallX = random.nextInt(WIDTH);
+			int gapY = random.nextInt(HEIGHT);
+			for (int y = 0; y < HEIGHT; y++) {
+				map.setBlocked(wallX, y, y != gapY && y != gapY + 1);
+				hierarchicalAStar.blockedChanged(wallX, y);
+			}
+
+			assertSameReachability(random, false);
+		}
+	}
+
+	@Test
+	public void testGroundChangesAreRespected() {
+		hierarchicalAStar.findPath(getPathable((short) 0, (short) 0, true), new ShortPoint2D(WIDTH - 1, HEIGHT - 1)); // builds the graph
+
+		Random random = new Random(6);
+		for (int round = 0; round < 10; round++) {
+			int x0 = random.nextInt(WIDTH);
+			int y0 = random.nextInt(HEIGHT);
+			for (int x = x0; x < Math.min(x0 + 40, WIDTH); x++) {
+				for (int y = y0; y < Math.min(y0 + 40, HEIGHT); y++) {
+					map.setPlayer(x, y, (byte) (round % 2));
+					hierarchicalAStar.groundChanged(x, y);
+				}
+			}
+
+			assertSameReachability(random, true);
+		}
+	}
+
+	@Test
+	public void testUnreachableTarget() {
+		for (int y = 0; y < HEIGHT; y++) {
+			map.setBlocked(WIDTH / 2, y, true);
+		}
+
+		assertNull(hierarchicalAStar.findPath(getPathable((short) 10, (short) 10, false), new ShortPoint2D(WIDTH - 10, 10)));
+		assertNotNull(hierarchicalAStar.findPath(getPathable((short) 10, (short) 10, false), new ShortPoint2D(10, HEIGHT - 10)));
+	}
+
+	private void assertSameReachability(Random random, boolean needsPlayersGround) {
+		for (int i = 0; i < 100; i++) {
+			short sx = (short) random.nextInt(WIDTH);
+			short sy = (short) random.nextInt(HEIGHT);
+			short tx = (short) random.nextInt(WIDTH);
+			short ty = (short) random.nextInt(HEIGHT);
+			IPathCalculatable requester = getPathable(sx, sy, needsPlayersGround);
+			if ((sx == tx && sy == ty) || map.isBlocked(requester, sx, sy)) {
+				continue;
+			}
+
+			Path expected = bucketQueueAStar.findPath(requester, new ShortPoint2D(tx, ty));
+			Path path = hierarchicalAStar.findPath(requester, new ShortPoint2D(tx, ty));
+
+			assertEquals(expected == null, path == null);
+			if (path != null) {
+				assertValidPath(path, sx, sy, tx, ty, needsPlayersGround);
+				assertTrue(path.getLength() >= expected.getLength());
+			}
+		}
+	}
+
+	private void assertValidPath(Path path, short sx, short sy, short tx, short ty, boolean needsPlayersGround) {
+		assertNotNull(path);
+
+		int x = sx;
+		int y = sy;
+		while (path.hasNextStep()) {
+			assertEquals(1, ShortPoint2D.getOnGridDist(x, y, path.nextX(), path.nextY()));
+			x = path.nextX();
+			y = path.nextY();
+			assertFalse(map.isBlocked(getPathable(sx, sy, needsPlayersGround), x, y));
+			path.goToNextStep();
+		}
+		assertEquals(tx, x);
+		assertEquals(ty, y);
+	}
+
+	private void setRandomlyBlocked(Random random, float probability) {
+		for (int x = 0; x < WIDTH; x++) {
+			for (int y = 0; y < HEIGHT; y++) {
+				map.setBlocked(x, y, random.nextFloat() < probability);
+			}
+		}
+	}
+
+	private static IPathCalculatable getPathable(final short x, final short y, final boolean needsPlayersGround) {
+		return new IPathCalculatable() {
+			@Override
+			public ShortPoint2D getPosition() {
+				return new ShortPoint2D(x, y);
+			}
+
+			@Override
+			public IPlayer getPlayer() {
+				return IPlayer.DEFAULT_DUMMY_PLAYER0;
+			}
+
+			@Override
+			public boolean needsPlayersGround() {
+				return needsPlayersGround;
+			}
+
+			@Override
+			public boolean isShip() {
+				return false;
+			}
+		};
+	}
+
+	private static class TestMap implements IHierarchicalAStarMap {
+		private final boolean[] blocked = new boolean[WIDTH * HEIGHT];
+		private final byte[] players = new byte[WIDTH * HEIGHT];
+
+		void setBlocked(int x, int y, boolean newBlocked) {
+			blocked[x + y * WIDTH] = newBlocked;
+		}
+
+		void setPlayer(int x, int y, byte playerId) {
+			players[x + y * WIDTH] = playerId;
+		}
+
+		@Override
+		public boolean isBlocked(int x, int y, byte groundPlayerId) {
+			return blocked[x + y * WIDTH] || (groundPlayerId >= 0 && groundPlayerId != players[x + y * WIDTH]);
+		}
+
+		@Override
+		public boolean isBlocked(IPathCalculatable requester, int x, int y) {
+			return isBlocked(x, y, requester.needsPlayersGround() ? requester.getPlayer().getPlayerId() : -1);
+		}
+
+		@Override
+		public float getCost(IPathCalculatable requester, int sx, int sy, int tx, int ty) {
+			return 1;
+		}
+
+		@Override
+		public void markAsOpen(int x, int y) {
+		}
+
+		@Override
+		public void markAsClosed(int x, int y) {
+		}
+
+		@Override
+		public void setDebugColor(int x, int y, Color color) {
+		}
+
+		@Override
+		public short getBlockedPartition(int x, int y) {
+			return 1;
+		}
+	}
+}
@@ -0,0 +1,237 @@
+/*******************************************************************************
+ * Copyright (c) 2015
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path.astar;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import jsettlers.algorithms.path.IPathCalculatable;
+import jsettlers.algorithms.path.Path;
+import jsettlers.common.Color;
+import jsettlers.common.player.IPlayer;
+import jsettlers.common.position.ShortPoint2D;
+
+public class PathCacheTest {
+	private static final short WIDTH = 100;
+	private static final short HEIGHT = 90;
+	private static final int MOVABLE_COST_DISTANCE = 3;
+
+	private final TestMap map = new TestMap();
+	private final BucketQueueAStar aStar = new BucketQueueAStar(map, WIDTH, HEIGHT);
+	private final BucketQueueAStar cachedAStar = new BucketQueueAStar(map, WIDTH, HEIGHT);
+	private final PathCache pathCache = new PathCache(map, WIDTH, HEIGHT, 50);
+
+	public PathCacheTest() {
+		cachedAStar.setPathCache(pathCache);
+	}
+
+	@Test
+	public void testRepeatedRequestIsAnsweredFromCache() {
+		IPathCalculatable requester = getPathable(10, 10, false);
+
+		Path path = cachedAStar.findPath(requester, new ShortPoint2D(50, 40));
+		path.goToNextStep();
+		Path cachedPath = cachedAStar.findPath(requester, new ShortPoint2D(50, 40));
+
+		assertEquals(1, pathCache.getMisses());
+		assertEquals(1, pathCache.getHits());
+		assertSamePath(aStar.findPath(requester, new ShortPoint2D(50, 40)), cachedPath);
+	}
+
+	@Test
+	public void testChangesInvalidateOnlyAffectedPaths() {
+		IPathCalculatable requester = getPathable(10, 10, false);
+		cachedAStar.findPath(requester, new ShortPoint2D(20, 10));
+
+		setBlocked(80, 80, true);
+		cachedAStar.findPath(requester, new ShortPoint2D(20, 10));
+		assertEquals(1, pathCache.getHits());
+
+		setBlocked(15, 10, true);
+		Path path = cachedAStar.findPath(requester, new ShortPoint2D(20, 10));
+		assertEquals(1, pathCache.getInvalidations());
+		assertSamePath(aStar.findPath(requester, new ShortPoint2D(20, 10)), path);
+	}
+
+	@Test
+	public void testMovablesNearTheStartInvalidatePaths() {
+		IPathCalculatable requester = getPathable(10, 10, false);
+		cachedAStar.findPath(requester, new ShortPoint2D(20, 10));
+
+		map.setMovable(11, 10, true);
+		Path path = cachedAStar.findPath(requester, new ShortPoint2D(20, 10));
+
+		assertEquals(1, pathCache.getInvalidations());
+		assertSamePath(aStar.findPath(requester, new ShortPoint2D(20, 10)), path);
+	}
+
+	@Test
+	public void testCachedPathsEqualSearchedPaths() {
+		Random random = new Random(1);
+		for (int x = 0; x < WIDTH; x++) {
+			for (int y = 0; y < HEIGHT; y++) {
+				map.setBlocked(x, y, random.nextFloat() < 0.2f);
+			}
+		}
+
+		ShortPoint2D[] positions = new ShortPoint2D[30];
+		for (int i = 0; i < positions.length; i++) {
+			positions[i] = new ShortPoint2D(random.nextInt(WIDTH), random.nextInt(HEIGHT));
+		}
+
+		for (int round = 0; round < 3000; round++) {
+			switch (random.nextInt(4)) {
+			case 0:
+				setBlocked(random.nextInt(WIDTH), random.nextInt(HEIGHT), random.nextFloat() < 0.2f);
+				break;
+			case 1:
+				setPlayer(random.nextInt(WIDTH), random.nextInt(HEIGHT), (byte) random.nextInt(2));
+				break;
+			case 2:
+				map.setMovable(random.nextInt(WIDTH), random.nextInt(HEIGHT), random.nextBoolean());
+				break;
+			default:
+				break;
+			}
+
+			ShortPoint2D start = positions[random.nextInt(positions.length)];
+			ShortPoint2D target = positions[random.nextInt(positions.length)];
+			IPathCalculatable requester = getPathable(start.x, start.y, random.nextBoolean());
+			if (start.equals(target)) {
+				continue;
+			}
+
+			assertSamePath(aStar.findPath(requester, target), cachedAStar.findPath(requester, target));
+		}
+
+		assertTrue(pathCache.getHits() > 0);
+		assertTrue(pathCache.getInvalidations() > 0);
+		assertTrue(pathCache.size() <= 50);
+	}
+
+	private void setBlocked(int x, int y, boolean blocked) {
+		map.setBlocked(x, y, blocked);
+		pathCache.positionChanged(x, y);
+	}
+
+	private void setPlayer(int x, int y, byte playerId) {
+		map.setPlayer(x, y, playerId);
+		pathCache.positionChanged(x, y);
+	}
+
+	private static void assertSamePath(Path expected, Path path) {
+		if (expected == null) {
+			assertNull(path);
+			return;
+		}
+
+		assertNotNull(path);
+		assertEquals(expected.getLength(), path.getLength());
+		while (expected.hasNextStep()) {
+			assertEquals(expected.getNextPos(), path.getNextPos());
+			expected.goToNextStep();
+			path.goToNextStep();
+		}
+	}
+
+	private static IPathCalculatable getPathable(final int x, final int y, final boolean needsPlayersGround) {
+		final ShortPoint2D position = new ShortPoint2D(x, y);
+		return new IPathCalculatable() {
+			@Override
+			public ShortPoint2D getPosition() {
+				return position;
+			}
+
+			@Override
+			public IPlayer getPlayer() {
+				return IPlayer.DEFAULT_DUMMY_PLAYER0;
+			}
+
+			@Override
+			public boolean needsPlayersGround() {
+				return needsPlayersGround;
+			}
+
+			@Override
+			public boolean isShip() {
+				return false;
+			}
+		};
+	}
+
+	private static class TestMap implements IPathCacheMap {
+		private final boolean[] blocked = new boolean[WIDTH * HEIGHT];
+		private final byte[] players = new byte[WIDTH * HEIGHT];
+		private final boolean[] movables = new boolean[WIDTH * HEIGHT];
+
+		void setBlocked(int x, int y, boolean newBlocked) {
+			blocked[x + y * WIDTH] = newBlocked;
+		}
+
+		void setPlayer(int x, int y, byte playerId) {
+			players[x + y * WIDTH] = playerId;
+		}
+
+		void setMovable(int x, int y, boolean movable) {
+			movables[x + y * WIDTH] = movable;
+		}
+
+		@Override
+		public boolean isBlocked(IPathCalculatable requester, int x, int y) {
+			return blocked[x + y * WIDTH] || (requester.needsPlayersGround() && requester.getPlayer().getPlayerId() != players[x + y * WIDTH]);
+		}
+
+		@Override
+		public float getCost(IPathCalculatable requester, int sx, int sy, int tx, int ty) {
+			if (requester.getPosition().getOnGridDistTo(sx, sy) <= MOVABLE_COST_DISTANCE && hasMovableAt(tx, ty)) {
+				return 1.5f;
+			}
+			return 1;
+		}
+
+		@Override
+		public int getMovableCostDistance() {
+			return MOVABLE_COST_DISTANCE;
+		}
+
+		@Override
+		public boolean hasMovableAt(int x, int y) {
+			return movables[x + y * WIDTH];
+		}
+
+		@Override
+		public void markAsOpen(int x, int y) {
+		}
+
+		@Override
+		public void markAsClosed(int x, int y) {
+		}
+
+		@Override
+		public void setDebugColor(int x, int y, Color color) {
+		}
+
+		@Override
+		public short getBlockedPartition(int x, int y) {
+			return 1;
+		}
+	}
+}
@@ -0,0 +1,61 @@
+/*******************************************************************************
+ * Copyright (c) 2015
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path.astar.arrays;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import jsettlers.algorithms.path.arrays.StampedSearchState;
+
+/**
+ * Test for the class {@link StampedSearchState}.
+ */
+public class StampedSearchStateTest {
+	private final StampedSearchState state = new StampedSearchState(10);
+
+	@Test
+	public void testOpenAndClosed() {
+		state.startSearch();
+		assertFalse(state.isVisited(3));
+
+		state.setOpen(3);
+		assertTrue(state.isVisited(3));
+		assertTrue(state.isOpen(3));
+		assertFalse(state.isClosed(3));
+
+		state.setClosed(3);
+		assertTrue(state.isVisited(3));
+		assertFalse(state.isOpen(3));
+		assertTrue(state.isClosed(3));
+		assertFalse(state.isVisited(4));
+	}
+
+	@Test
+	public void testNewSearchResetsAllNodes() {
+		for (int search = 0; search < 5; search++) {
+			state.startSearch();
+			for (int node = 0; node < 10; node++) {
+				assertFalse(state.isVisited(node));
+				if (node % 2 == 0) {
+					state.setOpen(node);
+				} else {
+					state.setClosed(node);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2015
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path.dijkstra;
+
+import java.util.Random;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import jsettlers.algorithms.path.IPathCalculatable;
+import jsettlers.algorithms.path.Path;
+import jsettlers.common.material.ESearchType;
+import jsettlers.common.player.IPlayer;
+import jsettlers.common.position.ShortPoint2D;
+import jsettlers.logic.constants.MatchConstants;
+import jsettlers.logic.map.grid.MainGrid;
+import jsettlers.logic.map.grid.MainGridDataAccessor;
+import jsettlers.logic.map.loading.MapLoadException;
+import jsettlers.logic.map.loading.MapLoader;
+import jsettlers.logic.map.loading.list.MapList;
+import jsettlers.main.swing.resources.SwingResourceLoader;
+import jsettlers.network.synchronic.timer.NetworkTimer;
+
+/**
+ * Compares the ring scan and the flood search of the {@link DijkstraAlgorithm} on the release maps.
+ */
+public class DijkstraAlgorithmSpeedTest {
+	private static final ESearchType[] SEARCH_TYPES = { ESearchType.CUTTABLE_TREE, ESearchType.CUTTABLE_STONE, ESearchType.FISHABLE,
+			ESearchType.RESOURCE_SIGNABLE };
+	private static final short SEARCH_RADIUS = 30;
+	private static final int REQUESTERS_PER_MAP = 300;
+
+	@BeforeClass
+	public static void setupMapList() {
+		SwingResourceLoader.setupMapListFactory("../maps", null);
+	}
+
+	@Test
+	public void testSpeed() throws MapLoadException {
+		for (MapLoader mapLoader : MapList.getDefaultList().getFreshMaps().getItems()) {
+			MatchConstants.init(new NetworkTimer(true), 0);
+			MainGrid grid = mapLoader.loadMainGrid(null).getMainGrid();
+			MainGridDataAccessor gridAccessor = new MainGridDataAccessor(grid);
+
+			DijkstraAlgorithm ringScan = gridAccessor.createDijkstra(false);
+			DijkstraAlgorithm floodSearch = gridAccessor.createDijkstra(true);
+			IPathCalculatable[] requesters = createRequesters(gridAccessor);
+
+			for (ESearchType searchType : SEARCH_TYPES) {
+				search(ringScan, requesters, searchType); // warm up
+				search(floodSearch, requesters, searchType);
+
+				long start = System.nanoTime();
+				int[] ringScanResults = search(ringScan, requesters, searchType);
+				long ringScanTime = System.nanoTime() - start;
+
+				start = System.nanoTime();
+				int[] floodSearchResults = search(floodSearch, requesters, searchType);
+				long floodSearchTime = System.nanoTime() - start;
+
+				System.out.printf("%-40s %-18s ring scan: %7d us (%3d found, %5d steps)   flood search: %7d us (%3d found, %5d steps)%n",
+						mapLoader.getMapName(), searchType, ringScanTime / 1000, ringScanResults[0], ringScanResults[1], floodSearchTime / 1000,
+						floodSearchResults[0], floodSearchResults[1]);
+			}
+		}
+	}
+
+	private static int[] search(DijkstraAlgorithm dijkstra, IPathCalculatable[] requesters, ESearchType searchType) {
+		int found = 0;
+		int steps = 0;
+		for (IPathCalculatable requester : requesters) {
+			ShortPoint2D position = requester.getPosition();
+			Path path = dijkstra.find(requester, position.x, position.y, (short) 0, SEARCH_RADIUS, searchType);
+			if (path != null) {
+				found++;
+				steps += path.getLength();
+			}
+		}
+		return new int[] { found, steps };
+	}
+
+	private static IPathCalculatable[] createRequesters(MainGridDataAccessor gridAccessor) {
+		Random random = new Random(0);
+		IPathCalculatable[] requesters = new IPathCalculatable[REQUESTERS_PER_MAP];
+		for (int i = 0; i < REQUESTERS_PER_MAP;) {
+			short x = (short) random.nextInt(gridAccessor.getWidth());
+			short y = (short) random.nextInt(gridAccessor.getHeight());
+			if (!gridAccessor.getFlagsGrid().isBlocked(x, y)) {
+				requesters[i++] = createRequester(x, y);
+			}
+		}
+		return requesters;
+	}
+
+	private static IPathCalculatable createRequester(short x, short y) {
+		ShortPoint2D position = new ShortPoint2D(x, y);
+		IPlayer noPlayer = new IPlayer.DummyPlayer((byte) -1); // fits the unowned ground of the fresh maps
+
+		return new IPathCalculatable() {
+			@Override
+			public ShortPoint2D getPosition() {
+				return position;
+			}
+
+			@Override
+			public IPlayer getPlayer() {
+				return noPlayer;
+			}
+
+			@Override
+			public boolean needsPlayersGround() {
+				return false;
+			}
+
+			@Override
+			public boolean isShip() {
+				return false;
+			}
+		};
+	}
+}
@@ -94,8 +94,7 @@ public class AiDifficultiesIT {
 			System.out.println("The ai produced " + producedSoldiers + " soldiers.");
 		}
 		ReplayUtils.awaitShutdown(startedGame);
-		ensureRuntimePerformance("to apply light rules", startingGame.getAiExecutor().getApplyLightRulesStopWatch(), 20, 250);
-		ensureRuntimePerformance("to apply heavy rules", startingGame.getAiExecutor().getApplyHeavyRulesStopWatch(), 200, 2500);
+		ensureRulesRuntimePerformance(startingGame.getAiExecutor(), playerSettings.length, 20, 250, 200, 2500);
 		ensureRuntimePerformance("to update statistics", startingGame.getAiExecutor().getUpdateStatisticsStopWatch(), 100, 2500);
 	}
 }
@@ -2,10 +2,12 @@ package jsettlers.integration.ai;
 
 import java.util.Arrays;
 import java.util.Locale;
+import java.util.Map;
 import java.util.concurrent.Executors;
+import jsettlers.ai.highlevel.AiExecutor;
 import jsettlers.ai.highlevel.AiStatistics;
 import jsettlers.common.ai.EPlayerType;
-import jsettlers.common.logging.StatisticsStopWatch;
+import jsettlers.common.logging.HistogramStopWatch;
 import jsettlers.common.menu.IStartedGame;
 import jsettlers.common.player.ECivilisation;
 import jsettlers.logic.constants.MatchConstants;
@@ -55,12 +57,25 @@ public class AiTestUtils {
 				" minutes.");
 		ReplayUtils.awaitShutdown(startedGame);
 
-		ensureRuntimePerformance("to apply light rules", startingGame.getAiExecutor().getApplyLightRulesStopWatch(), 20, 300);
-		ensureRuntimePerformance("to apply heavy rules", startingGame.getAiExecutor().getApplyHeavyRulesStopWatch(), 200, 3000);
+		ensureRulesRuntimePerformance(startingGame.getAiExecutor(), playerSettings.length, 20, 300, 200, 3000);
 		ensureRuntimePerformance("to update statistics", startingGame.getAiExecutor().getUpdateStatisticsStopWatch(), 100, 2500);
 	}
 
-	public static void ensureRuntimePerformance(String description, StatisticsStopWatch stopWatch, long median, int max) {
+	public static void ensureRulesRuntimePerformance(AiExecutor aiExecutor, int numberOfPlayers, long lightRulesMedian, int lightRulesMax,
+			long heavyRuleMedian, int heavyRuleMax) {
+		for (byte playerId = 0; playerId < numberOfPlayers; playerId++) {
+			for (Map.Entry<String, HistogramStopWatch> ruleStopWatch : aiExecutor.getRuleStopWatches(playerId).entrySet()) {
+				String description = "player " + playerId + " to apply " + ruleStopWatch.getKey();
+				if (AiExecutor.LIGHT_RULES.equals(ruleStopWatch.getKey())) {
+					ensureRuntimePerformance(description, ruleStopWatch.getValue(), lightRulesMedian, lightRulesMax);
+				} else {
+					ensureRuntimePerformance(description, ruleStopWatch.getValue(), heavyRuleMedian, heavyRuleMax);
+				}
+			}
+		}
+	}
+
+	public static void ensureRuntimePerformance(String description, HistogramStopWatch stopWatch, long median, int max) {
 		System.out.println(description + ": " + stopWatch);
 		if (stopWatch.getMedian() > median) {
 			String medianText = String.format(Locale.ENGLISH, LOW_PERFORMANCE_FAILURE_MESSAGE, description, "median", median, stopWatch.getMedian());
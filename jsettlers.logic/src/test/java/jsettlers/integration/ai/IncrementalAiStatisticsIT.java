@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * Copyright (c) 2025
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.integration.ai;
+
+import java.util.concurrent.Executors;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import jsettlers.ai.highlevel.AiStatistics;
+import jsettlers.common.CommonConstants;
+import jsettlers.common.ai.EPlayerType;
+import jsettlers.common.menu.IStartedGame;
+import jsettlers.common.player.ECivilisation;
+import jsettlers.logic.constants.Constants;
+import jsettlers.logic.constants.MatchConstants;
+import jsettlers.logic.map.loading.MapLoadException;
+import jsettlers.logic.player.InitialGameState;
+import jsettlers.logic.player.PlayerSetting;
+import jsettlers.main.JSettlersGame;
+import jsettlers.main.replay.ReplayUtils;
+import jsettlers.network.client.OfflineNetworkConnector;
+import jsettlers.testutils.TestUtils;
+import jsettlers.testutils.map.MapUtils;
+
+/**
+ * Plays an AI battle and checks after every update of the {@link AiStatistics} that the incrementally updated statistics equal a full rescan of the
+ * map.
+ */
+public class IncrementalAiStatisticsIT {
+	private static final int TARGET_TIME = 30 * AiTestUtils.MINUTES;
+	private static final int UPDATE_INTERVAL = 10 * 1000;
+
+	@BeforeClass
+	public static void enableConsistencyCheck() {
+		CommonConstants.ENABLE_CONSOLE_LOGGING = true;
+		Constants.FOG_OF_WAR_DEFAULT_ENABLED = false;
+		Constants.AI_STATISTICS_CONSISTENCY_CHECK = true;
+		TestUtils.setupTempResourceManager();
+	}
+
+	@AfterClass
+	public static void disableConsistencyCheck() {
+		Constants.AI_STATISTICS_CONSISTENCY_CHECK = false;
+	}
+
+	@Test
+	public void testIncrementalUpdatesEqualFullRescans() throws MapLoadException {
+		PlayerSetting[] playerSettings = AiTestUtils.getDefaultPlayerSettings(12);
+		playerSettings[9] = new PlayerSetting(EPlayerType.AI_VERY_HARD, ECivilisation.ROMAN, (byte) 0);
+		playerSettings[7] = new PlayerSetting(EPlayerType.AI_HARD, ECivilisation.ROMAN, (byte) 1);
+
+		OfflineNetworkConnector networkConnector = new OfflineNetworkConnector();
+		networkConnector.getGameClock().setPausing(true);
+		JSettlersGame.GameRunner startingGame = (JSettlersGame.GameRunner) new JSettlersGame(MapUtils.getSpezialSumpf(), networkConnector,
+				new InitialGameState((byte) 7, playerSettings, 1L)).start();
+		IStartedGame startedGame = ReplayUtils.waitForGameStartup(startingGame);
+		AiStatistics aiStatistics = new AiStatistics(startingGame.getMainGrid(), Executors.newWorkStealingPool());
+
+		for (int gameTime = UPDATE_INTERVAL; gameTime <= TARGET_TIME; gameTime += UPDATE_INTERVAL) {
+			MatchConstants.clock().fastForwardTo(gameTime);
+			aiStatistics.updateStatistics();
+		}
+
+		ReplayUtils.awaitShutdown(startedGame);
+	}
+}
@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2025
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.integration.ai;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.Test;
+
+import jsettlers.common.CommonConstants;
+import jsettlers.common.ai.EPlayerType;
+import jsettlers.common.menu.IStartedGame;
+import jsettlers.common.player.ECivilisation;
+import jsettlers.common.position.ShortPoint2D;
+import jsettlers.logic.constants.Constants;
+import jsettlers.logic.constants.MatchConstants;
+import jsettlers.logic.map.loading.MapLoadException;
+import jsettlers.logic.movable.MovableManager;
+import jsettlers.logic.movable.interfaces.ILogicMovable;
+import jsettlers.logic.player.InitialGameState;
+import jsettlers.logic.player.PlayerSetting;
+import jsettlers.main.JSettlersGame;
+import jsettlers.main.replay.ReplayUtils;
+import jsettlers.network.client.OfflineNetworkConnector;
+import jsettlers.testutils.TestUtils;
+import jsettlers.testutils.map.MapUtils;
+
+/**
+ * Plays the same AI battle with serial and with parallel preparation of the timerables and compares the resulting states.
+ * <p>
+ * Every battle runs in its own JVM, because two games played one after the other in the same JVM do not end up in the same state.
+ */
+public class ParallelPreparationDeterminismIT {
+	private static final int TARGET_TIME = 60 * AiTestUtils.MINUTES;
+	private static final String HASH_PREFIX = "STATE_HASH=";
+
+	@Test
+	public void testSerialAndParallelPreparationResultInSameState() throws IOException, InterruptedException {
+		long serialHash = playBattleInNewJvm(false);
+		long parallelHash = playBattleInNewJvm(true);
+
+		assertEquals(serialHash, parallelHash);
+	}
+
+	private static long playBattleInNewJvm(boolean parallelPreparation) throws IOException, InterruptedException {
+		String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+		ProcessBuilder processBuilder = new ProcessBuilder(java, "-Xmx2g", "-cp", System.getProperty("java.class.path"),
+				ParallelPreparationDeterminismIT.class.getName(), Boolean.toString(parallelPreparation));
+		processBuilder.redirectErrorStream(true);
+		Process process = processBuilder.start();
+
+		Long hash = null;
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.startsWith(HASH_PREFIX)) {
+					hash = Long.parseLong(line.substring(HASH_PREFIX.length()));
+				}
+			}
+		}
+
+		assertEquals("battle process failed", 0, process.waitFor());
+		assertNotNull("no state hash reported", hash);
+		System.out.println("State hash with " + (parallelPreparation ? "parallel" : "serial") + " preparation: " + hash);
+		return hash;
+	}
+
+	public static void main(String[] args) throws MapLoadException {
+		CommonConstants.ENABLE_CONSOLE_LOGGING = true;
+		Constants.FOG_OF_WAR_DEFAULT_ENABLED = false;
+		Constants.PARALLEL_TIMERABLE_PREPARATION = Boolean.parseBoolean(args[0]);
+		TestUtils.setupTempResourceManager();
+
+		PlayerSetting[] playerSettings = AiTestUtils.getDefaultPlayerSettings(12);
+		playerSettings[9] = new PlayerSetting(EPlayerType.AI_VERY_HARD, ECivilisation.ROMAN, (byte) 0);
+		playerSettings[7] = new PlayerSetting(EPlayerType.AI_HARD, ECivilisation.ROMAN, (byte) 1);
+
+		OfflineNetworkConnector networkConnector = new OfflineNetworkConnector();
+		networkConnector.getGameClock().setPausing(true);
+		JSettlersGame game = new JSettlersGame(MapUtils.getSpezialSumpf(), networkConnector, new InitialGameState((byte) 7, playerSettings, 1L));
+		IStartedGame startedGame = ReplayUtils.waitForGameStartup(game.start());
+
+		MatchConstants.clock().fastForwardTo(TARGET_TIME);
+		System.out.println(HASH_PREFIX + hashMovables());
+
+		ReplayUtils.awaitShutdown(startedGame);
+		System.exit(0);
+	}
+
+	private static long hashMovables() {
+		List<ILogicMovable> movables = new ArrayList<>(MovableManager.getAllMovables());
+		movables.sort(Comparator.comparingInt(ILogicMovable::getID));
+
+		long hash = movables.size();
+		for (ILogicMovable movable : movables) {
+			ShortPoint2D position = movable.getPosition();
+			hash = hash * 31 + movable.getID();
+			hash = hash * 31 + movable.getMovableType().ordinal();
+			hash = hash * 31 + movable.getPlayer().getPlayerId();
+			hash = hash * 31 + (position == null ? -1 : position.x * 65536 + position.y);
+			hash = hash * 31 + Float.floatToIntBits(movable.getHealth());
+			hash = hash * 31 + movable.getAction().ordinal();
+		}
+		return hash;
+	}
+}
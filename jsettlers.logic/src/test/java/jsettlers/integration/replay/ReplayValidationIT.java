@@ -34,6 +34,7 @@ import jsettlers.logic.map.loading.MapLoader;
 import jsettlers.logic.player.PlayerSetting;
 import jsettlers.main.JSettlersGame;
 import jsettlers.main.replay.ReplayUtils;
+import jsettlers.network.NetworkConstants;
 import jsettlers.network.synchronic.timer.NetworkTimer;
 import jsettlers.testutils.TestUtils;
 import jsettlers.testutils.map.MapUtils;
@@ -73,6 +74,18 @@ public class ReplayValidationIT {
 		MapUtils.compareMapFiles(savegame, replayedSavegame);
 	}
 
+	@Test
+	public void testIfReplayedStateHashesDoNotDiverge() throws MapLoadException {
+		final int targetTimeMinutes = 5;
+		MapLoader map = MapUtils.getMountainlake();
+
+		ReplayUtils.PlayMapResult directSavegameReplay = ReplayUtils.playMapToTargetTimes(map, (byte) 0, targetTimeMinutes);
+		assertDirectSavegameReplay(1, directSavegameReplay);
+
+		int lastLockstep = targetTimeMinutes * 60 * 1000 / NetworkConstants.Client.LOCKSTEP_PERIOD;
+		assertEquals(-1, ReplayUtils.findFirstDivergingLockstep(directSavegameReplay, directSavegameReplay, 0, lastLockstep));
+	}
+
 	@Test
 	public void testIfSavegameOfSavegameEqualsSavegame() throws IOException, MapLoadException, ClassNotFoundException, InterruptedException {
 		final byte playerId = 0;
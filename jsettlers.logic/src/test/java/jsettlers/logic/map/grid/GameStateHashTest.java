@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.grid;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class GameStateHashTest {
+
+	private static final short WIDTH  = 30;
+	private static final short HEIGHT = 20;
+
+	private final long[]        values = new long[WIDTH * HEIGHT];
+	private final GameStateHash hash   = new GameStateHash(WIDTH, HEIGHT, (x, y) -> values[x + y * WIDTH]);
+
+	@Test
+	public void testIncrementalHashEqualsFullHash() {
+		hash.getHash();
+
+		for (int i = 0; i < 200; i++) {
+			int x = (i * 7) % WIDTH;
+			int y = (i * 13) % HEIGHT;
+			values[x + y * WIDTH] = i * 31L;
+			hash.positionChangedAt(x, y);
+
+			if (i % 17 == 0) {
+				assertEquals(computeFullHash(), hash.getHash());
+			}
+		}
+		assertEquals(computeFullHash(), hash.getHash());
+	}
+
+	@Test
+	public void testRevertedChangeRestoresHash() {
+		long originalHash = hash.getHash();
+
+		values[5 + 3 * WIDTH] = 42;
+		hash.positionChangedAt(5, 3);
+		long changedHash = hash.getHash();
+		assertNotEquals(originalHash, changedHash);
+
+		values[5 + 3 * WIDTH] = 0;
+		hash.positionChangedAt(5, 3);
+		assertEquals(originalHash, hash.getHash());
+	}
+
+	@Test
+	public void testEqualValuesAtDifferentPositionsDiffer() {
+		values[1] = 7;
+		long hash1 = new GameStateHash(WIDTH, HEIGHT, (x, y) -> values[x + y * WIDTH]).getHash();
+		values[1] = 0;
+		values[2] = 7;
+		long hash2 = new GameStateHash(WIDTH, HEIGHT, (x, y) -> values[x + y * WIDTH]).getHash();
+
+		assertNotEquals(hash1, hash2);
+	}
+
+	@Test
+	public void testUnreportedChangesAreIgnoredUntilReported() {
+		long originalHash = hash.getHash();
+
+		values[10] = 99;
+		assertEquals(originalHash, hash.getHash());
+
+		hash.positionChangedAt(10, 0);
+		assertEquals(computeFullHash(), hash.getHash());
+	}
+
+	private long computeFullHash() {
+		return new GameStateHash(WIDTH, HEIGHT, (x, y) -> values[x + y * WIDTH]).getHash();
+	}
+}
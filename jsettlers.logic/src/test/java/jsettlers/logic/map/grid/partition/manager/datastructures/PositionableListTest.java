@@ -0,0 +1,245 @@
+/*******************************************************************************
+ * Copyright (c) 2015
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.grid.partition.manager.datastructures;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import org.junit.Test;
+
+import jsettlers.common.position.ShortPoint2D;
+import jsettlers.common.utils.MathUtils;
+
+public class PositionableListTest {
+	private static final int AREA = 200;
+
+	@Test
+	public void testSameResultsAsLinearSearch() {
+		Random random = new Random(1);
+		PredicatedPositionableList<TestLocatable> list = new PredicatedPositionableList<>();
+		PredicatedPositionableList<TestLocatable> otherList = new PredicatedPositionableList<>();
+		LinkedList<TestLocatable> expected = new LinkedList<>();
+		LinkedList<TestLocatable> otherExpected = new LinkedList<>();
+		List<TestLocatable> all = new ArrayList<>();
+
+		for (int step = 0; step < 20000; step++) {
+			ShortPoint2D position = randomPosition(random);
+			Predicate<TestLocatable> predicate = random.nextBoolean() ? null : locatable -> locatable.id % 3 != 0;
+
+			switch (random.nextInt(10)) {
+			case 0:
+			case 1:
+			case 2: {
+				TestLocatable locatable = new TestLocatable(all.size(), randomPosition(random));
+				all.add(locatable);
+				list.insert(locatable);
+				expected.add(locatable);
+				break;
+			}
+			case 3: {
+				TestLocatable result = list.removeObjectNextTo(position, predicate);
+				TestLocatable expectedResult = getClosest(expected, position, predicate);
+				expected.remove(expectedResult);
+				assertSame("step " + step, expectedResult, result);
+				break;
+			}
+			case 4: {
+				assertSame("step " + step, getAt(expected, position), list.removeObjectAt(position));
+				expected.remove(getAt(expected, position));
+				break;
+			}
+			case 5:
+			case 6: {
+				if (!expected.isEmpty()) {
+					TestLocatable moving = expected.get(random.nextInt(expected.size()));
+					moving.setPosition(random.nextInt(4) == 0 ? randomPosition(random) : neighbor(moving.getPosition(), random));
+				}
+				break;
+			}
+			case 7: {
+				TestLocatable anyExisting = expected.isEmpty() ? null : expected.get(random.nextInt(expected.size()));
+				if (anyExisting != null) {
+					list.moveObjectsAtPositionTo(anyExisting.getPosition(), otherList, moved -> {});
+					moveAt(expected, anyExisting.getPosition(), otherExpected);
+				}
+				break;
+			}
+			case 8: {
+				if (random.nextInt(20) == 0) {
+					otherList.moveAll(list);
+					otherExpected.addAll(expected);
+					expected.clear();
+
+					PredicatedPositionableList<TestLocatable> swap = list;
+					list = otherList;
+					otherList = swap;
+					LinkedList<TestLocatable> swapExpected = expected;
+					expected = otherExpected;
+					otherExpected = swapExpected;
+				}
+				break;
+			}
+			default:
+				assertSame("step " + step, getAt(expected, position), list.getObjectAt(position));
+				assertSame("step " + step, expected.peekFirst(), list.getAnyObject());
+				break;
+			}
+
+			assertEquals("step " + step, expected.size(), list.size());
+		}
+	}
+
+	@Test
+	public void testSerializationKeepsOrder() throws IOException, ClassNotFoundException {
+		PositionableList<TestLocatable> list = new PositionableList<>();
+		for (int i = 0; i < 100; i++) {
+			list.insert(new TestLocatable(i, new ShortPoint2D(i % 10, 5)));
+		}
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+			oos.writeObject(list);
+		}
+		@SuppressWarnings("unchecked")
+		PositionableList<TestLocatable> readList = (PositionableList<TestLocatable>) new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject();
+
+		assertEquals(list.toString(), readList.toString());
+		assertEquals(3, readList.removeObjectNextTo(new ShortPoint2D(3, 5)).id);
+		assertEquals(13, readList.removeObjectNextTo(new ShortPoint2D(3, 5)).id);
+
+		readList.insert(new TestLocatable(100, new ShortPoint2D(3, 5)));
+		assertEquals(23, readList.removeObjectNextTo(new ShortPoint2D(3, 5)).id);
+	}
+
+	@Test
+	public void testRemovedObjectIsNoLongerObserved() {
+		PositionableList<TestLocatable> list = new PositionableList<>();
+		List<TestLocatable> locatables = new ArrayList<>();
+		for (int i = 0; i < 2 * PositionableList.MIN_INDEXED_SIZE; i++) {
+			TestLocatable locatable = new TestLocatable(i, new ShortPoint2D(i, i));
+			locatables.add(locatable);
+			list.insert(locatable);
+		}
+
+		TestLocatable removed = locatables.get(0);
+		list.remove(removed);
+		assertNull(removed.getPositionChangedListener());
+
+		for (Iterator<TestLocatable> iterator = list.iterator(); iterator.hasNext();) {
+			iterator.next();
+			iterator.remove();
+		}
+		assertNull(locatables.get(1).getPositionChangedListener());
+		assertNull(list.getAnyObject());
+	}
+
+	private static TestLocatable getClosest(List<TestLocatable> list, ShortPoint2D position, Predicate<TestLocatable> predicate) {
+		int bestDistance = Integer.MAX_VALUE;
+		TestLocatable best = null;
+		for (TestLocatable locatable : list) {
+			if (predicate == null || predicate.test(locatable)) {
+				int distance = MathUtils.squareHypot(position, locatable.getPosition());
+				if (distance < bestDistance) {
+					bestDistance = distance;
+					best = locatable;
+				}
+			}
+		}
+		return best;
+	}
+
+	private static TestLocatable getAt(List<TestLocatable> list, ShortPoint2D position) {
+		for (TestLocatable locatable : list) {
+			if (locatable.getPosition().equals(position)) {
+				return locatable;
+			}
+		}
+		return null;
+	}
+
+	private static void moveAt(List<TestLocatable> list, ShortPoint2D position, List<TestLocatable> target) {
+		for (Iterator<TestLocatable> iterator = list.iterator(); iterator.hasNext();) {
+			TestLocatable locatable = iterator.next();
+			if (locatable.getPosition().equals(position)) {
+				iterator.remove();
+				target.add(locatable);
+			}
+		}
+	}
+
+	private static ShortPoint2D randomPosition(Random random) {
+		return new ShortPoint2D(random.nextInt(AREA), random.nextInt(AREA));
+	}
+
+	private static ShortPoint2D neighbor(ShortPoint2D position, Random random) {
+		int x = Math.max(0, Math.min(AREA - 1, position.x + random.nextInt(3) - 1));
+		int y = Math.max(0, Math.min(AREA - 1, position.y + random.nextInt(3) - 1));
+		return new ShortPoint2D(x, y);
+	}
+
+	private static class TestLocatable implements IPositionObservable, Serializable {
+		private static final long serialVersionUID = 1L;
+
+		private final int id;
+		private ShortPoint2D position;
+		private transient IPositionChangedListener listener;
+
+		TestLocatable(int id, ShortPoint2D position) {
+			this.id = id;
+			this.position = position;
+		}
+
+		void setPosition(ShortPoint2D position) {
+			this.position = position;
+			if (listener != null) {
+				listener.positionChanged(this, position);
+			}
+		}
+
+		@Override
+		public ShortPoint2D getPosition() {
+			return position;
+		}
+
+		@Override
+		public void setPositionChangedListener(IPositionChangedListener listener) {
+			this.listener = listener;
+		}
+
+		@Override
+		public IPositionChangedListener getPositionChangedListener() {
+			return listener;
+		}
+
+		@Override
+		public String toString() {
+			return "TestLocatable" + id;
+		}
+	}
+}
@@ -65,7 +65,12 @@ public class JoblessSupplierMock implements IJoblessSupplier {
 			}
 		}
 
+		jobless.remove(closest);
 		return closest;
 	}
 
+	public int size() {
+		return jobless.size();
+	}
+
 }
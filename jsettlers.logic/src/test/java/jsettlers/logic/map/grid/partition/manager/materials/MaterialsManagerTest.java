@@ -14,16 +14,21 @@
  *******************************************************************************/
 package jsettlers.logic.map.grid.partition.manager.materials;
 
+import jsettlers.common.buildings.EBuildingType;
 import jsettlers.common.material.EMaterialType;
 import jsettlers.common.player.ECivilisation;
 import jsettlers.common.player.IPlayer;
 import jsettlers.common.position.ShortPoint2D;
+import jsettlers.logic.constants.Constants;
 import jsettlers.logic.map.grid.partition.manager.materials.offers.EOfferPriority;
 import jsettlers.logic.map.grid.partition.manager.materials.offers.OffersList;
+import jsettlers.logic.map.grid.partition.manager.materials.requests.MaterialRequestObject;
 import jsettlers.logic.map.grid.partition.manager.settings.PartitionManagerSettings;
 import jsettlers.testutils.TestUtils;
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
+
 import java.io.IOException;
 
 /**
@@ -50,8 +55,106 @@ public class MaterialsManagerTest {
 		TestUtils.serializeAndDeserialize(manager);
 	}
 
+	@Test
+	public void testOneDeliveryPerMaterialWithoutBatching() {
+		setUpPlanksAndStones();
+
+		manager.distributeJobs();
+
+		assertEquals(8, joblessSupplier.size());
+	}
+
+	@Test
+	public void testBatchedDistributionAssignsAllPossibleDeliveries() {
+		setUpPlanksAndStones();
+
+		Constants.BATCHED_MATERIAL_DISTRIBUTION = true;
+		try {
+			manager.distributeJobs();
+		} finally {
+			Constants.BATCHED_MATERIAL_DISTRIBUTION = false;
+		}
+
+		assertEquals(3, joblessSupplier.size()); // 4 planks and 3 stones (only 3 are offered)
+	}
+
+	@Test
+	public void testBatchedDistributionKeepsBudget() {
+		setUpPlanksAndStones();
+
+		int oldBudget = Constants.MATERIAL_DISTRIBUTION_BUDGET;
+		Constants.BATCHED_MATERIAL_DISTRIBUTION = true;
+		Constants.MATERIAL_DISTRIBUTION_BUDGET = 5;
+		try {
+			manager.distributeJobs();
+		} finally {
+			Constants.BATCHED_MATERIAL_DISTRIBUTION = false;
+			Constants.MATERIAL_DISTRIBUTION_BUDGET = oldBudget;
+		}
+
+		assertEquals(5, joblessSupplier.size());
+	}
+
+	private void setUpPlanksAndStones() {
+		for (int i = 0; i < 5; i++) {
+			offersList.addOffer(pos(20, 20), EMaterialType.PLANK, EOfferPriority.OFFER_TO_ALL);
+		}
+		for (int i = 0; i < 3; i++) {
+			offersList.addOffer(pos(25, 20), EMaterialType.STONE, EOfferPriority.OFFER_TO_ALL);
+		}
+
+		manager.addRequestObject(EMaterialType.PLANK, new TestMaterialRequest(pos(30, 30), 4));
+		manager.addRequestObject(EMaterialType.STONE, new TestMaterialRequest(pos(30, 30), 4));
+
+		for (int i = 0; i < 10; i++) {
+			joblessSupplier.addJoblessAt(pos(10 + i, 10));
+		}
+	}
+
 	private ShortPoint2D pos(int x, int y) {
 		return new ShortPoint2D(x, y);
 	}
 
+	private static class TestMaterialRequest extends MaterialRequestObject {
+		private static final long serialVersionUID = 1L;
+
+		private final ShortPoint2D position;
+		private short stillRequired;
+
+		TestMaterialRequest(ShortPoint2D position, int stillRequired) {
+			this.position = position;
+			this.stillRequired = (short) stillRequired;
+		}
+
+		@Override
+		protected short getStillNeeded() {
+			return (short) (stillRequired - getInDelivery());
+		}
+
+		@Override
+		protected int getInDeliveryable() {
+			return Constants.STACK_SIZE;
+		}
+
+		@Override
+		public ShortPoint2D getPosition() {
+			return position;
+		}
+
+		@Override
+		protected void materialDelivered() {
+			stillRequired--;
+		}
+
+		@Override
+		protected boolean isRoundRobinRequest() {
+			return false;
+		}
+
+		@Override
+		protected EBuildingType getBuildingType() {
+			return null;
+		}
+	}
+
 }
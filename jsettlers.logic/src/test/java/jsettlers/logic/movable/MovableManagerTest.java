@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright (c) 2015
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.movable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import jsettlers.logic.movable.interfaces.ILogicMovable;
+
+public class MovableManagerTest {
+
+	@Before
+	@After
+	public void resetState() {
+		MovableManager.resetState();
+	}
+
+	@Test
+	public void testStaticStateCanBeReadAgain() throws IOException, ClassNotFoundException {
+		List<ILogicMovable> movables = Arrays.asList(createMovable(Integer.MIN_VALUE + 2), createMovable(Integer.MIN_VALUE), createMovable(
+				Integer.MIN_VALUE + 5));
+		movables.forEach(MovableManager.current().movables::add);
+		MovableManager.current().nextID = Integer.MIN_VALUE + 6;
+
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		try (ObjectOutputStream oos = new ObjectOutputStream(buffer)) {
+			MovableManager.writeStaticState(oos);
+		}
+		MovableManager.resetState();
+
+		readStaticState(buffer.toByteArray());
+		assertStateRead(Integer.MIN_VALUE + 6, 2, 0, 5);
+	}
+
+	@Test
+	public void testStaticStateOfOldSavegamesCanBeRead() throws IOException, ClassNotFoundException {
+		ConcurrentLinkedQueue<ILogicMovable> allMovables = new ConcurrentLinkedQueue<>();
+		TreeMap<Integer, ILogicMovable> movablesById = new TreeMap<>();
+		for (int idOffset : new int[] { 3, 1, 4 }) {
+			ILogicMovable movable = createMovable(Integer.MIN_VALUE + idOffset);
+			allMovables.add(movable);
+			movablesById.put(movable.getID(), movable);
+		}
+
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		try (ObjectOutputStream oos = new ObjectOutputStream(buffer)) {
+			oos.writeInt(Integer.MIN_VALUE + 5);
+			oos.writeUnshared(allMovables);
+			oos.writeUnshared(movablesById);
+		}
+
+		readStaticState(buffer.toByteArray());
+		assertStateRead(Integer.MIN_VALUE + 5, 3, 1, 4);
+	}
+
+	private static void readStaticState(byte[] data) throws IOException, ClassNotFoundException {
+		try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(data))) {
+			MovableManager.readStaticState(ois);
+		}
+	}
+
+	private static void assertStateRead(int expectedNextId, int... expectedIdOffsets) {
+		assertEquals(expectedNextId, MovableManager.current().nextID);
+
+		List<ILogicMovable> movables = MovableManager.getAllMovables();
+		assertEquals(expectedIdOffsets.length, movables.size());
+		for (int i = 0; i < expectedIdOffsets.length; i++) {
+			ILogicMovable movable = movables.get(i);
+			assertEquals(Integer.MIN_VALUE + expectedIdOffsets[i], movable.getID());
+			assertSame(movable, MovableManager.getMovableByID(movable.getID()));
+		}
+	}
+
+	private static ILogicMovable createMovable(int id) {
+		InvocationHandler handler = (InvocationHandler & Serializable) (proxy, method, args) -> {
+			switch (method.getName()) {
+			case "getID":
+				return id;
+			case "equals":
+				return proxy == args[0];
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			default:
+				throw new UnsupportedOperationException(method.getName());
+			}
+		};
+		return (ILogicMovable) Proxy.newProxyInstance(ILogicMovable.class.getClassLoader(), new Class<?>[] { ILogicMovable.class }, handler);
+	}
+}
@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright (c) 2015
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.movable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import jsettlers.logic.movable.interfaces.ILogicMovable;
+
+public class MovableRegistryTest {
+	private final MovableRegistry registry = new MovableRegistry();
+
+	@Test
+	public void testAddRemoveAndGet() {
+		ILogicMovable first = createMovable(Integer.MIN_VALUE);
+		ILogicMovable second = createMovable(Integer.MIN_VALUE + 1);
+		registry.add(first);
+		registry.add(second);
+
+		assertSame(first, registry.get(Integer.MIN_VALUE));
+		assertSame(second, registry.get(Integer.MIN_VALUE + 1));
+		assertNull(registry.get(Integer.MIN_VALUE + 2));
+
+		registry.remove(first);
+		assertNull(registry.get(Integer.MIN_VALUE));
+		assertEquals(Arrays.asList(second), registry.snapshot());
+	}
+
+	@Test
+	public void testSnapshotKeepsOrderOfAdding() {
+		Random random = new Random(1);
+		List<ILogicMovable> expected = new ArrayList<>();
+		int nextId = Integer.MIN_VALUE;
+
+		for (int i = 0; i < 10000; i++) {
+			if (expected.isEmpty() || random.nextInt(3) > 0) {
+				ILogicMovable movable = createMovable(nextId++);
+				registry.add(movable);
+				expected.add(movable);
+			} else {
+				ILogicMovable movable = expected.remove(random.nextInt(expected.size()));
+				registry.remove(movable);
+			}
+		}
+
+		assertEquals(expected, registry.snapshot());
+		assertEquals(expected.size(), registry.size());
+		for (ILogicMovable movable : expected) {
+			assertSame(movable, registry.get(movable.getID()));
+		}
+	}
+
+	@Test
+	public void testSnapshotIsNotChangedByLaterChanges() {
+		ILogicMovable first = createMovable(Integer.MIN_VALUE);
+		registry.add(first);
+		List<ILogicMovable> snapshot = registry.snapshot();
+
+		registry.remove(first);
+		registry.add(createMovable(Integer.MIN_VALUE + 1));
+
+		assertEquals(Arrays.asList(first), snapshot);
+	}
+
+	@Test
+	public void testReplacingMovableKeepsId() {
+		ILogicMovable original = createMovable(Integer.MIN_VALUE);
+		ILogicMovable other = createMovable(Integer.MIN_VALUE + 1);
+		ILogicMovable replacement = createMovable(Integer.MIN_VALUE);
+		registry.add(original);
+		registry.add(other);
+
+		registry.remove(original);
+		registry.add(replacement);
+
+		assertSame(replacement, registry.get(Integer.MIN_VALUE));
+		assertEquals(Arrays.asList(other, replacement), registry.snapshot());
+	}
+
+	private static ILogicMovable createMovable(int id) {
+		return (ILogicMovable) Proxy.newProxyInstance(ILogicMovable.class.getClassLoader(), new Class<?>[] { ILogicMovable.class },
+				(proxy, method, args) -> {
+					switch (method.getName()) {
+					case "getID":
+						return id;
+					case "equals":
+						return proxy == args[0];
+					case "hashCode":
+						return System.identityHashCode(proxy);
+					case "toString":
+						return "movable " + id;
+					default:
+						throw new UnsupportedOperationException(method.getName());
+					}
+				});
+	}
+}
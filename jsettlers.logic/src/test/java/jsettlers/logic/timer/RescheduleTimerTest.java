@@ -0,0 +1,190 @@
+/*******************************************************************************
+ * Copyright (c) 2015
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.timer;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import jsettlers.logic.map.loading.MapLoadException;
+
+/**
+ * Test for the class {@link RescheduleTimer}.
+ */
+public class RescheduleTimerTest {
+	private static final int TIME_SLICE = 25;
+	private static final List<String> firings = new ArrayList<>();
+
+	private static int tick;
+
+	@Before
+	public void setUp() throws InterruptedException {
+		RescheduleTimer.stopAndClear();
+		firings.clear();
+		tick = 0;
+	}
+
+	@Test
+	public void testFiringOrderMatchesFlatRing() {
+		Random random = new Random(42);
+		List<String> expected = new ArrayList<>();
+		List<List<String>> flatRing = new ArrayList<>();
+		for (int i = 0; i < 2000; i++) {
+			flatRing.add(new ArrayList<>());
+		}
+
+		for (int i = 0; i < 500; i++) {
+			int delay = 1 + random.nextInt(31000);
+			TestTimerable timerable = new TestTimerable(i, -1);
+			RescheduleTimer.add(timerable, delay);
+			flatRing.get(Math.max(1, delay / TIME_SLICE)).add(timerable.toString());
+		}
+
+		for (int slot = 0; slot < flatRing.size(); slot++) {
+			for (String id : flatRing.get(slot)) {
+				expected.add(slot + ":" + id);
+			}
+		}
+
+		runTicks(flatRing.size());
+		assertEquals(expected, firings);
+	}
+
+	@Test
+	public void testLongDelays() {
+		RescheduleTimer.add(new TestTimerable(0, -1), 10 * 60 * 1000);
+		RescheduleTimer.add(new TestTimerable(1, -1), 3 * 60 * 60 * 1000);
+		RescheduleTimer.add(new TestTimerable(2, -1), 40 * 1000);
+
+		runTicks(3 * 60 * 60 * 1000 / TIME_SLICE + 1);
+
+		assertEquals(List.of("1600:2", "24000:0", "432000:1"), firings);
+	}
+
+	@Test
+	public void testRescheduling() {
+		RescheduleTimer.add(new TestTimerable(0, 50), 50);
+		RescheduleTimer.add(new TestTimerable(1, 60 * 1000), 25);
+
+		runTicks(7);
+
+		assertEquals(List.of("1:1", "2:0", "4:0", "6:0"), firings);
+	}
+
+	@Test
+	public void testRemove() {
+		TestTimerable removed = new TestTimerable(0, 100);
+		int handle = RescheduleTimer.add(removed, 100);
+		RescheduleTimer.add(new TestTimerable(1, -1), 100);
+
+		runTicks(2);
+		RescheduleTimer.remove(removed, handle);
+		RescheduleTimer.remove(removed, handle); // stale handles are ignored
+		runTicks(20);
+
+		assertEquals(List.of("4:1"), firings);
+	}
+
+	@Test
+	public void testRemoveWhileFiring() {
+		TestTimerable timerable = new TestTimerable(0, 100);
+		timerable.handle = RescheduleTimer.add(timerable, 100);
+		timerable.removeOnFiring = true;
+
+		runTicks(20);
+
+		assertEquals(List.of("4:0"), firings);
+	}
+
+	@Test
+	public void testSerialization() throws IOException, MapLoadException {
+		for (int i = 0; i < 100; i++) {
+			RescheduleTimer.add(new TestTimerable(i, 1000 + i * 600), 100 + i * 1300);
+		}
+		runTicks(1000);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ObjectOutputStream oos = new ObjectOutputStream(out);
+		RescheduleTimer.saveTo(oos);
+		oos.close();
+
+		runTicks(5000);
+		List<String> expected = new ArrayList<>(firings);
+
+		firings.subList(countBefore(expected, 1000), firings.size()).clear();
+		tick = 1000;
+		RescheduleTimer.loadFrom(new ObjectInputStream(new ByteArrayInputStream(out.toByteArray())));
+		runTicks(5000);
+
+		assertEquals(expected, firings);
+	}
+
+	private static int countBefore(List<String> firings, int tick) {
+		int count = 0;
+		while (count < firings.size() && Integer.parseInt(firings.get(count).split(":")[0]) < tick) {
+			count++;
+		}
+		return count;
+	}
+
+	private void runTicks(int ticks) {
+		for (int i = 0; i < ticks; i++) {
+			RescheduleTimer.get().timerEvent();
+			tick++;
+		}
+	}
+
+	private static class TestTimerable implements IScheduledTimerable {
+		private static final long serialVersionUID = 1L;
+
+		private final int id;
+		private final int delay;
+		private int handle;
+		private boolean removeOnFiring;
+
+		TestTimerable(int id, int delay) {
+			this.id = id;
+			this.delay = delay;
+		}
+
+		@Override
+		public int timerEvent() {
+			firings.add(tick + ":" + id);
+			if (removeOnFiring) {
+				RescheduleTimer.remove(this, handle);
+			}
+			return delay;
+		}
+
+		@Override
+		public void kill() {
+		}
+
+		@Override
+		public String toString() {
+			return String.valueOf(id);
+		}
+	}
+}
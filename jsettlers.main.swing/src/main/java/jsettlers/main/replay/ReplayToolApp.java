@@ -20,10 +20,12 @@ import jsettlers.logic.map.loading.MapLoadException;
 import jsettlers.main.swing.resources.SwingResourceLoader;
 import jsettlers.main.swing.resources.SwingResourceProvider;
 import jsettlers.main.swing.settings.SettingsManager;
+import jsettlers.network.NetworkConstants;
 
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.Optional;
 
 /**
  * @author Andreas Eberle
@@ -45,7 +47,24 @@ public class ReplayToolApp {
 			throw new FileNotFoundException("Found replayFile parameter, but file can not be found: " + replayFile);
 		}
 
-		ReplayUtils.replayAndCreateSavegame(new ReplayUtils.ReplayFile(replayFile), targetGameTimeMinutes, "replayForSavegame.log");
+		Optional<String> compareReplayFileString = SettingsManager.getInstance().getCompareReplayFile();
+		if (compareReplayFileString.isPresent()) {
+			File compareReplayFile = new File(compareReplayFileString.get());
+			if (!compareReplayFile.exists()) {
+				throw new FileNotFoundException("Found compareReplayFile parameter, but file can not be found: " + compareReplayFile);
+			}
+
+			int lastLockstep = targetGameTimeMinutes * 60 * 1000 / NetworkConstants.Client.LOCKSTEP_PERIOD;
+			int divergingLockstep = ReplayUtils.findFirstDivergingLockstep(new ReplayUtils.ReplayFile(replayFile), new ReplayUtils.ReplayFile(compareReplayFile), 0,
+					lastLockstep);
+			if (divergingLockstep < 0) {
+				System.out.println("The replays don't diverge until lockstep " + lastLockstep);
+			} else {
+				System.out.println("The replays diverge in lockstep " + divergingLockstep);
+			}
+		} else {
+			ReplayUtils.replayAndCreateSavegame(new ReplayUtils.ReplayFile(replayFile), targetGameTimeMinutes, "replayForSavegame.log");
+		}
 
 		Thread.sleep(2000L);
 		System.exit(0);
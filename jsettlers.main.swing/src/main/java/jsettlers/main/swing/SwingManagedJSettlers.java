@@ -80,6 +80,7 @@ public class SwingManagedJSettlers {
 		CommonConstants.ACTIVATE_ALL_PLAYERS = SettingsManager.getInstance().isActivateAllPlayers();
 		CommonConstants.ENABLE_CONSOLE_LOGGING = SettingsManager.getInstance().useConsoleOutput();
 		CommonConstants.DISABLE_ORIGINAL_MAPS = SettingsManager.getInstance().areOriginalMapsDisabled();
+		CommonConstants.MAP_DRAW_THREADS = SettingsManager.getInstance().getMapDrawThreads();
 		AbstractLabels.setPreferredLocale(SettingsManager.getInstance().getLocale());
 	}
 
@@ -61,9 +61,11 @@ public class SettingsManager implements ISoundSettingsProvider {
 	private static final String SETTING_ACTIVATE_ALL_PLAYERS = "activate-all-players";
 	private static final String SETTING_ENABLE_CONSOLE_LOGGING = "console-output";
 	private static final String SETTING_DISABLE_ORIGINAL_MAPS = "disable-original-maps";
+	private static final String SETTING_MAP_DRAW_THREADS = "map-draw-threads";
 	private static final String SETTING_MAPFILE = "map-file";
 	private static final String SETTING_RANDOM = "random";
 	private static final String SETTING_REPLAY_FILE = "replay-file";
+	private static final String SETTING_COMPARE_REPLAY_FILE = "compare-replay-file";
 	private static final String SETTING_TARGET_TIME = "target-time";
 	private static final String SETTING_MAPS = "maps";
 
@@ -282,6 +284,10 @@ public class SettingsManager implements ISoundSettingsProvider {
 		}).orElse(Locale.getDefault());
 	}
 
+	public int getMapDrawThreads() {
+		return getAsOptional(SETTING_MAP_DRAW_THREADS).map(Integer::valueOf).orElse(1);
+	}
+
 	public String getMapFile() {
 		return get(SETTING_MAPFILE);
 	}
@@ -294,6 +300,10 @@ public class SettingsManager implements ISoundSettingsProvider {
 		return getAsOptional(SETTING_REPLAY_FILE);
 	}
 
+	public Optional<String> getCompareReplayFile() {
+		return getAsOptional(SETTING_COMPARE_REPLAY_FILE);
+	}
+
 	public Optional<Integer> getTargetTimeMinutes() {
 		return getAsOptional(SETTING_TARGET_TIME).map(Integer::valueOf);
 	}
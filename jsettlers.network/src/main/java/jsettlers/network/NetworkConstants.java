@@ -90,6 +90,14 @@ public final class NetworkConstants {
 		 * The number of steps the server can run ahead of the clients.
 		 */
 		public static int LOCKSTEP_DEFAULT_LEAD_STEPS = 3;
+		/**
+		 * The number of locksteps between two reports of the state hash to the server.
+		 */
+		public static int STATE_HASH_REPORT_INTERVAL = 10;
+		/**
+		 * The number of locksteps the server keeps the state hash of a lockstep while waiting for the reports of the other players.
+		 */
+		public static int STATE_HASH_MAX_PENDING_LOCKSTEPS = 600;
 	}
 
 	/**
@@ -171,6 +179,8 @@ public final class NetworkConstants {
 		CHANGE_PLAYER_TYPE,
 		CHANGE_POSITION,
 		CHANGE_PLAYER_COUNT,
+
+		STATE_HASH,
 		;
 
 		private static final ENetworkKey[] values = ENetworkKey.values();
@@ -267,6 +267,7 @@ public class NetworkClient implements ITaskScheduler, INetworkConnector, INetwor
 		channel.removeListener(NetworkConstants.ENetworkKey.MATCH_STARTED);
 
 		startTimeSynchronization(clock);
+		clock.setStateHashListener(new StateHashSender(channel), NetworkConstants.Client.STATE_HASH_REPORT_INTERVAL);
 		channel.initPinging();
 	}
 
@@ -0,0 +1,37 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.network.client;
+
+import jsettlers.network.NetworkConstants;
+import jsettlers.network.common.packets.StateHashPacket;
+import jsettlers.network.infrastructure.channel.AsyncChannel;
+import jsettlers.network.synchronic.timer.IStateHashListener;
+
+/**
+ * Sends the state hashes computed by the game clock to the server so that it can detect diverging clients.
+ */
+public class StateHashSender implements IStateHashListener {
+
+	private final AsyncChannel channel;
+
+	public StateHashSender(AsyncChannel channel) {
+		this.channel = channel;
+	}
+
+	@Override
+	public void stateHashComputed(int lockstep, long stateHash) {
+		channel.sendPacketAsync(NetworkConstants.ENetworkKey.STATE_HASH, new StateHashPacket(lockstep, stateHash));
+	}
+}
@@ -17,8 +17,10 @@ package jsettlers.network.client.interfaces;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.util.function.LongSupplier;
 
 import jsettlers.network.synchronic.timer.INetworkTimerable;
+import jsettlers.network.synchronic.timer.IStateHashListener;
 import jsettlers.network.synchronic.timer.ITaskExecutor;
 
 /**
@@ -79,4 +81,23 @@ public interface IGameClock extends IPausingSupplier {
 	 */
 	void fastForwardTo(int targetGameTime);
 
+	/**
+	 * Sets the supplier of the hash of the game state. It's called in the game thread at the end of the locksteps the state hash listener asked
+	 * for.
+	 * 
+	 * @param stateHashSupplier
+	 *            The supplier or <code>null</code> to disable the computation of the state hash.
+	 */
+	void setStateHashSupplier(LongSupplier stateHashSupplier);
+
+	/**
+	 * Sets the listener that's informed about the state hash at the end of every lockstep that's a multiple of the given interval.
+	 * 
+	 * @param stateHashListener
+	 *            The listener or <code>null</code> to remove the current one.
+	 * @param lockstepInterval
+	 *            The number of locksteps between two computations of the state hash.
+	 */
+	void setStateHashListener(IStateHashListener stateHashListener, int lockstepInterval);
+
 }
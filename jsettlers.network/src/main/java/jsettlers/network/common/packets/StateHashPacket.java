@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.network.common.packets;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import jsettlers.network.infrastructure.channel.packet.Packet;
+
+/**
+ * Reports the hash of the game state a client computed at the end of a lockstep.
+ */
+public class StateHashPacket extends Packet {
+
+	private int lockstep;
+	private long stateHash;
+
+	public StateHashPacket() {
+	}
+
+	public StateHashPacket(int lockstep, long stateHash) {
+		this.lockstep = lockstep;
+		this.stateHash = stateHash;
+	}
+
+	@Override
+	public void serialize(DataOutputStream dos) throws IOException {
+		dos.writeInt(lockstep);
+		dos.writeLong(stateHash);
+	}
+
+	@Override
+	public void deserialize(DataInputStream dis) throws IOException {
+		lockstep = dis.readInt();
+		stateHash = dis.readLong();
+	}
+
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + lockstep;
+		result = prime * result + Long.hashCode(stateHash);
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		StateHashPacket other = (StateHashPacket) obj;
+		return lockstep == other.lockstep && stateHash == other.stateHash;
+	}
+
+	public int getLockstep() {
+		return lockstep;
+	}
+
+	public long getStateHash() {
+		return stateHash;
+	}
+
+	@Override
+	public String toString() {
+		return "StateHashPacket [lockstep=" + lockstep + ", stateHash=" + Long.toHexString(stateHash) + "]";
+	}
+}
@@ -16,6 +16,7 @@ package jsettlers.network.server;
 
 import jsettlers.network.common.packets.ChatMessagePacket;
 import jsettlers.network.common.packets.OpenNewMatchPacket;
+import jsettlers.network.common.packets.StateHashPacket;
 import jsettlers.network.common.packets.TimeSyncPacket;
 import jsettlers.network.server.match.Player;
 
@@ -55,6 +56,15 @@ public interface IServerManager {
 	 */
 	void distributeTimeSync(Player player, TimeSyncPacket packet);
 
+	/**
+	 * Compares the given {@link StateHashPacket} with the state hashes the other players in the {@link Player}s match reported.
+	 * 
+	 * @param player
+	 *            The player that sent the {@link StateHashPacket}.
+	 * @param packet
+	 */
+	void reportStateHash(Player player, StateHashPacket packet);
+
 	void joinMatch(String matchId, Player player);
 
 	void setReadyStateForPlayer(Player player, boolean ready);
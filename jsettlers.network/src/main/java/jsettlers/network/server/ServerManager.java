@@ -19,6 +19,7 @@ import java.util.Timer;
 import jsettlers.network.NetworkConstants;
 import jsettlers.network.common.packets.ChatMessagePacket;
 import jsettlers.network.common.packets.OpenNewMatchPacket;
+import jsettlers.network.common.packets.StateHashPacket;
 import jsettlers.network.common.packets.TimeSyncPacket;
 import jsettlers.network.infrastructure.channel.Channel;
 import jsettlers.network.infrastructure.channel.reject.RejectPacket;
@@ -34,6 +35,7 @@ import jsettlers.network.server.listeners.IdentifyUserListener;
 import jsettlers.network.server.listeners.ReadyStatePacketListener;
 import jsettlers.network.server.listeners.ServerChannelClosedListener;
 import jsettlers.network.server.listeners.StartFinishedSignalListener;
+import jsettlers.network.server.listeners.StateHashListener;
 import jsettlers.network.server.listeners.TimeSyncForwardingListener;
 import jsettlers.network.server.listeners.matches.JoinMatchListener;
 import jsettlers.network.server.listeners.matches.LeaveMatchListener;
@@ -90,6 +92,7 @@ public class ServerManager implements IServerManager {
 			channel.registerListener(new JoinMatchListener(this, player));
 			channel.registerListener(new ChatMessageForwardingListener(this, player));
 			channel.registerListener(new TimeSyncForwardingListener(this, player));
+			channel.registerListener(new StateHashListener(this, player));
 			channel.registerListener(new ReadyStatePacketListener(this, player));
 			channel.registerListener(new StartFinishedSignalListener(this, player));
 			channel.registerListener(new ChangeCivilisationPacketListener(this, player));
@@ -172,6 +175,15 @@ public class ServerManager implements IServerManager {
 		}
 	}
 
+	@Override
+	public void reportStateHash(Player player, StateHashPacket packet) {
+		try {
+			player.reportStateHash(packet);
+		} catch (IllegalStateException e) {
+			e.printStackTrace();
+		}
+	}
+
 	@Override
 	public void joinMatch(String matchId, Player player) {
 		Match match = database.getMatchById(matchId);
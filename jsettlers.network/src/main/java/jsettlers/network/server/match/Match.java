@@ -28,11 +28,13 @@ import jsettlers.network.common.packets.MatchInfoUpdatePacket;
 import jsettlers.network.common.packets.MatchStartPacket;
 import jsettlers.network.common.packets.PlayerInfoPacket;
 import jsettlers.network.common.packets.SlotInfoPacket;
+import jsettlers.network.common.packets.StateHashPacket;
 import jsettlers.network.common.packets.TimeSyncPacket;
 import jsettlers.network.infrastructure.channel.packet.Packet;
 import jsettlers.network.infrastructure.log.Logger;
 import jsettlers.network.infrastructure.log.LoggerManager;
 import jsettlers.network.server.exceptions.NotAllPlayersReadyException;
+import jsettlers.network.server.match.lockstep.StateHashComparator;
 import jsettlers.network.server.match.lockstep.TaskCollectingListener;
 import jsettlers.network.server.match.lockstep.TaskSendingTimerTask;
 
@@ -58,6 +60,7 @@ public class Match {
 	private EMatchState state = EMatchState.OPENED;
 	private TaskCollectingListener taskCollectingListener;
 	private TaskSendingTimerTask taskSendingTimerTask;
+	private StateHashComparator stateHashComparator;
 	private int currPlayers;
 
 	public Match(String name, int maxPlayers, MapInfoPacket map, Player host, long randomSeed) {
@@ -243,6 +246,7 @@ public class Match {
 
 		this.taskCollectingListener = new TaskCollectingListener();
 		this.taskSendingTimerTask = new TaskSendingTimerTask(logger, taskCollectingListener, this);
+		this.stateHashComparator = new StateHashComparator(logger);
 		timer.schedule(taskSendingTimerTask, NetworkConstants.Client.LOCKSTEP_PERIOD, NetworkConstants.Client.LOCKSTEP_PERIOD / 2 - 2);
 
 		synchronized (players) {
@@ -267,6 +271,21 @@ public class Match {
 		taskSendingTimerTask.receivedLockstepAcknowledge(packet.getTime() / NetworkConstants.Client.LOCKSTEP_PERIOD);
 	}
 
+	public void compareStateHash(Player player, StateHashPacket packet) {
+		int numberOfPlayers;
+		synchronized (players) {
+			numberOfPlayers = players.size();
+		}
+		stateHashComparator.stateHashReceived(player.getId(), packet.getLockstep(), packet.getStateHash(), numberOfPlayers);
+	}
+
+	/**
+	 * @return the first lockstep for which the players reported different state hashes or -1 if no desync has been detected.
+	 */
+	public int getFirstDesyncedLockstep() {
+		return stateHashComparator != null ? stateHashComparator.getFirstDesyncedLockstep() : -1;
+	}
+
 	public Logger getMatchLogger() {
 		return logger;
 	}
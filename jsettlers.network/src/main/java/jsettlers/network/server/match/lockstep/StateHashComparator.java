@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.network.server.match.lockstep;
+
+import java.util.TreeMap;
+
+import jsettlers.network.NetworkConstants;
+import jsettlers.network.infrastructure.log.Logger;
+
+/**
+ * Compares the state hashes the players of a match report for the same lockstep. The first lockstep for which two players report different hashes
+ * is logged and remembered, the later ones are not logged again.
+ */
+public class StateHashComparator {
+	private final Logger logger;
+	private final TreeMap<Integer, ReportedStateHash> pendingHashes = new TreeMap<>();
+
+	private int firstDesyncedLockstep = -1;
+
+	public StateHashComparator(Logger logger) {
+		this.logger = logger;
+	}
+
+	/**
+	 * Compares the given state hash with the one the other players reported for the same lockstep.
+	 *
+	 * @param playerId
+	 *            The id of the reporting player.
+	 * @param lockstep
+	 *            The lockstep the hash has been computed for.
+	 * @param stateHash
+	 *            The reported state hash.
+	 * @param numberOfPlayers
+	 *            The number of players expected to report a hash for the lockstep.
+	 * @return <code>false</code> if the hash differs from the one reported first for the lockstep.
+	 */
+	public synchronized boolean stateHashReceived(String playerId, int lockstep, long stateHash, int numberOfPlayers) {
+		ReportedStateHash reference = pendingHashes.get(lockstep);
+		if (reference == null) {
+			reference = new ReportedStateHash(playerId, stateHash);
+			pendingHashes.put(lockstep, reference);
+			pendingHashes.headMap(lockstep - NetworkConstants.Client.STATE_HASH_MAX_PENDING_LOCKSTEPS).clear();
+		}
+
+		reference.reports++;
+		if (reference.reports >= numberOfPlayers) {
+			pendingHashes.remove(lockstep);
+		}
+
+		if (reference.stateHash == stateHash) {
+			return true;
+		}
+
+		if (firstDesyncedLockstep < 0) {
+			firstDesyncedLockstep = lockstep;
+			logger.warn("Desync detected in lockstep " + lockstep + ": player " + reference.playerId + " reported state hash "
+					+ Long.toHexString(reference.stateHash) + ", player " + playerId + " reported " + Long.toHexString(stateHash));
+		}
+		return false;
+	}
+
+	/**
+	 * @return the first lockstep for which different state hashes have been reported or -1 if all reported hashes matched.
+	 */
+	public synchronized int getFirstDesyncedLockstep() {
+		return firstDesyncedLockstep;
+	}
+
+	private static class ReportedStateHash {
+		private final String playerId;
+		private final long stateHash;
+		private int reports;
+
+		ReportedStateHash(String playerId, long stateHash) {
+			this.playerId = playerId;
+			this.stateHash = stateHash;
+		}
+	}
+}
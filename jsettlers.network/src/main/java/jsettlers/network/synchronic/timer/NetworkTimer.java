@@ -26,6 +26,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.function.LongSupplier;
 
 import jsettlers.network.NetworkConstants;
 import jsettlers.network.client.INetworkClientClock;
@@ -64,6 +65,10 @@ public final class NetworkTimer extends TimerTask implements INetworkClientClock
 	private ITaskExecutor taskExecutor;
 	private DataOutputStream replayLogStream;
 
+	private volatile LongSupplier stateHashSupplier;
+	private volatile IStateHashListener stateHashListener;
+	private volatile int stateHashInterval = 1;
+
 	public NetworkTimer() {
 		this.timer = new Timer("NetworkTimer");
 	}
@@ -150,12 +155,24 @@ public final class NetworkTimer extends TimerTask implements INetworkClientClock
 			for (ScheduledTimerable curr : timerables) {
 				curr.checkExecution(TIME_SLICE);
 			}
+
+			reportStateHashIfNeeded(lockstep);
 		} catch (Throwable t) {
 			System.err.println("WARNING: Networking Timer catched Throwable!!!");
 			t.printStackTrace();
 		}
 	}
 
+	private void reportStateHashIfNeeded(int lockstep) {
+		boolean lockstepFinished = (time + TIME_SLICE) / NetworkConstants.Client.LOCKSTEP_PERIOD != lockstep;
+		LongSupplier supplier = stateHashSupplier;
+		IStateHashListener listener = stateHashListener;
+
+		if (lockstepFinished && supplier != null && listener != null && lockstep % stateHashInterval == 0) {
+			listener.stateHashComputed(lockstep, supplier.getAsLong());
+		}
+	}
+
 	private void executeTasksPacket(SyncTasksPacket tasksPacket) {
 		if (taskExecutor != null) {
 			for (TaskPacket currTask : tasksPacket.getTasks()) {
@@ -285,6 +302,23 @@ public final class NetworkTimer extends TimerTask implements INetworkClientClock
 		this.taskExecutor = taskExecutor;
 	}
 
+	@Override
+	public void setStateHashSupplier(LongSupplier stateHashSupplier) {
+		this.stateHashSupplier = stateHashSupplier;
+	}
+
+	@Override
+	public void setStateHashListener(IStateHashListener stateHashListener, int lockstepInterval) {
+		if (stateHashListener != null && lockstepInterval <= 0) {
+			throw new IllegalArgumentException("The lockstep interval must be positive: " + lockstepInterval);
+		}
+
+		if (stateHashListener != null) {
+			this.stateHashInterval = lockstepInterval;
+		}
+		this.stateHashListener = stateHashListener;
+	}
+
 	@Override
 	public void scheduleSyncTasksPacket(SyncTasksPacket tasksPacket) {
 		assert maxAllowedLockstep == Integer.MAX_VALUE
@@ -18,10 +18,12 @@ import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.util.LinkedList;
+import java.util.function.LongSupplier;
 
 import jsettlers.network.client.task.packets.SyncTasksPacket;
 import jsettlers.network.client.task.packets.TaskPacket;
 import jsettlers.network.synchronic.timer.INetworkTimerable;
+import jsettlers.network.synchronic.timer.IStateHashListener;
 import jsettlers.network.synchronic.timer.ITaskExecutor;
 
 /**
@@ -159,4 +161,11 @@ public class NetworkClientClockMock implements INetworkClientClock {
 		time = targetGameTime;
 	}
 
+	@Override
+	public void setStateHashSupplier(LongSupplier stateHashSupplier) {
+	}
+
+	@Override
+	public void setStateHashListener(IStateHashListener stateHashListener, int lockstepInterval) {
+	}
 }
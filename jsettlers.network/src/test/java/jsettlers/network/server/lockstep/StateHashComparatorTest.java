@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.network.server.lockstep;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import jsettlers.network.infrastructure.log.LoggerManager;
+import jsettlers.network.server.match.lockstep.StateHashComparator;
+
+/**
+ * Tests the comparison of the state hashes reported by the players of a match.
+ */
+public class StateHashComparatorTest {
+	private final StateHashComparator comparator = new StateHashComparator(LoggerManager.ROOT_LOGGER);
+
+	@Test
+	public void testEqualHashes() {
+		assertTrue(comparator.stateHashReceived("player1", 10, 4711L, 3));
+		assertTrue(comparator.stateHashReceived("player2", 10, 4711L, 3));
+		assertTrue(comparator.stateHashReceived("player1", 20, -42L, 3));
+		assertTrue(comparator.stateHashReceived("player3", 10, 4711L, 3));
+		assertTrue(comparator.stateHashReceived("player2", 20, -42L, 3));
+
+		assertEquals(-1, comparator.getFirstDesyncedLockstep());
+	}
+
+	@Test
+	public void testFirstDesyncIsRemembered() {
+		assertTrue(comparator.stateHashReceived("player1", 10, 4711L, 2));
+		assertTrue(comparator.stateHashReceived("player2", 10, 4711L, 2));
+		assertTrue(comparator.stateHashReceived("player2", 20, 1L, 2));
+		assertFalse(comparator.stateHashReceived("player1", 20, 2L, 2));
+		assertTrue(comparator.stateHashReceived("player1", 30, 3L, 2));
+		assertFalse(comparator.stateHashReceived("player2", 30, 4L, 2));
+
+		assertEquals(20, comparator.getFirstDesyncedLockstep());
+	}
+}
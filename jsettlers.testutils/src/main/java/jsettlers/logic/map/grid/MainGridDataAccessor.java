@@ -14,6 +14,8 @@
  *******************************************************************************/
 package jsettlers.logic.map.grid;
 
+import jsettlers.algorithms.path.astar.BucketQueueAStar;
+import jsettlers.algorithms.path.dijkstra.DijkstraAlgorithm;
 import jsettlers.logic.map.grid.flags.FlagsGrid;
 import jsettlers.logic.map.grid.landscape.LandscapeGrid;
 import jsettlers.logic.map.grid.partition.PartitionsGrid;
@@ -44,4 +46,14 @@ public class MainGridDataAccessor {
 	public PartitionsGrid getPartitionsGrid() {
 		return grid.partitionsGrid;
 	}
+
+	public DijkstraAlgorithm createDijkstra(boolean floodSearch) {
+		MainGrid.PathfinderGrid pathfinderGrid = grid.new PathfinderGrid();
+		BucketQueueAStar aStar = new BucketQueueAStar(pathfinderGrid, grid.width, grid.height);
+		if (floodSearch) {
+			return new DijkstraAlgorithm(pathfinderGrid, pathfinderGrid, aStar, grid.width, grid.height);
+		} else {
+			return new DijkstraAlgorithm(pathfinderGrid, aStar, grid.width, grid.height);
+		}
+	}
 }
@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+
+/**
+ * Shared parts of the command line tools that run games and report their measurements as JSON.
+ */
+public final class JsonReportUtils {
+	public static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+	private JsonReportUtils() {
+	}
+
+	/**
+	 * Parses the arguments with the given parser. If the parser throws an {@link IllegalArgumentException}, its message is printed and the JVM exits.
+	 */
+	public static void parseArgumentsOrExit(String[] args, Consumer<String[]> parser) {
+		try {
+			parser.accept(args);
+		} catch (IllegalArgumentException e) {
+			System.err.println(e.getMessage());
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * @return The value of the option at index - 1.
+	 * @throws IllegalArgumentException
+	 *             If the option has no value.
+	 */
+	public static String getValue(String[] args, int index) {
+		if (index >= args.length) {
+			throw new IllegalArgumentException("Missing value for " + args[index - 1]);
+		}
+		return args[index];
+	}
+
+	/**
+	 * The games log to System.out, so it is redirected to System.err to keep it free for the report.
+	 *
+	 * @return The original System.out to write the report to.
+	 */
+	public static PrintStream redirectSystemOut() {
+		PrintStream reportStream = System.out;
+		System.setOut(System.err);
+		return reportStream;
+	}
+
+	/**
+	 * Writes the report to the output file or, if no file is given, to the report stream and exits the JVM, as the games may leave non daemon
+	 * threads behind.
+	 */
+	public static void writeReportAndExit(JsonElement report, String outputFile, PrintStream reportStream) throws IOException {
+		try (Writer writer = outputFile != null
+				? new OutputStreamWriter(new FileOutputStream(outputFile), StandardCharsets.UTF_8)
+				: new OutputStreamWriter(reportStream, StandardCharsets.UTF_8)) {
+			GSON.toJson(report, writer);
+			writer.write(System.lineSeparator());
+		}
+
+		System.exit(0);
+	}
+}
@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.graphics.benchmark;
+
+import jsettlers.common.position.ShortPoint2D;
+
+/**
+ * The camera movements the {@link RenderBenchmark} draws. The positions are relative to the map size, so every map is measured the same way.
+ */
+public enum ECameraPath {
+	/**
+	 * The camera stays in the center of the map. Nothing has to be uploaded after the first frames.
+	 */
+	STATIC(0.5f, 0.5f, 0.5f, 0.5f),
+	/**
+	 * The camera moves from the left to the right half of the map.
+	 */
+	HORIZONTAL_PAN(0.25f, 0.5f, 0.75f, 0.5f),
+	/**
+	 * The camera moves diagonally through the map, so new lines and columns become visible in every frame.
+	 */
+	DIAGONAL_PAN(0.25f, 0.25f, 0.75f, 0.75f);
+
+	private final float startX;
+	private final float startY;
+	private final float endX;
+	private final float endY;
+
+	ECameraPath(float startX, float startY, float endX, float endY) {
+		this.startX = startX;
+		this.startY = startY;
+		this.endX = endX;
+		this.endY = endY;
+	}
+
+	/**
+	 * Gets the point the camera looks at in the given frame.
+	 *
+	 * @param frame
+	 *            The index of the frame.
+	 * @param frames
+	 *            The number of frames of the whole path.
+	 * @param mapWidth
+	 *            The width of the map.
+	 * @param mapHeight
+	 *            The height of the map.
+	 * @return The center of the screen.
+	 */
+	public ShortPoint2D getPosition(int frame, int frames, int mapWidth, int mapHeight) {
+		float progress = frames > 1 ? frame / (float) (frames - 1) : 0;
+		float x = startX + (endX - startX) * progress;
+		float y = startY + (endY - startY) * progress;
+		return new ShortPoint2D((int) (x * (mapWidth - 1)), (int) (y * (mapHeight - 1)));
+	}
+}
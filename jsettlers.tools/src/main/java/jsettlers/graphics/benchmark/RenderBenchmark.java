@@ -0,0 +1,324 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.graphics.benchmark;
+
+import static jsettlers.JsonReportUtils.getValue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import go.graphics.headless.FrameStatistics;
+import go.graphics.headless.HeadlessDrawContext;
+import go.graphics.sound.ISoundDataRetriever;
+import go.graphics.sound.SoundHandle;
+import go.graphics.sound.SoundPlayer;
+import jsettlers.JsonReportUtils;
+import jsettlers.common.CommonConstants;
+import jsettlers.common.ai.EPlayerType;
+import jsettlers.common.menu.IStartedGame;
+import jsettlers.common.menu.UIState;
+import jsettlers.common.resources.SettlersFolderChecker;
+import jsettlers.common.resources.SettlersFolderChecker.SettlersFolderInfo;
+import jsettlers.graphics.image.reader.DatFileUtils;
+import jsettlers.graphics.map.ETextDrawPosition;
+import jsettlers.graphics.map.MapContent;
+import jsettlers.graphics.map.MapInterfaceConnector;
+import jsettlers.graphics.map.draw.ImageProvider;
+import jsettlers.graphics.sound.SoundManager;
+import jsettlers.logic.constants.Constants;
+import jsettlers.logic.map.loading.MapLoader;
+import jsettlers.logic.map.loading.list.DirectoryMapLister;
+import jsettlers.logic.player.InitialGameState;
+import jsettlers.logic.player.PlayerSetting;
+import jsettlers.main.JSettlersGame;
+import jsettlers.main.replay.ReplayUtils;
+import jsettlers.network.client.OfflineNetworkConnector;
+import jsettlers.network.client.interfaces.IGameClock;
+import jsettlers.testutils.TestUtils;
+
+/**
+ * Command line tool that measures the cost of drawing frames without a display. It plays a map with AI players for some minutes, pauses the game and
+ * then lets {@link MapContent} draw into a {@link HeadlessDrawContext} along fixed camera paths and zoom levels. For every frame the CPU time, the draw
+ * calls, the vertices and the uploaded bytes are reported as JSON.
+ * <p />
+ * Usage:
+ *
+ * <pre>
+ * RenderBenchmark --map &lt;file.rmap&gt; [--map &lt;file.rmap&gt; ...] [--zoom 0.5,1,2] [--frames N] [--warmup N] [--minutes M] [--size 1920x1080]
+ *         [--players N] [--seed S] [--draw-threads N] [--fog-of-war] [--no-lod] [--settlers-folder &lt;folder&gt;] [--per-frame] [--output report.json]
+ * </pre>
+ *
+ * Without a folder of the original game all images are empty, but the background, the text and the buffer management are still drawn.
+ */
+public class RenderBenchmark {
+	private static final int MINUTE = 60 * 1000;
+
+	private final List<String> mapFiles = new ArrayList<>();
+	private float[] zoomLevels = { 0.5f, 1, 2 };
+	private int frames = 60;
+	private int warmupFrames = 120;
+	private int gameMinutes = 10;
+	private int width = 1920;
+	private int height = 1080;
+	private int players = 2;
+	private long seed = 1;
+	private int drawThreads = 1;
+	private boolean fogOfWar;
+	private boolean levelOfDetail = true;
+	private String settlersFolder;
+	private boolean perFrame;
+	private String outputFile;
+
+	private final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+
+	public static void main(String[] args) throws IOException {
+		RenderBenchmark benchmark = new RenderBenchmark();
+		JsonReportUtils.parseArgumentsOrExit(args, benchmark::parseArguments);
+
+		PrintStream reportStream = JsonReportUtils.redirectSystemOut();
+
+		CommonConstants.ENABLE_CONSOLE_LOGGING = false;
+		Constants.FOG_OF_WAR_DEFAULT_ENABLED = benchmark.fogOfWar;
+		CommonConstants.MAP_DRAW_THREADS = benchmark.drawThreads;
+		CommonConstants.MAP_DRAW_LEVEL_OF_DETAIL = benchmark.levelOfDetail;
+		TestUtils.setupTempResourceManager();
+		benchmark.setupGraphics();
+
+		JsonReportUtils.writeReportAndExit(benchmark.run(), benchmark.outputFile, reportStream);
+	}
+
+	private void parseArguments(String[] args) {
+		for (int i = 0; i < args.length; i++) {
+			switch (args[i]) {
+			case "--map":
+				mapFiles.add(getValue(args, ++i));
+				break;
+			case "--zoom":
+				String[] zooms = getValue(args, ++i).split(",");
+				zoomLevels = new float[zooms.length];
+				for (int j = 0; j < zooms.length; j++) {
+					zoomLevels[j] = Float.parseFloat(zooms[j]);
+				}
+				break;
+			case "--frames":
+				frames = Integer.parseInt(getValue(args, ++i));
+				break;
+			case "--warmup":
+				warmupFrames = Integer.parseInt(getValue(args, ++i));
+				break;
+			case "--minutes":
+				gameMinutes = Integer.parseInt(getValue(args, ++i));
+				break;
+			case "--size":
+				String[] size = getValue(args, ++i).split("x");
+				width = Integer.parseInt(size[0]);
+				height = Integer.parseInt(size[1]);
+				break;
+			case "--players":
+				players = Integer.parseInt(getValue(args, ++i));
+				break;
+			case "--seed":
+				seed = Long.parseLong(getValue(args, ++i));
+				break;
+			case "--draw-threads":
+				drawThreads = Integer.parseInt(getValue(args, ++i));
+				break;
+			case "--fog-of-war":
+				fogOfWar = true;
+				break;
+			case "--no-lod":
+				levelOfDetail = false;
+				break;
+			case "--settlers-folder":
+				settlersFolder = getValue(args, ++i);
+				break;
+			case "--per-frame":
+				perFrame = true;
+				break;
+			case "--output":
+				outputFile = getValue(args, ++i);
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown argument: " + args[i]);
+			}
+		}
+
+		if (mapFiles.isEmpty()) {
+			throw new IllegalArgumentException("At least one --map has to be given.");
+		}
+	}
+
+	private void setupGraphics() throws IOException {
+		if (settlersFolder != null) {
+			SettlersFolderInfo settlersFolders = SettlersFolderChecker.checkSettlersFolder(settlersFolder);
+			if (!settlersFolders.isValidSettlersFolder()) {
+				throw new IOException("Path to original Settlers III installation not valid: " + settlersFolder);
+			}
+			ImageProvider.setLookupPath(settlersFolders.gfxFolder, DatFileUtils.generateOriginalVersionId(settlersFolders.gfxFolder));
+			SoundManager.setLookupPath(settlersFolders.sndFolder);
+			ImageProvider.getInstance().waitForPreloadingFinish();
+		} else {
+			File emptyFolder = Files.createTempDirectory("jsettlers-benchmark").toFile();
+			emptyFolder.deleteOnExit();
+			ImageProvider.setLookupPath(emptyFolder, null);
+			SoundManager.setLookupPath(emptyFolder);
+		}
+	}
+
+	private JsonObject run() {
+		JsonArray maps = new JsonArray();
+		for (String mapFile : mapFiles) {
+			try {
+				maps.add(benchmarkMap(mapFile));
+			} catch (Exception e) {
+				System.err.println("Benchmark of " + mapFile + " failed:");
+				e.printStackTrace();
+
+				JsonObject error = new JsonObject();
+				error.addProperty("map", mapFile);
+				error.addProperty("error", String.valueOf(e));
+				maps.add(error);
+			}
+		}
+
+		JsonObject report = new JsonObject();
+		report.addProperty("width", width);
+		report.addProperty("height", height);
+		report.addProperty("gameMinutes", gameMinutes);
+		report.addProperty("drawThreads", drawThreads);
+		report.addProperty("fogOfWar", fogOfWar);
+		report.addProperty("levelOfDetail", levelOfDetail);
+		report.addProperty("originalGraphics", settlersFolder != null);
+		report.add("maps", maps);
+		return report;
+	}
+
+	private JsonObject benchmarkMap(String mapFile) throws Exception {
+		MapLoader map = MapLoader.getLoaderForListedMap(new DirectoryMapLister.ListedMapFile(new File(mapFile)));
+		PlayerSetting[] playerSettings = new PlayerSetting[map.getMaxPlayers()];
+		for (int i = 0; i < playerSettings.length; i++) {
+			playerSettings[i] = i < players ? new PlayerSetting(EPlayerType.AI_VERY_HARD, null, (byte) i) : new PlayerSetting();
+		}
+
+		OfflineNetworkConnector networkConnector = new OfflineNetworkConnector();
+		IGameClock clock = networkConnector.getGameClock();
+		clock.setPausing(true);
+		JSettlersGame game = new JSettlersGame(map, networkConnector, new InitialGameState((byte) 0, playerSettings, seed));
+		JSettlersGame.GameRunner gameRunner = (JSettlersGame.GameRunner) game.start();
+		IStartedGame startedGame = ReplayUtils.waitForGameStartup(gameRunner);
+
+		// the game stays paused while drawing, so every run draws the same state
+		clock.fastForwardTo(clock.getTime() + gameMinutes * MINUTE);
+
+		int mapWidth = startedGame.getMap().getWidth();
+		int mapHeight = startedGame.getMap().getHeight();
+		JsonArray scenarios = new JsonArray();
+		gameRunner.getGameContext().runBound(() -> {
+			HeadlessDrawContext gl = new HeadlessDrawContext();
+			gl.resize(width, height);
+			MapContent content = new MapContent(startedGame, new SilentSoundPlayer(), ETextDrawPosition.DESKTOP);
+
+			for (float zoom : zoomLevels) {
+				for (ECameraPath cameraPath : ECameraPath.values()) {
+					scenarios.add(JsonReportUtils.GSON.toJsonTree(benchmarkScenario(gl, content, mapWidth, mapHeight, zoom, cameraPath)));
+				}
+			}
+			content.stop();
+		});
+
+		ReplayUtils.awaitShutdown(startedGame);
+
+		JsonObject result = new JsonObject();
+		result.addProperty("map", map.getMapName());
+		result.addProperty("mapWidth", mapWidth);
+		result.addProperty("mapHeight", mapHeight);
+		result.add("scenarios", scenarios);
+		return result;
+	}
+
+	private ScenarioResult benchmarkScenario(HeadlessDrawContext gl, MapContent content, int mapWidth, int mapHeight, float zoom, ECameraPath cameraPath) {
+		MapInterfaceConnector connector = content.getInterfaceConnector();
+
+		// the first frame tells the content the window size, the zoom is only applied correctly afterwards
+		drawFrame(gl, content);
+		connector.loadUIState(new UIState(0, 0, zoom));
+
+		connector.scrollTo(cameraPath.getPosition(0, frames, mapWidth, mapHeight), false);
+		for (int i = 0; i < warmupFrames; i++) {
+			drawFrame(gl, content);
+		}
+
+		List<ScenarioResult.FrameSample> samples = new ArrayList<>(frames);
+		for (int frame = 0; frame < frames; frame++) {
+			connector.scrollTo(cameraPath.getPosition(frame, frames, mapWidth, mapHeight), false);
+			samples.add(drawFrame(gl, content));
+		}
+		return new ScenarioResult(zoom, cameraPath, samples, perFrame);
+	}
+
+	private ScenarioResult.FrameSample drawFrame(HeadlessDrawContext gl, MapContent content) {
+		long startCpu = threadBean.getCurrentThreadCpuTime();
+		long startWall = System.nanoTime();
+
+		gl.startFrame();
+		content.drawContent(gl, width, height);
+		gl.finishFrame();
+
+		ScenarioResult.FrameSample sample = new ScenarioResult.FrameSample();
+		sample.wallNanos = System.nanoTime() - startWall;
+		sample.cpuNanos = threadBean.getCurrentThreadCpuTime() - startCpu;
+
+		FrameStatistics statistics = gl.getFrameStatistics();
+		sample.drawCalls = statistics.getDrawCalls();
+		sample.vertices = statistics.getVertices();
+		sample.backgroundDrawCalls = statistics.getBackgroundDrawCalls();
+		sample.multiDrawCalls = statistics.getMultiDrawCalls();
+		sample.multiDrawInstances = statistics.getMultiDrawInstances();
+		sample.maxMultiDrawBatch = statistics.getMaxMultiDrawBatch();
+		sample.bufferUploads = statistics.getBufferUploads();
+		sample.bufferUploadBytes = statistics.getBufferUploadBytes();
+		sample.textureUploads = statistics.getTextureUploads();
+		sample.textureUploadBytes = statistics.getTextureUploadBytes();
+		return sample;
+	}
+
+	/**
+	 * Sound is not measured, all sounds are dropped.
+	 */
+	private static class SilentSoundPlayer implements SoundPlayer {
+		@Override
+		public void playSound(int soundStart, float leftVolume, float rightVolume) {
+		}
+
+		@Override
+		public void setSoundDataRetriever(ISoundDataRetriever soundDataRetriever) {
+		}
+
+		@Override
+		public SoundHandle openSound(URL musicFile) {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.graphics.benchmark;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Result of drawing one camera path at one zoom level with the {@link RenderBenchmark}. It is written to the report as JSON.
+ */
+public class ScenarioResult {
+	float zoom;
+	String cameraPath;
+	int frames;
+	Summary cpuMillis;
+	Summary wallMillis;
+	Summary drawCalls;
+	Summary vertices;
+	Summary multiDrawBatchSize;
+	Summary bufferUploadBytes;
+	Summary textureUploadBytes;
+	List<FrameSample> perFrame;
+
+	ScenarioResult(float zoom, ECameraPath cameraPath, List<FrameSample> samples, boolean includeFrames) {
+		this.zoom = zoom;
+		this.cameraPath = cameraPath.name();
+		this.frames = samples.size();
+		this.cpuMillis = new Summary(samples, sample -> sample.cpuNanos / 1e6);
+		this.wallMillis = new Summary(samples, sample -> sample.wallNanos / 1e6);
+		this.drawCalls = new Summary(samples, sample -> sample.drawCalls);
+		this.vertices = new Summary(samples, sample -> sample.vertices);
+		this.multiDrawBatchSize = new Summary(samples, sample -> sample.multiDrawCalls == 0 ? 0 : sample.multiDrawInstances / (double) sample.multiDrawCalls);
+		this.bufferUploadBytes = new Summary(samples, sample -> sample.bufferUploadBytes);
+		this.textureUploadBytes = new Summary(samples, sample -> sample.textureUploadBytes);
+		this.perFrame = includeFrames ? samples : null;
+	}
+
+	/**
+	 * The measurements of a single frame.
+	 */
+	public static class FrameSample {
+		long cpuNanos;
+		long wallNanos;
+		int drawCalls;
+		long vertices;
+		int backgroundDrawCalls;
+		int multiDrawCalls;
+		long multiDrawInstances;
+		int maxMultiDrawBatch;
+		int bufferUploads;
+		long bufferUploadBytes;
+		int textureUploads;
+		long textureUploadBytes;
+	}
+
+	/**
+	 * Distribution of one measurement over all frames of a scenario.
+	 */
+	public static class Summary {
+		double mean;
+		double p50;
+		double p95;
+		double max;
+		double total;
+
+		Summary(List<FrameSample> samples, ToDoubleFunction<FrameSample> value) {
+			double[] values = samples.stream().mapToDouble(value).sorted().toArray();
+			if (values.length == 0) {
+				return;
+			}
+
+			total = Arrays.stream(values).sum();
+			mean = total / values.length;
+			p50 = values[(values.length - 1) / 2];
+			p95 = values[(int) Math.ceil(values.length * 0.95) - 1];
+			max = values[values.length - 1];
+		}
+	}
+}
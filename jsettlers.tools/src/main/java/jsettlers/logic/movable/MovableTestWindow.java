@@ -47,7 +47,7 @@ public class MovableTestWindow {
 	private MovableTestWindow() throws InterruptedException, JSettlersLookAndFeelExecption, IOException {
 		MatchConstants.init(new NetworkTimer(true), 1000);
 		MatchConstants.clock().startExecution();
-		RescheduleTimer.schedule(MatchConstants.clock());
+		RescheduleTimer.schedule();
 
 		MovableTestsMap grid = new MovableTestsMap(100, 100, PLAYER_0);
 		IMapInterfaceConnector connector = TestToolUtils.openTestWindow(grid);
@@ -0,0 +1,169 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.simulation;
+
+import static jsettlers.JsonReportUtils.getValue;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import jsettlers.JsonReportUtils;
+import jsettlers.common.CommonConstants;
+import jsettlers.logic.constants.Constants;
+import jsettlers.testutils.TestUtils;
+
+/**
+ * Command line tool that plays AI only matches without graphics as fast as possible and reports the throughput, the time spent in each
+ * subsystem and the final economy of every player as JSON.
+ * <p />
+ * Every match has its own {@link jsettlers.logic.constants.GameContext}, so several matches can run in parallel in one JVM.
+ * <p />
+ * Usage:
+ *
+ * <pre>
+ * HeadlessSimulationRunner --map &lt;file.rmap&gt; [--map &lt;file.rmap&gt; ...] [--matches N] [--parallel P] [--minutes M]
+ *         [--players AI_VERY_HARD,AI_HARD] [--civilisation ROMAN] [--seed S] [--fog-of-war] [--output report.json]
+ * </pre>
+ *
+ * Each map is played N times. The seed of a match is the given seed plus the index of the match.
+ */
+public class HeadlessSimulationRunner {
+	private final List<String> mapFiles = new ArrayList<>();
+	private int matches = 1;
+	private int parallel = Runtime.getRuntime().availableProcessors();
+	private int gameMinutes = 60;
+	private List<String> players = Arrays.asList("AI_VERY_HARD", "AI_VERY_HARD");
+	private String civilisation;
+	private long seed = 1;
+	private boolean fogOfWar;
+	private String outputFile;
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		HeadlessSimulationRunner runner = new HeadlessSimulationRunner();
+		JsonReportUtils.parseArgumentsOrExit(args, runner::parseArguments);
+
+		PrintStream reportStream = JsonReportUtils.redirectSystemOut();
+
+		CommonConstants.ENABLE_CONSOLE_LOGGING = false;
+		Constants.FOG_OF_WAR_DEFAULT_ENABLED = runner.fogOfWar;
+		Constants.MEASURE_SUBSYSTEM_TIMES = true;
+		TestUtils.setupTempResourceManager();
+
+		JsonReportUtils.writeReportAndExit(runner.run(), runner.outputFile, reportStream);
+	}
+
+	private void parseArguments(String[] args) {
+		for (int i = 0; i < args.length; i++) {
+			switch (args[i]) {
+			case "--map":
+				mapFiles.add(getValue(args, ++i));
+				break;
+			case "--matches":
+				matches = Integer.parseInt(getValue(args, ++i));
+				break;
+			case "--parallel":
+				parallel = Integer.parseInt(getValue(args, ++i));
+				break;
+			case "--minutes":
+				gameMinutes = Integer.parseInt(getValue(args, ++i));
+				break;
+			case "--players":
+				players = Arrays.asList(getValue(args, ++i).split(","));
+				break;
+			case "--civilisation":
+				civilisation = getValue(args, ++i);
+				break;
+			case "--seed":
+				seed = Long.parseLong(getValue(args, ++i));
+				break;
+			case "--fog-of-war":
+				fogOfWar = true;
+				break;
+			case "--output":
+				outputFile = getValue(args, ++i);
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown argument: " + args[i]);
+			}
+		}
+
+		if (mapFiles.isEmpty()) {
+			throw new IllegalArgumentException("At least one --map has to be given.");
+		}
+	}
+
+	private JsonObject run() throws InterruptedException {
+		ExecutorService executor = Executors.newFixedThreadPool(parallel);
+		Map<MatchSettings, Future<MatchResult>> futures = new LinkedHashMap<>();
+
+		long startNanos = System.nanoTime();
+		int matchIndex = 0;
+		for (String mapFile : mapFiles) {
+			for (int i = 0; i < matches; i++) {
+				MatchSettings settings = new MatchSettings();
+				settings.mapFile = mapFile;
+				settings.matchIndex = matchIndex;
+				settings.seed = seed + matchIndex;
+				settings.gameMinutes = gameMinutes;
+				settings.players = players;
+				settings.civilisation = civilisation;
+				matchIndex++;
+
+				futures.put(settings, executor.submit(() -> SimulationMatch.run(settings)));
+			}
+		}
+
+		JsonArray results = new JsonArray();
+		for (Map.Entry<MatchSettings, Future<MatchResult>> entry : futures.entrySet()) {
+			results.add(getResult(entry.getKey(), entry.getValue()));
+		}
+		executor.shutdown();
+
+		JsonObject report = new JsonObject();
+		report.addProperty("parallel", parallel);
+		report.addProperty("wallSeconds", (System.nanoTime() - startNanos) / 1e9);
+		report.add("matches", results);
+		return report;
+	}
+
+	private static JsonElement getResult(MatchSettings settings, Future<MatchResult> future) throws InterruptedException {
+		try {
+			return JsonReportUtils.GSON.toJsonTree(future.get());
+		} catch (ExecutionException e) {
+			System.err.println("Match " + settings.matchIndex + " on " + settings.mapFile + " failed:");
+			e.getCause().printStackTrace();
+
+			JsonObject error = new JsonObject();
+			error.addProperty("map", settings.mapFile);
+			error.addProperty("matchIndex", settings.matchIndex);
+			error.addProperty("seed", settings.seed);
+			error.addProperty("error", String.valueOf(e.getCause()));
+			return error;
+		}
+	}
+}
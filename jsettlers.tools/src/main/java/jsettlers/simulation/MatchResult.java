@@ -0,0 +1,46 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.simulation;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of a single match of the {@link HeadlessSimulationRunner}. It is written to the report as JSON.
+ */
+public class MatchResult {
+	String map;
+	int matchIndex;
+	long seed;
+	double gameMinutes;
+	double wallSeconds;
+	double gameMinutesPerWallSecond;
+	double ticksPerSecond;
+	Map<String, Long> subsystemMillis;
+	List<PlayerResult> players;
+
+	public static class PlayerResult {
+		int playerId;
+		String type;
+		String civilisation;
+		boolean alive;
+		int producedSoldiers;
+		int producedGold;
+		int producedMana;
+		Map<String, Integer> buildings;
+		Map<String, Integer> movables;
+		Map<String, Integer> materials;
+	}
+}
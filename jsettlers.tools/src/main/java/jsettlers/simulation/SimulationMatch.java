@@ -0,0 +1,177 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.simulation;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import jsettlers.ai.highlevel.AiStatistics;
+import jsettlers.common.ai.EPlayerType;
+import jsettlers.common.buildings.EBuildingType;
+import jsettlers.common.material.EMaterialType;
+import jsettlers.common.menu.IStartedGame;
+import jsettlers.common.player.ECivilisation;
+import jsettlers.logic.constants.GameContext;
+import jsettlers.logic.map.grid.MainGrid;
+import jsettlers.logic.map.loading.MapLoader;
+import jsettlers.logic.map.loading.list.DirectoryMapLister;
+import jsettlers.logic.movable.MovableManager;
+import jsettlers.logic.movable.interfaces.ILogicMovable;
+import jsettlers.logic.player.EndgameStatistic;
+import jsettlers.logic.player.InitialGameState;
+import jsettlers.logic.player.Player;
+import jsettlers.logic.player.PlayerSetting;
+import jsettlers.logic.timer.ESubsystem;
+import jsettlers.logic.timer.SubsystemTimes;
+import jsettlers.main.JSettlersGame;
+import jsettlers.main.replay.ReplayUtils;
+import jsettlers.network.client.OfflineNetworkConnector;
+import jsettlers.network.client.interfaces.IGameClock;
+import jsettlers.network.synchronic.timer.NetworkTimer;
+
+/**
+ * Plays a single AI only match as fast as possible and measures it. All state of the match lives in its own {@link GameContext}, so several
+ * matches can be played by different threads at the same time.
+ */
+final class SimulationMatch {
+	private static final int MINUTE = 60 * 1000;
+
+	private SimulationMatch() {
+	}
+
+	/**
+	 * Plays the given match on the calling thread.
+	 *
+	 * @param settings
+	 *            the match to play.
+	 * @return the measurements of the match.
+	 */
+	static MatchResult run(MatchSettings settings) throws Exception {
+		MapLoader map = MapLoader.getLoaderForListedMap(new DirectoryMapLister.ListedMapFile(new File(settings.mapFile)));
+		PlayerSetting[] playerSettings = createPlayerSettings(settings, map.getMaxPlayers());
+
+		OfflineNetworkConnector networkConnector = new OfflineNetworkConnector();
+		IGameClock clock = networkConnector.getGameClock();
+		clock.setPausing(true);
+		JSettlersGame game = new JSettlersGame(map, networkConnector, new InitialGameState((byte) 0, playerSettings, settings.seed));
+		JSettlersGame.GameRunner gameRunner = (JSettlersGame.GameRunner) game.start();
+		IStartedGame startedGame = ReplayUtils.waitForGameStartup(gameRunner);
+
+		int startTime = clock.getTime();
+		long startNanos = System.nanoTime();
+		clock.fastForwardTo(startTime + settings.gameMinutes * MINUTE);
+		long wallNanos = System.nanoTime() - startNanos;
+		int gameTime = clock.getTime() - startTime;
+
+		MatchResult result = new MatchResult();
+		result.map = map.getMapName();
+		result.matchIndex = settings.matchIndex;
+		result.seed = settings.seed;
+		result.gameMinutes = gameTime / (double) MINUTE;
+		result.wallSeconds = wallNanos / 1e9;
+		result.gameMinutesPerWallSecond = result.gameMinutes / result.wallSeconds;
+		result.ticksPerSecond = gameTime / NetworkTimer.TIME_SLICE / result.wallSeconds;
+		GameContext gameContext = gameRunner.getGameContext();
+		result.subsystemMillis = getSubsystemMillis(gameContext.getSubsystemTimes());
+		gameContext.runBound(() -> result.players = getPlayerResults(gameRunner.getMainGrid(), playerSettings));
+
+		ReplayUtils.awaitShutdown(startedGame);
+		return result;
+	}
+
+	private static PlayerSetting[] createPlayerSettings(MatchSettings settings, int maxPlayers) {
+		if (settings.players.size() > maxPlayers) {
+			throw new IllegalArgumentException("The map " + settings.mapFile + " only supports " + maxPlayers + " players.");
+		}
+
+		ECivilisation civilisation = settings.civilisation != null ? ECivilisation.valueOf(settings.civilisation) : null;
+		PlayerSetting[] playerSettings = new PlayerSetting[maxPlayers];
+		for (int i = 0; i < maxPlayers; i++) {
+			if (i < settings.players.size()) {
+				EPlayerType playerType = EPlayerType.valueOf(settings.players.get(i));
+				if (!playerType.isAi()) {
+					throw new IllegalArgumentException(playerType + " is not an AI player type.");
+				}
+				playerSettings[i] = new PlayerSetting(playerType, civilisation, (byte) i);
+			} else {
+				playerSettings[i] = new PlayerSetting();
+			}
+		}
+		return playerSettings;
+	}
+
+	private static Map<String, Long> getSubsystemMillis(SubsystemTimes subsystemTimes) {
+		Map<String, Long> subsystemMillis = new TreeMap<>();
+		for (ESubsystem subsystem : ESubsystem.VALUES) {
+			subsystemMillis.put(subsystem.name(), subsystemTimes.getNanos(subsystem) / 1000000);
+		}
+		return subsystemMillis;
+	}
+
+	private static ArrayList<MatchResult.PlayerResult> getPlayerResults(MainGrid mainGrid, PlayerSetting[] playerSettings) {
+		ExecutorService statisticsPool = Executors.newWorkStealingPool();
+		AiStatistics statistics = new AiStatistics(mainGrid, statisticsPool);
+		statistics.updateStatistics();
+		statisticsPool.shutdown();
+
+		ArrayList<MatchResult.PlayerResult> playerResults = new ArrayList<>();
+		for (byte playerId = 0; playerId < playerSettings.length; playerId++) {
+			if (!playerSettings[playerId].isAvailable()) {
+				continue;
+			}
+
+			Player player = mainGrid.getPartitionsGrid().getPlayer(playerId);
+			EndgameStatistic endgameStatistic = player.getEndgameStatistic();
+			MatchResult.PlayerResult playerResult = new MatchResult.PlayerResult();
+			playerResult.playerId = playerId;
+			playerResult.type = player.getPlayerType().name();
+			playerResult.civilisation = player.getCivilisation().name();
+			playerResult.alive = statistics.isAlive(playerId);
+			playerResult.producedSoldiers = endgameStatistic.getAmountOfProducedSoldiers();
+			playerResult.producedGold = endgameStatistic.getAmountOfProducedGold();
+			playerResult.producedMana = endgameStatistic.getAmountOfProducedMana();
+
+			playerResult.buildings = new TreeMap<>();
+			for (EBuildingType buildingType : EBuildingType.VALUES) {
+				int count = statistics.getNumberOfBuildingTypeForPlayer(buildingType, playerId);
+				if (count > 0) {
+					playerResult.buildings.put(buildingType.name(), count);
+				}
+			}
+
+			playerResult.materials = new TreeMap<>();
+			for (EMaterialType materialType : EMaterialType.VALUES) {
+				int count = statistics.getNumberOfMaterialTypeForPlayer(materialType, playerId);
+				if (count > 0) {
+					playerResult.materials.put(materialType.name(), count);
+				}
+			}
+
+			playerResult.movables = new TreeMap<>();
+			for (ILogicMovable movable : MovableManager.getAllMovables()) {
+				if (movable.isAlive() && movable.getPlayer().getPlayerId() == playerId) {
+					playerResult.movables.merge(movable.getMovableType().name(), 1, Integer::sum);
+				}
+			}
+
+			playerResults.add(playerResult);
+		}
+		return playerResults;
+	}
+}